@@ -0,0 +1,38 @@
+package com.unimart.Authentication.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import com.unimart.backend.sharding.ShardRouter;
+
+/**
+ * Admits a request to the admin endpoints only when the session's user is listed in
+ * AdminUsers, the same table moderation checks before acting. AdminUsers lives on the global
+ * datasource.
+ */
+public class AdminAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    public AdminAuthorizationManager(JdbcTemplate jdbcTemplate, ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication caller = authentication.get();
+        if (caller == null || !caller.isAuthenticated() || caller instanceof AnonymousAuthenticationToken) {
+            return new AuthorizationDecision(false);
+        }
+        Integer admins = shardRouter.onGlobal(() -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM AdminUsers WHERE email = ?", Integer.class, caller.getName()));
+        return new AuthorizationDecision(admins != null && admins > 0);
+    }
+}
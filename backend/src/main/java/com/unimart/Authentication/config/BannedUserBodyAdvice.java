@@ -0,0 +1,39 @@
+package com.unimart.Authentication.config;
+
+import java.lang.reflect.Type;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import com.unimart.Authentication.dtos.ActingUserRequest;
+import com.unimart.Authentication.exceptions.UserBannedException;
+import com.unimart.backend.service.BannedUserService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Refuses request bodies that act as a banned user, e.g. a checkout whose buyer is banned
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class BannedUserBodyAdvice extends RequestBodyAdviceAdapter {
+    private final BannedUserService bannedUserService;
+
+    @Override
+    public boolean supports(MethodParameter parameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return ActingUserRequest.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        String email = ((ActingUserRequest) body).actingUserEmail();
+        if (email != null && bannedUserService.isBanned(email.trim())) {
+            throw new UserBannedException("This account is banned");
+        }
+        return body;
+    }
+}
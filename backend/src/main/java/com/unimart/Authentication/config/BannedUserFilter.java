@@ -0,0 +1,45 @@
+package com.unimart.Authentication.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimart.Authentication.exceptions.GlobalExceptionHandler.ErrorResponse;
+import com.unimart.backend.service.BannedUserService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects requests of banned users with a 403, checking the in-memory set of
+ * BannedUserService instead of loading the user
+ */
+public class BannedUserFilter extends OncePerRequestFilter {
+    private final BannedUserService bannedUserService;
+    private final ObjectMapper objectMapper;
+
+    public BannedUserFilter(BannedUserService bannedUserService, ObjectMapper objectMapper) {
+        this.bannedUserService = bannedUserService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && bannedUserService.isBanned(authentication.getName())) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(HttpStatus.FORBIDDEN.value(), "This account is banned"));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,30 @@
+package com.unimart.Authentication.config;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.unimart.Authentication.exceptions.UserBannedException;
+import com.unimart.backend.service.BannedUserService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Refuses requests that act as a banned user through the email parameter, e.g. inbox reads,
+ * favorites and push streams. The authenticated user is checked by BannedUserFilter.
+ */
+public class BannedUserInterceptor implements HandlerInterceptor {
+    private final BannedUserService bannedUserService;
+
+    public BannedUserInterceptor(BannedUserService bannedUserService) {
+        this.bannedUserService = bannedUserService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String email = request.getParameter("email");
+        if (email != null && bannedUserService.isBanned(email.trim())) {
+            throw new UserBannedException("This account is banned");
+        }
+        return true;
+    }
+}
@@ -2,15 +2,25 @@ package com.unimart.Authentication.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimart.Authentication.services.SessionTokenService;
+import com.unimart.backend.service.BannedUserService;
+import com.unimart.backend.sharding.ShardRouter;
+import com.unimart.backend.sharding.ShardRoutingFilter;
+
+import jakarta.servlet.DispatcherType;
 import java.util.Arrays;
 
 @Configuration
@@ -23,7 +33,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, SessionTokenService sessionTokenService,
+                                           BannedUserService bannedUserService, ShardRouter shardRouter,
+                                           ObjectMapper objectMapper, JdbcTemplate jdbcTemplate) throws Exception {
         http
             // Enable CSRF protection with cookie-based token repository
             .csrf(csrf -> csrf
@@ -32,9 +44,20 @@ public class SecurityConfig {
                 .ignoringRequestMatchers("/api/auth/**", "/api/webhook/**")
             )
             .authorizeHttpRequests(auth -> auth
+                // Finishes a streamed body of a request already authorized; the session token
+                // filter does not run again on it
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/media/**").permitAll()
+                // Exports, metrics, traces, diagnostics and moderation are for AdminUsers only
+                .requestMatchers("/api/admin/**").access(new AdminAuthorizationManager(jdbcTemplate, shardRouter))
                 .anyRequest().authenticated()
             )
+            // The session token is the request's identity
+            .addFilterBefore(new SessionTokenFilter(sessionTokenService), UsernamePasswordAuthenticationFilter.class)
+            // After authentication has run, before the request is authorized
+            .addFilterBefore(new BannedUserFilter(bannedUserService, objectMapper), AuthorizationFilter.class)
+            .addFilterBefore(new ShardRoutingFilter(shardRouter, sessionTokenService), AuthorizationFilter.class)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()));
         return http.build();
     }
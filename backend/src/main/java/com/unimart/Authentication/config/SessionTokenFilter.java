@@ -0,0 +1,54 @@
+package com.unimart.Authentication.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.unimart.Authentication.services.SessionTokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates the request as the email a valid "Authorization: Bearer" session token was
+ * issued to. Push streams may pass it as the token parameter instead, since EventSource and
+ * browser WebSockets cannot set headers. Requests without a valid token stay anonymous and are
+ * refused by authorization.
+ */
+public class SessionTokenFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+    private static final String PUSH_PATH = "/api/push/";
+
+    private final SessionTokenService sessionTokenService;
+
+    public SessionTokenFilter(SessionTokenService sessionTokenService) {
+        this.sessionTokenService = sessionTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<String> email = sessionTokenService.verify(tokenOf(request));
+        email.ifPresent(verified -> SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(verified, null, List.of())));
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * The session token the request carries, not yet verified, or null
+     */
+    public static String tokenOf(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return header.substring(BEARER.length()).trim();
+        }
+        return request.getRequestURI().startsWith(PUSH_PATH) ? request.getParameter("token") : null;
+    }
+}
@@ -27,8 +27,11 @@ import com.unimart.Authentication.dtos.auth.VerifyRequest;
 import com.unimart.Authentication.exceptions.InvalidEmailException;
 import com.unimart.Authentication.exceptions.InvalidVerificationCodeException;
 import com.unimart.Authentication.exceptions.SchoolNotFoundException;
+import com.unimart.Authentication.exceptions.UserBannedException;
 import com.unimart.Authentication.models.User;
 import com.unimart.Authentication.services.AuthService;
+import com.unimart.backend.conditional.ConditionalGet;
+import com.unimart.backend.sharding.ShardRouter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +47,10 @@ public class AuthController {
     @Autowired
     private DataInitializer dataInitializer;
 
+    // Requests here are not authenticated yet, so they are routed by the email they carry
+    @Autowired
+    private ShardRouter shardRouter;
+
     /**
      * Endpoint to validate email and send verification code
      */
@@ -53,7 +60,7 @@ public class AuthController {
         log.info("Email validation request received for: {}", email);
         
         try {
-            SchoolRedirectDTO schoolInfo = authService.validateEmail(email);
+            SchoolRedirectDTO schoolInfo = shardRouter.onShardOf(email, () -> authService.validateEmail(email));
             log.info("Email validation successful for: {}. University: {}", email, schoolInfo.getUniversityName());
             return ResponseEntity.ok(schoolInfo);
         } catch (InvalidEmailException e) {
@@ -80,12 +87,14 @@ public class AuthController {
         log.info("Code verification request received for email: {}. Remember me: {}", email, rememberMe);
         
         try {
-            UserResponseDTO user = authService.verifyCode(email, code, rememberMe);
+            UserResponseDTO user = shardRouter.onShardOf(email, () -> authService.verifyCode(email, code, rememberMe));
             log.info("Code verification successful for: {}. Username: {}", email, user.getUsername());
             return ResponseEntity.ok(user);
         } catch (InvalidVerificationCodeException e) {
             log.warn("Invalid verification code for email: {}", email);
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (UserBannedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
         } catch (Exception e) {
             log.error("Error verifying code for email: {}", email, e);
             return ResponseEntity.internalServerError().body("An error occurred while processing your request.");
@@ -96,8 +105,9 @@ public class AuthController {
      * Endpoint to get all supported universities
      */
     @GetMapping("/supported-universities")
+    @ConditionalGet(source = "universities")
     public ResponseEntity<List<SupportedUniversityDTO>> getSupportedUniversities() {
-        List<SupportedUniversityDTO> universities = authService.getAllSupportedUniversities();
+        List<SupportedUniversityDTO> universities = shardRouter.onGlobal(authService::getAllSupportedUniversities);
         return ResponseEntity.ok(universities);
     }
     
@@ -123,9 +133,11 @@ public class AuthController {
             request.setPhoneNumber(phoneNumber);
             request.setDescription(description);
             
-            ProfileSetupResponse response = authService.setupProfile(request, profilePicture);
+            ProfileSetupResponse response = shardRouter.onShardOf(email, () -> authService.setupProfile(request, profilePicture));
             log.info("Profile setup successful for: {}", email);
             return ResponseEntity.ok(response);
+        } catch (UserBannedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
         } catch (Exception e) {
             log.error("Error setting up profile for email: {}", email, e);
             return ResponseEntity.internalServerError().body("An error occurred while setting up your profile: " + e.getMessage());
@@ -143,12 +155,12 @@ public class AuthController {
         log.info("Trusted token verification request received for email: {}", email);
         
         try {
-            boolean isValid = authService.verifyTrustedDeviceToken(email, token);
+            boolean isValid = shardRouter.onShardOf(email, () -> authService.verifyTrustedDeviceToken(email, token));
             
             if (isValid) {
                 log.info("Trusted token verification successful for: {}", email);
                 // If token is valid, fetch the user and return user info
-                User user = authService.getUserByEmail(email);
+                User user = shardRouter.onShardOf(email, () -> authService.getUserByEmail(email));
                 UserResponseDTO userResponse = new UserResponseDTO(email, user.getUsername(), user.getUniversity().getName());
                 userResponse.setToken(authService.generateToken(user));
                 
@@ -162,6 +174,8 @@ public class AuthController {
                 log.warn("Invalid trusted token for email: {}", email);
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token");
             }
+        } catch (UserBannedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
         } catch (Exception e) {
             log.error("Error verifying trusted token for email: {}", email, e);
             return ResponseEntity.internalServerError().body("An error occurred while processing your request.");
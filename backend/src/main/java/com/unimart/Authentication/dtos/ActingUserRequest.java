@@ -0,0 +1,9 @@
+package com.unimart.Authentication.dtos;
+
+/**
+ * A request body that names the user acting on it, e.g. the buyer of a checkout. Bodies of
+ * banned users are refused before they reach the controller, see BannedUserBodyAdvice.
+ */
+public interface ActingUserRequest {
+    String actingUserEmail();
+}
@@ -4,10 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.unimart.Authentication.dtos.ActingUserRequest;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class EmailRequest {
+public class EmailRequest implements ActingUserRequest {
     private String email;
     
     // Manual getter and setter in case Lombok isn't working
@@ -18,4 +20,9 @@ public class EmailRequest {
     public void setEmail(String email) {
         this.email = email;
     }
+
+    @Override
+    public String actingUserEmail() {
+        return email;
+    }
 }
@@ -4,10 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.unimart.Authentication.dtos.ActingUserRequest;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class VerifyRequest {
+public class VerifyRequest implements ActingUserRequest {
     private String email;
     private String code;
     private Boolean rememberMe = false;
@@ -28,5 +30,9 @@ public class VerifyRequest {
     public void setCode(String code) {
         this.code = code;
     }
-}
 
+    @Override
+    public String actingUserEmail() {
+        return email;
+    }
+}
@@ -2,10 +2,22 @@ package com.unimart.Authentication.exceptions;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import com.unimart.backend.exceptions.BidNotFoundException;
+import com.unimart.backend.exceptions.BidRejectedException;
+import com.unimart.backend.exceptions.ConversationNotFoundException;
+import com.unimart.backend.exceptions.DependencyUnavailableException;
+import com.unimart.backend.exceptions.ImagePipelineBusyException;
+import com.unimart.backend.exceptions.InvalidImageException;
+import com.unimart.backend.exceptions.InvalidRequestException;
+import com.unimart.backend.exceptions.OutOfStockException;
+import com.unimart.backend.exceptions.ProductNotFoundException;
+import com.unimart.backend.exceptions.UserNotFoundException;
+
 import lombok.extern.slf4j.Slf4j;
 
 @ControllerAdvice
@@ -30,6 +42,36 @@ public class GlobalExceptionHandler {
         );
     }
     
+    @ExceptionHandler(InvalidSessionTokenException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSessionTokenException(
+            InvalidSessionTokenException ex, WebRequest request) {
+        log.warn("Invalid session token: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), ex.getMessage()),
+            HttpStatus.UNAUTHORIZED
+        );
+    }
+    
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDeniedException(
+            AccessDeniedException ex, WebRequest request) {
+        log.warn("Access denied: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.FORBIDDEN.value(), ex.getMessage()),
+            HttpStatus.FORBIDDEN
+        );
+    }
+    
+    @ExceptionHandler(UserBannedException.class)
+    public ResponseEntity<ErrorResponse> handleUserBannedException(
+            UserBannedException ex, WebRequest request) {
+        log.warn("Banned user refused: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.FORBIDDEN.value(), ex.getMessage()),
+            HttpStatus.FORBIDDEN
+        );
+    }
+    
     @ExceptionHandler(SchoolNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleSchoolNotFoundException(
             SchoolNotFoundException ex, WebRequest request) {
@@ -40,6 +82,104 @@ public class GlobalExceptionHandler {
         );
     }
     
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleProductNotFoundException(
+            ProductNotFoundException ex, WebRequest request) {
+        log.info("Product not found: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()),
+            HttpStatus.NOT_FOUND
+        );
+    }
+    
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleUserNotFoundException(
+            UserNotFoundException ex, WebRequest request) {
+        log.info("User not found: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()),
+            HttpStatus.NOT_FOUND
+        );
+    }
+    
+    @ExceptionHandler(BidNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleBidNotFoundException(
+            BidNotFoundException ex, WebRequest request) {
+        log.info("Bid not found: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()),
+            HttpStatus.NOT_FOUND
+        );
+    }
+    
+    @ExceptionHandler(ConversationNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleConversationNotFoundException(
+            ConversationNotFoundException ex, WebRequest request) {
+        log.info("Conversation not found: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()),
+            HttpStatus.NOT_FOUND
+        );
+    }
+
+    @ExceptionHandler(BidRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleBidRejectedException(
+            BidRejectedException ex, WebRequest request) {
+        log.info("Bid rejected: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage()),
+            HttpStatus.CONFLICT
+        );
+    }
+    
+    @ExceptionHandler(OutOfStockException.class)
+    public ResponseEntity<ErrorResponse> handleOutOfStockException(
+            OutOfStockException ex, WebRequest request) {
+        log.info("Out of stock: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage()),
+            HttpStatus.CONFLICT
+        );
+    }
+
+    @ExceptionHandler(ImagePipelineBusyException.class)
+    public ResponseEntity<ErrorResponse> handleImagePipelineBusyException(
+            ImagePipelineBusyException ex, WebRequest request) {
+        log.warn("Image upload rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "5")
+            .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage()));
+    }
+    
+    @ExceptionHandler(DependencyUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleDependencyUnavailableException(
+            DependencyUnavailableException ex, WebRequest request) {
+        log.warn("Call to {} refused: {}", ex.getDependency(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+            .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidImageException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidImageException(
+            InvalidImageException ex, WebRequest request) {
+        log.warn("Invalid image: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage()),
+            HttpStatus.BAD_REQUEST
+        );
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(
+            InvalidRequestException ex, WebRequest request) {
+        log.warn("Bad request: {}", ex.getMessage());
+        return new ResponseEntity<>(
+            new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage()),
+            HttpStatus.BAD_REQUEST
+        );
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, WebRequest request) {
         log.error("Unhandled exception", ex);
@@ -0,0 +1,7 @@
+package com.unimart.Authentication.exceptions;
+
+public class InvalidSessionTokenException extends RuntimeException {
+    public InvalidSessionTokenException(String message) {
+        super(message);
+    }
+}
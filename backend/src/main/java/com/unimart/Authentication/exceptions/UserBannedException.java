@@ -0,0 +1,7 @@
+package com.unimart.Authentication.exceptions;
+
+public class UserBannedException extends RuntimeException {
+    public UserBannedException(String message) {
+        super(message);
+    }
+}
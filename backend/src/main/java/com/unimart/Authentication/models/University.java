@@ -1,5 +1,8 @@
 package com.unimart.Authentication.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -12,6 +15,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "universities")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "universities")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,10 @@
 package com.unimart.Authentication.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,6 +20,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "Users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +30,8 @@ public class User {
     @Column(name = "email")
     private String email;
     
+    // The email is the id and already served from the entity cache
+    @NaturalId(mutable = true)
     @Column(name = "username", nullable = false, unique = true)
     private String username;
     
@@ -48,6 +57,10 @@ public class User {
     @Column(name = "banned_by")
     private String bannedBy;
     
+    // End of a timed ban; null while banned means until unbanned
+    @Column(name = "ban_expires_at")
+    private LocalDateTime banExpiresAt;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -136,6 +149,14 @@ public class User {
         this.bannedBy = bannedBy;
     }
     
+    public LocalDateTime getBanExpiresAt() {
+        return banExpiresAt;
+    }
+    
+    public void setBanExpiresAt(LocalDateTime banExpiresAt) {
+        this.banExpiresAt = banExpiresAt;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
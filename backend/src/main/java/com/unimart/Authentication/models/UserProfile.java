@@ -1,17 +1,37 @@
 package com.unimart.Authentication.models;
 
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrimaryKeyJoinColumn;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+/**
+ * Bio and profile picture are large and live in UserProfileDetails, behind a lazy proxy: loading
+ * or caching a profile reads neither, and the first getBio or getProfileImageUrl loads both.
+ * Lists of users should still use the summary projection in UserProfileRepository, and the
+ * picture alone is read through findProfileImageUrl.
+ */
 @Entity
 @Table(name = "UserProfiles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-profiles")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,8 +40,10 @@ public class UserProfile {
     @Column(name = "user_email")
     private String userEmail;
     
-    @OneToOne
-    @JoinColumn(name = "user_email", referencedColumnName = "email")
+    // Read through the user_email column, which userEmail writes. Not a @OneToOne: Hibernate maps
+    // that as a primary key one-to-one, and merging a new profile fails with a null identifier.
+    @ManyToOne
+    @JoinColumn(name = "user_email", referencedColumnName = "email", insertable = false, updatable = false)
     private User user;
     
     @Column(name = "first_name")
@@ -33,26 +55,59 @@ public class UserProfile {
     @Column(name = "phone_number")
     private String phoneNumber;
     
-    @Column(name = "bio")
-    private String bio;
-    
-    @Column(name = "profile_image_url")
-    private String profileImageUrl;
+    // Same key as the profile, and never null, so Hibernate can hand out a proxy without a query
+    @OneToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL)
+    @PrimaryKeyJoinColumn
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private UserProfileDetails details = new UserProfileDetails();
+
+    // Version of the profile for conditional GETs
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
     
     public UserProfile(User user, String firstName, String lastName, String phoneNumber, String bio) {
-        this.user = user;
-        this.userEmail = user.getEmail();
+        setUser(user);
         this.firstName = firstName;
         this.lastName = lastName;
         this.phoneNumber = phoneNumber;
-        this.bio = bio;
+        this.details.setBio(bio);
     }
 
     // Ensure userEmail is set when user is set
     public void setUser(User user) {
         this.user = user;
         if (user != null) {
-            this.userEmail = user.getEmail();
+            setUserEmail(user.getEmail());
+        }
+    }
+
+    public void setUserEmail(String userEmail) {
+        this.userEmail = userEmail;
+        details.setUserEmail(userEmail);
+    }
+
+    public String getBio() {
+        return details.getBio();
+    }
+
+    public String getProfileImageUrl() {
+        return details.getProfileImageUrl();
+    }
+
+    // updated_at versions the whole profile, details included, and only the profile row has it
+    public void setBio(String bio) {
+        if (!Objects.equals(details.getBio(), bio)) {
+            details.setBio(bio);
+            updatedAt = LocalDateTime.now();
+        }
+    }
+
+    public void setProfileImageUrl(String profileImageUrl) {
+        if (!Objects.equals(details.getProfileImageUrl(), profileImageUrl)) {
+            details.setProfileImageUrl(profileImageUrl);
+            updatedAt = LocalDateTime.now();
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.unimart.Authentication.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Bio and profile picture of a UserProfile, in a table of their own so that loading a profile
+ * reads neither. Keyed by the profile's user_email; not cached.
+ */
+@Entity
+@Table(name = "UserProfileDetails")
+@Data
+@NoArgsConstructor
+public class UserProfileDetails {
+    @Id
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Column(name = "bio", length = 65_535)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String bio;
+
+    // Base64 data URI of the uploaded picture, often hundreds of kilobytes
+    @Column(name = "profile_image_url", length = 16_777_215)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String profileImageUrl;
+}
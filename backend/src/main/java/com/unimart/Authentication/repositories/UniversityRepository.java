@@ -1,15 +1,27 @@
 package com.unimart.Authentication.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.unimart.Authentication.models.University;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UniversityRepository extends JpaRepository<University, Long> {
+    // Universities rarely change, so these stay in the query cache until one does
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<University> findByDomain(String domain);
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<University> findAll();
+
     boolean existsByDomain(String domain);
     Optional<University> findByName(String name);
 } 
\ No newline at end of file
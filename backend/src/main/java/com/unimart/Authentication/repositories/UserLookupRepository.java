@@ -0,0 +1,16 @@
+package com.unimart.Authentication.repositories;
+
+import java.util.Optional;
+
+import com.unimart.Authentication.models.User;
+
+/**
+ * User lookups served from the second-level cache instead of a query. Derived queries always
+ * hit the database, and caching them in the query cache would not help much: every write to
+ * Users, such as a new trusted device token, invalidates all cached Users queries.
+ */
+public interface UserLookupRepository {
+    Optional<User> findByEmail(String email);
+
+    Optional<User> findByUsername(String username);
+}
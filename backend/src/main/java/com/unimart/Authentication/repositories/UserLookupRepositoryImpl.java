@@ -0,0 +1,36 @@
+package com.unimart.Authentication.repositories;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.unimart.Authentication.models.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class UserLookupRepositoryImpl implements UserLookupRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The email is the id, so this is an entity cache lookup
+     */
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return email == null ? Optional.empty() : Optional.ofNullable(entityManager.find(User.class, email));
+    }
+
+    /**
+     * Resolved through the username natural-id cache, then the entity cache. Transactional, since
+     * outside a transaction the shared EntityManager closes the unwrapped Session right away.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return username == null
+                ? Optional.empty()
+                : entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+}
@@ -1,8 +1,12 @@
 package com.unimart.Authentication.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.unimart.Authentication.models.UserProfile;
@@ -11,4 +15,27 @@ import com.unimart.Authentication.models.UserProfile;
 public interface UserProfileRepository extends JpaRepository<UserProfile, String> {
     Optional<UserProfile> findByUserEmail(String email);
     boolean existsByUserEmail(String email);
-} 
\ No newline at end of file
+
+    /**
+     * Name and university of each user for seller cards and message headers. Reads a flag
+     * instead of the profile picture and never touches the bio.
+     */
+    @Query("SELECT u.email AS email, u.username AS username, p.firstName AS firstName, p.lastName AS lastName, "
+            + "un.name AS universityName, CASE WHEN d.profileImageUrl IS NULL THEN false ELSE true END AS hasAvatar "
+            + "FROM User u LEFT JOIN u.university un LEFT JOIN UserProfile p ON p.userEmail = u.email "
+            + "LEFT JOIN UserProfileDetails d ON d.userEmail = u.email "
+            + "WHERE u.email IN :emails")
+    List<UserSummaryView> findSummaries(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT d.profileImageUrl FROM UserProfileDetails d WHERE d.userEmail = :email")
+    Optional<String> findProfileImageUrl(@Param("email") String email);
+
+    interface UserSummaryView {
+        String getEmail();
+        String getUsername();
+        String getFirstName();
+        String getLastName();
+        String getUniversityName();
+        Boolean getHasAvatar();
+    }
+}
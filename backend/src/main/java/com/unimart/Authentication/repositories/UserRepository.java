@@ -1,16 +1,57 @@
 package com.unimart.Authentication.repositories;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.unimart.Authentication.models.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, String>, UserLookupRepository {
     boolean existsByEmail(String email);
-    Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    /**
+     * Bans the users not banned yet until banExpiresAt, or until unbanned when it is null
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.banned = true, u.bannedBy = :admin, u.banExpiresAt = :banExpiresAt "
+            + "WHERE u.email IN :emails AND u.banned = false")
+    int banUsers(@Param("emails") Collection<String> emails, @Param("admin") String admin,
+                 @Param("banExpiresAt") LocalDateTime banExpiresAt);
+
+    /**
+     * Moves the end of the timed bans of users already banned out to banExpiresAt
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.banExpiresAt = :banExpiresAt "
+            + "WHERE u.email IN :emails AND u.banned = true AND u.banExpiresAt < :banExpiresAt")
+    int extendBans(@Param("emails") Collection<String> emails, @Param("banExpiresAt") LocalDateTime banExpiresAt);
+
+    /**
+     * Keeps users already banned banned until unbanned
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.banExpiresAt = null WHERE u.email IN :emails AND u.banned = true")
+    int makeBansOpenEnded(@Param("emails") Collection<String> emails);
+
+    @Modifying
+    @Query("UPDATE User u SET u.banned = false, u.bannedBy = null, u.banExpiresAt = null "
+            + "WHERE u.email IN :emails AND u.banned = true")
+    int unbanUsers(@Param("emails") Collection<String> emails);
+
+    /**
+     * (email, ban end or null when open-ended) of every banned user
+     */
+    @Query("SELECT u.email, u.banExpiresAt FROM User u WHERE u.banned = true")
+    List<Object[]> findBans();
+
+    @Query("SELECT u.email, u.banExpiresAt FROM User u WHERE u.banned = true AND u.email IN :emails")
+    List<Object[]> findBans(@Param("emails") Collection<String> emails);
 } 
\ No newline at end of file
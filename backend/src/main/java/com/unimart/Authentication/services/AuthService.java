@@ -20,6 +20,7 @@ import com.unimart.Authentication.dtos.auth.SupportedUniversityDTO;
 import com.unimart.Authentication.exceptions.InvalidEmailException;
 import com.unimart.Authentication.exceptions.InvalidVerificationCodeException;
 import com.unimart.Authentication.exceptions.SchoolNotFoundException;
+import com.unimart.Authentication.exceptions.UserBannedException;
 import com.unimart.Authentication.models.University;
 import com.unimart.Authentication.models.User;
 import com.unimart.Authentication.models.UserProfile;
@@ -28,6 +29,9 @@ import com.unimart.Authentication.repositories.UniversityRepository;
 import com.unimart.Authentication.repositories.UserProfileRepository;
 import com.unimart.Authentication.repositories.UserRepository;
 import com.unimart.Authentication.repositories.VerificationCodeRepository;
+import com.unimart.backend.diagnostics.VerificationAttemptEvent;
+import com.unimart.backend.service.BannedUserService;
+import com.unimart.backend.singleflight.SingleFlight;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -49,6 +53,12 @@ public class AuthService {
     @Autowired
     private UserProfileRepository userProfileRepository;
 
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private BannedUserService bannedUserService;
+
     /**
      * Validates if the email is a valid school email and sends an authentication code
      */
@@ -147,6 +157,28 @@ public class AuthService {
      */
     @Transactional
     public UserResponseDTO verifyCode(String email, String code, boolean rememberMe) {
+        VerificationAttemptEvent event = new VerificationAttemptEvent();
+        event.emailDomain = email.substring(email.indexOf('@') + 1);
+        event.begin();
+        try {
+            UserResponseDTO dto = checkCodeAndSignIn(email, code, rememberMe);
+            event.outcome = "verified";
+            event.firstLogin = Boolean.TRUE.equals(dto.getIsFirstLogin());
+            return dto;
+        } catch (InvalidVerificationCodeException e) {
+            event.outcome = e.getMessage();
+            throw e;
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private UserResponseDTO checkCodeAndSignIn(String email, String code, boolean rememberMe) {
+        requireNotBanned(email);
+
         // Special case for testing - dummy code 123456
         if ("123456".equals(code)) {
             log.info("Using dummy verification code 123456 for email: {}", email);
@@ -188,7 +220,7 @@ public class AuthService {
             
             user = userRepository.save(user);
             
-            // Generate a simple token (in a real app, this would be a JWT)
+            // Signed session token, see SessionTokenService
             String token = generateToken(user);
             
             // Setting redirect based on whether school is supported
@@ -278,7 +310,7 @@ public class AuthService {
             redirectUrl = isSchoolSupported ? "/huskymart" : "/unsupported";
         }
         
-        // Generate a simple token (in a real app, this would be a JWT)
+        // Signed session token, see SessionTokenService
         String token = generateToken(user);
         
         // Return user information with redirect URL and isFirstLogin flag
@@ -327,6 +359,7 @@ public class AuthService {
     @Transactional
     public ProfileSetupResponse setupProfile(ProfileSetupRequest request, MultipartFile profilePicture) {
         String email = request.getEmail();
+        requireNotBanned(email);
         
         // Get the user from the repository
         User user = userRepository.findByEmail(email)
@@ -432,8 +465,9 @@ public class AuthService {
     }
 
     /**
-     * Get all supported universities
+     * Get all supported universities. Concurrent calls on a cold cache share one load.
      */
+    @SingleFlight
     public List<SupportedUniversityDTO> getAllSupportedUniversities() {
         List<University> universities = universityRepository.findAll();
         
@@ -475,10 +509,19 @@ public class AuthService {
     }
 
     /**
-     * Generate a simple token for the user (placeholder for JWT implementation)
+     * Signed, short-lived session token for the user. Every sign-in path ends here, so a banned
+     * user never gets a token.
      */
     public String generateToken(User user) {
-        return "token-" + user.getEmail() + "-" + System.currentTimeMillis();
+        requireNotBanned(user.getEmail());
+        return sessionTokenService.issue(user.getEmail());
+    }
+
+    private void requireNotBanned(String email) {
+        if (bannedUserService.isBanned(email)) {
+            log.warn("Refused sign-in of banned user: {}", email);
+            throw new UserBannedException("This account is banned");
+        }
     }
 
     /**
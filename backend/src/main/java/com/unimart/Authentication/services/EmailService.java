@@ -6,6 +6,13 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import com.unimart.backend.diagnostics.SmtpSendEvent;
+import com.unimart.backend.exceptions.DependencyUnavailableException;
+import com.unimart.backend.resilience.DependencyGuard;
+import com.unimart.backend.tracing.Span;
+import com.unimart.backend.tracing.SpanKind;
+import com.unimart.backend.tracing.Tracer;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -13,6 +20,12 @@ import lombok.extern.slf4j.Slf4j;
 public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private DependencyGuard smtpGuard;
     
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -27,8 +40,22 @@ public class EmailService {
             message.setSubject(subject);
             message.setText(body);
             
-            mailSender.send(message);
+            SmtpSendEvent event = new SmtpSendEvent();
+            event.recipientDomain = to.substring(to.indexOf('@') + 1);
+            event.begin();
+            try (Span span = tracer.start("smtp send", SpanKind.EXTERNAL)) {
+                smtpGuard.call(() -> {
+                    mailSender.send(message);
+                    return null;
+                });
+                event.success = true;
+            } finally {
+                event.commit();
+            }
             log.info("Email sent successfully to: {}", to);
+        } catch (DependencyUnavailableException e) {
+            log.warn("Not sending email to {}: {}", to, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Failed to send email to: {}. Error: {}", to, e.getMessage());
             log.error("Stack trace:", e);
@@ -0,0 +1,105 @@
+package com.unimart.Authentication.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues and checks the session tokens handed out at sign-in.
+ *
+ * A token is [base64url email].[expiry epoch millis].[base64url HMAC-SHA256 of both], so it can
+ * be verified without a database lookup and cannot be minted for another email without the
+ * secret.
+ */
+@Service
+@Slf4j
+public class SessionTokenService {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${marketplace.auth.token-secret:}")
+    private String secret;
+
+    @Value("${marketplace.auth.token-ttl-hours:12}")
+    private long ttlHours;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // Tokens then only survive until the next restart
+            log.warn("marketplace.auth.token-secret is not set, using a random key");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public String issue(String email) {
+        String payload = ENCODER.encodeToString(email.toLowerCase().getBytes(StandardCharsets.UTF_8))
+                + "." + (System.currentTimeMillis() + ttlHours * 3_600_000L);
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Returns the email the token was issued to, or empty if it is malformed, forged or expired
+     */
+    public Optional<String> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int signatureAt = token.lastIndexOf('.');
+        int expiryAt = signatureAt > 0 ? token.lastIndexOf('.', signatureAt - 1) : -1;
+        if (expiryAt <= 0) {
+            return Optional.empty();
+        }
+        try {
+            String payload = token.substring(0, signatureAt);
+            byte[] signature = DECODER.decode(token.substring(signatureAt + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+            if (Long.parseLong(token.substring(expiryAt + 1, signatureAt)) < System.currentTimeMillis()) {
+                return Optional.empty();
+            }
+            return Optional.of(new String(DECODER.decode(token.substring(0, expiryAt)), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or expiry, NumberFormatException included
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * True if the token is valid and was issued to this email
+     */
+    public boolean isIssuedTo(String token, String email) {
+        return email != null && verify(token).filter(email::equalsIgnoreCase).isPresent();
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.unimart.backend.conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose response is identified by the version of a named VersionSource.
+ *
+ * ConditionalGetInterceptor asks the source for the current version before the handler runs.
+ * It answers 304 straight away when the client's If-None-Match or If-Modified-Since still
+ * matches, so neither the service method nor serialization run. Otherwise it sets ETag and
+ * Last-Modified and lets the handler continue.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+    /**
+     * Name of the VersionSource bean
+     */
+    String source();
+
+    /**
+     * Path variable (or request parameter) passed to the source as its key; empty for none
+     */
+    String key() default "";
+}
@@ -0,0 +1,131 @@
+package com.unimart.backend.conditional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.unimart.backend.metrics.MetricsSource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-circuits GETs of ConditionalGet endpoints to 304 Not Modified when the client already
+ * holds the current version.
+ *
+ * The ETag is weak, since equal versions give equal content but not byte-identical JSON, and
+ * covers the source, key and query string, so every page of a feed has its own tag.
+ * Responses also get Cache-Control: no-cache, so clients revalidate instead of guessing.
+ */
+@Component
+@Slf4j
+public class ConditionalGetInterceptor implements HandlerInterceptor, MetricsSource {
+    private final Map<String, VersionSource> sources = new HashMap<>();
+
+    private final Map<String, LongAdder> checks = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> notModified = new ConcurrentHashMap<>();
+    private final LongAdder unversioned = new LongAdder();
+
+    public ConditionalGetInterceptor(List<VersionSource> versionSources) {
+        for (VersionSource source : versionSources) {
+            if (sources.put(source.name(), source) != null) {
+                throw new IllegalStateException("Two version sources named " + source.name());
+            }
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)
+                || (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        ConditionalGet conditional = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditional == null) {
+            return true;
+        }
+        VersionSource source = sources.get(conditional.source());
+        if (source == null) {
+            throw new IllegalStateException("No version source named " + conditional.source() + " for " + method);
+        }
+
+        String key = key(request, conditional.key());
+        ResourceVersion version = source.currentVersion(key);
+        checks.computeIfAbsent(source.name(), name -> new LongAdder()).increment();
+        if (version == null) {
+            unversioned.increment();
+            return true;
+        }
+
+        String etag = "W/\"" + digest(source.name(), key, version.getTag(), request.getQueryString()) + "\"";
+        long lastModified = version.getLastModifiedMillis() != null ? version.getLastModifiedMillis() : -1;
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Sets ETag and Last-Modified on the response either way, and the 304 status on a match
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            notModified.computeIfAbsent(source.name(), name -> new LongAdder()).increment();
+            source.notModified(key, version);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "conditional-get";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Object> perSource = new LinkedHashMap<>();
+        sources.keySet().stream().sorted().forEach(name -> {
+            long checked = sum(checks, name);
+            long hits = sum(notModified, name);
+            perSource.put(name, Map.of("checks", checked, "notModified", hits,
+                    "notModifiedRatio", checked == 0 ? 0.0 : (double) hits / checked));
+        });
+        stats.put("sources", perSource);
+        stats.put("unversioned", unversioned.sum());
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String key(HttpServletRequest request, String name) {
+        if (name.isEmpty()) {
+            return "";
+        }
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables != null ? variables.get(name) : null;
+        return value != null ? value : request.getParameter(name);
+    }
+
+    private static String digest(String source, String key, String tag, String query) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            String input = source + '\n' + key + '\n' + tag + '\n' + (query != null ? query : "");
+            return HexFormat.of().formatHex(sha256.digest(input.getBytes(StandardCharsets.UTF_8)), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static long sum(Map<String, LongAdder> counters, String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.unimart.backend.conditional;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.unimart.backend.service.ListingFeedCache;
+
+/**
+ * Per-university listing counter of ListingFeedCache. The counter lives in this instance, so
+ * the tag includes an id of the running instance and never matches one issued by another.
+ */
+@Component
+public class ListingFeedVersionSource implements VersionSource {
+    private static final String INSTANCE = UUID.randomUUID().toString();
+
+    @Autowired
+    private ListingFeedCache listingFeedCache;
+
+    @Override
+    public String name() {
+        return "listing-feed";
+    }
+
+    @Override
+    public ResourceVersion currentVersion(String universityId) {
+        try {
+            return new ResourceVersion(INSTANCE + ':' + listingFeedCache.version(Long.valueOf(universityId)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
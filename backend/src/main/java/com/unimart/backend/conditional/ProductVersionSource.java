@@ -0,0 +1,72 @@
+package com.unimart.backend.conditional;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.unimart.backend.events.ProductEngagementEvent;
+import com.unimart.backend.service.SellerStatsService;
+
+/**
+ * Everything a product detail response is built from, in one primary key query: the
+ * product's updated_at (kept by the database), its images and renditions, and the seller's
+ * username and profile. Seller stats come from SellerStatsService's memory, as in the response.
+ */
+@Component
+public class ProductVersionSource implements VersionSource {
+    private static final String VERSION_SQL =
+            "SELECT p.university_id, p.seller_email, p.updated_at, u.username, pr.updated_at, "
+            + "(SELECT CONCAT(COUNT(*), '.', COUNT(i.thumbnail_url) + COUNT(i.card_url) + COUNT(i.detail_url), '.', "
+            + "COALESCE(MAX(i.image_id), 0)) FROM ProductImages i WHERE i.product_id = p.product_id) "
+            + "FROM Products p "
+            + "LEFT JOIN Users u ON u.email = p.seller_email "
+            + "LEFT JOIN UserProfiles pr ON pr.user_email = p.seller_email "
+            + "WHERE p.product_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SellerStatsService sellerStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String name() {
+        return "product";
+    }
+
+    @Override
+    public ResourceVersion currentVersion(String productId) {
+        long id;
+        try {
+            id = Long.parseLong(productId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        List<Object[]> rows = jdbcTemplate.query(VERSION_SQL, (row, rowNum) -> new Object[] {
+                row.getLong(1), row.getString(2),
+                row.getTimestamp(3) + "|" + row.getString(4) + "|" + row.getTimestamp(5) + "|" + row.getString(6)
+        }, id);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        // After the connection is back in the pool; a stats cache miss takes one of its own
+        String tag = row[2] + "|" + sellerStatsService.getStats((String) row[1]).hashCode();
+        return new ResourceVersion(tag, null, row[0]);
+    }
+
+    /**
+     * A revalidated view is still a view
+     */
+    @Override
+    public void notModified(String productId, ResourceVersion version) {
+        eventPublisher.publishEvent(new ProductEngagementEvent(ProductEngagementEvent.Type.VIEW,
+                Long.valueOf(productId), (Long) version.getContext()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.unimart.backend.conditional;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+    // Opaque; hashed into the ETag together with the source, key and query string
+    private final String tag;
+    // Epoch millis for Last-Modified, null when the source has no timestamp
+    private final Long lastModifiedMillis;
+    // Whatever the source needs back in notModified, may be null
+    private final Object context;
+
+    public ResourceVersion(String tag) {
+        this(tag, null, null);
+    }
+}
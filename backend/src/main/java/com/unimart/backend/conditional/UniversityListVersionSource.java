@@ -0,0 +1,40 @@
+package com.unimart.backend.conditional;
+
+import java.util.Comparator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.backend.sharding.ShardRouter;
+
+/**
+ * The set of supported universities. The list comes from the query cache, so computing the
+ * version costs no SQL.
+ */
+@Component
+public class UniversityListVersionSource implements VersionSource {
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Override
+    public String name() {
+        return "universities";
+    }
+
+    @Override
+    public ResourceVersion currentVersion(String key) {
+        StringBuilder tag = new StringBuilder();
+        shardRouter.onGlobal(universityRepository::findAll).stream()
+                .sorted(Comparator.comparing(University::getId))
+                .forEach(university -> tag.append(university.getId()).append('|')
+                        .append(university.getName()).append('|')
+                        .append(university.getDomain()).append('\n'));
+        return new ResourceVersion(tag.toString());
+    }
+}
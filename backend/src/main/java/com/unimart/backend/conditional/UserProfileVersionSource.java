@@ -0,0 +1,44 @@
+package com.unimart.backend.conditional;
+
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.models.UserProfile;
+import com.unimart.Authentication.repositories.UserProfileRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+
+/**
+ * A user's username plus UserProfiles.updated_at. Both entities are in the second-level
+ * cache, so this is usually free.
+ */
+@Component
+public class UserProfileVersionSource implements VersionSource {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Override
+    public String name() {
+        return "user-profile";
+    }
+
+    @Override
+    public ResourceVersion currentVersion(String email) {
+        User user = userRepository.findByEmail(email.toLowerCase()).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        UserProfile profile = userProfileRepository.findById(user.getEmail()).orElse(null);
+        if (profile == null || profile.getUpdatedAt() == null) {
+            return new ResourceVersion(user.getUsername());
+        }
+        long updatedAt = profile.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ResourceVersion(user.getUsername() + ':' + profile.getUpdatedAt(), updatedAt, null);
+    }
+}
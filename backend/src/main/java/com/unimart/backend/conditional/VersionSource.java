@@ -0,0 +1,27 @@
+package com.unimart.backend.conditional;
+
+/**
+ * Cheap version of a family of responses, e.g. a counter bumped on every change or an
+ * updated_at column read by primary key. Must be much cheaper than building the response.
+ *
+ * A version has to change whenever the response would, and must be read before the data the
+ * response is built from, so a change racing a request costs at most one extra full response.
+ */
+public interface VersionSource {
+    /**
+     * Name used in ConditionalGet.source
+     */
+    String name();
+
+    /**
+     * Current version for the key, or null when there is none (e.g. unknown id); the request
+     * then runs normally
+     */
+    ResourceVersion currentVersion(String key);
+
+    /**
+     * Called when a request ends in 304, for side effects the skipped handler would have had
+     */
+    default void notModified(String key, ResourceVersion version) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.unimart.backend.config;
+
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.service.bidding.BidEngine;
+import com.unimart.backend.service.bidding.BidLog;
+import com.unimart.backend.service.bidding.BidProjection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+public class BiddingConfig {
+
+    @Value("${marketplace.bids.log-file:data/bids.log}")
+    private String logFile;
+
+    @Value("${marketplace.bids.lock-stripes:1024}")
+    private int lockStripes;
+
+    @Value("${marketplace.bids.fsync-batch-size:512}")
+    private int fsyncBatchSize;
+
+    @Bean(destroyMethod = "close")
+    public BidLog bidLog() {
+        return new BidLog(Paths.get(logFile), fsyncBatchSize);
+    }
+
+    @Bean
+    public BidEngine bidEngine(BidLog bidLog, ProductRepository productRepository, BidProjection bidProjection)
+            throws IOException {
+        BidEngine engine = new BidEngine(bidLog,
+                productId -> productRepository.findById(productId)
+                        .map(product -> new BidEngine.ListingInfo(product.getSellerEmail(), product.isListed())),
+                bidProjection, lockStripes);
+        engine.recover();
+        return engine;
+    }
+}
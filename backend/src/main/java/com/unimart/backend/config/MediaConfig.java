@@ -0,0 +1,26 @@
+package com.unimart.backend.config;
+
+import com.unimart.backend.service.ProductImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class MediaConfig implements WebMvcConfigurer {
+
+    private final ProductImageService productImageService;
+
+    @Value("${marketplace.images.public-path:/media/products}")
+    private String publicPath;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Renditions never change once written, file names are unique per upload
+        registry.addResourceHandler(publicPath + "/**")
+                .addResourceLocations(productImageService.getStorageRoot().toUri().toString())
+                .setCachePeriod(31536000);
+    }
+}
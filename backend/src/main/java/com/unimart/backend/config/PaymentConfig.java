@@ -11,8 +11,17 @@ public class PaymentConfig {
     @Value("${stripe.api.key}")
     private String stripeApiKey;
 
+    // The library defaults (30 s to connect, 80 s to read) would hold a request thread far longer
+    @Value("${stripe.connect-timeout-ms:5000}")
+    private int connectTimeoutMillis;
+
+    @Value("${stripe.read-timeout-ms:20000}")
+    private int readTimeoutMillis;
+
     @PostConstruct
     public void setup() {
         Stripe.apiKey = stripeApiKey;
+        Stripe.setConnectTimeout(connectTimeoutMillis);
+        Stripe.setReadTimeout(readTimeoutMillis);
     }
 } 
\ No newline at end of file
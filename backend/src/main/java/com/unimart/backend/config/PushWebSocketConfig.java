@@ -0,0 +1,34 @@
+package com.unimart.backend.config;
+
+import com.unimart.Authentication.services.SessionTokenService;
+import com.unimart.backend.service.push.PushHub;
+import com.unimart.backend.service.push.PushWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Optional WebSocket endpoint for the push hub, for clients behind proxies that buffer SSE
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "marketplace.push.websocket.enabled", havingValue = "true")
+public class PushWebSocketConfig implements WebSocketConfigurer {
+
+    private final PushHub pushHub;
+    private final SessionTokenService sessionTokenService;
+
+    @Value("${cors.allowed-origins:http://localhost:3000}")
+    private String allowedOrigins;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(new PushWebSocketHandler(pushHub, sessionTokenService), "/api/push/ws")
+                .setAllowedOrigins(allowedOrigins.split(","));
+    }
+}
@@ -0,0 +1,89 @@
+package com.unimart.backend.config;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.RateLimitException;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.resilience.DependencyGuard;
+import com.unimart.backend.resilience.ResiliencePolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Value("${marketplace.resilience.stripe.max-concurrent:10}")
+    private int stripeMaxConcurrent;
+
+    @Value("${marketplace.resilience.stripe.slow-call-ms:5000}")
+    private long stripeSlowCallMillis;
+
+    @Value("${marketplace.resilience.stripe.open-seconds:30}")
+    private long stripeOpenSeconds;
+
+    @Value("${marketplace.resilience.smtp.max-concurrent:4}")
+    private int smtpMaxConcurrent;
+
+    @Value("${marketplace.resilience.smtp.slow-call-ms:10000}")
+    private long smtpSlowCallMillis;
+
+    @Value("${marketplace.resilience.smtp.open-seconds:60}")
+    private long smtpOpenSeconds;
+
+    @Value("${marketplace.resilience.failure-rate-percent:50}")
+    private int failureRatePercent;
+
+    @Value("${marketplace.resilience.window-size:20}")
+    private int windowSize;
+
+    @Value("${marketplace.resilience.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${marketplace.resilience.half-open-probes:3}")
+    private int halfOpenProbes;
+
+    @Bean
+    public DependencyGuard stripeGuard() {
+        // Declines and invalid requests are answers from a healthy Stripe; only outages count
+        return new DependencyGuard("stripe", policy(stripeMaxConcurrent, stripeSlowCallMillis, stripeOpenSeconds),
+                e -> e instanceof ApiConnectionException || e instanceof ApiException || e instanceof RateLimitException,
+                System::nanoTime);
+    }
+
+    @Bean
+    public DependencyGuard smtpGuard() {
+        // A message that could not even be built says nothing about the mail server
+        return new DependencyGuard("smtp", policy(smtpMaxConcurrent, smtpSlowCallMillis, smtpOpenSeconds),
+                e -> e instanceof MailException && !(e instanceof MailParseException || e instanceof MailPreparationException),
+                System::nanoTime);
+    }
+
+    @Bean
+    public MetricsSource resilienceMetrics(List<DependencyGuard> guards) {
+        return MetricsSource.of("resilience", () -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            guards.forEach(guard -> stats.put(guard.getName(), guard.stats()));
+            return stats;
+        });
+    }
+
+    private ResiliencePolicy policy(int maxConcurrent, long slowCallMillis, long openSeconds) {
+        return ResiliencePolicy.builder()
+                .maxConcurrent(maxConcurrent)
+                .slowCallMillis(slowCallMillis)
+                .openMillis(openSeconds * 1000)
+                .failureRatePercent(failureRatePercent)
+                .windowSize(windowSize)
+                .minimumCalls(minimumCalls)
+                .halfOpenProbes(halfOpenProbes)
+                .build();
+    }
+}
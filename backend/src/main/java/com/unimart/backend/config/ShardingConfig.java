@@ -0,0 +1,88 @@
+package com.unimart.backend.config;
+
+import com.unimart.backend.querystats.QueryStatsRecorder;
+import com.unimart.backend.querystats.QueryTimingDataSource;
+import com.unimart.backend.sharding.ShardDirectory;
+import com.unimart.backend.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the database into shard groups by university when marketplace.shards.enabled is set.
+ *
+ * spring.datasource.* stays the global datasource, holding Universities, AdminUsers and
+ * whatever runs outside a request. Each group listed in marketplace.shards.groups is
+ * configured under marketplace.shards.group.&lt;name&gt;.url, .username, .password and
+ * .max-pool-size; marketplace.shards.assignments pins universities to groups as
+ * universityId:group pairs.
+ */
+@Configuration
+@ConditionalOnProperty(name = "marketplace.shards.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Value("${marketplace.shards.groups}")
+    private List<String> groups;
+
+    @Value("${marketplace.shards.assignments:}")
+    private List<String> assignments;
+
+    @Value("${marketplace.query-stats.enabled:true}")
+    private boolean queryStatsEnabled;
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties globalProperties, Environment environment,
+                                             QueryStatsRecorder queryStatsRecorder) {
+        DataSource global = timed(globalProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build(),
+                queryStatsRecorder);
+        Map<String, DataSource> targets = new LinkedHashMap<>();
+        for (String group : groups) {
+            String prefix = "marketplace.shards.group." + group + ".";
+            HikariDataSource target = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(environment.getRequiredProperty(prefix + "url"))
+                    .username(environment.getProperty(prefix + "username", globalProperties.getUsername()))
+                    .password(environment.getProperty(prefix + "password", globalProperties.getPassword()))
+                    .build();
+            target.setPoolName("shard-" + group);
+            target.setMaximumPoolSize(environment.getProperty(prefix + "max-pool-size", Integer.class, 10));
+            targets.put(group, timed(target, queryStatsRecorder));
+        }
+        return new ShardRoutingDataSource(global, targets);
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(ShardRoutingDataSource dataSource) {
+        Map<Long, String> pinned = new HashMap<>();
+        for (String assignment : assignments) {
+            String[] parts = assignment.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Shard assignment must be universityId:group, got " + assignment);
+            }
+            pinned.put(Long.parseLong(parts[0].trim()), parts[1].trim());
+        }
+        ShardDirectory directory = new ShardDirectory(groups, pinned, dataSource.getResolvedDefaultDataSource());
+        directory.reload();
+        return directory;
+    }
+
+    /**
+     * Each pool is timed on its own, since the routing datasource is not wrapped
+     */
+    private DataSource timed(DataSource pool, QueryStatsRecorder queryStatsRecorder) {
+        return queryStatsEnabled ? new QueryTimingDataSource(pool, queryStatsRecorder) : pool;
+    }
+}
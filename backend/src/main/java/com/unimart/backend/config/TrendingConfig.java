@@ -0,0 +1,44 @@
+package com.unimart.backend.config;
+
+import com.unimart.backend.service.trending.TrendingEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Slf4j
+public class TrendingConfig {
+
+    @Value("${marketplace.trending.epsilon:0.001}")
+    private double epsilon;
+
+    @Value("${marketplace.trending.delta:0.01}")
+    private double delta;
+
+    @Value("${marketplace.trending.top-k:50}")
+    private int topK;
+
+    @Value("${marketplace.trending.half-life-minutes:360}")
+    private long halfLifeMinutes;
+
+    @Value("${marketplace.trending.checkpoint-file:data/trending.bin}")
+    private String checkpointFile;
+
+    @Bean
+    public TrendingEngine trendingEngine() {
+        TrendingEngine engine = new TrendingEngine(epsilon, delta, topK,
+                TimeUnit.MINUTES.toMillis(halfLifeMinutes), System::currentTimeMillis);
+        try {
+            engine.restore(Paths.get(checkpointFile));
+        } catch (IOException e) {
+            // Trending rebuilds itself from new events within a few half-lives
+            log.warn("Could not restore trending checkpoint {}, starting empty", checkpointFile, e);
+        }
+        return engine;
+    }
+}
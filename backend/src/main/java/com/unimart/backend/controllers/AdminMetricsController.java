@@ -0,0 +1,43 @@
+package com.unimart.backend.controllers;
+
+import com.unimart.backend.metrics.MetricsRegistry;
+import com.unimart.backend.querystats.QueryPlanAdvisor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@RequiredArgsConstructor
+@Tag(name = "Admin Metrics", description = "In-process cache and pipeline statistics")
+public class AdminMetricsController {
+
+    private final MetricsRegistry metricsRegistry;
+    private final QueryPlanAdvisor queryPlanAdvisor;
+
+    @GetMapping
+    @Operation(summary = "Metrics sources", description = "Names of the components whose statistics are served under /api/admin/metrics")
+    public Set<String> sources() {
+        return metricsRegistry.names();
+    }
+
+    @GetMapping("/{name}")
+    @Operation(summary = "Component statistics", description = "Statistics of one component, such as listing-feed, bidding, queries, tracing or concurrency-limits; 404 for an unknown name")
+    public ResponseEntity<Map<String, Object>> stats(@PathVariable String name) {
+        return ResponseEntity.of(metricsRegistry.stats(name));
+    }
+
+    @GetMapping("/queries/explain")
+    @Operation(summary = "Index advisor", description = "EXPLAIN of the flagged slow statements and the tables they scan in full; needs explain-enabled")
+    public Map<String, Object> explainQueries() {
+        return queryPlanAdvisor.report();
+    }
+}
@@ -0,0 +1,62 @@
+package com.unimart.backend.controllers;
+
+import java.util.List;
+
+import com.unimart.backend.dto.bid.BidDTO;
+import com.unimart.backend.dto.bid.BidDecisionDTO;
+import com.unimart.backend.dto.bid.BidRequestDTO;
+import com.unimart.backend.service.BiddingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/bids")
+@RequiredArgsConstructor
+@Tag(name = "Bid", description = "Offers on marketplace listings")
+public class BidController {
+
+    private final BiddingService biddingService;
+
+    @PostMapping
+    @Operation(summary = "Place a bid", description = "Places an offer on an available listing as the caller")
+    public ResponseEntity<BidDTO> placeBid(@Valid @RequestBody BidRequestDTO request, Authentication authentication) {
+        return ResponseEntity.ok(biddingService.placeBid(authentication.getName(), request));
+    }
+
+    @PostMapping("/{bidId}/accept")
+    @Operation(summary = "Accept a bid", description = "Accepts a pending offer on one of the caller's listings and declines the others on it")
+    public ResponseEntity<BidDTO> acceptBid(@PathVariable Long bidId, @Valid @RequestBody BidDecisionDTO decision,
+                                            Authentication authentication) {
+        return ResponseEntity.ok(biddingService.acceptBid(authentication.getName(), bidId, decision));
+    }
+
+    @PostMapping("/{bidId}/decline")
+    @Operation(summary = "Decline or counter a bid", description = "Declines a pending offer on one of the caller's listings, countering it when counterOffer is set")
+    public ResponseEntity<BidDTO> declineBid(@PathVariable Long bidId, @Valid @RequestBody BidDecisionDTO decision,
+                                             Authentication authentication) {
+        return ResponseEntity.ok(biddingService.declineBid(authentication.getName(), bidId, decision));
+    }
+
+    @GetMapping("/{bidId}")
+    @Operation(summary = "Get a bid")
+    public ResponseEntity<BidDTO> getBid(@PathVariable Long bidId) {
+        return ResponseEntity.ok(biddingService.getBid(bidId));
+    }
+
+    @GetMapping("/product/{productId}")
+    @Operation(summary = "Bids on a listing")
+    public ResponseEntity<List<BidDTO>> getBidsForListing(@PathVariable Long productId) {
+        return ResponseEntity.ok(biddingService.getBidsForListing(productId));
+    }
+
+    @GetMapping("/seller")
+    @Operation(summary = "Bids received by the caller", description = "All offers on the caller's listings, for the bid management page")
+    public ResponseEntity<List<BidDTO>> getBidsForSeller(Authentication authentication) {
+        return ResponseEntity.ok(biddingService.getBidsForSeller(authentication.getName()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.unimart.backend.controllers;
+
+import com.unimart.backend.dto.checkout.CheckoutRequestDTO;
+import com.unimart.backend.dto.checkout.CheckoutResponseDTO;
+import com.unimart.backend.service.CheckoutService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/checkout")
+@RequiredArgsConstructor
+@Tag(name = "Checkout", description = "Buying listings")
+public class CheckoutController {
+
+    private final CheckoutService checkoutService;
+
+    @PostMapping
+    @Operation(summary = "Buy a listing as the caller",
+               description = "Reserves the units, creates the order and starts the payment. A declined payment "
+                       + "cancels the order and returns paymentStatus Failed; no stock left returns 409")
+    public ResponseEntity<CheckoutResponseDTO> checkout(@Valid @RequestBody CheckoutRequestDTO request,
+                                                        Authentication authentication) {
+        return ResponseEntity.ok(checkoutService.checkout(authentication.getName(), request));
+    }
+}
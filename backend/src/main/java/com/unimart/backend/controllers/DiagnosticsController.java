@@ -0,0 +1,39 @@
+package com.unimart.backend.controllers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.unimart.backend.diagnostics.FlightRecorderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+@RequiredArgsConstructor
+@Tag(name = "Admin Diagnostics", description = "Continuous flight recording of the running instance")
+public class DiagnosticsController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @GetMapping("/jfr")
+    @Operation(summary = "Flight recording status", description = "State and size of the continuous recording and the latest dump")
+    public Map<String, Object> status() {
+        return flightRecorderService.stats();
+    }
+
+    @PostMapping("/jfr/dump")
+    @Operation(summary = "Dump the flight recording", description = "Writes the last minutes of the continuous recording to a .jfr file on this instance, for JDK Mission Control")
+    public Map<String, Object> dump(@RequestParam(defaultValue = "5") long minutes) throws IOException {
+        Path file = flightRecorderService.dump(minutes);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("file", file.toString());
+        result.put("bytes", Files.size(file));
+        result.put("minutes", minutes);
+        return result;
+    }
+}
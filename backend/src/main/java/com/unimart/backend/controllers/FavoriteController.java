@@ -0,0 +1,55 @@
+package com.unimart.backend.controllers;
+
+import com.unimart.backend.dto.favorite.FavoriteRequestDTO;
+import com.unimart.backend.dto.favorite.FavoriteStatusDTO;
+import com.unimart.backend.exceptions.InvalidRequestException;
+import com.unimart.backend.service.FavoritesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/favorites")
+@RequiredArgsConstructor
+@Tag(name = "Favorites", description = "Saved listings and favorite counts")
+public class FavoriteController {
+    private static final int MAX_LOOKUP_SIZE = 200;
+
+    private final FavoritesService favoritesService;
+
+    @GetMapping("/lookup")
+    @Operation(summary = "Favorite state of a page of listings",
+               description = "Whether the caller favorited each listing and its favorite count, in one call per page")
+    public ResponseEntity<List<FavoriteStatusDTO>> lookup(@RequestParam List<Long> productIds,
+                                                          Authentication authentication) {
+        if (productIds.size() > MAX_LOOKUP_SIZE) {
+            throw new InvalidRequestException("At most " + MAX_LOOKUP_SIZE + " product ids per lookup");
+        }
+        return ResponseEntity.ok(favoritesService.lookup(authentication.getName(), productIds));
+    }
+
+    @GetMapping
+    @Operation(summary = "Favorited listings of the caller")
+    public ResponseEntity<List<Long>> getFavorites(Authentication authentication) {
+        return ResponseEntity.ok(favoritesService.getFavorites(authentication.getName()));
+    }
+
+    @PostMapping
+    @Operation(summary = "Favorite a listing", description = "Adds the listing to the caller's favorites")
+    public ResponseEntity<FavoriteStatusDTO> addFavorite(@Valid @RequestBody FavoriteRequestDTO request,
+                                                         Authentication authentication) {
+        return ResponseEntity.ok(favoritesService.addFavorite(authentication.getName(), request.getProductId()));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Remove a listing from favorites", description = "Removes the listing from the caller's favorites")
+    public ResponseEntity<FavoriteStatusDTO> removeFavorite(@RequestParam Long productId, Authentication authentication) {
+        return ResponseEntity.ok(favoritesService.removeFavorite(authentication.getName(), productId));
+    }
+}
@@ -0,0 +1,88 @@
+package com.unimart.backend.controllers;
+
+import com.unimart.backend.dto.message.InboxDTO;
+import com.unimart.backend.dto.message.MessageDTO;
+import com.unimart.backend.dto.message.MessagePageDTO;
+import com.unimart.backend.dto.message.SendMessageDTO;
+import com.unimart.backend.service.MessagingService;
+import com.unimart.backend.sharding.ShardContext;
+import com.unimart.backend.streaming.JsonArrayStreamer;
+import com.unimart.backend.tracing.Span;
+import com.unimart.backend.tracing.Tracer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/messages")
+@RequiredArgsConstructor
+@Tag(name = "Messages", description = "Conversations between buyers and sellers")
+public class MessageController {
+
+    private final MessagingService messagingService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final Tracer tracer;
+
+    @PostMapping
+    @Operation(summary = "Send a message", description = "Appends a message from the caller to the conversation with the receiver about a listing")
+    public ResponseEntity<MessageDTO> sendMessage(@Valid @RequestBody SendMessageDTO request, Authentication authentication) {
+        return ResponseEntity.ok(messagingService.sendMessage(authentication.getName(), request));
+    }
+
+    @GetMapping("/inbox")
+    @Operation(summary = "Inbox", description = "Conversations of the caller, most recent first, with unread counts")
+    public ResponseEntity<InboxDTO> getInbox(@RequestParam(defaultValue = "50") int size, Authentication authentication) {
+        return ResponseEntity.ok(messagingService.getInbox(authentication.getName(), size));
+    }
+
+    @GetMapping("/conversations/{conversationKey}")
+    @Operation(summary = "Conversation thread", description = "Messages newest first; pass nextCursor to load older messages. 404 unless the caller takes part.")
+    public ResponseEntity<MessagePageDTO> getConversation(@PathVariable String conversationKey,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "30") int size,
+                                                          Authentication authentication) {
+        return ResponseEntity.ok(messagingService.getConversation(conversationKey, authentication.getName(), cursor, size));
+    }
+
+    @GetMapping("/conversations/{conversationKey}/history")
+    @Operation(summary = "Full conversation history", description = "Every message of the conversation, newest first, streamed as one JSON array. 404 unless the caller takes part.")
+    public ResponseEntity<StreamingResponseBody> getHistory(@PathVariable String conversationKey, Authentication authentication) {
+        Stream<MessageDTO> messages = messagingService.streamConversation(conversationKey, authentication.getName());
+        StreamingResponseBody body = jsonArrayStreamer.stream(() -> messages);
+        // The body is written on an async thread once this returns, without the request's shard
+        // group; the chunks have to be read from the group the membership was checked on. The
+        // request's trace has ended by then, so the body is traced on its own.
+        String shardGroup = ShardContext.current();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> {
+                String previous = ShardContext.enter(shardGroup);
+                Span root = tracer.startTrace("GET /api/messages/conversations/{conversationKey}/history body");
+                try {
+                    body.writeTo(out);
+                } catch (IOException | RuntimeException e) {
+                    root.error(e);
+                    throw e;
+                } finally {
+                    root.close();
+                    ShardContext.restore(previous);
+                }
+            });
+    }
+
+    @PostMapping("/conversations/{conversationKey}/read")
+    @Operation(summary = "Mark a conversation read", description = "Clears the caller's unread count of the conversation")
+    public ResponseEntity<Void> markRead(@PathVariable String conversationKey, Authentication authentication) {
+        messagingService.markRead(conversationKey, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
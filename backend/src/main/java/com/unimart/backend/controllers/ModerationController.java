@@ -0,0 +1,79 @@
+package com.unimart.backend.controllers;
+
+import com.unimart.backend.dto.moderation.BulkActionResultDTO;
+import com.unimart.backend.dto.moderation.BulkListingActionDTO;
+import com.unimart.backend.dto.moderation.BulkUserActionDTO;
+import com.unimart.backend.dto.moderation.ModerationQueueItemDTO;
+import com.unimart.backend.service.ModerationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/moderation")
+@RequiredArgsConstructor
+@Tag(name = "Moderation", description = "Report queues and bulk moderation actions")
+public class ModerationController {
+
+    private final ModerationService moderationService;
+
+    @GetMapping("/queue/users")
+    @Operation(summary = "Reported users queue", description = "Open user reports grouped by user, weighted by reporter reputation and recency")
+    public ResponseEntity<List<ModerationQueueItemDTO>> getUserQueue(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(moderationService.getUserQueue(limit));
+    }
+
+    @GetMapping("/queue/listings")
+    @Operation(summary = "Reported listings queue", description = "Open listing reports grouped by listing, weighted by reporter reputation and recency")
+    public ResponseEntity<List<ModerationQueueItemDTO>> getListingQueue(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(moderationService.getListingQueue(limit));
+    }
+
+    @PostMapping("/users/ban")
+    @Operation(summary = "Ban users", description = "Bans the users, hides all their listings and closes the reports against them")
+    public ResponseEntity<BulkActionResultDTO> banUsers(@Valid @RequestBody BulkUserActionDTO request,
+                                                        Authentication authentication) {
+        return ResponseEntity.ok(moderationService.banUsers(authentication.getName(), request.getEmails(), request.getBanDays()));
+    }
+
+    @PostMapping("/users/unban")
+    @Operation(summary = "Unban users", description = "Lifts the users' bans now; their hidden listings stay hidden")
+    public ResponseEntity<BulkActionResultDTO> unbanUsers(@Valid @RequestBody BulkUserActionDTO request,
+                                                          Authentication authentication) {
+        return ResponseEntity.ok(moderationService.unbanUsers(authentication.getName(), request.getEmails()));
+    }
+
+    @PostMapping("/users/warn")
+    @Operation(summary = "Warn users", description = "Closes the open reports against the users with a warning")
+    public ResponseEntity<BulkActionResultDTO> warnUsers(@Valid @RequestBody BulkUserActionDTO request,
+                                                         Authentication authentication) {
+        return ResponseEntity.ok(moderationService.warnUsers(authentication.getName(), request.getEmails()));
+    }
+
+    @PostMapping("/users/dismiss")
+    @Operation(summary = "Dismiss user reports", description = "Closes the open reports against the users without action")
+    public ResponseEntity<BulkActionResultDTO> dismissUserReports(@Valid @RequestBody BulkUserActionDTO request,
+                                                                  Authentication authentication) {
+        return ResponseEntity.ok(moderationService.dismissUserReports(authentication.getName(), request.getEmails()));
+    }
+
+    @PostMapping("/listings/hide")
+    @Operation(summary = "Hide listings", description = "Takes the listings off the marketplace and upholds their reports")
+    public ResponseEntity<BulkActionResultDTO> hideListings(@Valid @RequestBody BulkListingActionDTO request,
+                                                            Authentication authentication) {
+        return ResponseEntity.ok(moderationService.hideListings(authentication.getName(), request.getProductIds()));
+    }
+
+    @PostMapping("/listings/dismiss")
+    @Operation(summary = "Dismiss listing reports", description = "Marks the pending reports on the listings as reviewed")
+    public ResponseEntity<BulkActionResultDTO> dismissListingReports(@Valid @RequestBody BulkListingActionDTO request,
+                                                                     Authentication authentication) {
+        return ResponseEntity.ok(moderationService.dismissListingReports(authentication.getName(), request.getProductIds()));
+    }
+}
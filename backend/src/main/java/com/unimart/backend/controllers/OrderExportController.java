@@ -0,0 +1,45 @@
+package com.unimart.backend.controllers;
+
+import com.unimart.backend.service.OrderExportService;
+import com.unimart.backend.service.export.ExportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+@RequiredArgsConstructor
+@Tag(name = "Admin Exports", description = "Bulk data exports for admins and finance")
+public class OrderExportController {
+
+    private final OrderExportService orderExportService;
+
+    @GetMapping("/orders")
+    @Operation(summary = "Export orders with products and payments",
+               description = "One row per order line placed between from and to (inclusive), streamed as CSV or "
+                       + "NDJSON; gzip=true compresses the download")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        orderExportService.validateRange(from, to);
+
+        String fileName = "orders-" + from + "-to-" + to + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> orderExportService.exportOrders(from, to, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+}
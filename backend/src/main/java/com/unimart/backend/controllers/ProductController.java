@@ -0,0 +1,84 @@
+package com.unimart.backend.controllers;
+
+import com.unimart.backend.conditional.ConditionalGet;
+import com.unimart.backend.dto.product.ListingDetailDTO;
+import com.unimart.backend.dto.product.ListingPageDTO;
+import com.unimart.backend.dto.product.ListingRequestDTO;
+import com.unimart.backend.dto.product.ListingSummaryDTO;
+import com.unimart.backend.dto.product.ProductImageDTO;
+import com.unimart.backend.service.ProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+@Tag(name = "Product", description = "Marketplace listing endpoints")
+public class ProductController {
+
+    private final ProductService productService;
+
+    @PostMapping
+    @Operation(summary = "Create a listing", description = "Lists a new item in the caller's university marketplace")
+    public ResponseEntity<ListingDetailDTO> createListing(@Valid @RequestBody ListingRequestDTO request,
+                                                          Authentication authentication) {
+        return ResponseEntity.ok(productService.createListing(authentication.getName(), request));
+    }
+
+    @PutMapping("/{productId}")
+    @Operation(summary = "Update a listing", description = "Edits the seller-controlled fields of one of the caller's listings; 403 for anyone else's")
+    public ResponseEntity<ListingDetailDTO> updateListing(@PathVariable Long productId,
+                                                          @Valid @RequestBody ListingRequestDTO request,
+                                                          Authentication authentication) {
+        return ResponseEntity.ok(productService.updateListing(authentication.getName(), productId, request));
+    }
+
+    @PostMapping("/{productId}/sold")
+    @Operation(summary = "Mark a listing as sold", description = "Marks one of the caller's listings as sold and removes it from the feed")
+    public ResponseEntity<ListingDetailDTO> markSold(@PathVariable Long productId, Authentication authentication) {
+        return ResponseEntity.ok(productService.markSold(authentication.getName(), productId));
+    }
+
+    @PostMapping(value = "/{productId}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload a listing image", description = "Stores the image on one of the caller's listings and queues thumbnail, card and detail renditions")
+    public ResponseEntity<ProductImageDTO> uploadImage(@PathVariable Long productId,
+                                                       @RequestPart("image") MultipartFile image,
+                                                       Authentication authentication) throws IOException {
+        return ResponseEntity.accepted().body(productService.uploadImage(authentication.getName(), productId, image));
+    }
+
+    @GetMapping("/{productId}")
+    @ConditionalGet(source = "product", key = "productId")
+    @Operation(summary = "Get a listing", description = "Returns the full details of a listing")
+    public ResponseEntity<ListingDetailDTO> getListing(@PathVariable Long productId) {
+        ListingDetailDTO listing = productService.getListing(productId);
+        productService.recordView(listing);
+        return ResponseEntity.ok(listing);
+    }
+
+    @GetMapping("/feed/{universityId}")
+    @ConditionalGet(source = "listing-feed", key = "universityId")
+    @Operation(summary = "Latest listings feed", description = "Newest available listings of a university, paged by product id cursor")
+    public ResponseEntity<ListingPageDTO> getFeed(@PathVariable Long universityId,
+                                                  @RequestParam(required = false) Long cursor,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productService.getFeed(universityId, cursor, size));
+    }
+
+    @GetMapping("/trending/{universityId}")
+    @Operation(summary = "Trending listings", description = "Listings of a university with the most recent views, favorites and bids")
+    public ResponseEntity<List<ListingSummaryDTO>> getTrending(@PathVariable Long universityId,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.getTrending(universityId, limit));
+    }
+}
@@ -0,0 +1,38 @@
+package com.unimart.backend.controllers;
+
+import com.unimart.Authentication.exceptions.InvalidSessionTokenException;
+import com.unimart.Authentication.services.SessionTokenService;
+import com.unimart.backend.service.push.PushHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/push")
+@RequiredArgsConstructor
+@Tag(name = "Push", description = "Live bid, message and order notifications")
+public class PushController {
+
+    private final PushHub pushHub;
+    private final SessionTokenService sessionTokenService;
+
+    @Value("${marketplace.push.stream-timeout-ms:1800000}")
+    private long streamTimeoutMillis;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Notification stream", description = "Server-sent events for the user's bids, messages and orders. "
+            + "EventSource cannot send headers, so the session token from sign-in is passed as a parameter.")
+    public SseEmitter stream(@RequestParam String email, @RequestParam String token) {
+        if (!sessionTokenService.isIssuedTo(token, email)) {
+            throw new InvalidSessionTokenException("Session token does not match " + email);
+        }
+        return pushHub.openSse(email, streamTimeoutMillis).getEmitter();
+    }
+}
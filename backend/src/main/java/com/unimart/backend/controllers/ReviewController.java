@@ -0,0 +1,36 @@
+package com.unimart.backend.controllers;
+
+import com.unimart.backend.dto.review.ReviewDTO;
+import com.unimart.backend.dto.review.ReviewRequestDTO;
+import com.unimart.backend.dto.seller.SellerStatsDTO;
+import com.unimart.backend.service.ReviewService;
+import com.unimart.backend.service.SellerStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Reviews", description = "Seller reviews and reputation")
+public class ReviewController {
+
+    private final ReviewService reviewService;
+    private final SellerStatsService sellerStatsService;
+
+    @PostMapping("/reviews")
+    @Operation(summary = "Review a seller", description = "The session's user reviews the seller of an order they completed, once per order")
+    public ResponseEntity<ReviewDTO> addReview(Authentication authentication, @Valid @RequestBody ReviewRequestDTO request) {
+        return ResponseEntity.ok(reviewService.addReview(authentication.getName(), request));
+    }
+
+    @GetMapping("/sellers/{email}/stats")
+    @Operation(summary = "Seller reputation", description = "Average rating, review count, listings, sales and orders of a seller")
+    public ResponseEntity<SellerStatsDTO> getSellerStats(@PathVariable String email) {
+        return ResponseEntity.ok(sellerStatsService.getStats(email));
+    }
+}
@@ -0,0 +1,34 @@
+package com.unimart.backend.controllers;
+
+import java.util.List;
+import java.util.Map;
+
+import com.unimart.backend.tracing.Tracer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/traces")
+@RequiredArgsConstructor
+@Tag(name = "Admin Traces", description = "Recent request traces kept by the in-process tracer")
+public class TraceController {
+
+    private final Tracer tracer;
+
+    @GetMapping
+    @Operation(summary = "Recent traces", description = "Sampled and slow requests, newest first, each with its controller, service, repository and external call tree")
+    public List<Map<String, Object>> recent(@RequestParam(defaultValue = "20") int limit,
+                                            @RequestParam(defaultValue = "0") long minMillis) {
+        return tracer.recent(Math.min(Math.max(limit, 1), 200), minMillis);
+    }
+
+    @GetMapping("/{traceId}")
+    @Operation(summary = "One trace", description = "Trace by the id returned in the X-Trace-Id response header, while it is still buffered")
+    public ResponseEntity<Map<String, Object>> trace(@PathVariable String traceId) {
+        Map<String, Object> trace = tracer.find(traceId);
+        return trace != null ? ResponseEntity.ok(trace) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.unimart.backend.controllers;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import com.unimart.backend.conditional.ConditionalGet;
+import com.unimart.backend.dto.user.UserSummaryDTO;
+import com.unimart.backend.service.UserSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Tag(name = "Users", description = "Public information about other users")
+public class UserController {
+
+    private final UserSummaryService userSummaryService;
+
+    @GetMapping("/{email}/summary")
+    @ConditionalGet(source = "user-profile", key = "email")
+    @Operation(summary = "User summary", description = "Name, university and avatar link, as shown on seller cards and message headers")
+    public ResponseEntity<UserSummaryDTO> getSummary(@PathVariable String email) {
+        UserSummaryDTO summary = userSummaryService.getSummary(email);
+        return summary != null ? ResponseEntity.ok(summary) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{email}/avatar")
+    @ConditionalGet(source = "user-profile", key = "email")
+    @Operation(summary = "Profile picture", description = "The picture itself, or a redirect when it is hosted elsewhere")
+    public ResponseEntity<byte[]> getAvatar(@PathVariable String email) {
+        return userSummaryService.getAvatar(email)
+                .map(avatar -> avatar.getExternalUrl() != null
+                        ? ResponseEntity.status(302).location(URI.create(avatar.getExternalUrl())).<byte[]>build()
+                        : ResponseEntity.ok()
+                                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
+                                .header("X-Content-Type-Options", "nosniff")
+                                .contentType(MediaType.parseMediaType(avatar.getContentType()))
+                                .body(avatar.getBytes()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
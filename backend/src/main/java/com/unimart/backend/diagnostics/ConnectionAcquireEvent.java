@@ -0,0 +1,24 @@
+package com.unimart.backend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Wait for a connection from the pool. Recorded with a stack trace, which shows the code that
+ * was waiting, and only above the threshold set by FlightRecorderService.
+ *
+ * Only QueryTimingDataSource commits this event, so with marketplace.query-stats.enabled=false
+ * the pools are not wrapped and the recording has no connection waits at all. Hikari's own
+ * pool metrics still count the waits in that case.
+ */
+@Name("com.unimart.ConnectionAcquire")
+@Label("Connection Acquire")
+@Category({"Unimart", "Database"})
+@Description("Time spent waiting for a pooled database connection")
+public class ConnectionAcquireEvent extends Event {
+    @Label("Pool")
+    public String pool;
+}
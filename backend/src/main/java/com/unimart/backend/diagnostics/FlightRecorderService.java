@@ -0,0 +1,137 @@
+package com.unimart.backend.diagnostics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.unimart.backend.exceptions.InvalidRequestException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Always-on Java Flight Recorder recording with the JDK's "default" settings, which cost
+ * about one percent, plus the application events in this package.
+ *
+ * The recording keeps the last max-age-minutes on local disk. dump writes the last few
+ * minutes of it to a file, so the period of a latency spike can be captured after the fact
+ * without a restart or an attached tool.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    @Value("${marketplace.jfr.enabled:true}")
+    private boolean enabled;
+
+    @Value("${marketplace.jfr.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${marketplace.jfr.max-size-mb:256}")
+    private long maxSizeMb;
+
+    @Value("${marketplace.jfr.connection-wait-threshold-ms:1}")
+    private long connectionWaitThresholdMillis;
+
+    @Value("${marketplace.jfr.dump-dir:${java.io.tmpdir}/unimart-jfr}")
+    private String dumpDir;
+
+    private Recording recording;
+
+    private final LongAdder dumps = new LongAdder();
+    private volatile String lastDump;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            log.error("Could not load the default JFR settings, continuous recording is off", e);
+            return;
+        }
+        recording.setName("unimart-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.enable(VerificationAttemptEvent.class);
+        recording.enable(SmtpSendEvent.class);
+        recording.enable(StripeCallEvent.class);
+        // Nearly every checkout from the pool is instant; only the waits are worth recording.
+        // They come from QueryTimingDataSource, so none are recorded while query stats are off
+        recording.enable(ConnectionAcquireEvent.class).withThreshold(Duration.ofMillis(connectionWaitThresholdMillis));
+        recording.start();
+        log.info("Continuous flight recording started, keeping the last {} minutes", maxAgeMinutes);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Writes the events of the last minutes to a new file in the dump directory and returns
+     * its path. The recording itself keeps running.
+     */
+    public synchronized Path dump(long minutes) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Continuous flight recording is not running");
+        }
+        if (minutes < 1 || minutes > maxAgeMinutes) {
+            throw new InvalidRequestException("Minutes must be between 1 and " + maxAgeMinutes);
+        }
+        Instant now = Instant.now();
+        Instant since = now.minus(Duration.ofMinutes(minutes));
+        Path directory = Files.createDirectories(Paths.get(dumpDir));
+        Path target = directory.resolve("unimart-" + FILE_TIME.format(now) + "-" + minutes + "m.jfr");
+
+        // The repository holds whole chunks, so the full recording is copied and then cut down
+        Path full = Files.createTempFile(directory, "continuous-", ".jfr");
+        try {
+            recording.dump(full);
+            try (RecordingFile file = new RecordingFile(full)) {
+                file.write(target, event -> !event.getEndTime().isBefore(since));
+            }
+        } finally {
+            Files.deleteIfExists(full);
+        }
+
+        dumps.increment();
+        lastDump = target.toString();
+        log.info("Dumped the last {} minutes of the flight recording to {} ({} bytes)", minutes, target, Files.size(target));
+        return target;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("recording", recording != null ? recording.getState().name() : "OFF");
+        stats.put("maxAgeMinutes", maxAgeMinutes);
+        stats.put("recordedBytes", recording != null ? recording.getSize() : 0);
+        stats.put("dumpDir", dumpDir);
+        stats.put("dumps", dumps.sum());
+        stats.put("lastDump", lastDump);
+        return stats;
+    }
+}
@@ -0,0 +1,24 @@
+package com.unimart.backend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One message handed to the SMTP server
+ */
+@Name("com.unimart.SmtpSend")
+@Label("SMTP Send")
+@Category({"Unimart", "External"})
+@Description("Time spent sending one email through the mail server")
+@StackTrace(false)
+public class SmtpSendEvent extends Event {
+    @Label("Recipient Domain")
+    public String recipientDomain;
+
+    @Label("Success")
+    public boolean success;
+}
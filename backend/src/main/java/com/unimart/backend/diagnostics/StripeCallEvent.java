@@ -0,0 +1,24 @@
+package com.unimart.backend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to the Stripe API
+ */
+@Name("com.unimart.StripeCall")
+@Label("Stripe Call")
+@Category({"Unimart", "External"})
+@Description("Time spent in one Stripe API call")
+@StackTrace(false)
+public class StripeCallEvent extends Event {
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,27 @@
+package com.unimart.backend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One verification code check, from lookup to sign-in. Only the email domain is recorded.
+ */
+@Name("com.unimart.VerificationAttempt")
+@Label("Verification Attempt")
+@Category({"Unimart", "Auth"})
+@Description("A sign-in verification code check and its outcome")
+@StackTrace(false)
+public class VerificationAttemptEvent extends Event {
+    @Label("Email Domain")
+    public String emailDomain;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("First Login")
+    public boolean firstLogin;
+}
@@ -0,0 +1,36 @@
+package com.unimart.backend.dto.bid;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.unimart.backend.service.bidding.Bid;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BidDTO {
+    private Long id;
+    private Long productId;
+    private BigDecimal amount;
+    private String bidder;
+    private Instant time;
+    // pending, accepted, declined or countered, as used by the frontend
+    private String status;
+    private BigDecimal counterOffer;
+    private String reason;
+
+    public static BidDTO from(Bid bid) {
+        return BidDTO.builder()
+            .id(bid.getBidId())
+            .productId(bid.getProductId())
+            .amount(bid.getAmount())
+            .bidder(bid.getBidderEmail())
+            .time(bid.getPlacedAt())
+            .status(bid.getStatus().name().toLowerCase())
+            .counterOffer(bid.getCounterOffer())
+            .reason(bid.getReason())
+            .build();
+    }
+}
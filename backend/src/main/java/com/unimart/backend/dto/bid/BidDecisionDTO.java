@@ -0,0 +1,17 @@
+package com.unimart.backend.dto.bid;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BidDecisionDTO {
+    @Size(max = 255, message = "Reason must be at most 255 characters")
+    private String reason;
+
+    // Only used when declining, turns the decline into a counter-offer
+    @DecimalMin(value = "0.01", message = "Counter-offer must be greater than 0")
+    private BigDecimal counterOffer;
+}
@@ -0,0 +1,17 @@
+package com.unimart.backend.dto.bid;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class BidRequestDTO {
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+}
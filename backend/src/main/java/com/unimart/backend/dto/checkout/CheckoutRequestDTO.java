@@ -0,0 +1,22 @@
+package com.unimart.backend.dto.checkout;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class CheckoutRequestDTO {
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 100, message = "Quantity must be at most 100")
+    private int quantity = 1;
+
+    @NotBlank(message = "Payment method ID is required")
+    private String paymentMethodId;
+
+    private String currency = "usd";
+}
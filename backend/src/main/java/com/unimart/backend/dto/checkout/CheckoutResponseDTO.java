@@ -0,0 +1,21 @@
+package com.unimart.backend.dto.checkout;
+
+import java.math.BigDecimal;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CheckoutResponseDTO {
+    private Long orderId;
+    private Long productId;
+    private int quantity;
+    private BigDecimal totalPrice;
+    private String orderStatus;
+    private String paymentStatus;
+    private String paymentIntentId;
+    // Needed by Stripe.js when the payment requires further action from the buyer
+    private String clientSecret;
+    private String errorMessage;
+}
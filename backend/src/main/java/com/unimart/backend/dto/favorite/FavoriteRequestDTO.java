@@ -0,0 +1,10 @@
+package com.unimart.backend.dto.favorite;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class FavoriteRequestDTO {
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+}
@@ -0,0 +1,13 @@
+package com.unimart.backend.dto.favorite;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FavoriteStatusDTO {
+    private Long productId;
+    // whether the requesting user has favorited the listing
+    private boolean favorited;
+    private long favoriteCount;
+}
@@ -0,0 +1,35 @@
+package com.unimart.backend.dto.message;
+
+import java.time.LocalDateTime;
+
+import com.unimart.backend.dto.user.UserSummaryDTO;
+import com.unimart.backend.models.ConversationMember;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ConversationDTO {
+    private String conversationKey;
+    private String otherEmail;
+    // Filled in for the inbox
+    private UserSummaryDTO otherUser;
+    private Long productId;
+    private Long lastMessageId;
+    private LocalDateTime lastMessageAt;
+    private String lastMessagePreview;
+    private int unreadCount;
+
+    public static ConversationDTO from(ConversationMember member) {
+        return ConversationDTO.builder()
+            .conversationKey(member.getConversationKey())
+            .otherEmail(member.getOtherEmail())
+            .productId(member.getProductId())
+            .lastMessageId(member.getLastMessageId())
+            .lastMessageAt(member.getLastMessageAt())
+            .lastMessagePreview(member.getLastMessagePreview())
+            .unreadCount(member.getUnreadCount())
+            .build();
+    }
+}
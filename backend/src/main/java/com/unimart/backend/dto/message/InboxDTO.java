@@ -0,0 +1,13 @@
+package com.unimart.backend.dto.message;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class InboxDTO {
+    private List<ConversationDTO> conversations;
+    private long totalUnread;
+}
@@ -0,0 +1,32 @@
+package com.unimart.backend.dto.message;
+
+import java.time.LocalDateTime;
+
+import com.unimart.backend.models.Message;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class MessageDTO {
+    private Long id;
+    private String conversationKey;
+    private String sender;
+    private String receiver;
+    private Long productId;
+    private String text;
+    private LocalDateTime sentAt;
+
+    public static MessageDTO from(Message message) {
+        return MessageDTO.builder()
+            .id(message.getMessageId())
+            .conversationKey(message.getConversationKey())
+            .sender(message.getSenderEmail())
+            .receiver(message.getReceiverEmail())
+            .productId(message.getProductId())
+            .text(message.getMessageText())
+            .sentAt(message.getSentAt())
+            .build();
+    }
+}
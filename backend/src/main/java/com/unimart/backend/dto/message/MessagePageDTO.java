@@ -0,0 +1,15 @@
+package com.unimart.backend.dto.message;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MessagePageDTO {
+    // newest first
+    private List<MessageDTO> items;
+    // opaque cursor for the next (older) page, null when the start of the conversation was reached
+    private String nextCursor;
+}
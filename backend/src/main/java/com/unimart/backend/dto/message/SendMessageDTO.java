@@ -0,0 +1,18 @@
+package com.unimart.backend.dto.message;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class SendMessageDTO {
+    @NotBlank(message = "Receiver email is required")
+    private String receiverEmail;
+
+    // Listing the conversation is about, null for a direct message
+    private Long productId;
+
+    @NotBlank(message = "Message text is required")
+    @Size(max = 5000, message = "Message must be at most 5000 characters")
+    private String text;
+}
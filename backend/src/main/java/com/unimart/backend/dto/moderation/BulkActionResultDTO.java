@@ -0,0 +1,13 @@
+package com.unimart.backend.dto.moderation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkActionResultDTO {
+    private int usersUpdated;
+    private int listingsHidden;
+    private int reportsClosed;
+    private int chunks;
+}
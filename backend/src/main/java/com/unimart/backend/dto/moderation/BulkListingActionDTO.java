@@ -0,0 +1,14 @@
+package com.unimart.backend.dto.moderation;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BulkListingActionDTO {
+    @NotEmpty(message = "At least one listing is required")
+    @Size(max = 10000, message = "At most 10000 listings per action")
+    private List<Long> productIds;
+}
@@ -0,0 +1,19 @@
+package com.unimart.backend.dto.moderation;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BulkUserActionDTO {
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 10000, message = "At most 10000 users per action")
+    private List<String> emails;
+
+    // Bans only; null bans permanently
+    @Positive(message = "Ban length must be positive")
+    private Integer banDays;
+}
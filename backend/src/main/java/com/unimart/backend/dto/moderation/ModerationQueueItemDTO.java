@@ -0,0 +1,17 @@
+package com.unimart.backend.dto.moderation;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ModerationQueueItemDTO {
+    // Exactly one of reportedEmail and productId is set
+    private String reportedEmail;
+    private Long productId;
+    private int openReports;
+    private LocalDateTime latestReportAt;
+    private double priority;
+}
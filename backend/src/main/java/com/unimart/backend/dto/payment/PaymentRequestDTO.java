@@ -5,8 +5,10 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import com.unimart.Authentication.dtos.ActingUserRequest;
+
 @Data
-public class PaymentRequestDTO {
+public class PaymentRequestDTO implements ActingUserRequest {
     @NotBlank(message = "Payment method ID is required")
     private String paymentMethodId;
     
@@ -25,4 +27,9 @@ public class PaymentRequestDTO {
     private String productId;
     
     private String orderId;
-} 
\ No newline at end of file
+
+    @Override
+    public String actingUserEmail() {
+        return customerEmail;
+    }
+}
@@ -0,0 +1,49 @@
+package com.unimart.backend.dto.product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.unimart.backend.dto.seller.SellerStatsDTO;
+import com.unimart.backend.dto.user.UserSummaryDTO;
+import com.unimart.backend.models.Product;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ListingDetailDTO {
+    private Long productId;
+    private Long universityId;
+    private String title;
+    private String description;
+    private BigDecimal price;
+    private String category;
+    private String itemCondition;
+    private String status;
+    private Integer quantity;
+    private String sellerEmail;
+    private LocalDateTime createdAt;
+    private List<ProductImageDTO> images;
+    // Only filled in on the product detail page
+    private SellerStatsDTO sellerStats;
+    private UserSummaryDTO seller;
+
+    public static ListingDetailDTO from(Product product, List<ProductImageDTO> images) {
+        return ListingDetailDTO.builder()
+            .productId(product.getProductId())
+            .universityId(product.getUniversityId())
+            .title(product.getTitle())
+            .description(product.getDescription())
+            .price(product.getPrice())
+            .category(product.getCategory())
+            .itemCondition(product.getItemCondition())
+            .status(product.getStatus())
+            .quantity(product.getQuantity())
+            .sellerEmail(product.getSellerEmail())
+            .createdAt(product.getCreatedAt())
+            .images(images)
+            .build();
+    }
+}
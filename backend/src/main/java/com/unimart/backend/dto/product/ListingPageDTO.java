@@ -0,0 +1,14 @@
+package com.unimart.backend.dto.product;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ListingPageDTO {
+    private List<ListingSummaryDTO> items;
+    // product id to pass as the cursor for the next page, null when there are no more listings
+    private Long nextCursor;
+}
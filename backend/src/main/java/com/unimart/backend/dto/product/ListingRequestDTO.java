@@ -0,0 +1,30 @@
+package com.unimart.backend.dto.product;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ListingRequestDTO {
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    private String description;
+
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.00", message = "Price cannot be negative")
+    private BigDecimal price;
+
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    @NotBlank(message = "Condition is required")
+    private String itemCondition;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+}
@@ -0,0 +1,38 @@
+package com.unimart.backend.dto.product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.unimart.backend.models.Product;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ListingSummaryDTO {
+    private Long productId;
+    private Long universityId;
+    private String title;
+    private BigDecimal price;
+    private String category;
+    private String itemCondition;
+    private String sellerEmail;
+    private LocalDateTime createdAt;
+    // Smallest rendition suitable for the marketplace grid
+    private String imageUrl;
+
+    public static ListingSummaryDTO from(Product product, String imageUrl) {
+        return ListingSummaryDTO.builder()
+            .productId(product.getProductId())
+            .universityId(product.getUniversityId())
+            .title(product.getTitle())
+            .price(product.getPrice())
+            .category(product.getCategory())
+            .itemCondition(product.getItemCondition())
+            .sellerEmail(product.getSellerEmail())
+            .createdAt(product.getCreatedAt())
+            .imageUrl(imageUrl)
+            .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.unimart.backend.dto.product;
+
+import com.unimart.backend.models.ProductImage;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ProductImageDTO {
+    private Long imageId;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private String cardUrl;
+    private String detailUrl;
+
+    public static ProductImageDTO from(ProductImage image) {
+        return ProductImageDTO.builder()
+            .imageId(image.getImageId())
+            .imageUrl(image.getImageUrl())
+            .thumbnailUrl(image.getThumbnailUrl())
+            .cardUrl(image.getCardUrl())
+            .detailUrl(image.getDetailUrl())
+            .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.unimart.backend.dto.review;
+
+import java.time.LocalDateTime;
+
+import com.unimart.backend.models.Review;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ReviewDTO {
+    private Long reviewId;
+    private Long orderId;
+    private String sellerEmail;
+    private String buyerEmail;
+    private int rating;
+    private String comment;
+    private LocalDateTime createdAt;
+
+    public static ReviewDTO from(Review review) {
+        return ReviewDTO.builder()
+            .reviewId(review.getReviewId())
+            .orderId(review.getOrderId())
+            .sellerEmail(review.getSellerEmail())
+            .buyerEmail(review.getBuyerEmail())
+            .rating(review.getRating())
+            .comment(review.getComment())
+            .createdAt(review.getCreatedAt())
+            .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.unimart.backend.dto.review;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ReviewRequestDTO {
+    @NotNull(message = "Order is required")
+    private Long orderId;
+
+    @Min(value = 1, message = "Rating must be between 1 and 5")
+    @Max(value = 5, message = "Rating must be between 1 and 5")
+    private int rating;
+
+    @Size(max = 2000, message = "Comment must be at most 2000 characters")
+    private String comment;
+}
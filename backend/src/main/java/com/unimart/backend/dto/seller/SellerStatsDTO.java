@@ -0,0 +1,38 @@
+package com.unimart.backend.dto.seller;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.unimart.backend.models.SellerStats;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SellerStatsDTO {
+    private String sellerEmail;
+    // Null until the seller has a review
+    private BigDecimal averageRating;
+    private long reviewCount;
+    private long listings;
+    private long sold;
+    private long ordersReceived;
+
+    public static SellerStatsDTO from(SellerStats stats) {
+        return SellerStatsDTO.builder()
+            .sellerEmail(stats.getSellerEmail())
+            .averageRating(stats.getRatingCount() > 0
+                    ? BigDecimal.valueOf(stats.getRatingSum()).divide(BigDecimal.valueOf(stats.getRatingCount()), 1, RoundingMode.HALF_UP)
+                    : null)
+            .reviewCount(stats.getRatingCount())
+            .listings(stats.getListings())
+            .sold(stats.getSold())
+            .ordersReceived(stats.getOrdersReceived())
+            .build();
+    }
+
+    public static SellerStatsDTO empty(String sellerEmail) {
+        return SellerStatsDTO.builder().sellerEmail(sellerEmail).build();
+    }
+}
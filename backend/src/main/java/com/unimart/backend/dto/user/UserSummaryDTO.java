@@ -0,0 +1,30 @@
+package com.unimart.backend.dto.user;
+
+import com.unimart.Authentication.repositories.UserProfileRepository.UserSummaryView;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserSummaryDTO {
+    private String email;
+    private String username;
+    // Null until the user has set up a profile
+    private String firstName;
+    private String lastName;
+    private String universityName;
+    // Null when the user has no profile picture
+    private String avatarUrl;
+
+    public static UserSummaryDTO from(UserSummaryView view) {
+        return UserSummaryDTO.builder()
+            .email(view.getEmail())
+            .username(view.getUsername())
+            .firstName(view.getFirstName())
+            .lastName(view.getLastName())
+            .universityName(view.getUniversityName())
+            .avatarUrl(Boolean.TRUE.equals(view.getHasAvatar()) ? "/api/users/" + view.getEmail() + "/avatar" : null)
+            .build();
+    }
+}
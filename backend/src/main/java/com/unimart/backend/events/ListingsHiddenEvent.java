@@ -0,0 +1,21 @@
+package com.unimart.backend.events;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published once per bulk moderation action that took listings off the marketplace, instead
+ * of one ProductChangedEvent per listing. Caches drop or rebuild the affected universities.
+ */
+@Getter
+@AllArgsConstructor
+public class ListingsHiddenEvent {
+    private final Map<Long, List<Long>> productIdsByUniversity;
+
+    public int size() {
+        return productIdsByUniversity.values().stream().mapToInt(List::size).sum();
+    }
+}
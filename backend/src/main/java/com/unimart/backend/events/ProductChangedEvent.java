@@ -0,0 +1,33 @@
+package com.unimart.backend.events;
+
+import com.unimart.backend.dto.product.ListingSummaryDTO;
+import com.unimart.backend.models.Product;
+
+import lombok.Getter;
+
+/**
+ * Published by ProductService whenever a listing is created, edited or changes state.
+ * Listeners should react after commit so they never observe rolled-back changes.
+ */
+@Getter
+public class ProductChangedEvent {
+    public enum Type { CREATED, UPDATED, SOLD }
+
+    private final Type type;
+    private final Long productId;
+    private final Long universityId;
+    private final String sellerEmail;
+    private final boolean listed;
+    private final ListingSummaryDTO summary;
+    private final long publishedAtNanos;
+
+    public ProductChangedEvent(Type type, Product product, String imageUrl) {
+        this.type = type;
+        this.productId = product.getProductId();
+        this.universityId = product.getUniversityId();
+        this.sellerEmail = product.getSellerEmail();
+        this.listed = product.isListed();
+        this.summary = ListingSummaryDTO.from(product, imageUrl);
+        this.publishedAtNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,18 @@
+package com.unimart.backend.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A buyer showed interest in a listing. Feeds the trending rankings; never persisted.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductEngagementEvent {
+    public enum Type { VIEW, FAVORITE, BID }
+
+    private final Type type;
+    private final Long productId;
+    // Null when the publisher does not know it; resolved by the consumer
+    private final Long universityId;
+}
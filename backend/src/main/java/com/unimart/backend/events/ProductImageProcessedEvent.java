@@ -0,0 +1,14 @@
+package com.unimart.backend.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the image pipeline once all renditions of an uploaded image are stored
+ */
+@Getter
+@AllArgsConstructor
+public class ProductImageProcessedEvent {
+    private final Long imageId;
+    private final Long productId;
+}
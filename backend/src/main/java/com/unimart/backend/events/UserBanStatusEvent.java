@@ -0,0 +1,20 @@
+package com.unimart.backend.events;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Users were banned or unbanned. Published once per moderation action so that the request
+ * path sees the change without reading Users.
+ */
+@Getter
+@AllArgsConstructor
+public class UserBanStatusEvent {
+    private final Collection<String> emails;
+    private final boolean banned;
+    // Bans only; null for an open-ended ban
+    private final LocalDateTime bannedUntil;
+}
@@ -0,0 +1,21 @@
+package com.unimart.backend.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Something a user should hear about: a new bid, a message, an order status change.
+ * Delivered live over the push hub to any open tabs of the recipient.
+ */
+@Getter
+@AllArgsConstructor
+public class UserNotificationEvent {
+    public enum Type { BID, MESSAGE, ORDER_UPDATE }
+
+    private final String recipientEmail;
+    private final Type type;
+    // One line, human readable
+    private final String summary;
+    // Serialized as JSON for push clients
+    private final Object payload;
+}
@@ -0,0 +1,7 @@
+package com.unimart.backend.exceptions;
+
+public class BidNotFoundException extends RuntimeException {
+    public BidNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.unimart.backend.exceptions;
+
+public class ConversationNotFoundException extends RuntimeException {
+    public ConversationNotFoundException(String message) {
+        super(message);
+    }
+}
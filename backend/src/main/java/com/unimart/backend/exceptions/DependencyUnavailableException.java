@@ -0,0 +1,24 @@
+package com.unimart.backend.exceptions;
+
+/**
+ * A call to an external dependency was refused without being made, because its circuit is
+ * open or its bulkhead is full
+ */
+public class DependencyUnavailableException extends RuntimeException {
+    private final String dependency;
+    private final long retryAfterSeconds;
+
+    public DependencyUnavailableException(String dependency, String message, long retryAfterSeconds) {
+        super(message);
+        this.dependency = dependency;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
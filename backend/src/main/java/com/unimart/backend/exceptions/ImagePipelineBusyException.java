@@ -0,0 +1,7 @@
+package com.unimart.backend.exceptions;
+
+public class ImagePipelineBusyException extends RuntimeException {
+    public ImagePipelineBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.unimart.backend.exceptions;
+
+public class InvalidImageException extends RuntimeException {
+    public InvalidImageException(String message) {
+        super(message);
+    }
+}
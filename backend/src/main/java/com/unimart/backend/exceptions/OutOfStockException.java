@@ -0,0 +1,7 @@
+package com.unimart.backend.exceptions;
+
+public class OutOfStockException extends RuntimeException {
+    public OutOfStockException(String message) {
+        super(message);
+    }
+}
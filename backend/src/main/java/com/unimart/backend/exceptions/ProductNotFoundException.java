@@ -0,0 +1,7 @@
+package com.unimart.backend.exceptions;
+
+public class ProductNotFoundException extends RuntimeException {
+    public ProductNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.unimart.backend.exceptions;
+
+public class UserNotFoundException extends RuntimeException {
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,161 @@
+package com.unimart.backend.limiter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for one group of endpoints, with the limit from a GradientLimit.
+ *
+ * Below the limit a request is admitted with one compare-and-set. At the limit it may wait
+ * up to maxQueueMillis for a slot, with at most maxQueue requests waiting; beyond that it is
+ * refused at once, which costs the client far less than queueing behind an overloaded
+ * database.
+ */
+public class AdaptiveLimiter {
+    private final String name;
+    private final GradientLimit limit;
+    private final int maxQueue;
+    private final long maxQueueNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveLimiter(String name, GradientLimit limit, int maxQueue, long maxQueueMillis, LongSupplier nanoClock) {
+        this.name = name;
+        this.limit = limit;
+        this.maxQueue = maxQueue;
+        this.maxQueueNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Admits a request, returning the permit to release when it completes, or null when the
+     * group is at its limit and the queue is full or the wait ran out
+     */
+    public Permit tryAcquire() {
+        if (tryIncrement()) {
+            admitted.increment();
+            return new Permit(nanoClock.getAsLong(), inFlight.get());
+        }
+        if (maxQueueNanos <= 0 || waiting.incrementAndGet() > maxQueue) {
+            if (maxQueueNanos > 0) {
+                waiting.decrementAndGet();
+            }
+            rejected.increment();
+            return null;
+        }
+        queued.increment();
+        try {
+            if (awaitSlot()) {
+                admitted.increment();
+                return new Permit(nanoClock.getAsLong(), inFlight.get());
+            }
+        } finally {
+            waiting.decrementAndGet();
+        }
+        rejected.increment();
+        return null;
+    }
+
+    public void release(Permit permit) {
+        limit.onSample(nanoClock.getAsLong() - permit.startNanos, permit.inFlight);
+        releaseUnsampled(permit);
+    }
+
+    /**
+     * Frees the slot without feeding the request's latency to the limit, for requests whose
+     * duration is set by the client rather than by the server, such as streamed responses
+     */
+    public void releaseUnsampled(Permit permit) {
+        inFlight.decrementAndGet();
+        if (waiting.get() > 0) {
+            lock.lock();
+            try {
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("limit", limit.getLimit());
+        stats.put("inFlight", inFlight.get());
+        stats.put("waiting", waiting.get());
+        stats.put("noLoadRttMicros", limit.getNoLoadRttMicros());
+        stats.put("admitted", admitted.sum());
+        stats.put("queued", queued.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+
+    private boolean tryIncrement() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean awaitSlot() {
+        long deadline = System.nanoTime() + maxQueueNanos;
+        lock.lock();
+        try {
+            while (!tryIncrement()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                released.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Start time and concurrency of one admitted request
+     */
+    public static class Permit {
+        private final long startNanos;
+        private final int inFlight;
+
+        Permit(long startNanos, int inFlight) {
+            this.startNanos = startNanos;
+            this.inFlight = inFlight;
+        }
+    }
+}
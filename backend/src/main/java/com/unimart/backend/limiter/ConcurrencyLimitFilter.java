@@ -0,0 +1,149 @@
+package com.unimart.backend.limiter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.unimart.backend.metrics.MetricsSource;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Adaptive concurrency limit per endpoint group, in front of everything else but tracing.
+ *
+ * Groups are sign-in (/api/auth), payments (/api/payments, /api/checkout), marketplace reads
+ * (other GETs) and marketplace writes, each with its own limit, so a burst of listing reads
+ * cannot starve sign-in. Admin endpoints, push connections, webhooks and media are never
+ * limited. A refused request gets 503 with Retry-After: 1.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MetricsSource {
+    static final String AUTH = "auth";
+    static final String PAYMENTS = "payments";
+    static final String READS = "marketplace-reads";
+    static final String WRITES = "marketplace-writes";
+
+    private final boolean enabled;
+    private final Map<String, AdaptiveLimiter> limiters = new LinkedHashMap<>();
+
+    public ConcurrencyLimitFilter(@Value("${marketplace.limiter.enabled:true}") boolean enabled,
+                                  @Value("${marketplace.limiter.initial-limit:20}") int initialLimit,
+                                  @Value("${marketplace.limiter.min-limit:4}") int minLimit,
+                                  @Value("${marketplace.limiter.max-limit:200}") int maxLimit,
+                                  @Value("${marketplace.limiter.smoothing:0.2}") double smoothing,
+                                  @Value("${marketplace.limiter.tolerance:1.5}") double tolerance,
+                                  @Value("${marketplace.limiter.window:1000}") int window,
+                                  @Value("${marketplace.limiter.max-queue:50}") int maxQueue,
+                                  @Value("${marketplace.limiter.max-queue-ms:50}") long maxQueueMillis) {
+        this.enabled = enabled;
+        for (String group : new String[] {AUTH, PAYMENTS, READS, WRITES}) {
+            GradientLimit limit = new GradientLimit(initialLimit, minLimit, maxLimit, smoothing, tolerance, window);
+            limiters.put(group, new AdaptiveLimiter(group, limit, maxQueue, maxQueueMillis, System::nanoTime));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || group(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveLimiter limiter = limiters.get(group(request));
+        AdaptiveLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"status\":503,\"message\":\"Server busy, try again shortly\"}");
+            return;
+        }
+
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streamed responses hold their slot until the last byte is written, but how long
+                // that takes depends on the client reading, so it is not a latency sample
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limiter, permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limiter.release(permit);
+            }
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "concurrency-limits";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        limiters.forEach((group, limiter) -> stats.put(group, limiter.stats()));
+        return stats;
+    }
+
+    static String group(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/admin/") || path.startsWith("/api/push") || path.startsWith("/api/webhook")
+                || !path.startsWith("/api/")) {
+            return null;
+        }
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/payments") || path.startsWith("/api/checkout")) {
+            return PAYMENTS;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? READS : WRITES;
+    }
+
+    private static class ReleaseOnCompletion implements AsyncListener {
+        private final AdaptiveLimiter limiter;
+        private final AdaptiveLimiter.Permit permit;
+
+        ReleaseOnCompletion(AdaptiveLimiter limiter, AdaptiveLimiter.Permit permit) {
+            this.limiter = limiter;
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Also called after a timeout or an error
+            limiter.releaseUnsampled(permit);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.unimart.backend.limiter;
+
+/**
+ * Concurrency limit estimated from latency, after the gradient algorithm of Netflix's
+ * concurrency-limits.
+ *
+ * Latency is followed as a short moving average, which evens out the mix of fast and slow
+ * endpoints in a group. The lowest value of that average over the last one to two windows
+ * of samples stands for the latency without queueing. When the average is more than
+ * tolerance times that, requests are queueing somewhere (Tomcat, the connection pool, MySQL)
+ * and the limit shrinks in proportion; when it is not, the limit grows by about its square
+ * root, which leaves room to find out whether more concurrency helps.
+ *
+ * A windowed minimum rather than a long average is used as the baseline so that a queue
+ * lasting for minutes is not taken for the normal latency, which would let the limit creep
+ * up under sustained overload. Samples taken while well below the limit say nothing about
+ * it and only feed the averages.
+ */
+public class GradientLimit {
+    private static final int SHORT_WINDOW = 20;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final int window;
+    private final double shortWeight;
+
+    private double limit;
+    private double shortRttNanos;
+    private long previousWindowMinNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    // Read on every admission, so kept apart from the synchronized update
+    private volatile int currentLimit;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance, int window) {
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.window = window;
+        this.shortWeight = 2.0 / (SHORT_WINDOW + 1);
+    }
+
+    /**
+     * Updates the limit with the latency of one request and the requests in flight when it
+     * started, and returns the new limit
+     */
+    public synchronized int onSample(long rttNanos, int inFlight) {
+        shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos + (rttNanos - shortRttNanos) * shortWeight;
+        windowMinNanos = Math.min(windowMinNanos, (long) shortRttNanos);
+        if (++windowSamples >= window) {
+            previousWindowMinNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        if (inFlight < limit / 2) {
+            return currentLimit;
+        }
+
+        double noLoadNanos = Math.min(previousWindowMinNanos, Math.max(windowMinNanos, 1));
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * noLoadNanos / Math.max(shortRttNanos, 1)));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+        currentLimit = (int) limit;
+        return currentLimit;
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    public synchronized long getNoLoadRttMicros() {
+        long noLoad = Math.min(previousWindowMinNanos, windowMinNanos);
+        return noLoad == Long.MAX_VALUE ? 0 : noLoad / 1000;
+    }
+}
@@ -0,0 +1,34 @@
+package com.unimart.backend.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The named event counters of one component. Each counter is a plain LongAdder held in a
+ * field, so counting costs nothing more than before; the names only matter when stats()
+ * takes a snapshot.
+ *
+ * Counters are registered from field initializers or the constructor, before the component
+ * is shared, and the set does not change afterwards.
+ */
+public class Counters {
+    private final Map<String, LongAdder> counters = new LinkedHashMap<>();
+
+    public LongAdder add(String name) {
+        LongAdder counter = new LongAdder();
+        if (counters.putIfAbsent(name, counter) != null) {
+            throw new IllegalArgumentException("Counter " + name + " is already registered");
+        }
+        return counter;
+    }
+
+    /**
+     * Current values in registration order, in a new map the caller adds its gauges to
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> stats.put(name, counter.sum()));
+        return stats;
+    }
+}
@@ -0,0 +1,36 @@
+package com.unimart.backend.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Every MetricsSource in the application by name. Two sources with the same name fail the
+ * startup rather than hide one another.
+ */
+@Component
+public class MetricsRegistry {
+    private final Map<String, MetricsSource> sources = new TreeMap<>();
+
+    public MetricsRegistry(List<MetricsSource> sources) {
+        for (MetricsSource source : sources) {
+            MetricsSource previous = this.sources.putIfAbsent(source.getMetricsName(), source);
+            if (previous != null) {
+                throw new IllegalStateException("Metrics name " + source.getMetricsName() + " is used by both "
+                        + previous.getClass().getName() + " and " + source.getClass().getName());
+            }
+        }
+    }
+
+    public Set<String> names() {
+        return sources.keySet();
+    }
+
+    public Optional<Map<String, Object>> stats(String name) {
+        return Optional.ofNullable(sources.get(name)).map(MetricsSource::stats);
+    }
+}
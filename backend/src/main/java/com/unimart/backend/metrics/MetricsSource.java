@@ -0,0 +1,35 @@
+package com.unimart.backend.metrics;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A component whose statistics are served by AdminMetricsController at
+ * /api/admin/metrics/{name}. Implementing beans are picked up by MetricsRegistry, so adding
+ * one needs no new endpoint.
+ */
+public interface MetricsSource {
+    /**
+     * Path segment under /api/admin/metrics, unique across the application
+     */
+    String getMetricsName();
+
+    Map<String, Object> stats();
+
+    /**
+     * A source for statistics gathered from several components, such as the dependency guards
+     */
+    static MetricsSource of(String name, Supplier<Map<String, Object>> stats) {
+        return new MetricsSource() {
+            @Override
+            public String getMetricsName() {
+                return name;
+            }
+
+            @Override
+            public Map<String, Object> stats() {
+                return stats.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.unimart.backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's view of one conversation: who it is with, the latest message and how many
+ * messages they have not read yet. Kept up to date on every send and read.
+ */
+@Entity
+@Table(name = "ConversationMembers")
+@IdClass(ConversationMemberId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationMember {
+    @Id
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Id
+    @Column(name = "conversation_key", length = 64)
+    private String conversationKey;
+
+    @Column(name = "other_email", nullable = false)
+    private String otherEmail;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    @Column(name = "last_message_at", nullable = false)
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "last_message_preview", length = 200)
+    private String lastMessagePreview;
+
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+}
@@ -0,0 +1,15 @@
+package com.unimart.backend.models;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationMemberId implements Serializable {
+    private String userEmail;
+    private String conversationKey;
+}
@@ -0,0 +1,26 @@
+package com.unimart.backend.models;
+
+/**
+ * Resized copies generated for every uploaded product image, ordered smallest first
+ */
+public enum ImageRendition {
+    THUMBNAIL(160, "thumb"),
+    CARD(480, "card"),
+    DETAIL(1200, "detail");
+
+    private final int maxEdge;
+    private final String suffix;
+
+    ImageRendition(int maxEdge, String suffix) {
+        this.maxEdge = maxEdge;
+        this.suffix = suffix;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+}
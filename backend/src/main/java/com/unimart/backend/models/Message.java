@@ -0,0 +1,46 @@
+package com.unimart.backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "Messages")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Message {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "message_id")
+    private Long messageId;
+
+    @Column(name = "conversation_key", nullable = false, length = 64)
+    private String conversationKey;
+
+    @Column(name = "sender_email", nullable = false)
+    private String senderEmail;
+
+    @Column(name = "receiver_email", nullable = false)
+    private String receiverEmail;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "message_text", nullable = false, columnDefinition = "TEXT")
+    private String messageText;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "is_deleted")
+    private boolean deleted;
+}
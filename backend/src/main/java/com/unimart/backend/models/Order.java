@@ -0,0 +1,76 @@
+package com.unimart.backend.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "Orders")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Order {
+    public static final String STATUS_PENDING = "Pending";
+    public static final String STATUS_COMPLETED = "Completed";
+    public static final String STATUS_CANCELED = "Canceled";
+    public static final String STATUS_EXPIRED = "Expired";
+    public static final String STATUS_REJECTED = "Rejected";
+
+    // Matches the column default in DBCreation.sql
+    public static final int PICKUP_WINDOW_DAYS = 7;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "buyer_email", nullable = false)
+    private String buyerEmail;
+
+    @Column(name = "seller_email", nullable = false)
+    private String sellerEmail;
+
+    @Column(name = "total_price", nullable = false)
+    private BigDecimal totalPrice;
+
+    @Column(name = "order_status")
+    private String orderStatus;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Column(name = "pickup_deadline", nullable = false)
+    private LocalDateTime pickupDeadline;
+
+    @Column(name = "seller_rejection_reason")
+    private String sellerRejectionReason;
+
+    @Column(name = "buyer_cancellation_reason")
+    private String buyerCancellationReason;
+
+    @Column(name = "pickup_confirmed")
+    private boolean pickupConfirmed;
+
+    // Set when the order was created from an accepted bid
+    @Column(name = "bid_id")
+    private Long bidId;
+
+    public Order(String buyerEmail, String sellerEmail, BigDecimal totalPrice) {
+        this.buyerEmail = buyerEmail;
+        this.sellerEmail = sellerEmail;
+        this.totalPrice = totalPrice;
+        this.orderStatus = STATUS_PENDING;
+        this.orderDate = LocalDateTime.now();
+        this.pickupDeadline = orderDate.plusDays(PICKUP_WINDOW_DAYS);
+        this.pickupConfirmed = false;
+    }
+}
@@ -0,0 +1,44 @@
+package com.unimart.backend.models;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "Order_Products")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderProduct {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "order_product_id")
+    private Long orderProductId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    @Column(name = "price_at_purchase", nullable = false)
+    private BigDecimal priceAtPurchase;
+
+    public OrderProduct(Long orderId, Long productId, Integer quantity, BigDecimal priceAtPurchase) {
+        this.orderId = orderId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.priceAtPurchase = priceAtPurchase;
+    }
+}
@@ -0,0 +1,76 @@
+package com.unimart.backend.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "Payments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Payment {
+    public static final String STATUS_PENDING = "Pending";
+    public static final String STATUS_COMPLETED = "Completed";
+    public static final String STATUS_FAILED = "Failed";
+    public static final String STATUS_REFUNDED = "Refunded";
+
+    public static final String METHOD_STRIPE = "Stripe";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "buyer_email", nullable = false)
+    private String buyerEmail;
+
+    @Column(name = "seller_email", nullable = false)
+    private String sellerEmail;
+
+    @Column(name = "amount_paid", nullable = false)
+    private BigDecimal amountPaid;
+
+    @Column(name = "payment_status")
+    private String paymentStatus;
+
+    @Column(name = "payment_method", nullable = false)
+    private String paymentMethod;
+
+    @Column(name = "payment_date", nullable = false)
+    private LocalDateTime paymentDate;
+
+    @Column(name = "seller_rejection_reason")
+    private String sellerRejectionReason;
+
+    @Column(name = "stripe_payment_intent_id")
+    private String stripePaymentIntentId;
+
+    @Column(name = "stripe_client_secret")
+    private String stripeClientSecret;
+
+    @Column(name = "stripe_charge_id")
+    private String stripeChargeId;
+
+    public Payment(Order order, String paymentMethod) {
+        this.orderId = order.getOrderId();
+        this.buyerEmail = order.getBuyerEmail();
+        this.sellerEmail = order.getSellerEmail();
+        this.amountPaid = order.getTotalPrice();
+        this.paymentStatus = STATUS_PENDING;
+        this.paymentMethod = paymentMethod;
+        this.paymentDate = LocalDateTime.now();
+    }
+}
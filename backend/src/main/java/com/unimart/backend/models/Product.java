@@ -0,0 +1,88 @@
+package com.unimart.backend.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "Products")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Product {
+    public static final String STATUS_AVAILABLE = "Available";
+    public static final String STATUS_PENDING = "Pending";
+    public static final String STATUS_SOLD = "Sold";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "seller_email", nullable = false)
+    private String sellerEmail;
+
+    @Column(name = "university_id", nullable = false)
+    private Long universityId;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "price", nullable = false)
+    private BigDecimal price;
+
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    @Column(name = "item_condition", nullable = false)
+    private String itemCondition;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "status")
+    private String status;
+
+    @Column(name = "stripe_product_id")
+    private String stripeProductId;
+
+    @Column(name = "stripe_price_id")
+    private String stripePriceId;
+
+    @Column(name = "is_active")
+    private boolean active;
+
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    // Maintained by FavoritesService with batched increments, never written through the entity
+    @Column(name = "favorite_count", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long favoriteCount;
+
+    // Maintained by the database on every update, whichever path made it; versions product detail responses
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Whether the listing should appear in the marketplace feed
+     */
+    public boolean isListed() {
+        return active && STATUS_AVAILABLE.equals(status);
+    }
+}
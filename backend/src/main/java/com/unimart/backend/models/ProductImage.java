@@ -0,0 +1,67 @@
+package com.unimart.backend.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "ProductImages")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "image_id")
+    private Long imageId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // Original upload
+    @Column(name = "image_url", nullable = false)
+    private String imageUrl;
+
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "card_url")
+    private String cardUrl;
+
+    @Column(name = "detail_url")
+    private String detailUrl;
+
+    // Failed rendition runs, pending images are retried until this reaches marketplace.images.max-attempts
+    @Column(name = "rendition_failures", nullable = false)
+    private int renditionFailures;
+
+    public String getRenditionUrl(ImageRendition rendition) {
+        switch (rendition) {
+            case THUMBNAIL:
+                return thumbnailUrl;
+            case CARD:
+                return cardUrl;
+            default:
+                return detailUrl;
+        }
+    }
+
+    /**
+     * Smallest generated rendition that is at least as large as the requested one.
+     * Falls back to the original while the derivatives are still being generated.
+     */
+    public String urlFor(ImageRendition minimum) {
+        for (ImageRendition rendition : ImageRendition.values()) {
+            if (rendition.ordinal() >= minimum.ordinal() && getRenditionUrl(rendition) != null) {
+                return getRenditionUrl(rendition);
+            }
+        }
+        return imageUrl;
+    }
+}
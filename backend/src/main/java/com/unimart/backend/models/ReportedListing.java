@@ -0,0 +1,49 @@
+package com.unimart.backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "ReportedListings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportedListing {
+    public static final String STATUS_PENDING = "Pending";
+    // Looked at, no action needed
+    public static final String STATUS_REVIEWED = "Reviewed";
+    // Upheld, the listing was taken down
+    public static final String STATUS_RESOLVED = "Resolved";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "reporter_email", nullable = false)
+    private String reporterEmail;
+
+    @Column(name = "reason", nullable = false, columnDefinition = "TEXT")
+    private String reason;
+
+    @Column(name = "status")
+    private String status;
+
+    @Column(name = "handled_by")
+    private String handledBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
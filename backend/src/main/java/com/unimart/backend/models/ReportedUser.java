@@ -0,0 +1,49 @@
+package com.unimart.backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "ReportedUsers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportedUser {
+    public static final String ACTION_WARNING = "Warning";
+    public static final String ACTION_BANNED = "Banned";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Column(name = "reporter_email", nullable = false)
+    private String reporterEmail;
+
+    @Column(name = "reported_email", nullable = false)
+    private String reportedEmail;
+
+    @Column(name = "reason", nullable = false, columnDefinition = "TEXT")
+    private String reason;
+
+    @Column(name = "report_date")
+    private LocalDateTime reportDate;
+
+    @Column(name = "reviewed_status")
+    private boolean reviewed;
+
+    @Column(name = "action_taken")
+    private String actionTaken;
+
+    @Column(name = "ban_expiration_date")
+    private LocalDateTime banExpirationDate;
+}
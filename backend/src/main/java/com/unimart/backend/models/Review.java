@@ -0,0 +1,56 @@
+package com.unimart.backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "Reviews", uniqueConstraints = @UniqueConstraint(name = "uq_reviews_order", columnNames = "order_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Review {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "review_id")
+    private Long reviewId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "seller_email", nullable = false)
+    private String sellerEmail;
+
+    @Column(name = "buyer_email", nullable = false)
+    private String buyerEmail;
+
+    @Column(name = "rating", nullable = false)
+    private int rating;
+
+    @Column(name = "comment", columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Review(Long orderId, String sellerEmail, String buyerEmail, int rating, String comment) {
+        this.orderId = orderId;
+        this.sellerEmail = sellerEmail;
+        this.buyerEmail = buyerEmail;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,44 @@
+package com.unimart.backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running totals behind a seller's badge. Written with atomic increments by SellerStatsService
+ * and corrected by its nightly reconciliation, never recomputed on read.
+ */
+@Entity
+@Table(name = "SellerStats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerStats {
+    @Id
+    @Column(name = "seller_email")
+    private String sellerEmail;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "listings", nullable = false)
+    private long listings;
+
+    @Column(name = "sold", nullable = false)
+    private long sold;
+
+    @Column(name = "orders_received", nullable = false)
+    private long ordersReceived;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,40 @@
+package com.unimart.backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "UserFavorites")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserFavorite {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "favorite_id")
+    private Long favoriteId;
+
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public UserFavorite(String userEmail, Long productId) {
+        this.userEmail = userEmail;
+        this.productId = productId;
+        this.createdAt = LocalDateTime.now();
+    }
+}
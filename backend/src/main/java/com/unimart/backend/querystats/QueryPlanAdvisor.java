@@ -0,0 +1,145 @@
+package com.unimart.backend.querystats;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs EXPLAIN for the SELECT fingerprints QueryStatsRecorder flagged as slow, replaying the
+ * captured SQL and parameters, and reports which ones scan a whole table.
+ *
+ * Needs marketplace.query-stats.explain-enabled, which the test profile sets together with a
+ * zero slow threshold so every query the tests run is checked. A full scan is type ALL in
+ * MySQL's EXPLAIN and a tableScan marker in H2's plan. On a sharded setup the plan comes
+ * from whichever datasource the calling thread routes to.
+ */
+@Component
+@Slf4j
+public class QueryPlanAdvisor {
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\* ([\\w.\"]+)\\.tableScan");
+
+    @Autowired
+    private QueryStatsRecorder recorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${marketplace.query-stats.explain-enabled:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * One plan per flagged fingerprint, full scans first
+     */
+    public List<Plan> explainFlagged() {
+        if (!enabled) {
+            throw new IllegalStateException("Query plan explanations are disabled (marketplace.query-stats.explain-enabled)");
+        }
+        List<Plan> plans = new ArrayList<>();
+        // The raw pool, so the EXPLAINs do not show up in the statistics themselves
+        DataSource target = dataSource instanceof QueryTimingDataSource timing ? timing.getTargetDataSource() : dataSource;
+        try (Connection connection = target.getConnection()) {
+            boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+            recorder.flaggedSamples().forEach((fingerprint, sample) -> {
+                if (fingerprint.startsWith("select") || fingerprint.startsWith("with")) {
+                    plans.add(explain(connection, mysql, fingerprint, sample));
+                }
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not open a connection for EXPLAIN", e);
+        }
+        plans.sort((a, b) -> Boolean.compare(b.isFullScan(), a.isFullScan()));
+        return plans;
+    }
+
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        if (enabled) {
+            List<Plan> plans = explainFlagged();
+            report.put("explained", plans.size());
+            report.put("fullScans", plans.stream().filter(Plan::isFullScan).count());
+            report.put("plans", plans);
+        }
+        return report;
+    }
+
+    private Plan explain(Connection connection, boolean mysql, String fingerprint, QueryStatsRecorder.Sample sample) {
+        if (sample.getParameters().containsValue(QueryTimingDataSource.Unreplayable.INSTANCE)) {
+            return new Plan(fingerprint, null, false, List.of(), "parameters could not be replayed");
+        }
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sample.getSql())) {
+            for (Map.Entry<Integer, Object> parameter : sample.getParameters().entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                return mysql ? mysqlPlan(fingerprint, rows) : h2Plan(fingerprint, rows);
+            }
+        } catch (SQLException e) {
+            log.debug("EXPLAIN failed for {}", fingerprint, e);
+            return new Plan(fingerprint, null, false, List.of(), e.getMessage());
+        }
+    }
+
+    private static Plan mysqlPlan(String fingerprint, ResultSet rows) throws SQLException {
+        StringBuilder text = new StringBuilder();
+        List<String> scanned = new ArrayList<>();
+        while (rows.next()) {
+            String table = rows.getString("table");
+            String type = rows.getString("type");
+            text.append(table).append(": type=").append(type)
+                    .append(" key=").append(rows.getString("key"))
+                    .append(" rows=").append(rows.getString("rows"))
+                    .append(" extra=").append(rows.getString("Extra")).append('\n');
+            if ("ALL".equalsIgnoreCase(type) && table != null) {
+                scanned.add(table);
+            }
+        }
+        return new Plan(fingerprint, text.toString().trim(), !scanned.isEmpty(), scanned, null);
+    }
+
+    private static Plan h2Plan(String fingerprint, ResultSet rows) throws SQLException {
+        StringBuilder text = new StringBuilder();
+        while (rows.next()) {
+            text.append(rows.getString(1)).append('\n');
+        }
+        List<String> scanned = new ArrayList<>();
+        Matcher matcher = H2_TABLE_SCAN.matcher(text);
+        while (matcher.find()) {
+            scanned.add(matcher.group(1));
+        }
+        return new Plan(fingerprint, text.toString().trim(), !scanned.isEmpty(), scanned, null);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Plan {
+        private final String fingerprint;
+        private final String plan;
+        private final boolean fullScan;
+        // Tables read in full
+        private final List<String> scannedTables;
+        // Why there is no plan, e.g. the EXPLAIN failed
+        private final String error;
+    }
+}
@@ -0,0 +1,34 @@
+package com.unimart.backend.querystats;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the application's DataSource in a QueryTimingDataSource. Routing data sources are left
+ * alone because their pools are wrapped where they are built (ShardingConfig) and other beans
+ * depend on their concrete type.
+ */
+@Component
+public class QueryStatsDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<QueryStatsRecorder> recorder;
+    private final boolean enabled;
+
+    public QueryStatsDataSourcePostProcessor(ObjectProvider<QueryStatsRecorder> recorder, Environment environment) {
+        this.recorder = recorder;
+        this.enabled = environment.getProperty("marketplace.query-stats.enabled", Boolean.class, true);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource)
+                || bean instanceof QueryTimingDataSource || bean instanceof AbstractRoutingDataSource) {
+            return bean;
+        }
+        return new QueryTimingDataSource(dataSource, recorder.getObject());
+    }
+}
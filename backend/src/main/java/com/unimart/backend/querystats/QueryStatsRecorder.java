@@ -0,0 +1,230 @@
+package com.unimart.backend.querystats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.unimart.backend.metrics.MetricsSource;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Per-fingerprint execution count, latency and rows for every statement going through
+ * QueryTimingDataSource, plus a ring buffer of the most recent slow executions.
+ *
+ * With sample capture on (the explain advisor, test profile), the slowest execution of each
+ * fingerprint keeps its SQL and parameter values so QueryPlanAdvisor can EXPLAIN it. Values
+ * can be personal data, so capture is off in production.
+ */
+@Component
+public class QueryStatsRecorder implements MetricsSource {
+    static final String OVERFLOW = "(other statements)";
+
+    @Value("${marketplace.query-stats.slow-threshold-ms:100}")
+    private long slowThresholdMillis;
+
+    @Value("${marketplace.query-stats.max-fingerprints:2000}")
+    private int maxFingerprints;
+
+    @Value("${marketplace.query-stats.top:20}")
+    private int top;
+
+    @Value("${marketplace.query-stats.explain-enabled:false}")
+    private boolean captureSamples;
+
+    private final SlowLog slowLog;
+
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Map<String, FingerprintStats> stats = new ConcurrentHashMap<>();
+
+    public QueryStatsRecorder(@Value("${marketplace.query-stats.slow-log-size:100}") int slowLogSize) {
+        this.slowLog = new SlowLog(slowLogSize);
+    }
+
+    /**
+     * Fingerprint of a statement, cached per distinct SQL string
+     */
+    public String fingerprint(String sql) {
+        String cached = fingerprints.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String fingerprint = SqlFingerprint.of(sql);
+        if (fingerprints.size() < maxFingerprints * 4) {
+            fingerprints.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    public boolean isCapturingSamples() {
+        return captureSamples;
+    }
+
+    public void recordExecution(String fingerprint, String sql, Map<Integer, Object> parameters, long nanos, long rows) {
+        FingerprintStats entry = stats(fingerprint);
+        entry.executions.increment();
+        entry.totalNanos.add(nanos);
+        if (rows > 0) {
+            entry.rows.add(rows);
+        }
+        if (nanos > entry.maxNanos.get()) {
+            entry.maxNanos.accumulate(nanos);
+            if (captureSamples && parameters != null) {
+                entry.sample = new Sample(sql, new LinkedHashMap<>(parameters));
+            }
+        }
+        if (TimeUnit.NANOSECONDS.toMillis(nanos) >= slowThresholdMillis) {
+            slowLog.add(new SlowExecution(fingerprint, nanos, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Rows read from a result set, reported when it is closed
+     */
+    public void recordRows(String fingerprint, long rows) {
+        if (rows > 0) {
+            stats(fingerprint).rows.add(rows);
+        }
+    }
+
+    /**
+     * Fingerprints worth an EXPLAIN: slowest execution over the threshold, with a captured sample
+     */
+    public Map<String, Sample> flaggedSamples() {
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        Map<String, Sample> flagged = new LinkedHashMap<>();
+        stats.forEach((fingerprint, entry) -> {
+            if (entry.sample != null && entry.maxNanos.get() >= thresholdNanos) {
+                flagged.put(fingerprint, entry.sample);
+            }
+        });
+        return flagged;
+    }
+
+    public void reset() {
+        stats.clear();
+        slowLog.clear();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "queries";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        List<Map<String, Object>> byTotalTime = stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, FingerprintStats> e) -> e.getValue().totalNanos.sum()).reversed())
+                .limit(top)
+                .map(e -> e.getValue().describe(e.getKey()))
+                .collect(Collectors.toList());
+        List<Map<String, Object>> slowest = slowLog.snapshot().stream()
+                .sorted(Comparator.comparingLong(SlowExecution::getNanos).reversed())
+                .map(SlowExecution::describe)
+                .collect(Collectors.toList());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("fingerprints", stats.size());
+        result.put("slowThresholdMillis", slowThresholdMillis);
+        result.put("topByTotalTime", byTotalTime);
+        result.put("recentSlowExecutions", slowest);
+        return result;
+    }
+
+    private FingerprintStats stats(String fingerprint) {
+        FingerprintStats entry = stats.get(fingerprint);
+        if (entry != null) {
+            return entry;
+        }
+        // Statements built with inlined values would otherwise grow the map without bound
+        String key = stats.size() < maxFingerprints ? fingerprint : OVERFLOW;
+        return stats.computeIfAbsent(key, k -> new FingerprintStats());
+    }
+
+    /**
+     * SQL and parameter values (by 1-based index) of one execution
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Sample {
+        private final String sql;
+        private final Map<Integer, Object> parameters;
+    }
+
+    private static final class FingerprintStats {
+        final LongAdder executions = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        volatile Sample sample;
+
+        Map<String, Object> describe(String fingerprint) {
+            long count = executions.sum();
+            Map<String, Object> described = new LinkedHashMap<>();
+            described.put("fingerprint", fingerprint);
+            described.put("executions", count);
+            described.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+            described.put("avgMicros", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.sum() / count));
+            described.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            described.put("rows", rows.sum());
+            described.put("rowsPerExecution", count == 0 ? 0.0 : (double) rows.sum() / count);
+            return described;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class SlowExecution {
+        private final String fingerprint;
+        private final long nanos;
+        private final long atMillis;
+
+        Map<String, Object> describe() {
+            Map<String, Object> described = new LinkedHashMap<>();
+            described.put("fingerprint", fingerprint);
+            described.put("millis", TimeUnit.NANOSECONDS.toMillis(nanos));
+            described.put("at", atMillis);
+            return described;
+        }
+    }
+
+    /**
+     * Fixed-size ring of the latest slow executions; writers claim a slot with one increment
+     */
+    private static final class SlowLog {
+        private final SlowExecution[] slots;
+        private final AtomicLong next = new AtomicLong();
+
+        SlowLog(int size) {
+            this.slots = new SlowExecution[Math.max(1, size)];
+        }
+
+        void add(SlowExecution execution) {
+            slots[(int) (next.getAndIncrement() % slots.length)] = execution;
+        }
+
+        List<SlowExecution> snapshot() {
+            List<SlowExecution> copy = new ArrayList<>(slots.length);
+            Arrays.stream(slots).filter(Objects::nonNull).forEach(copy::add);
+            return copy;
+        }
+
+        void clear() {
+            Arrays.fill(slots, null);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.unimart.backend.querystats;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.unimart.backend.diagnostics.ConnectionAcquireEvent;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Times every statement executed through the wrapped pool and reports it to
+ * QueryStatsRecorder, with the rows it returned or changed.
+ *
+ * Connections, statements and result sets are JDK proxies around the pool's own objects, so
+ * the cost is one proxy call per JDBC call plus a fingerprint lookup per statement. Waits
+ * for a connection from the pool go to the flight recording as ConnectionAcquireEvent.
+ */
+public class QueryTimingDataSource extends DelegatingDataSource implements AutoCloseable {
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final String STATEMENT_BATCH = "(statement batch)";
+
+    private final QueryStatsRecorder recorder;
+
+    public QueryTimingDataSource(DataSource target, QueryStatsRecorder recorder) {
+        super(target);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        Connection connection = super.getConnection();
+        recordAcquire(event);
+        return wrap(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        Connection connection = super.getConnection(username, password);
+        recordAcquire(event);
+        return wrap(connection);
+    }
+
+    /**
+     * Closes the pool when Spring shuts the context down
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Commits the pool wait to the flight recording when it passed the event threshold
+     */
+    private void recordAcquire(ConnectionAcquireEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.pool = getTargetDataSource() instanceof HikariDataSource hikari && hikari.getPoolName() != null
+                    ? hikari.getPoolName() : getTargetDataSource().getClass().getSimpleName();
+            event.commit();
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    switch (method.getName()) {
+                        case "prepareStatement" -> {
+                            return wrap((Statement) result, PreparedStatement.class, (String) args[0]);
+                        }
+                        case "prepareCall" -> {
+                            return wrap((Statement) result, CallableStatement.class, (String) args[0]);
+                        }
+                        case "createStatement" -> {
+                            return wrap((Statement) result, Statement.class, null);
+                        }
+                        default -> {
+                            return result;
+                        }
+                    }
+                });
+    }
+
+    private Statement wrap(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+                new StatementHandler(statement, preparedSql));
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final String preparedFingerprint;
+        // Parameter values by index, only while samples are captured for EXPLAIN
+        private final Map<Integer, Object> parameters;
+        private String lastFingerprint;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.preparedFingerprint = preparedSql != null ? recorder.fingerprint(preparedSql) : null;
+            this.parameters = preparedSql != null && recorder.isCapturingSamples() ? new HashMap<>() : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (parameters != null && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                recordParameter(index, name, args[1]);
+            } else if ("clearParameters".equals(name) && parameters != null) {
+                parameters.clear();
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                Object result = QueryTimingDataSource.invoke(statement, method, args);
+                return "getResultSet".equals(name) && result != null && lastFingerprint != null
+                        ? wrap((ResultSet) result, lastFingerprint)
+                        : result;
+            }
+
+            // Plain statements pass their SQL to execute; a plain batch has no single statement
+            boolean prepared = args == null || args.length == 0 || !(args[0] instanceof String);
+            String sql = prepared ? preparedSql : (String) args[0];
+            String fingerprint = prepared
+                    ? (preparedFingerprint != null ? preparedFingerprint : STATEMENT_BATCH)
+                    : recorder.fingerprint(sql);
+            lastFingerprint = fingerprint;
+            long started = System.nanoTime();
+            Object result = QueryTimingDataSource.invoke(statement, method, args);
+            long nanos = System.nanoTime() - started;
+            recorder.recordExecution(fingerprint, sql, prepared ? parameters : null, nanos, changedRows(result));
+            return result instanceof ResultSet resultSet ? wrap(resultSet, fingerprint) : result;
+        }
+
+        private void recordParameter(int index, String setter, Object value) {
+            if (value instanceof InputStream || value instanceof Reader) {
+                // Streams are consumed by the driver and cannot be replayed; the sample is dropped
+                parameters.put(index, Unreplayable.INSTANCE);
+            } else {
+                parameters.put(index, "setNull".equals(setter) ? null : value);
+            }
+        }
+    }
+
+    private ResultSet wrap(ResultSet resultSet, String fingerprint) {
+        long[] rows = new long[1];
+        boolean[] reported = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                        rows[0]++;
+                    } else if ("close".equals(method.getName()) && !reported[0]) {
+                        reported[0] = true;
+                        recorder.recordRows(fingerprint, rows[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private static long changedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Marks a parameter whose value could not be kept
+     */
+    enum Unreplayable {
+        INSTANCE
+    }
+}
@@ -0,0 +1,57 @@
+package com.unimart.backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.unimart.backend.models.ConversationMember;
+import com.unimart.backend.models.ConversationMemberId;
+
+@Repository
+public interface ConversationMemberRepository extends JpaRepository<ConversationMember, ConversationMemberId> {
+
+    /**
+     * Inbox of a user, most recent conversation first. Backed by idx_conversation_members_inbox.
+     */
+    List<ConversationMember> findByUserEmailOrderByLastMessageAtDesc(String userEmail, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(c.unreadCount), 0) FROM ConversationMember c WHERE c.userEmail = :userEmail")
+    long sumUnread(@Param("userEmail") String userEmail);
+
+    /**
+     * Creates or advances a participant's row for a new message in one statement, adding
+     * unreadDelta to the counter. Concurrent sends never lose an increment, and a message that
+     * commits out of order does not overwrite a newer preview.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ConversationMembers (user_email, conversation_key, other_email, product_id, "
+            + "last_message_id, last_message_at, last_message_preview, unread_count) "
+            + "VALUES (:userEmail, :conversationKey, :otherEmail, :productId, :messageId, :sentAt, :preview, :unreadDelta) "
+            + "ON DUPLICATE KEY UPDATE "
+            // CASE rather than MySQL's IF() so the statement also runs on H2 in the tests.
+            // last_message_id is assigned last: MySQL evaluates the assignments in order
+            + "last_message_at = CASE WHEN VALUES(last_message_id) > last_message_id THEN VALUES(last_message_at) ELSE last_message_at END, "
+            + "last_message_preview = CASE WHEN VALUES(last_message_id) > last_message_id THEN VALUES(last_message_preview) ELSE last_message_preview END, "
+            + "last_message_id = GREATEST(last_message_id, VALUES(last_message_id)), "
+            + "unread_count = unread_count + VALUES(unread_count)",
+            nativeQuery = true)
+    int recordMessage(@Param("userEmail") String userEmail,
+                      @Param("conversationKey") String conversationKey,
+                      @Param("otherEmail") String otherEmail,
+                      @Param("productId") Long productId,
+                      @Param("messageId") Long messageId,
+                      @Param("sentAt") LocalDateTime sentAt,
+                      @Param("preview") String preview,
+                      @Param("unreadDelta") int unreadDelta);
+
+    @Modifying
+    @Query("UPDATE ConversationMember c SET c.unreadCount = 0 "
+            + "WHERE c.userEmail = :userEmail AND c.conversationKey = :conversationKey")
+    int markRead(@Param("userEmail") String userEmail, @Param("conversationKey") String conversationKey);
+}
@@ -0,0 +1,34 @@
+package com.unimart.backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.unimart.backend.models.Message;
+
+@Repository
+public interface MessageRepository extends JpaRepository<Message, Long> {
+
+    /**
+     * Newest messages of a conversation, backed by idx_messages_conversation (conversation_key, sent_at, message_id)
+     */
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey AND m.deleted = false "
+            + "ORDER BY m.sentAt DESC, m.messageId DESC")
+    List<Message> findLatest(@Param("conversationKey") String conversationKey, Pageable pageable);
+
+    /**
+     * Keyset page of a conversation strictly older than the (sentAt, messageId) cursor, newest first
+     */
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey AND m.deleted = false "
+            + "AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.messageId < :messageId)) "
+            + "ORDER BY m.sentAt DESC, m.messageId DESC")
+    List<Message> findBefore(@Param("conversationKey") String conversationKey,
+                             @Param("sentAt") LocalDateTime sentAt,
+                             @Param("messageId") Long messageId,
+                             Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package com.unimart.backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.unimart.backend.models.OrderProduct;
+
+@Repository
+public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
+    List<OrderProduct> findByOrderId(Long orderId);
+
+    List<OrderProduct> findByOrderIdIn(Collection<Long> orderIds);
+}
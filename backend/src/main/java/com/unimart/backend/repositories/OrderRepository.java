@@ -0,0 +1,80 @@
+package com.unimart.backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+import com.unimart.backend.models.Order;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+    /**
+     * Excludes orders with a completed payment; those wait for pickup however long it takes
+     */
+    String NOT_PAID = "AND NOT EXISTS (SELECT 1 FROM Payment p WHERE p.orderId = o.orderId "
+            + "AND p.paymentStatus = 'Completed') ";
+
+    boolean existsByBidId(Long bidId);
+
+    @Query("SELECT o.bidId FROM Order o WHERE o.bidId IN :bidIds")
+    List<Long> findExistingBidIds(@Param("bidIds") Collection<Long> bidIds);
+
+    /**
+     * Cancels an order only while it is still pending, so compensating twice releases stock once
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = 'Canceled', o.buyerCancellationReason = :reason "
+            + "WHERE o.orderId = :orderId AND o.orderStatus = 'Pending'")
+    int cancelIfPending(@Param("orderId") Long orderId, @Param("reason") String reason);
+
+    /**
+     * Page of (order_id, pickup_deadline) of pending, unpaid orders due up to until, after the
+     * keyset (after, afterId). Served by idx_orders_status_deadline, so only the requested window
+     * is read; the payment check is a lookup in idx_payments_order_id per order.
+     */
+    @Query("SELECT o.orderId, o.pickupDeadline FROM Order o WHERE o.orderStatus = 'Pending' "
+            + "AND o.pickupDeadline <= :until " + NOT_PAID
+            + "AND (o.pickupDeadline > :after OR (o.pickupDeadline = :after AND o.orderId > :afterId)) "
+            + "ORDER BY o.pickupDeadline, o.orderId")
+    List<Object[]> findPendingDeadlines(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                        @Param("until") LocalDateTime until, Pageable pageable);
+
+    /**
+     * Locks the orders of a batch that are still pending, unpaid and past their deadline, so a
+     * concurrent cancel or pickup either finishes first or waits for the expiry. A paid order
+     * waiting for pickup is the buyer's and never expires.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.orderId IN :orderIds AND o.orderStatus = 'Pending' AND o.pickupDeadline <= :now "
+            + NOT_PAID)
+    List<Order> lockExpirable(@Param("orderIds") Collection<Long> orderIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = 'Expired' WHERE o.orderId IN :orderIds")
+    int markExpired(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * The order if the buyer completed it: picked up, or paid and waiting for pickup
+     */
+    @Query("SELECT o FROM Order o WHERE o.orderId = :orderId AND o.buyerEmail = :buyerEmail "
+            + "AND (o.orderStatus = 'Completed' OR (o.orderStatus = 'Pending' AND EXISTS "
+            + "(SELECT 1 FROM Payment p WHERE p.orderId = o.orderId AND p.paymentStatus = 'Completed')))")
+    Optional<Order> findCompletedPurchase(@Param("orderId") Long orderId, @Param("buyerEmail") String buyerEmail);
+
+    /**
+     * (seller_email, orders) per seller, from idx_orders_seller_email
+     */
+    @Query("SELECT o.sellerEmail, COUNT(o) FROM Order o WHERE o.sellerEmail IN :sellerEmails GROUP BY o.sellerEmail")
+    List<Object[]> countOrdersBySeller(@Param("sellerEmails") Collection<String> sellerEmails);
+}
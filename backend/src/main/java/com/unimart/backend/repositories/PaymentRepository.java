@@ -0,0 +1,10 @@
+package com.unimart.backend.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.unimart.backend.models.Payment;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+}
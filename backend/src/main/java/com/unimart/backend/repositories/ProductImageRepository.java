@@ -0,0 +1,42 @@
+package com.unimart.backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.unimart.backend.models.ProductImage;
+
+@Repository
+public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
+    List<ProductImage> findByProductIdOrderByImageIdAsc(Long productId);
+
+    List<ProductImage> findByProductIdInOrderByImageIdAsc(Collection<Long> productIds);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProductImage i SET i.thumbnailUrl = :thumbnailUrl, i.cardUrl = :cardUrl, "
+            + "i.detailUrl = :detailUrl WHERE i.imageId = :imageId")
+    int updateRenditions(@Param("imageId") Long imageId,
+                         @Param("thumbnailUrl") String thumbnailUrl,
+                         @Param("cardUrl") String cardUrl,
+                         @Param("detailUrl") String detailUrl);
+
+    /**
+     * Images still without renditions that have failed fewer than maxFailures times, oldest first
+     */
+    @Query("SELECT i FROM ProductImage i WHERE i.thumbnailUrl IS NULL AND i.renditionFailures < :maxFailures "
+            + "ORDER BY i.imageId")
+    List<ProductImage> findPendingRenditions(@Param("maxFailures") int maxFailures, Pageable page);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProductImage i SET i.renditionFailures = i.renditionFailures + 1 WHERE i.imageId = :imageId")
+    int recordRenditionFailure(@Param("imageId") Long imageId);
+}
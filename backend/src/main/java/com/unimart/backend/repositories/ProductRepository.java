@@ -0,0 +1,85 @@
+package com.unimart.backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.unimart.backend.models.Product;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    /**
+     * Keyset page of a university's available listings, newest first, strictly older than beforeId.
+     * Backed by idx_products_feed (university_id, status, is_active, product_id).
+     */
+    @Query("SELECT p FROM Product p WHERE p.universityId = :universityId AND p.status = 'Available' "
+            + "AND p.active = true AND p.productId < :beforeId ORDER BY p.productId DESC")
+    List<Product> findAvailableBefore(@Param("universityId") Long universityId,
+                                      @Param("beforeId") Long beforeId,
+                                      Pageable pageable);
+
+    /**
+     * Persisted favorite counts of a page of listings as [productId, favoriteCount] pairs
+     */
+    @Query("SELECT p.productId, p.favoriteCount FROM Product p WHERE p.productId IN :productIds")
+    List<Object[]> findFavoriteCounts(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Takes quantity units off an available listing in a single statement; returns 0 when there
+     * is not enough stock left. Issued last in its transaction, so the row lock lasts only
+     * until the commit and buyers of a popular listing never wait on each other's reads. The listing
+     * turns Pending when its last unit is reserved (status is assigned first so it sees the
+     * quantity before the decrement).
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET "
+            + "p.status = CASE WHEN p.quantity = :quantity THEN 'Pending' ELSE p.status END, "
+            + "p.quantity = p.quantity - :quantity "
+            + "WHERE p.productId = :productId AND p.quantity >= :quantity "
+            + "AND p.active = true AND p.status = 'Available'")
+    int reserveQuantity(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * Returns reserved units, making a listing that ran out available again
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET "
+            + "p.status = CASE WHEN p.status = 'Pending' AND p.quantity = 0 THEN 'Available' ELSE p.status END, "
+            + "p.quantity = p.quantity + :quantity "
+            + "WHERE p.productId = :productId")
+    int releaseQuantity(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * (seller_email, listings, sold listings) per seller, from idx_products_seller_email
+     */
+    @Query("SELECT p.sellerEmail, COUNT(p), SUM(CASE WHEN p.status = 'Sold' THEN 1 ELSE 0 END) FROM Product p "
+            + "WHERE p.sellerEmail IN :sellerEmails GROUP BY p.sellerEmail")
+    List<Object[]> countListingsBySeller(@Param("sellerEmails") Collection<String> sellerEmails);
+
+    /**
+     * (product_id, university_id) of the sellers' active listings
+     */
+    @Query("SELECT p.productId, p.universityId FROM Product p WHERE p.sellerEmail IN :sellerEmails AND p.active = true")
+    List<Object[]> findActiveBySellers(@Param("sellerEmails") Collection<String> sellerEmails);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.active = false WHERE p.sellerEmail IN :sellerEmails AND p.active = true")
+    int deactivateBySellers(@Param("sellerEmails") Collection<String> sellerEmails);
+
+    /**
+     * (product_id, university_id) of the given listings that are still active
+     */
+    @Query("SELECT p.productId, p.universityId FROM Product p WHERE p.productId IN :productIds AND p.active = true")
+    List<Object[]> findActiveByIds(@Param("productIds") Collection<Long> productIds);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.active = false WHERE p.productId IN :productIds AND p.active = true")
+    int deactivateByIds(@Param("productIds") Collection<Long> productIds);
+}
@@ -0,0 +1,48 @@
+package com.unimart.backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.unimart.backend.models.ReportedListing;
+
+@Repository
+public interface ReportedListingRepository extends JpaRepository<ReportedListing, Long> {
+
+    /**
+     * (product_id, reporter_email, created_at) of every pending report, from idx_reported_listings_open
+     */
+    @Query("SELECT r.productId, r.reporterEmail, r.createdAt FROM ReportedListing r WHERE r.status = 'Pending'")
+    List<Object[]> findOpenReports();
+
+    /**
+     * (reporter_email, handled reports, reports upheld) per reporter
+     */
+    @Query("SELECT r.reporterEmail, COUNT(r), SUM(CASE WHEN r.status = 'Resolved' THEN 1 ELSE 0 END) "
+            + "FROM ReportedListing r WHERE r.status <> 'Pending' AND r.reporterEmail IN :reporters GROUP BY r.reporterEmail")
+    List<Object[]> findReporterHistory(@Param("reporters") Collection<String> reporters);
+
+    @Modifying
+    @Query("UPDATE ReportedListing r SET r.status = 'Resolved', r.handledBy = :admin "
+            + "WHERE r.productId IN :productIds AND r.status = 'Pending'")
+    int resolveReports(@Param("productIds") Collection<Long> productIds, @Param("admin") String admin);
+
+    /**
+     * Upholds every pending report on the listings of the given sellers, e.g. when they are
+     * banned. Reports a moderator already dismissed keep their outcome.
+     */
+    @Modifying
+    @Query("UPDATE ReportedListing r SET r.status = 'Resolved', r.handledBy = :admin WHERE r.status = 'Pending' "
+            + "AND r.productId IN (SELECT p.productId FROM Product p WHERE p.sellerEmail IN :sellerEmails)")
+    int resolveReportsOfSellers(@Param("sellerEmails") Collection<String> sellerEmails, @Param("admin") String admin);
+
+    @Modifying
+    @Query("UPDATE ReportedListing r SET r.status = 'Reviewed', r.handledBy = :admin "
+            + "WHERE r.productId IN :productIds AND r.status = 'Pending'")
+    int dismissReports(@Param("productIds") Collection<Long> productIds, @Param("admin") String admin);
+}
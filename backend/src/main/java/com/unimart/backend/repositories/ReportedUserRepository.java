@@ -0,0 +1,48 @@
+package com.unimart.backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.unimart.backend.models.ReportedUser;
+
+@Repository
+public interface ReportedUserRepository extends JpaRepository<ReportedUser, Long> {
+
+    /**
+     * (reported_email, reporter_email, report_date) of every open report, from idx_reported_users_open
+     */
+    @Query("SELECT r.reportedEmail, r.reporterEmail, r.reportDate FROM ReportedUser r WHERE r.reviewed = false")
+    List<Object[]> findOpenReports();
+
+    /**
+     * (reporter_email, reviewed reports, reports that led to an action) per reporter
+     */
+    @Query("SELECT r.reporterEmail, COUNT(r), SUM(CASE WHEN r.actionTaken IS NOT NULL THEN 1 ELSE 0 END) "
+            + "FROM ReportedUser r WHERE r.reviewed = true AND r.reporterEmail IN :reporters GROUP BY r.reporterEmail")
+    List<Object[]> findReporterHistory(@Param("reporters") Collection<String> reporters);
+
+    /**
+     * Closes every open report against the users with the given outcome; action is null for a dismissal
+     */
+    @Modifying
+    @Query("UPDATE ReportedUser r SET r.reviewed = true, r.actionTaken = :action, r.banExpirationDate = :banExpiration "
+            + "WHERE r.reportedEmail IN :emails AND r.reviewed = false")
+    int closeReports(@Param("emails") Collection<String> emails,
+                     @Param("action") String action,
+                     @Param("banExpiration") LocalDateTime banExpiration);
+
+    /**
+     * Ends the current bans of the users now, so that the reports no longer keep them banned
+     */
+    @Modifying
+    @Query("UPDATE ReportedUser r SET r.banExpirationDate = :now WHERE r.reportedEmail IN :emails AND r.actionTaken = 'Banned' "
+            + "AND (r.banExpirationDate IS NULL OR r.banExpirationDate > :now)")
+    int endBans(@Param("emails") Collection<String> emails, @Param("now") LocalDateTime now);
+}
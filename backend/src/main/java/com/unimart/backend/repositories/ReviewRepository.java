@@ -0,0 +1,23 @@
+package com.unimart.backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.unimart.backend.models.Review;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+    boolean existsByOrderId(Long orderId);
+
+    /**
+     * (seller_email, rating sum, review count) per seller, from idx_reviews_seller
+     */
+    @Query("SELECT r.sellerEmail, SUM(r.rating), COUNT(r) FROM Review r "
+            + "WHERE r.sellerEmail IN :sellerEmails GROUP BY r.sellerEmail")
+    List<Object[]> sumRatingsBySeller(@Param("sellerEmails") Collection<String> sellerEmails);
+}
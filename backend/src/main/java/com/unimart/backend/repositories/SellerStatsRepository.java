@@ -0,0 +1,47 @@
+package com.unimart.backend.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.unimart.backend.models.SellerStats;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface SellerStatsRepository extends JpaRepository<SellerStats, String> {
+
+    /**
+     * Adds the deltas to a seller's row, creating it on first use. A single statement, so
+     * concurrent reviews and orders never lose an increment.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO SellerStats (seller_email, rating_sum, rating_count, listings, sold, orders_received, updated_at) "
+            + "VALUES (:sellerEmail, :ratingSum, :ratingCount, :listings, :sold, :ordersReceived, CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "rating_sum = rating_sum + VALUES(rating_sum), "
+            + "rating_count = rating_count + VALUES(rating_count), "
+            + "listings = listings + VALUES(listings), "
+            + "sold = sold + VALUES(sold), "
+            + "orders_received = orders_received + VALUES(orders_received), "
+            + "updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int addDeltas(@Param("sellerEmail") String sellerEmail,
+                  @Param("ratingSum") int ratingSum,
+                  @Param("ratingCount") int ratingCount,
+                  @Param("listings") int listings,
+                  @Param("sold") int sold,
+                  @Param("ordersReceived") int ordersReceived);
+
+    /**
+     * Blocks increments to the seller's row until the reconciling transaction commits
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SellerStats s WHERE s.sellerEmail = :sellerEmail")
+    Optional<SellerStats> lockBySellerEmail(@Param("sellerEmail") String sellerEmail);
+}
@@ -0,0 +1,31 @@
+package com.unimart.backend.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.unimart.backend.models.UserFavorite;
+
+@Repository
+public interface UserFavoriteRepository extends JpaRepository<UserFavorite, Long> {
+
+    /**
+     * Every product a user has favorited, read from uq_favorites_user_product alone
+     */
+    @Query("SELECT f.productId FROM UserFavorite f WHERE f.userEmail = :userEmail")
+    List<Long> findProductIdsByUserEmail(@Param("userEmail") String userEmail);
+
+    boolean existsByUserEmailAndProductId(String userEmail, Long productId);
+
+    long countByProductId(Long productId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserFavorite f WHERE f.userEmail = :userEmail AND f.productId = :productId")
+    int deleteFavorite(@Param("userEmail") String userEmail, @Param("productId") Long productId);
+}
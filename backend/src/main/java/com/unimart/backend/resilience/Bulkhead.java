@@ -0,0 +1,56 @@
+package com.unimart.backend.resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the calls to one dependency that can be in flight at once, so a dependency that
+ * hangs ties up at most maxConcurrent request threads instead of all of them.
+ */
+public class Bulkhead {
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(int maxConcurrent, long maxWaitMillis) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Takes a slot, waiting at most maxWaitMillis for one to free up
+     */
+    public boolean tryAcquire() {
+        boolean acquired;
+        try {
+            acquired = maxWaitMillis > 0 ? permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS) : permits.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
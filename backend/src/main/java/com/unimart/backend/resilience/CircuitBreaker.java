@@ -0,0 +1,201 @@
+package com.unimart.backend.resilience;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * CLOSED: every call goes through and its outcome is kept in a window of the last calls;
+ * too many failures (or slow calls) in the window open the circuit. OPEN: calls are refused
+ * at once, without touching the dependency. After the open period the circuit goes
+ * HALF_OPEN and lets a few probe calls through: if they all succeed it closes again, the
+ * first failure opens it for another period.
+ *
+ * Every permit carries the epoch it was granted in, a counter bumped on each transition,
+ * so a call that started before a transition cannot count towards the new state.
+ */
+@Slf4j
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    static final long REJECTED = -1;
+    private static final int TRANSITION_LOG_SIZE = 20;
+
+    private final String name;
+    private final ResiliencePolicy policy;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAtNanos;
+
+    // Outcomes of the latest calls while closed, true for failed
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    private long rejected;
+    private final Map<String, Long> transitionCounts = new LinkedHashMap<>();
+    private final Deque<Transition> transitions = new ArrayDeque<>();
+
+    public CircuitBreaker(String name, ResiliencePolicy policy, LongSupplier nanoClock) {
+        this.name = name;
+        this.policy = policy;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[Math.max(1, policy.getWindowSize())];
+    }
+
+    /**
+     * Returns the epoch to pass back to onResult, or REJECTED when the call must not be made
+     */
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < TimeUnit.MILLISECONDS.toNanos(policy.getOpenMillis())) {
+                rejected++;
+                return REJECTED;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probeSuccesses >= policy.getHalfOpenProbes()) {
+                rejected++;
+                return REJECTED;
+            }
+            probesInFlight++;
+        }
+        return epoch;
+    }
+
+    /**
+     * Records the outcome of a call made with the permit of the given epoch
+     */
+    public synchronized void onResult(long permitEpoch, boolean failed, long durationNanos) {
+        if (permitEpoch != epoch) {
+            return;
+        }
+        boolean counted = failed || durationNanos > TimeUnit.MILLISECONDS.toNanos(policy.getSlowCallMillis());
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (counted) {
+                open();
+            } else if (++probeSuccesses >= policy.getHalfOpenProbes()) {
+                transition(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(counted);
+            if (windowCalls >= policy.getMinimumCalls()
+                    && windowFailures * 100 >= policy.getFailureRatePercent() * windowCalls) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit that was not used for a call
+     */
+    public synchronized void release(long permitEpoch) {
+        if (permitEpoch == epoch && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Milliseconds until an open circuit lets probes through, 0 when it is not open
+     */
+    public synchronized long millisUntilRetry() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(policy.getOpenMillis()) - (nanoClock.getAsLong() - openedAtNanos);
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(remaining));
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state);
+        stats.put("windowCalls", windowCalls);
+        stats.put("windowFailures", windowFailures);
+        stats.put("rejected", rejected);
+        stats.put("transitions", new LinkedHashMap<>(transitionCounts));
+        List<Map<String, Object>> recent = new ArrayList<>();
+        for (Transition transition : transitions) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("from", transition.getFrom());
+            entry.put("to", transition.getTo());
+            entry.put("at", transition.getAtMillis());
+            recent.add(entry);
+        }
+        stats.put("recentTransitions", recent);
+        return stats;
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAtNanos = nanoClock.getAsLong();
+    }
+
+    private void record(boolean failed) {
+        if (windowCalls == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        epoch++;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (to == State.CLOSED) {
+            windowNext = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+        }
+        transitionCounts.merge(from + "->" + to, 1L, Long::sum);
+        transitions.addFirst(new Transition(from, to, System.currentTimeMillis()));
+        if (transitions.size() > TRANSITION_LOG_SIZE) {
+            transitions.removeLast();
+        }
+        if (to == State.OPEN) {
+            log.warn("Circuit for {} opened, refusing calls for {} ms", name, policy.getOpenMillis());
+        } else {
+            log.info("Circuit for {} is {}", name, to);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Transition {
+        private final State from;
+        private final State to;
+        private final long atMillis;
+    }
+}
@@ -0,0 +1,86 @@
+package com.unimart.backend.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import com.unimart.backend.exceptions.DependencyUnavailableException;
+
+/**
+ * Bulkhead plus circuit breaker in front of one external dependency.
+ *
+ * A refused call fails at once with DependencyUnavailableException, which the API turns into
+ * a 503 with Retry-After, instead of holding a request thread until the dependency times out.
+ * Only exceptions matching isFailure count against the circuit: a declined card is the
+ * dependency working as intended.
+ */
+public class DependencyGuard {
+    private final String name;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Predicate<Throwable> isFailure;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public DependencyGuard(String name, ResiliencePolicy policy, Predicate<Throwable> isFailure, LongSupplier nanoClock) {
+        this.name = name;
+        this.bulkhead = new Bulkhead(policy.getMaxConcurrent(), policy.getMaxWaitMillis());
+        this.circuitBreaker = new CircuitBreaker(name, policy, nanoClock);
+        this.isFailure = isFailure;
+        this.nanoClock = nanoClock;
+    }
+
+    public <T, E extends Exception> T call(GuardedCall<T, E> call) throws E {
+        if (!bulkhead.tryAcquire()) {
+            throw new DependencyUnavailableException(name, name + " is busy, try again shortly", 1);
+        }
+        long epoch = circuitBreaker.tryAcquire();
+        if (epoch == CircuitBreaker.REJECTED) {
+            bulkhead.release();
+            long retryAfter = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(circuitBreaker.millisUntilRetry() + 999));
+            throw new DependencyUnavailableException(name, name + " is unavailable, try again later", retryAfter);
+        }
+
+        calls.increment();
+        long started = nanoClock.getAsLong();
+        boolean failed = true;
+        try {
+            T result = call.call();
+            failed = false;
+            return result;
+        } catch (Exception e) {
+            failed = isFailure.test(e);
+            throw e;
+        } finally {
+            if (failed) {
+                failures.increment();
+            }
+            circuitBreaker.onResult(epoch, failed, nanoClock.getAsLong() - started);
+            bulkhead.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("calls", calls.sum());
+        stats.put("failures", failures.sum());
+        stats.put("inFlight", bulkhead.inFlight());
+        stats.put("maxConcurrent", bulkhead.getMaxConcurrent());
+        stats.put("bulkheadRejected", bulkhead.rejected());
+        stats.put("circuit", circuitBreaker.stats());
+        return stats;
+    }
+}
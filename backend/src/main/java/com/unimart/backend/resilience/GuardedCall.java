@@ -0,0 +1,9 @@
+package com.unimart.backend.resilience;
+
+/**
+ * A call to an external dependency, which may throw the dependency's own checked exception
+ */
+@FunctionalInterface
+public interface GuardedCall<T, E extends Exception> {
+    T call() throws E;
+}
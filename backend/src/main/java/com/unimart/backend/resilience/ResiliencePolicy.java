@@ -0,0 +1,34 @@
+package com.unimart.backend.resilience;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Bulkhead and circuit breaker settings of one dependency
+ */
+@Getter
+@Builder
+public class ResiliencePolicy {
+    // Bulkhead
+    @Builder.Default
+    private final int maxConcurrent = 10;
+    @Builder.Default
+    private final long maxWaitMillis = 0;
+
+    // Circuit breaker: opens when failureRatePercent of the last windowSize calls failed,
+    // once at least minimumCalls were made; calls slower than slowCallMillis count as failed
+    @Builder.Default
+    private final int windowSize = 20;
+    @Builder.Default
+    private final int minimumCalls = 10;
+    @Builder.Default
+    private final int failureRatePercent = 50;
+    @Builder.Default
+    private final long slowCallMillis = 5000;
+
+    // Open for openMillis, then lets halfOpenProbes calls through to decide whether to close
+    @Builder.Default
+    private final long openMillis = 30_000;
+    @Builder.Default
+    private final int halfOpenProbes = 3;
+}
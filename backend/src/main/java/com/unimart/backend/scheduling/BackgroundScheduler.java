@@ -0,0 +1,97 @@
+package com.unimart.backend.scheduling;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The background thread of one component, for its periodic reloads, flushes and
+ * reconciliations and for work handed over from request threads.
+ *
+ * The thread is a daemon, so it never holds up the JVM's exit. Every task runs guarded: one
+ * that throws is logged and counted and runs again at its next time, where a periodic task
+ * on a bare ScheduledExecutorService would be cancelled for good without a word.
+ */
+@Slf4j
+public class BackgroundScheduler {
+    private final String name;
+    private final ScheduledExecutorService executor;
+    private final LongAdder failures = new LongAdder();
+
+    public BackgroundScheduler(String name) {
+        this.name = name;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the task again delay after each run ends
+     */
+    public void scheduleWithFixedDelay(String task, Runnable action, long initialDelay, long delay, TimeUnit unit) {
+        executor.scheduleWithFixedDelay(guarded(task, action), initialDelay, delay, unit);
+    }
+
+    /**
+     * Runs the task every period, counted from the start of each run
+     */
+    public void scheduleAtFixedRate(String task, Runnable action, long initialDelay, long period, TimeUnit unit) {
+        executor.scheduleAtFixedRate(guarded(task, action), initialDelay, period, unit);
+    }
+
+    /**
+     * Runs the task once on the background thread, after the work already queued there
+     */
+    public void execute(String task, Runnable action) {
+        executor.execute(guarded(task, action));
+    }
+
+    /**
+     * Runs the task on the calling thread with the same guard, for a first load at startup or
+     * a last flush at shutdown
+     */
+    public void runNow(String task, Runnable action) {
+        guarded(task, action).run();
+    }
+
+    /**
+     * Stops at once and interrupts a running task, for work that is simply redone after a restart
+     */
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Cancels the periodic tasks and waits up to the timeout for queued and running ones to end
+     */
+    public void drain(long timeout, TimeUnit unit) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout, unit)) {
+                log.warn("Background tasks on {} still running after {} {}", name, timeout, unit);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    private Runnable guarded(String task, Runnable action) {
+        return () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.error("Background task '{}' on {} failed", task, name, e);
+            }
+        };
+    }
+}
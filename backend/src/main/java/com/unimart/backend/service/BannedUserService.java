@@ -0,0 +1,233 @@
+package com.unimart.backend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.events.UserBanStatusEvent;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.scheduling.BackgroundScheduler;
+import com.unimart.backend.sharding.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory set of banned users, consulted by the security filter chain on every request.
+ *
+ * The set is loaded from Users.is_banned at startup, kept current by UserBanStatusEvent and
+ * resynchronized periodically to pick up bans made by other instances. Each entry holds the
+ * end of the ban from Users.ban_expires_at, so a lapsed ban stops blocking requests at once;
+ * a timer then clears the flag in Users as well. Both jobs visit every shard group.
+ */
+@Service
+@Slf4j
+public class BannedUserService implements MetricsSource {
+    private static final long PERMANENT = Long.MAX_VALUE;
+    // No longer banned in Users, by an unban on another instance
+    private static final long NOT_BANNED = Long.MIN_VALUE;
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${marketplace.bans.expiry-check-seconds:60}")
+    private long expiryCheckSeconds;
+
+    @Value("${marketplace.bans.reload-minutes:10}")
+    private long reloadMinutes;
+
+    // Lower-cased email -> end of the ban in epoch millis, PERMANENT when open-ended
+    private final Map<String, Long> bans = new ConcurrentHashMap<>();
+    // Emails changed by an event since the last reload started; the event wins over that reload
+    private final Map<String, Long> recentChanges = new ConcurrentHashMap<>();
+    private final BackgroundScheduler scheduler = new BackgroundScheduler("banned-users");
+
+    private final Counters counters = new Counters();
+    private final LongAdder checks = counters.add("checks");
+    private final LongAdder blocked = counters.add("blocked");
+    private final LongAdder bansLifted = counters.add("bansLifted");
+    private final AtomicLong lastReloadMillis = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        // Loaded before the first request is served, so no banned user slips in after a restart
+        scheduler.runNow("reload banned users", this::reload);
+        scheduler.scheduleWithFixedDelay("lift expired bans", this::liftExpired, expiryCheckSeconds, expiryCheckSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay("reload banned users", this::reload, reloadMinutes, reloadMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.stop();
+    }
+
+    /**
+     * One hash lookup, no database access
+     */
+    public boolean isBanned(String email) {
+        checks.increment();
+        if (bans.isEmpty() || email == null) {
+            return false;
+        }
+        Long until = bans.get(email.toLowerCase());
+        if (until == null || until <= System.currentTimeMillis()) {
+            return false;
+        }
+        blocked.increment();
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBanStatusChanged(UserBanStatusEvent event) {
+        long now = System.currentTimeMillis();
+        long until = event.getBannedUntil() != null ? toMillis(event.getBannedUntil()) : PERMANENT;
+        for (String email : event.getEmails()) {
+            String key = email.toLowerCase();
+            recentChanges.put(key, now);
+            if (event.isBanned()) {
+                bans.merge(key, until, Math::max);
+            } else {
+                bans.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "bans";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("bannedUsers", bans.size());
+        stats.put("lastReloadMillis", lastReloadMillis.get());
+        return stats;
+    }
+
+    /**
+     * Rebuilds the set from Users, leaving alone users changed by an event while the reload was
+     * reading
+     */
+    void reload() {
+        long started = System.currentTimeMillis();
+        Map<String, Long> loaded = new HashMap<>();
+        shardRouter.forEachGroup(group -> loaded.putAll(toBans(userRepository.findBans())));
+
+        Set<String> emails = new HashSet<>(loaded.keySet());
+        emails.addAll(bans.keySet());
+        for (String email : emails) {
+            Long changedAt = recentChanges.get(email);
+            if (changedAt != null && changedAt >= started) {
+                continue;
+            }
+            Long until = loaded.get(email);
+            if (until != null) {
+                bans.put(email, until);
+            } else {
+                bans.remove(email);
+            }
+        }
+        recentChanges.values().removeIf(changedAt -> changedAt < started);
+        lastReloadMillis.set(System.currentTimeMillis() - started);
+        log.debug("Loaded {} banned users", bans.size());
+    }
+
+    /**
+     * Clears Users.is_banned for the bans that ran out, after checking that no newer ban was
+     * recorded in the meantime
+     */
+    void liftExpired() {
+        long now = System.currentTimeMillis();
+        List<String> expired = new ArrayList<>();
+        bans.forEach((email, until) -> {
+            if (until <= now) {
+                expired.add(email);
+            }
+        });
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> current = new HashMap<>();
+        List<String> lifted = new ArrayList<>();
+        // Users live in the group of their university; elsewhere the lookup finds nothing
+        shardRouter.forEachGroup(group -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Map<String, Long> inGroup = loadBans(expired);
+            List<String> liftedInGroup = new ArrayList<>();
+            inGroup.forEach((email, until) -> {
+                if (until <= now) {
+                    liftedInGroup.add(email);
+                }
+            });
+            if (!liftedInGroup.isEmpty()) {
+                userRepository.unbanUsers(liftedInGroup);
+            }
+            current.putAll(inGroup);
+            lifted.addAll(liftedInGroup);
+        }));
+
+        for (String email : expired) {
+            long until = current.getOrDefault(email, NOT_BANNED);
+            if (until <= now) {
+                // Keeps a ban that an event added since the lookup
+                bans.computeIfPresent(email, (key, end) -> end <= now ? null : end);
+            } else {
+                bans.merge(email, until, Math::max);
+            }
+        }
+        bansLifted.add(lifted.size());
+        log.info("Lifted {} expired bans", lifted.size());
+    }
+
+    /**
+     * Ban end per email of the users still banned; users that are no longer banned are left out
+     */
+    private Map<String, Long> loadBans(List<String> emails) {
+        Map<String, Long> loaded = new HashMap<>();
+        for (int from = 0; from < emails.size(); from += LOAD_CHUNK_SIZE) {
+            List<String> chunk = emails.subList(from, Math.min(emails.size(), from + LOAD_CHUNK_SIZE));
+            loaded.putAll(toBans(userRepository.findBans(chunk)));
+        }
+        return loaded;
+    }
+
+    private static Map<String, Long> toBans(List<Object[]> rows) {
+        Map<String, Long> bans = new HashMap<>();
+        for (Object[] row : rows) {
+            bans.put(((String) row[0]).toLowerCase(), row[1] != null ? toMillis((LocalDateTime) row[1]) : PERMANENT);
+        }
+        return bans;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
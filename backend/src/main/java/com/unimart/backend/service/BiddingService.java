@@ -0,0 +1,153 @@
+package com.unimart.backend.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.dto.bid.BidDTO;
+import com.unimart.backend.dto.bid.BidDecisionDTO;
+import com.unimart.backend.dto.bid.BidRequestDTO;
+import com.unimart.backend.events.ListingsHiddenEvent;
+import com.unimart.backend.events.ProductChangedEvent;
+import com.unimart.backend.events.ProductEngagementEvent;
+import com.unimart.backend.events.UserNotificationEvent;
+import com.unimart.backend.exceptions.ProductNotFoundException;
+import com.unimart.backend.exceptions.UserNotFoundException;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.scheduling.BackgroundScheduler;
+import com.unimart.backend.service.bidding.Bid;
+import com.unimart.backend.service.bidding.BidEngine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class BiddingService implements MetricsSource {
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${marketplace.bids.compact-interval-hours:24}")
+    private long compactIntervalHours;
+
+    // How long a closed listing's bids stay readable before compaction forgets them
+    @Value("${marketplace.bids.retention-days:30}")
+    private long retentionDays;
+
+    private final BackgroundScheduler compactor = new BackgroundScheduler("bid-log-compaction");
+
+    @PostConstruct
+    public void start() {
+        compactor.scheduleWithFixedDelay("compact the bid log", () -> bidEngine.compact(Duration.ofDays(retentionDays)),
+                compactIntervalHours, compactIntervalHours, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        compactor.stop();
+    }
+
+    /**
+     * Places an offer on a listing
+     */
+    public BidDTO placeBid(String bidderEmail, BidRequestDTO request) {
+        Bid placed = bidEngine.placeBid(request.getProductId(), bidderEmail, request.getAmount());
+        BidDTO bid = BidDTO.from(placed);
+        log.info("Bid {} placed on product {} by {}", bid.getId(), bid.getProductId(), bid.getBidder());
+        eventPublisher.publishEvent(new ProductEngagementEvent(ProductEngagementEvent.Type.BID, bid.getProductId(), null));
+        notify(placed.getSellerEmail(), "New offer of " + bid.getAmount() + " on product " + bid.getProductId(), bid);
+        return bid;
+    }
+
+    /**
+     * Accepts an offer; the order is created in the background
+     */
+    public BidDTO acceptBid(String sellerEmail, Long bidId, BidDecisionDTO decision) {
+        BidDTO bid = BidDTO.from(bidEngine.acceptBid(bidId, sellerEmail));
+        log.info("Bid {} on product {} accepted", bidId, bid.getProductId());
+        notify(bid.getBidder(), "Your offer on product " + bid.getProductId() + " was accepted", bid);
+        return bid;
+    }
+
+    /**
+     * Declines an offer, or counters it when a counter-offer amount is given
+     */
+    public BidDTO declineBid(String sellerEmail, Long bidId, BidDecisionDTO decision) {
+        BidDTO bid = BidDTO.from(bidEngine.declineBid(bidId, sellerEmail,
+                decision.getReason(), decision.getCounterOffer()));
+        notify(bid.getBidder(), "Your offer on product " + bid.getProductId() + " was " + bid.getStatus(), bid);
+        return bid;
+    }
+
+    public BidDTO getBid(Long bidId) {
+        return BidDTO.from(bidEngine.getBid(bidId));
+    }
+
+    /**
+     * Bids on a listing, read from memory; an unknown listing is a ProductNotFoundException
+     */
+    public List<BidDTO> getBidsForListing(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ProductNotFoundException("Product not found: " + productId);
+        }
+        return bidEngine.getBidsForListing(productId).stream().map(BidDTO::from).toList();
+    }
+
+    /**
+     * Bids on all of a seller's listings; an unknown seller is a UserNotFoundException
+     */
+    public List<BidDTO> getBidsForSeller(String sellerEmail) {
+        if (!userRepository.existsByEmail(sellerEmail)) {
+            throw new UserNotFoundException("User not found: " + sellerEmail);
+        }
+        return bidEngine.getBidsForSeller(sellerEmail).stream().map(BidDTO::from).toList();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "bidding";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        return bidEngine.stats();
+    }
+
+    private void notify(String recipientEmail, String summary, BidDTO bid) {
+        eventPublisher.publishEvent(new UserNotificationEvent(recipientEmail, UserNotificationEvent.Type.BID, summary, bid));
+    }
+
+    /**
+     * Stops or resumes bidding when a listing is sold, hidden or relisted
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        bidEngine.listingChanged(event.getProductId(), event.isListed());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingsHidden(ListingsHiddenEvent event) {
+        event.getProductIdsByUniversity().values().forEach(productIds ->
+                productIds.forEach(productId -> bidEngine.listingChanged(productId, false)));
+    }
+}
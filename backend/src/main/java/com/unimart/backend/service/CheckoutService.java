@@ -0,0 +1,237 @@
+package com.unimart.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.backend.dto.checkout.CheckoutRequestDTO;
+import com.unimart.backend.dto.checkout.CheckoutResponseDTO;
+import com.unimart.backend.dto.payment.PaymentRequestDTO;
+import com.unimart.backend.dto.payment.PaymentResponseDTO;
+import com.unimart.backend.events.ProductChangedEvent;
+import com.unimart.backend.events.UserNotificationEvent;
+import com.unimart.backend.exceptions.InvalidRequestException;
+import com.unimart.backend.exceptions.OutOfStockException;
+import com.unimart.backend.exceptions.ProductNotFoundException;
+import com.unimart.backend.models.Order;
+import com.unimart.backend.models.OrderProduct;
+import com.unimart.backend.models.Payment;
+import com.unimart.backend.models.Product;
+import com.unimart.backend.repositories.OrderProductRepository;
+import com.unimart.backend.repositories.OrderRepository;
+import com.unimart.backend.repositories.PaymentRepository;
+import com.unimart.backend.repositories.ProductRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buys listings without serializing buyers on the product row.
+ *
+ * Stock is taken with one conditional UPDATE (quantity >= n) issued last in a short
+ * transaction that also writes the Order, Order_Products and a pending Payment, so the row lock
+ * is held only from that UPDATE to the commit. The Stripe call runs after the commit; if it
+ * fails, a compensating transaction cancels the order and puts the units back.
+ */
+@Service
+@Slf4j
+public class CheckoutService {
+    // Stripe statuses after a confirmed PaymentIntent that mean no money will move
+    private static final Set<String> FAILED_PAYMENT_STATUSES = Set.of("failed", "canceled", "requires_payment_method");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Autowired
+    private OrderExpiryService orderExpiryService;
+
+    @Autowired
+    private SellerStatsService sellerStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Reserves stock, creates the order and starts the Stripe payment
+     */
+    public CheckoutResponseDTO checkout(String buyerEmail, CheckoutRequestDTO request) {
+        Reservation reservation = reserve(buyerEmail, request);
+        refreshListing(reservation.productId);
+
+        PaymentResponseDTO payment;
+        try {
+            payment = paymentService.createPaymentIntent(paymentRequest(request, reservation));
+        } catch (RuntimeException e) {
+            log.error("Payment for order {} failed unexpectedly", reservation.orderId, e);
+            payment = PaymentResponseDTO.builder().status("failed").errorMessage(e.getMessage()).build();
+        }
+
+        if (payment == null || payment.getStatus() == null || FAILED_PAYMENT_STATUSES.contains(payment.getStatus())) {
+            String reason = "Payment failed" + (payment != null && payment.getErrorMessage() != null
+                    ? ": " + payment.getErrorMessage() : "");
+            compensate(reservation, reason);
+            return response(reservation, Order.STATUS_CANCELED, Payment.STATUS_FAILED, payment, reason);
+        }
+
+        String paymentStatus = "succeeded".equals(payment.getStatus()) ? Payment.STATUS_COMPLETED : Payment.STATUS_PENDING;
+        recordPayment(reservation, payment, paymentStatus);
+
+        Map<String, Object> notification = Map.of("orderId", reservation.orderId, "productId", reservation.productId,
+                "status", Order.STATUS_PENDING);
+        eventPublisher.publishEvent(new UserNotificationEvent(reservation.sellerEmail, UserNotificationEvent.Type.ORDER_UPDATE,
+                "New order " + reservation.orderId + " for product " + reservation.productId, notification));
+        log.info("Order {} placed by {} for {} x product {}", reservation.orderId, reservation.buyerEmail,
+                reservation.quantity, reservation.productId);
+        return response(reservation, Order.STATUS_PENDING, paymentStatus, payment, null);
+    }
+
+    private Reservation reserve(String buyerEmail, CheckoutRequestDTO request) {
+        String buyer = buyerEmail.trim().toLowerCase();
+        Long productId = request.getProductId();
+        int quantity = request.getQuantity();
+
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // Plain read: no lock, only used for price and seller and to fail fast
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException("Product not found: " + productId));
+            if (product.getSellerEmail().equalsIgnoreCase(buyer)) {
+                throw new InvalidRequestException("Sellers cannot buy their own listing");
+            }
+            if (!product.isListed() || product.getQuantity() == null || product.getQuantity() < quantity) {
+                throw outOfStock(product, quantity);
+            }
+
+            // Take the product's exclusive row lock before inserting OrderProducts: the insert's
+            // foreign key check puts a shared lock on the same row, and two checkouts that both
+            // hold it and then ask for the exclusive one deadlock
+            if (productRepository.reserveQuantity(productId, quantity) == 0) {
+                throw outOfStock(product, quantity);
+            }
+
+            BigDecimal total = product.getPrice().multiply(BigDecimal.valueOf(quantity));
+            Order order = orderRepository.save(new Order(buyer, product.getSellerEmail(), total));
+            orderProductRepository.save(new OrderProduct(order.getOrderId(), productId, quantity, product.getPrice()));
+            Payment payment = paymentRepository.save(new Payment(order, Payment.METHOD_STRIPE));
+            sellerStatsService.orderReceived(order.getSellerEmail());
+            orderExpiryService.track(order);
+            return new Reservation(order.getOrderId(), payment.getPaymentId(), productId, quantity,
+                    buyer, product.getSellerEmail(), total);
+        });
+    }
+
+    /**
+     * Cancels the order and returns its units. Idempotent: only a still pending order releases stock.
+     * Should this fail too, the order stays pending and is released when its pickup deadline lapses.
+     */
+    private void compensate(Reservation reservation, String reason) {
+        try {
+            Boolean released = new TransactionTemplate(transactionManager).execute(status -> {
+                if (orderRepository.cancelIfPending(reservation.orderId, reason) == 0) {
+                    return false;
+                }
+                productRepository.releaseQuantity(reservation.productId, reservation.quantity);
+                paymentRepository.findById(reservation.paymentId).ifPresent(payment -> {
+                    payment.setPaymentStatus(Payment.STATUS_FAILED);
+                    paymentRepository.save(payment);
+                });
+                return true;
+            });
+            if (Boolean.TRUE.equals(released)) {
+                log.info("Order {} canceled and {} x product {} released: {}", reservation.orderId,
+                        reservation.quantity, reservation.productId, reason);
+                refreshListing(reservation.productId);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to release the reservation of order {}", reservation.orderId, e);
+        }
+    }
+
+    private void recordPayment(Reservation reservation, PaymentResponseDTO response, String paymentStatus) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                paymentRepository.findById(reservation.paymentId).ifPresent(payment -> {
+                    payment.setPaymentStatus(paymentStatus);
+                    payment.setStripePaymentIntentId(response.getPaymentIntentId());
+                    payment.setStripeClientSecret(response.getClientSecret());
+                    paymentRepository.save(payment);
+                }));
+    }
+
+    /**
+     * Tells the feed and bidding when a checkout sold out a listing or a release relisted it
+     */
+    private void refreshListing(Long productId) {
+        productRepository.findById(productId).ifPresent(product -> eventPublisher.publishEvent(
+                new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, product,
+                        product.isListed() ? productImageService.gridImageUrl(productId) : null)));
+    }
+
+    private static OutOfStockException outOfStock(Product product, int quantity) {
+        if (!product.isListed()) {
+            return new OutOfStockException("Product " + product.getProductId() + " is no longer available");
+        }
+        return new OutOfStockException("Not enough stock of product " + product.getProductId() + " for " + quantity + " units");
+    }
+
+    private static PaymentRequestDTO paymentRequest(CheckoutRequestDTO request, Reservation reservation) {
+        PaymentRequestDTO payment = new PaymentRequestDTO();
+        payment.setPaymentMethodId(request.getPaymentMethodId());
+        payment.setAmount(reservation.total.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+        payment.setCurrency(request.getCurrency() == null ? "usd" : request.getCurrency());
+        payment.setDescription("UniMart order " + reservation.orderId);
+        payment.setCustomerEmail(reservation.buyerEmail);
+        payment.setProductId(String.valueOf(reservation.productId));
+        payment.setOrderId(String.valueOf(reservation.orderId));
+        return payment;
+    }
+
+    private static CheckoutResponseDTO response(Reservation reservation, String orderStatus, String paymentStatus,
+                                                PaymentResponseDTO payment, String errorMessage) {
+        return CheckoutResponseDTO.builder()
+            .orderId(reservation.orderId)
+            .productId(reservation.productId)
+            .quantity(reservation.quantity)
+            .totalPrice(reservation.total)
+            .orderStatus(orderStatus)
+            .paymentStatus(paymentStatus)
+            .paymentIntentId(payment != null ? payment.getPaymentIntentId() : null)
+            .clientSecret(payment != null ? payment.getClientSecret() : null)
+            .errorMessage(errorMessage)
+            .build();
+    }
+
+    @AllArgsConstructor
+    private static class Reservation {
+        final Long orderId;
+        final Long paymentId;
+        final Long productId;
+        final int quantity;
+        final String buyerEmail;
+        final String sellerEmail;
+        final BigDecimal total;
+    }
+}
@@ -0,0 +1,365 @@
+package com.unimart.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.unimart.backend.dto.favorite.FavoriteStatusDTO;
+import com.unimart.backend.events.ProductEngagementEvent;
+import com.unimart.backend.exceptions.ProductNotFoundException;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.models.UserFavorite;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.repositories.UserFavoriteRepository;
+import com.unimart.backend.scheduling.BackgroundScheduler;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Favorite membership and counts for whole pages of listing cards.
+ *
+ * Each active user's favorites are held as a sorted array of product ids, loaded with one
+ * query and replaced copy-on-write when they add or remove one, so "is this favorited by me?"
+ * for a page is a binary search per card. Counts are the persisted Products.favorite_count
+ * plus the changes not yet flushed, kept together in one immutable entry per product and
+ * replaced atomically, so a reader never sees a delta both flushed and still pending. A
+ * background task writes the deltas back in a single JDBC batch, so popular listings do not
+ * turn every click into a row lock.
+ */
+@Service
+public class FavoritesService implements MetricsSource {
+    private static final long[] NO_FAVORITES = new long[0];
+    private static final String FLUSH_SQL =
+            "UPDATE Products SET favorite_count = GREATEST(favorite_count + ?, 0) WHERE product_id = ?";
+
+    private final UserFavoriteRepository userFavoriteRepository;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int cachedUsers;
+    private final int cachedCounts;
+    private final long flushIntervalMillis;
+
+    // user -> sorted product ids; never mutated in place
+    private final Map<String, long[]> favoriteSets = new ConcurrentHashMap<>();
+    // product -> persisted count and changes since the last flush; only replaced under compute()
+    private final Map<Long, FavoriteCount> counts = new ConcurrentHashMap<>();
+    // Count loads share it, a flush takes it exclusively: a count read while the batch is
+    // written could already include a delta that is still pending
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    private final Counters counters = new Counters();
+    private final LongAdder setHits = counters.add("setHits");
+    private final LongAdder setLoads = counters.add("setLoads");
+    private final LongAdder countQueries = counters.add("countQueries");
+    private final LongAdder flushes = counters.add("flushes");
+    private final LongAdder rowsFlushed = counters.add("rowsFlushed");
+    private final AtomicLong lastFlushMillis = new AtomicLong();
+
+    private final BackgroundScheduler flusher = new BackgroundScheduler("favorite-count-flush");
+
+    @Autowired
+    public FavoritesService(UserFavoriteRepository userFavoriteRepository,
+                            ProductRepository productRepository,
+                            JdbcTemplate jdbcTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${marketplace.favorites.cached-users:10000}") int cachedUsers,
+                            @Value("${marketplace.favorites.cached-counts:50000}") int cachedCounts,
+                            @Value("${marketplace.favorites.flush-interval-ms:5000}") long flushIntervalMillis) {
+        this.userFavoriteRepository = userFavoriteRepository;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.cachedUsers = cachedUsers;
+        this.cachedCounts = cachedCounts;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay("flush favorite counts", this::flush,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // A flush still running on the background thread finishes before the last one starts
+        flusher.drain(10, TimeUnit.SECONDS);
+        flusher.runNow("flush favorite counts", this::flush);
+    }
+
+    /**
+     * Favorite state of a page of listings for one user (or anonymous when userEmail is null),
+     * in the order of productIds. At most one query for the user's set and one for counts not
+     * seen before; a warm page needs none.
+     */
+    public List<FavoriteStatusDTO> lookup(String userEmail, List<Long> productIds) {
+        long[] favorites = userEmail == null || userEmail.isBlank() ? NO_FAVORITES : favoriteIds(userEmail);
+        Map<Long, Long> countsById = favoriteCounts(productIds);
+
+        List<FavoriteStatusDTO> statuses = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            statuses.add(new FavoriteStatusDTO(productId,
+                    Arrays.binarySearch(favorites, productId) >= 0,
+                    countsById.getOrDefault(productId, 0L)));
+        }
+        return statuses;
+    }
+
+    public List<Long> getFavorites(String userEmail) {
+        return Arrays.stream(favoriteIds(userEmail)).boxed().toList();
+    }
+
+    public FavoriteStatusDTO addFavorite(String userEmail, Long productId) {
+        String user = normalize(userEmail);
+        if (Arrays.binarySearch(favoriteIds(user), productId) < 0) {
+            if (!productRepository.existsById(productId)) {
+                throw new ProductNotFoundException("Product not found: " + productId);
+            }
+            try {
+                userFavoriteRepository.save(new UserFavorite(user, productId));
+                addPending(productId, 1);
+                eventPublisher.publishEvent(new ProductEngagementEvent(ProductEngagementEvent.Type.FAVORITE, productId, null));
+            } catch (DataIntegrityViolationException e) {
+                // Favorited concurrently from another tab, the unique index kept a single row
+            }
+            // Waits for a concurrent load of this user's set, so the change is never lost
+            favoriteSets.computeIfPresent(user, (key, ids) -> with(ids, productId));
+        }
+        return status(user, productId);
+    }
+
+    public FavoriteStatusDTO removeFavorite(String userEmail, Long productId) {
+        String user = normalize(userEmail);
+        if (userFavoriteRepository.deleteFavorite(user, productId) > 0) {
+            addPending(productId, -1);
+        }
+        favoriteSets.computeIfPresent(user, (key, ids) -> without(ids, productId));
+        return status(user, productId);
+    }
+
+    /**
+     * Writes all pending count changes in one batch. Deltas move from pending to persisted only
+     * after the batch succeeded, so a failed flush is simply retried on the next run.
+     */
+    public synchronized int flush() {
+        List<Long> productIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, FavoriteCount> entry : counts.entrySet()) {
+            long delta = entry.getValue().pending();
+            if (delta != 0) {
+                productIds.add(entry.getKey());
+                batch.add(new Object[] {delta, entry.getKey()});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long started = System.nanoTime();
+        flushLock.writeLock().lock();
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            for (int i = 0; i < batch.size(); i++) {
+                long delta = (long) batch.get(i)[0];
+                // The entry may be gone if its changes cancelled out meanwhile; the delta it had
+                // is in the database now, so what remains pending is minus that
+                counts.compute(productIds.get(i), (id, count) ->
+                        (count != null ? count : FavoriteCount.UNKNOWN).flushed(delta).orNull());
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+
+        flushes.increment();
+        rowsFlushed.add(batch.size());
+        lastFlushMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return batch.size();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "favorites";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("cachedUsers", favoriteSets.size());
+        stats.put("cachedCounts", counts.values().stream().filter(count -> count.persisted() != null).count());
+        stats.put("pendingProducts", counts.values().stream().filter(count -> count.pending() != 0).count());
+        stats.put("lastFlushMillis", lastFlushMillis.get());
+        return stats;
+    }
+
+    private FavoriteStatusDTO status(String user, Long productId) {
+        return lookup(user, List.of(productId)).get(0);
+    }
+
+    private long[] favoriteIds(String userEmail) {
+        String user = normalize(userEmail);
+        long[] ids = favoriteSets.get(user);
+        if (ids != null) {
+            setHits.increment();
+            return ids;
+        }
+        ids = favoriteSets.computeIfAbsent(user, key -> {
+            setLoads.increment();
+            return userFavoriteRepository.findProductIdsByUserEmail(key).stream()
+                    .mapToLong(Long::longValue).sorted().distinct().toArray();
+        });
+        evictIfFull(favoriteSets, cachedUsers);
+        return ids;
+    }
+
+    private Map<Long, Long> favoriteCounts(Collection<Long> productIds) {
+        Map<Long, Long> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            FavoriteCount count = counts.get(productId);
+            if (count != null && count.persisted() != null) {
+                result.put(productId, count.total());
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        countQueries.increment();
+        flushLock.readLock().lock();
+        try {
+            // Ids the database does not know count as 0 and are cached as such, so a page of
+            // deleted listings does not query again on every view
+            Map<Long, Long> loaded = new HashMap<>();
+            missing.forEach(productId -> loaded.put(productId, 0L));
+            for (Object[] row : productRepository.findFavoriteCounts(missing)) {
+                loaded.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+            for (Map.Entry<Long, Long> entry : loaded.entrySet()) {
+                FavoriteCount count = counts.compute(entry.getKey(), (id, current) ->
+                        current != null && current.persisted() != null ? current
+                                : new FavoriteCount(entry.getValue(), current != null ? current.pending() : 0));
+                result.put(entry.getKey(), count.total());
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        evictCounts();
+        return result;
+    }
+
+    private void addPending(Long productId, long delta) {
+        counts.compute(productId, (id, count) -> (count != null ? count : FavoriteCount.UNKNOWN)
+                .withPending(delta).orNull());
+    }
+
+    /**
+     * Drops cached counts once over the bound; counts with unflushed changes stay until written
+     */
+    private void evictCounts() {
+        int excess = counts.size() - cachedCounts;
+        if (excess <= 0) {
+            return;
+        }
+        excess += cachedCounts / 10;
+        for (Long productId : counts.keySet()) {
+            if (excess <= 0) {
+                break;
+            }
+            if (counts.computeIfPresent(productId, (id, count) -> count.pending() == 0 ? null : count) == null) {
+                excess--;
+            }
+        }
+    }
+
+    /**
+     * Drops arbitrary entries once a cache outgrows its bound; they are reloaded on next use
+     */
+    private static void evictIfFull(Map<?, ?> cache, int limit) {
+        if (cache.size() <= limit) {
+            return;
+        }
+        Iterator<?> iterator = cache.keySet().iterator();
+        int excess = cache.size() - limit + limit / 10;
+        while (excess-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static long[] with(long[] ids, long productId) {
+        int index = Arrays.binarySearch(ids, productId);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -index - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insertAt);
+        copy[insertAt] = productId;
+        System.arraycopy(ids, insertAt, copy, insertAt + 1, ids.length - insertAt);
+        return copy;
+    }
+
+    private static long[] without(long[] ids, long productId) {
+        int index = Arrays.binarySearch(ids, productId);
+        if (index < 0) {
+            return ids;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, index);
+        System.arraycopy(ids, index + 1, copy, index, ids.length - index - 1);
+        return copy;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    /**
+     * persisted is null until read from the database; pending is added minus removed since
+     * the last flush
+     */
+    private record FavoriteCount(Long persisted, long pending) {
+        static final FavoriteCount UNKNOWN = new FavoriteCount(null, 0);
+
+        long total() {
+            return Math.max(0, persisted + pending);
+        }
+
+        FavoriteCount withPending(long delta) {
+            return new FavoriteCount(persisted, pending + delta);
+        }
+
+        FavoriteCount flushed(long delta) {
+            return new FavoriteCount(persisted != null ? persisted + delta : null, pending - delta);
+        }
+
+        /**
+         * An entry that knows nothing is removed rather than kept
+         */
+        FavoriteCount orNull() {
+            return persisted == null && pending == 0 ? null : this;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.unimart.backend.service;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.unimart.backend.events.ProductImageProcessedEvent;
+import com.unimart.backend.exceptions.ImagePipelineBusyException;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.models.ImageRendition;
+import com.unimart.backend.repositories.ProductImageRepository;
+import com.unimart.backend.sharding.ShardContext;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates the thumbnail, card and detail renditions of uploaded product images.
+ *
+ * Decoding a phone photo takes tens of megabytes of heap, so work runs on a small fixed pool
+ * and the number of accepted-but-unfinished images is capped. Callers reserve a slot with
+ * {@link #reserve()} before storing an upload; when none is free the upload is refused
+ * instead of piling up in memory. Images are only decoded once their header shows a pixel
+ * count under marketplace.images.max-pixels, so a small file that inflates into a huge bitmap
+ * is refused before it reaches the heap.
+ *
+ * The queue lives in memory, so a restart drops what was queued. Images that still lack their
+ * renditions are handed back through {@link #resubmit}, and every failed run is counted on the
+ * row so an image that never decodes is eventually left on its original.
+ *
+ * A worker runs in the shard group the image was submitted from, where its row lives; image
+ * ids repeat across groups.
+ */
+@Component
+@Slf4j
+public class ImageDerivativePipeline implements MetricsSource {
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${marketplace.images.workers:2}")
+    private int workers;
+
+    @Value("${marketplace.images.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${marketplace.images.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    // 40 megapixels covers any phone camera; decoded as ARGB that is 160 MB
+    @Value("${marketplace.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore slots;
+    private final Set<QueuedImage> queued = ConcurrentHashMap.newKeySet();
+
+    private final Counters counters = new Counters();
+    private final LongAdder processed = counters.add("processed");
+    private final LongAdder failed = counters.add("failed");
+    private final LongAdder rejected = counters.add("rejected");
+    private final LongAdder requeued = counters.add("requeued");
+    private final LongAdder totalProcessingNanos = new LongAdder();
+    private final LongAccumulator maxProcessingNanos = new LongAccumulator(Long::max, 0);
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        slots = new Semaphore(workers + queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reserves room for one image, failing fast when the pipeline is saturated
+     */
+    public void reserve() {
+        if (!slots.tryAcquire()) {
+            rejected.increment();
+            throw new ImagePipelineBusyException("Image processing is busy, please retry shortly");
+        }
+    }
+
+    /**
+     * Returns a reservation that will not be used, e.g. because storing the upload failed
+     */
+    public void release() {
+        slots.release();
+    }
+
+    /**
+     * Reads only the header of a stored upload and rejects it when it is not a decodable image
+     * or is larger than the pixel cap
+     */
+    public Dimension checkDimensions(Path image) throws IOException {
+        return withReader(image, reader -> checkedSize(reader, maxPixels));
+    }
+
+    /**
+     * Queues rendition generation for a stored original. Requires a prior {@link #reserve()}.
+     */
+    public void submit(Long imageId, Long productId, Path original, String publicBaseUrl) {
+        String group = ShardContext.current();
+        QueuedImage key = new QueuedImage(group, imageId);
+        queued.add(key);
+        executor.execute(() -> {
+            String previous = ShardContext.enter(group);
+            long start = System.nanoTime();
+            try {
+                process(imageId, productId, original, publicBaseUrl);
+                processed.increment();
+            } catch (Exception e) {
+                failed.increment();
+                log.error("Failed to generate renditions for image {} of product {}", imageId, productId, e);
+                recordFailure(imageId);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                totalProcessingNanos.add(elapsed);
+                maxProcessingNanos.accumulate(elapsed);
+                queued.remove(key);
+                slots.release();
+                ShardContext.restore(previous);
+            }
+        });
+    }
+
+    /**
+     * Queues an image again whose renditions were never written, unless it is already queued.
+     * Returns false, queuing nothing, when no slot is free.
+     */
+    public boolean resubmit(Long imageId, Long productId, Path original, String publicBaseUrl) {
+        if (queued.contains(new QueuedImage(ShardContext.current(), imageId))) {
+            return true;
+        }
+        if (!slots.tryAcquire()) {
+            return false;
+        }
+        requeued.increment();
+        submit(imageId, productId, original, publicBaseUrl);
+        return true;
+    }
+
+    /**
+     * Slots not taken by queued or running images
+     */
+    public int freeSlots() {
+        return slots.availablePermits();
+    }
+
+    /**
+     * Counts a failed run on the image's row, so it is retried only a bounded number of times
+     */
+    public void recordFailure(Long imageId) {
+        try {
+            productImageRepository.recordRenditionFailure(imageId);
+        } catch (RuntimeException e) {
+            log.warn("Could not record the failed run of image {}", imageId, e);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "image-pipeline";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        long done = processed.sum();
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("workers", workers);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("activeWorkers", executor.getActiveCount());
+        stats.put("avgProcessingMillis", done == 0 ? 0.0 : totalProcessingNanos.sum() / 1_000_000.0 / done);
+        stats.put("maxProcessingMillis", maxProcessingNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    private void process(Long imageId, Long productId, Path original, String publicBaseUrl) throws IOException {
+        BufferedImage source = decode(original, maxPixels);
+
+        String baseName = stripExtension(original.getFileName().toString());
+        Map<ImageRendition, String> urls = new EnumMap<>(ImageRendition.class);
+
+        // Largest first, each rendition is scaled down from the previous one instead of the original
+        BufferedImage current = toRgb(source);
+        ImageRendition[] renditions = ImageRendition.values();
+        for (int i = renditions.length - 1; i >= 0; i--) {
+            ImageRendition rendition = renditions[i];
+            current = resize(current, rendition.getMaxEdge());
+            String fileName = baseName + "-" + rendition.getSuffix() + ".jpg";
+            writeJpeg(current, original.resolveSibling(fileName));
+            urls.put(rendition, publicBaseUrl + "/" + fileName);
+        }
+
+        productImageRepository.updateRenditions(imageId,
+                urls.get(ImageRendition.THUMBNAIL), urls.get(ImageRendition.CARD), urls.get(ImageRendition.DETAIL));
+        eventPublisher.publishEvent(new ProductImageProcessedEvent(imageId, productId));
+    }
+
+    /**
+     * Decodes the first frame after checking its dimensions against the cap
+     */
+    static BufferedImage decode(Path image, long maxPixels) throws IOException {
+        return withReader(image, reader -> {
+            checkedSize(reader, maxPixels);
+            return reader.read(0);
+        });
+    }
+
+    private static Dimension checkedSize(ImageReader reader, long maxPixels) throws IOException {
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+            throw new IOException("Image of " + width + "x" + height + " pixels exceeds the limit of " + maxPixels);
+        }
+        return new Dimension(width, height);
+    }
+
+    private static <T> T withReader(Path image, ReaderWork<T> work) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(image.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + image.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return work.apply(reader);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private interface ReaderWork<T> {
+        T apply(ImageReader reader) throws IOException;
+    }
+
+    /**
+     * Scales the image so its longest edge is at most maxEdge. Large reductions are done in
+     * halving steps, a single bilinear pass over a big ratio skips most source pixels and aliases.
+     */
+    static BufferedImage resize(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = scale(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            current = scale(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * JPEG has no alpha channel, flatten transparent PNGs onto white
+     */
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, source.getWidth(), source.getHeight());
+            graphics.drawImage(source, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+
+        try (OutputStream out = Files.newOutputStream(target);
+             ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private record QueuedImage(String shardGroup, Long imageId) {
+    }
+}
@@ -0,0 +1,332 @@
+package com.unimart.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.unimart.backend.dto.product.ListingPageDTO;
+import com.unimart.backend.dto.product.ListingSummaryDTO;
+import com.unimart.backend.events.ListingsHiddenEvent;
+import com.unimart.backend.events.ProductChangedEvent;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.models.Product;
+import com.unimart.backend.repositories.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-university "latest listings" feed kept in memory.
+ *
+ * Each university gets a bounded ring buffer holding the newest available listings in
+ * descending product id order. The buffer is always a prefix of the real feed, so the first
+ * pages are served without touching MySQL and anything older falls back to a keyset query.
+ * Entries are kept current by ProductChangedEvents rather than expiring on a TTL.
+ */
+@Component
+@Slf4j
+public class ListingFeedCache implements MetricsSource {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Value("${marketplace.feed.buffer-size:200}")
+    private int bufferSize;
+
+    private final Map<Long, FeedBuffer> buffers = new ConcurrentHashMap<>();
+    // Bumped on every change applied to a university's listings, for conditional GETs of the feed
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final Counters counters = new Counters();
+    private final LongAdder memoryHits = counters.add("memoryHits");
+    private final LongAdder partialHits = counters.add("partialHits");
+    private final LongAdder misses = counters.add("misses");
+    private final LongAdder eventsApplied = counters.add("eventsApplied");
+    private final LongAdder reloads = counters.add("reloads");
+    private final AtomicLong lastEventLagNanos = new AtomicLong();
+    private final LongAccumulator maxEventLagNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Returns one page of a university's feed, newest first, starting after the cursor
+     */
+    public ListingPageDTO getPage(Long universityId, Long cursor, int size) {
+        FeedBuffer buffer = buffers.computeIfAbsent(universityId, id -> new FeedBuffer(bufferSize));
+        FeedBuffer.Slice slice = buffer.read(cursor, size, () -> loadNewest(universityId));
+
+        List<ListingSummaryDTO> items = new ArrayList<>(size);
+        items.addAll(slice.items);
+
+        if (items.size() == size || slice.exhausted) {
+            memoryHits.increment();
+        } else {
+            // The buffer ran out before the page was full; continue from the last listing we have
+            long beforeId = items.isEmpty()
+                    ? (cursor != null ? cursor : Long.MAX_VALUE)
+                    : items.get(items.size() - 1).getProductId();
+            if (items.isEmpty()) {
+                misses.increment();
+            } else {
+                partialHits.increment();
+            }
+            items.addAll(toSummaries(
+                    productRepository.findAvailableBefore(universityId, beforeId, PageRequest.of(0, size - items.size()))));
+        }
+
+        Long nextCursor = items.size() == size ? items.get(items.size() - 1).getProductId() : null;
+        return new ListingPageDTO(items, nextCursor);
+    }
+
+    /**
+     * Applies committed listing changes to the buffer of the listing's university
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        FeedBuffer buffer = buffers.get(event.getUniversityId());
+        if (buffer != null) {
+            if (event.isListed()) {
+                buffer.upsert(event.getSummary());
+            } else {
+                buffer.remove(event.getProductId());
+            }
+        }
+        // After the change, so a reader never pairs the new version with the old listings
+        bumpVersion(event.getUniversityId());
+
+        long lag = System.nanoTime() - event.getPublishedAtNanos();
+        lastEventLagNanos.set(lag);
+        maxEventLagNanos.accumulate(lag);
+        eventsApplied.increment();
+    }
+
+    /**
+     * Drops the buffers of every university touched by a bulk takedown; rebuilding once beats
+     * removing listings one at a time
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingsHidden(ListingsHiddenEvent event) {
+        event.getProductIdsByUniversity().keySet().forEach(this::invalidate);
+    }
+
+    /**
+     * Drops a university's buffer so that the next read reloads it from the database
+     */
+    public void invalidate(Long universityId) {
+        buffers.remove(universityId);
+        bumpVersion(universityId);
+    }
+
+    /**
+     * Changes whenever a listing of the university changes on this instance
+     */
+    public long version(Long universityId) {
+        AtomicLong version = versions.get(universityId);
+        return version != null ? version.get() : 0;
+    }
+
+    private void bumpVersion(Long universityId) {
+        versions.computeIfAbsent(universityId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Hit ratio and staleness figures for the admin metrics endpoint
+     */
+    @Override
+    public String getMetricsName() {
+        return "listing-feed";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        long hits = memoryHits.sum();
+        long total = hits + partialHits.sum() + misses.sum();
+
+        long now = System.currentTimeMillis();
+        long oldestLoadAgeMillis = buffers.values().stream()
+                .mapToLong(buffer -> now - buffer.loadedAtMillis)
+                .max()
+                .orElse(0);
+
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hits / total);
+        stats.put("universities", buffers.size());
+        stats.put("bufferSize", bufferSize);
+        stats.put("lastEventLagMicros", lastEventLagNanos.get() / 1_000);
+        stats.put("maxEventLagMicros", maxEventLagNanos.get() / 1_000);
+        stats.put("oldestBufferLoadAgeMillis", oldestLoadAgeMillis);
+        return stats;
+    }
+
+    private List<ListingSummaryDTO> loadNewest(Long universityId) {
+        reloads.increment();
+        List<ListingSummaryDTO> newest = toSummaries(
+                productRepository.findAvailableBefore(universityId, Long.MAX_VALUE, PageRequest.of(0, bufferSize)));
+        log.debug("Loaded {} listings into the feed buffer of university {}", newest.size(), universityId);
+        return newest;
+    }
+
+    private List<ListingSummaryDTO> toSummaries(List<Product> products) {
+        Map<Long, String> imageUrls = productImageService.gridImageUrls(
+                products.stream().map(Product::getProductId).toList());
+        List<ListingSummaryDTO> summaries = new ArrayList<>(products.size());
+        for (Product product : products) {
+            summaries.add(ListingSummaryDTO.from(product, imageUrls.get(product.getProductId())));
+        }
+        return summaries;
+    }
+
+    /**
+     * Ring buffer of listing summaries ordered by descending product id. Logical index 0 is the
+     * newest listing and lives at ring[head]. All access is synchronized on the buffer, so
+     * universities never contend with each other.
+     */
+    static final class FeedBuffer {
+        private final ListingSummaryDTO[] ring;
+        private int head;
+        private int size;
+        // true when the buffer holds every available listing of the university
+        private boolean complete;
+        private boolean loaded;
+        private volatile long loadedAtMillis;
+
+        FeedBuffer(int capacity) {
+            this.ring = new ListingSummaryDTO[capacity];
+        }
+
+        static final class Slice {
+            final List<ListingSummaryDTO> items;
+            // true when nothing older than the returned items exists anywhere
+            final boolean exhausted;
+
+            Slice(List<ListingSummaryDTO> items, boolean exhausted) {
+                this.items = items;
+                this.exhausted = exhausted;
+            }
+        }
+
+        synchronized Slice read(Long cursor, int limit, Supplier<List<ListingSummaryDTO>> loader) {
+            // Removals shrink the buffer; reload once it has lost half its contents
+            if (!loaded || (!complete && size < ring.length / 2)) {
+                reload(loader.get());
+            }
+
+            // A cursor older than the whole buffer yields an empty slice and the caller goes to the database
+            int start = cursor == null ? 0 : firstOlderThan(cursor);
+            int end = Math.min(size, start + limit);
+            List<ListingSummaryDTO> items = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                items.add(get(i));
+            }
+            return new Slice(items, complete && end == size);
+        }
+
+        synchronized void upsert(ListingSummaryDTO listing) {
+            if (!loaded) {
+                return;
+            }
+            long id = listing.getProductId();
+            int position = firstOlderThan(id + 1);
+            if (position < size && get(position).getProductId() == id) {
+                set(position, listing);
+                return;
+            }
+            if (position == 0) {
+                addNewest(listing);
+            } else if (position < size || complete) {
+                insertAt(position, listing);
+            }
+            // Otherwise the listing is older than everything buffered and is served by the keyset query
+        }
+
+        synchronized void remove(long productId) {
+            if (!loaded) {
+                return;
+            }
+            int position = firstOlderThan(productId + 1);
+            if (position >= size || get(position).getProductId() != productId) {
+                return;
+            }
+            for (int i = position; i < size - 1; i++) {
+                set(i, get(i + 1));
+            }
+            set(size - 1, null);
+            size--;
+        }
+
+        private void reload(List<ListingSummaryDTO> newest) {
+            Arrays.fill(ring, null);
+            head = 0;
+            size = Math.min(newest.size(), ring.length);
+            for (int i = 0; i < size; i++) {
+                ring[i] = newest.get(i);
+            }
+            complete = newest.size() < ring.length;
+            loaded = true;
+            loadedAtMillis = System.currentTimeMillis();
+        }
+
+        private void addNewest(ListingSummaryDTO listing) {
+            head = (head - 1 + ring.length) % ring.length;
+            ring[head] = listing;
+            if (size < ring.length) {
+                size++;
+            } else {
+                // The slot we just took held the oldest listing, which now lives only in the database
+                complete = false;
+            }
+        }
+
+        private void insertAt(int position, ListingSummaryDTO listing) {
+            int last = size < ring.length ? size : size - 1;
+            if (size == ring.length) {
+                complete = false;
+            } else {
+                size++;
+            }
+            for (int i = last; i > position; i--) {
+                set(i, get(i - 1));
+            }
+            set(position, listing);
+        }
+
+        /**
+         * Binary search for the first logical index whose product id is strictly below the bound
+         */
+        private int firstOlderThan(long bound) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (get(mid).getProductId() < bound) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        private ListingSummaryDTO get(int index) {
+            return ring[(head + index) % ring.length];
+        }
+
+        private void set(int index, ListingSummaryDTO listing) {
+            ring[(head + index) % ring.length] = listing;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.unimart.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.dto.message.ConversationDTO;
+import com.unimart.backend.dto.message.InboxDTO;
+import com.unimart.backend.dto.message.MessageDTO;
+import com.unimart.backend.dto.message.MessagePageDTO;
+import com.unimart.backend.dto.message.SendMessageDTO;
+import com.unimart.backend.dto.user.UserSummaryDTO;
+import com.unimart.backend.events.UserNotificationEvent;
+import com.unimart.backend.exceptions.ConversationNotFoundException;
+import com.unimart.backend.exceptions.InvalidRequestException;
+import com.unimart.backend.exceptions.UserNotFoundException;
+import com.unimart.backend.models.ConversationMemberId;
+import com.unimart.backend.models.Message;
+import com.unimart.backend.repositories.ConversationMemberRepository;
+import com.unimart.backend.repositories.MessageRepository;
+import com.unimart.backend.streaming.KeysetStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class MessagingService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_INBOX_SIZE = 200;
+    private static final int HISTORY_CHUNK_SIZE = 500;
+    private static final int PREVIEW_LENGTH = 200;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ConversationMemberRepository conversationMemberRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Canonical key of the conversation between two users about a listing (or none).
+     * Independent of who writes first, so both sides land in the same thread.
+     * Mirrors SHA2('lower email|higher email|product id or 0', 256) used in the SQL scripts.
+     */
+    public static String conversationKey(String emailA, String emailB, Long productId) {
+        String a = emailA.trim().toLowerCase();
+        String b = emailB.trim().toLowerCase();
+        String canonical = (a.compareTo(b) <= 0 ? a + "|" + b : b + "|" + a) + "|" + (productId == null ? 0 : productId);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Stores a message and advances both participants' inbox rows in the same transaction
+     */
+    @Transactional
+    public MessageDTO sendMessage(String senderEmail, SendMessageDTO request) {
+        String sender = senderEmail.trim().toLowerCase();
+        String receiver = request.getReceiverEmail().trim().toLowerCase();
+        if (sender.equals(receiver)) {
+            throw new InvalidRequestException("Cannot send a message to yourself");
+        }
+        if (!userRepository.existsByEmail(receiver)) {
+            throw new UserNotFoundException("Unknown recipient: " + receiver);
+        }
+
+        Message message = new Message();
+        message.setConversationKey(conversationKey(sender, receiver, request.getProductId()));
+        message.setSenderEmail(sender);
+        message.setReceiverEmail(receiver);
+        message.setProductId(request.getProductId());
+        message.setMessageText(request.getText());
+        // The column has second precision; keeping the same value here makes cursors exact
+        message.setSentAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        message = messageRepository.save(message);
+
+        String preview = preview(message.getMessageText());
+        conversationMemberRepository.recordMessage(sender, message.getConversationKey(), receiver,
+                message.getProductId(), message.getMessageId(), message.getSentAt(), preview, 0);
+        conversationMemberRepository.recordMessage(receiver, message.getConversationKey(), sender,
+                message.getProductId(), message.getMessageId(), message.getSentAt(), preview, 1);
+
+        MessageDTO sent = MessageDTO.from(message);
+        eventPublisher.publishEvent(new UserNotificationEvent(receiver, UserNotificationEvent.Type.MESSAGE,
+                "New message from " + sender, sent));
+        return sent;
+    }
+
+    /**
+     * One page of a conversation, newest first, paging backwards with the returned cursor
+     */
+    @Transactional(readOnly = true)
+    public MessagePageDTO getConversation(String conversationKey, String viewerEmail, String cursor, int size) {
+        requireMember(viewerEmail, conversationKey);
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+
+        List<Message> messages;
+        if (cursor == null || cursor.isBlank()) {
+            messages = messageRepository.findLatest(conversationKey, page);
+        } else {
+            String[] parts = cursor.split("_", 2);
+            try {
+                LocalDateTime sentAt = new Timestamp(Long.parseLong(parts[0])).toLocalDateTime();
+                messages = messageRepository.findBefore(conversationKey, sentAt, Long.parseLong(parts[1]), page);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+        }
+
+        String nextCursor = null;
+        if (messages.size() == page.getPageSize()) {
+            Message oldest = messages.get(messages.size() - 1);
+            nextCursor = Timestamp.valueOf(oldest.getSentAt()).getTime() + "_" + oldest.getMessageId();
+        }
+        return new MessagePageDTO(messages.stream().map(MessageDTO::from).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * The whole conversation, newest first, read in keyset chunks as the response is written.
+     * Membership is checked here, before the caller starts streaming.
+     */
+    public Stream<MessageDTO> streamConversation(String conversationKey, String viewerEmail) {
+        requireMember(viewerEmail, conversationKey);
+        PageRequest chunk = PageRequest.of(0, HISTORY_CHUNK_SIZE);
+        return KeysetStream.of(HISTORY_CHUNK_SIZE, (MessageDTO last) -> (last == null
+                ? messageRepository.findLatest(conversationKey, chunk)
+                : messageRepository.findBefore(conversationKey, last.getSentAt(), last.getId(), chunk))
+                .stream()
+                .map(MessageDTO::from)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * The user's conversations, most recent first, with per-conversation unread counts
+     */
+    @Transactional(readOnly = true)
+    public InboxDTO getInbox(String userEmail, int size) {
+        String user = userEmail.trim().toLowerCase();
+        List<ConversationDTO> conversations = conversationMemberRepository
+                .findByUserEmailOrderByLastMessageAtDesc(user, PageRequest.of(0, Math.max(1, Math.min(size, MAX_INBOX_SIZE))))
+                .stream()
+                .map(ConversationDTO::from)
+                .collect(Collectors.toList());
+        // One query for the headers of the whole page
+        Map<String, UserSummaryDTO> others = userSummaryService.getSummaries(
+                conversations.stream().map(ConversationDTO::getOtherEmail).collect(Collectors.toList()));
+        conversations.forEach(conversation -> conversation.setOtherUser(others.get(conversation.getOtherEmail().toLowerCase())));
+        return new InboxDTO(conversations, conversationMemberRepository.sumUnread(user));
+    }
+
+    /**
+     * Clears the user's unread counter for a conversation
+     */
+    @Transactional
+    public void markRead(String conversationKey, String userEmail) {
+        if (conversationMemberRepository.markRead(userEmail.trim().toLowerCase(), conversationKey) == 0) {
+            throw new ConversationNotFoundException("Conversation not found: " + conversationKey);
+        }
+    }
+
+    private void requireMember(String userEmail, String conversationKey) {
+        if (!conversationMemberRepository.existsById(new ConversationMemberId(userEmail.trim().toLowerCase(), conversationKey))) {
+            throw new ConversationNotFoundException("Conversation not found: " + conversationKey);
+        }
+    }
+
+    private static String preview(String text) {
+        return text.length() <= PREVIEW_LENGTH ? text : text.substring(0, PREVIEW_LENGTH);
+    }
+}
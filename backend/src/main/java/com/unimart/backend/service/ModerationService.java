@@ -0,0 +1,349 @@
+package com.unimart.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.dto.moderation.BulkActionResultDTO;
+import com.unimart.backend.dto.moderation.ModerationQueueItemDTO;
+import com.unimart.backend.events.ListingsHiddenEvent;
+import com.unimart.backend.events.UserBanStatusEvent;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.models.ReportedUser;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.repositories.ReportedListingRepository;
+import com.unimart.backend.repositories.ReportedUserRepository;
+import com.unimart.backend.sharding.ShardRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moderation queue and bulk actions over ReportedUsers and ReportedListings.
+ *
+ * The queue ranks every reported user or listing by the sum of its open reports, each weighted
+ * by how often its reporter was right before and decayed by age, so a fresh pile-up from
+ * reliable reporters comes first and an old lone report sinks.
+ *
+ * Bulk actions run as set-based UPDATEs over chunks of targets, one short transaction per
+ * chunk, and announce every hidden listing in a single ListingsHiddenEvent at the end. The
+ * moderator is always the authenticated caller and must be listed in AdminUsers.
+ *
+ * Admin requests run on the global datasource, so actions on users visit every shard group:
+ * a user lives in the group of their university, reports against them in their reporters'.
+ * Listing ids repeat across groups, so acting on listings by id is refused while sharding is
+ * enabled.
+ */
+@Service
+@Slf4j
+public class ModerationService implements MetricsSource {
+    private static final int MAX_QUEUE_SIZE = 500;
+
+    @Autowired
+    private ReportedUserRepository reportedUserRepository;
+
+    @Autowired
+    private ReportedListingRepository reportedListingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${marketplace.moderation.chunk-size:500}")
+    private int chunkSize;
+
+    // A report loses half its weight every this many hours
+    @Value("${marketplace.moderation.report-half-life-hours:72}")
+    private double reportHalfLifeHours;
+
+    private final Counters counters = new Counters();
+    private final LongAdder usersBanned = counters.add("usersBanned");
+    private final LongAdder listingsHidden = counters.add("listingsHidden");
+    private final LongAdder reportsClosed = counters.add("reportsClosed");
+    private final LongAdder hiddenEvents = counters.add("hiddenEvents");
+
+    /**
+     * Reported users, highest priority first
+     */
+    public List<ModerationQueueItemDTO> getUserQueue(int limit) {
+        List<Object[]> reports = reportedUserRepository.findOpenReports();
+        Map<String, Double> reputation = reporterReputation(reporters(reports));
+        return rank(reports, reputation, limit, target -> new ModerationQueueItemDTO((String) target, null, 0, null, 0));
+    }
+
+    /**
+     * Reported listings, highest priority first
+     */
+    public List<ModerationQueueItemDTO> getListingQueue(int limit) {
+        List<Object[]> reports = reportedListingRepository.findOpenReports();
+        Map<String, Double> reputation = reporterReputation(reporters(reports));
+        return rank(reports, reputation, limit, target -> new ModerationQueueItemDTO(null, (Long) target, 0, null, 0));
+    }
+
+    /**
+     * Bans the users, hides all of their active listings and upholds the open reports against
+     * them and their listings
+     */
+    public BulkActionResultDTO banUsers(String moderatorEmail, List<String> emails, Integer banDays) {
+        requireModerator(moderatorEmail);
+        LocalDateTime banExpiration = banDays != null ? LocalDateTime.now().plusDays(banDays) : null;
+        Map<Long, List<Long>> hidden = new HashMap<>();
+        int[] totals = new int[3];
+        List<List<String>> chunks = chunks(normalize(emails));
+
+        shardRouter.forEachGroup(group -> chunks.forEach(chunk ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // The ban's end lives on Users, whether or not any report was open
+                if (banExpiration == null) {
+                    userRepository.makeBansOpenEnded(chunk);
+                } else {
+                    userRepository.extendBans(chunk, banExpiration);
+                }
+                totals[0] += userRepository.banUsers(chunk, moderatorEmail, banExpiration);
+                List<Object[]> listings = productRepository.findActiveBySellers(chunk);
+                totals[1] += productRepository.deactivateBySellers(chunk);
+                totals[2] += reportedUserRepository.closeReports(chunk, ReportedUser.ACTION_BANNED, banExpiration);
+                totals[2] += reportedListingRepository.resolveReportsOfSellers(chunk, moderatorEmail);
+                collect(listings, hidden);
+            })));
+
+        usersBanned.add(totals[0]);
+        listingsHidden.add(totals[1]);
+        reportsClosed.add(totals[2]);
+        eventPublisher.publishEvent(new UserBanStatusEvent(normalize(emails), true, banExpiration));
+        publishHidden(hidden);
+        log.info("{} banned {} users, hiding {} listings and closing {} reports", moderatorEmail, totals[0], totals[1], totals[2]);
+        return new BulkActionResultDTO(totals[0], totals[1], totals[2], chunks.size());
+    }
+
+    /**
+     * Lifts the bans now, including ones that would have expired later. Listings hidden by the
+     * ban stay hidden.
+     */
+    public BulkActionResultDTO unbanUsers(String moderatorEmail, List<String> emails) {
+        requireModerator(moderatorEmail);
+        List<String> unique = normalize(emails);
+        LocalDateTime now = LocalDateTime.now();
+        int[] unbanned = new int[1];
+        List<List<String>> chunks = chunks(unique);
+        shardRouter.forEachGroup(group -> chunks.forEach(chunk ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                unbanned[0] += userRepository.unbanUsers(chunk);
+                reportedUserRepository.endBans(chunk, now);
+            })));
+
+        eventPublisher.publishEvent(new UserBanStatusEvent(unique, false, null));
+        log.info("{} unbanned {} users", moderatorEmail, unbanned[0]);
+        return new BulkActionResultDTO(unbanned[0], 0, 0, chunks.size());
+    }
+
+    public BulkActionResultDTO warnUsers(String moderatorEmail, List<String> emails) {
+        return closeUserReports(moderatorEmail, emails, ReportedUser.ACTION_WARNING);
+    }
+
+    public BulkActionResultDTO dismissUserReports(String moderatorEmail, List<String> emails) {
+        return closeUserReports(moderatorEmail, emails, null);
+    }
+
+    /**
+     * Takes the listings down and upholds every report against them
+     */
+    public BulkActionResultDTO hideListings(String moderatorEmail, List<Long> productIds) {
+        requireModerator(moderatorEmail);
+        requireUnsharded("Hiding listings");
+        Map<Long, List<Long>> hidden = new HashMap<>();
+        int[] totals = new int[2];
+        List<List<Long>> chunks = chunks(new ArrayList<>(new LinkedHashSet<>(productIds)));
+
+        for (List<Long> chunk : chunks) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                List<Object[]> listings = productRepository.findActiveByIds(chunk);
+                totals[0] += productRepository.deactivateByIds(chunk);
+                totals[1] += reportedListingRepository.resolveReports(chunk, moderatorEmail);
+                collect(listings, hidden);
+            });
+        }
+
+        listingsHidden.add(totals[0]);
+        reportsClosed.add(totals[1]);
+        publishHidden(hidden);
+        log.info("{} hid {} listings and closed {} reports", moderatorEmail, totals[0], totals[1]);
+        return new BulkActionResultDTO(0, totals[0], totals[1], chunks.size());
+    }
+
+    public BulkActionResultDTO dismissListingReports(String moderatorEmail, List<Long> productIds) {
+        requireModerator(moderatorEmail);
+        requireUnsharded("Dismissing listing reports");
+        int[] closed = new int[1];
+        List<List<Long>> chunks = chunks(new ArrayList<>(new LinkedHashSet<>(productIds)));
+        for (List<Long> chunk : chunks) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    closed[0] += reportedListingRepository.dismissReports(chunk, moderatorEmail));
+        }
+        reportsClosed.add(closed[0]);
+        log.info("{} dismissed {} listing reports", moderatorEmail, closed[0]);
+        return new BulkActionResultDTO(0, 0, closed[0], chunks.size());
+    }
+
+    private BulkActionResultDTO closeUserReports(String moderatorEmail, List<String> emails, String action) {
+        requireModerator(moderatorEmail);
+        int[] closed = new int[1];
+        List<List<String>> chunks = chunks(normalize(emails));
+        shardRouter.forEachGroup(group -> chunks.forEach(chunk ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    closed[0] += reportedUserRepository.closeReports(chunk, action, null))));
+        reportsClosed.add(closed[0]);
+        log.info("{} closed {} user reports with action {}", moderatorEmail, closed[0], action);
+        return new BulkActionResultDTO(0, 0, closed[0], chunks.size());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "moderation";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("chunkSize", chunkSize);
+        return stats;
+    }
+
+    /**
+     * Scores each target from its open reports and keeps the top ones in a bounded min-heap
+     */
+    private List<ModerationQueueItemDTO> rank(List<Object[]> reports, Map<String, Double> reputation, int limit,
+                                              Function<Object, ModerationQueueItemDTO> newItem) {
+        LocalDateTime now = LocalDateTime.now();
+        double decayPerHour = Math.log(2) / reportHalfLifeHours;
+        Map<Object, ModerationQueueItemDTO> byTarget = new HashMap<>();
+        for (Object[] report : reports) {
+            ModerationQueueItemDTO item = byTarget.computeIfAbsent(report[0], newItem);
+            LocalDateTime reportedAt = report[2] != null ? (LocalDateTime) report[2] : now;
+            double ageHours = Math.max(0, Duration.between(reportedAt, now).toMinutes() / 60.0);
+            item.setPriority(item.getPriority() + reputation.getOrDefault((String) report[1], 0.5) * Math.exp(-decayPerHour * ageHours));
+            item.setOpenReports(item.getOpenReports() + 1);
+            if (item.getLatestReportAt() == null || reportedAt.isAfter(item.getLatestReportAt())) {
+                item.setLatestReportAt(reportedAt);
+            }
+        }
+
+        int size = Math.max(1, Math.min(limit, MAX_QUEUE_SIZE));
+        PriorityQueue<ModerationQueueItemDTO> top = new PriorityQueue<>(Comparator.comparingDouble(ModerationQueueItemDTO::getPriority));
+        for (ModerationQueueItemDTO item : byTarget.values()) {
+            top.offer(item);
+            if (top.size() > size) {
+                top.poll();
+            }
+        }
+        List<ModerationQueueItemDTO> queue = new ArrayList<>(top);
+        queue.sort(Comparator.comparingDouble(ModerationQueueItemDTO::getPriority).reversed());
+        return queue;
+    }
+
+    /**
+     * Share of a reporter's handled reports, across users and listings, that were upheld.
+     * Smoothed so that a first-time reporter counts as 0.5 and one lucky report is not 1.0.
+     */
+    private Map<String, Double> reporterReputation(Set<String> reporters) {
+        Map<String, long[]> history = new HashMap<>();
+        if (!reporters.isEmpty()) {
+            for (List<String> chunk : chunks(new ArrayList<>(reporters))) {
+                addHistory(history, reportedUserRepository.findReporterHistory(chunk));
+                addHistory(history, reportedListingRepository.findReporterHistory(chunk));
+            }
+        }
+        Map<String, Double> reputation = new HashMap<>();
+        history.forEach((reporter, counts) -> reputation.put(reporter, (counts[1] + 1.0) / (counts[0] + 2.0)));
+        return reputation;
+    }
+
+    private void publishHidden(Map<Long, List<Long>> hidden) {
+        if (!hidden.isEmpty()) {
+            hiddenEvents.increment();
+            eventPublisher.publishEvent(new ListingsHiddenEvent(hidden));
+        }
+    }
+
+    private void requireModerator(String moderatorEmail) {
+        Integer admins = shardRouter.onGlobal(() -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM AdminUsers WHERE email = ?", Integer.class, moderatorEmail));
+        if (admins == null || admins == 0) {
+            throw new AccessDeniedException("Not a moderator: " + moderatorEmail);
+        }
+    }
+
+    private void requireUnsharded(String action) {
+        if (shardRouter.isEnabled()) {
+            throw new IllegalStateException(action + " by id is not supported while sharding is enabled, listing ids repeat across shard groups");
+        }
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private static void collect(List<Object[]> listings, Map<Long, List<Long>> hidden) {
+        for (Object[] listing : listings) {
+            hidden.computeIfAbsent((Long) listing[1], id -> new ArrayList<>()).add((Long) listing[0]);
+        }
+    }
+
+    private static void addHistory(Map<String, long[]> history, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            long[] counts = history.computeIfAbsent(((String) row[0]).toLowerCase(), reporter -> new long[2]);
+            counts[0] += ((Number) row[1]).longValue();
+            counts[1] += row[2] != null ? ((Number) row[2]).longValue() : 0;
+        }
+    }
+
+    private static Set<String> reporters(List<Object[]> reports) {
+        Set<String> reporters = new HashSet<>();
+        reports.forEach(report -> reporters.add((String) report[1]));
+        return reporters;
+    }
+
+    private static List<String> normalize(List<String> emails) {
+        Set<String> unique = new LinkedHashSet<>();
+        emails.forEach(email -> unique.add(email.trim().toLowerCase()));
+        return new ArrayList<>(unique);
+    }
+}
@@ -0,0 +1,363 @@
+package com.unimart.backend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.unimart.Authentication.services.EmailService;
+import com.unimart.backend.events.UserNotificationEvent;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.scheduling.BackgroundScheduler;
+import com.unimart.backend.sharding.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Emails notifications as one digest per recipient and window instead of one email each.
+ *
+ * Notifications are buffered in memory per recipient. When the buffer grows past its bound, and
+ * on shutdown, the largest buffers are spilled to PendingNotifications so nothing is lost; the
+ * digest of a recipient merges both. A daily budget, counted from EmailsSent so it survives
+ * restarts, keeps the account under the SMTP provider's sending limit; past it, digests wait
+ * for the next day. Verification codes are sent by AuthService directly and never pass here.
+ *
+ * A recipient's spilled notifications and sent digests are kept in the shard group of the
+ * recipient; the due check and the budget count look at every group.
+ */
+@Service
+@Slf4j
+public class NotificationDigestService implements MetricsSource {
+    private static final String SPILL_SQL =
+            "INSERT INTO PendingNotifications (recipient_email, type, summary, created_at) VALUES (?, ?, ?, ?)";
+    private static final String DUE_SPILLED_SQL =
+            "SELECT recipient_email FROM PendingNotifications GROUP BY recipient_email HAVING MIN(created_at) <= ?";
+    private static final int MAX_LINES = 50;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${marketplace.notifications.digest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${marketplace.notifications.digest.window-minutes:60}")
+    private long windowMinutes;
+
+    @Value("${marketplace.notifications.digest.max-buffered:10000}")
+    private int maxBuffered;
+
+    // Sent right away instead of waiting for the digest, e.g. ORDER_UPDATE
+    @Value("${marketplace.notifications.digest.immediate-types:}")
+    private Set<UserNotificationEvent.Type> immediateTypes;
+
+    // Below Gmail's 500 a day, leaving room for verification codes
+    @Value("${marketplace.notifications.digest.daily-limit:400}")
+    private int dailyLimit;
+
+    private final Map<String, RecipientBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicBoolean spillScheduled = new AtomicBoolean();
+    private final BackgroundScheduler scheduler = new BackgroundScheduler("notification-digest");
+
+    // Touched only by the scheduler thread
+    private LocalDate budgetDay;
+    private int sentToday;
+
+    private final Counters counters = new Counters();
+    private final LongAdder notificationsReceived = counters.add("notificationsReceived");
+    private final LongAdder notificationsSpilled = counters.add("notificationsSpilled");
+    private final LongAdder digestsSent = counters.add("digestsSent");
+    private final LongAdder sendFailures = counters.add("sendFailures");
+    private final LongAdder deferredByBudget = counters.add("deferredByBudget");
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        long checkSeconds = Math.max(1, TimeUnit.MINUTES.toSeconds(windowMinutes) / 10);
+        scheduler.scheduleWithFixedDelay("send due digests", this::flushDue, checkSeconds, checkSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Spills whatever is still buffered so the next start sends it
+     */
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        scheduler.drain(10, TimeUnit.SECONDS);
+        scheduler.runNow("spill buffered notifications", () -> spill(0));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserNotification(UserNotificationEvent event) {
+        if (!enabled || event.getRecipientEmail() == null) {
+            return;
+        }
+        notificationsReceived.increment();
+        Entry entry = new Entry(event.getType(), event.getSummary(), LocalDateTime.now());
+        if (immediateTypes.contains(event.getType())) {
+            scheduler.execute("send immediate notification", () -> {
+                if (withinBudget()) {
+                    sendSafely(event.getRecipientEmail(), List.of(entry), List.of(), List.of());
+                } else {
+                    deferredByBudget.increment();
+                    writeSpill(event.getRecipientEmail(), List.of(entry));
+                }
+            });
+            return;
+        }
+
+        buffers.compute(event.getRecipientEmail().toLowerCase(), (email, buffer) -> {
+            RecipientBuffer target = buffer != null ? buffer : new RecipientBuffer();
+            target.add(entry);
+            return target;
+        });
+        if (buffered.incrementAndGet() > maxBuffered && spillScheduled.compareAndSet(false, true)) {
+            scheduler.execute("spill buffered notifications", () -> {
+                spillScheduled.set(false);
+                spill(maxBuffered / 2);
+            });
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "notification-digest";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("enabled", enabled);
+        stats.put("recipientsBuffered", buffers.size());
+        stats.put("notificationsBuffered", buffered.get());
+        stats.put("dailyLimit", dailyLimit);
+        stats.put("windowMinutes", windowMinutes);
+        return stats;
+    }
+
+    /**
+     * Sends the digest of every recipient whose oldest notification, in memory or spilled, has
+     * waited a full window
+     */
+    void flushDue() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(windowMinutes);
+        Set<String> due = new HashSet<>();
+        shardRouter.forEachGroup(group ->
+                due.addAll(jdbcTemplate.queryForList(DUE_SPILLED_SQL, String.class, Timestamp.valueOf(cutoff))));
+        buffers.forEach((email, buffer) -> {
+            if (!buffer.createdAt.isAfter(cutoff)) {
+                due.add(email);
+            }
+        });
+
+        int remaining = due.size();
+        for (String email : due) {
+            if (!withinBudget()) {
+                deferredByBudget.add(remaining);
+                log.warn("Daily email budget of {} reached, {} digests wait for tomorrow", dailyLimit, remaining);
+                return;
+            }
+            remaining--;
+            RecipientBuffer buffer = buffers.remove(email);
+            List<Entry> inMemory = buffer != null ? takeAll(buffer) : List.of();
+            List<Entry> spilled = new ArrayList<>();
+            List<Long> spilledIds = new ArrayList<>();
+            shardRouter.runOnShardOf(email, () -> jdbcTemplate.query(
+                    "SELECT notification_id, type, summary, created_at FROM PendingNotifications "
+                    + "WHERE recipient_email = ? ORDER BY notification_id", row -> {
+                spilledIds.add(row.getLong(1));
+                spilled.add(new Entry(UserNotificationEvent.Type.valueOf(row.getString(2)), row.getString(3),
+                        row.getTimestamp(4).toLocalDateTime()));
+            }, email));
+            if (!inMemory.isEmpty() || !spilled.isEmpty()) {
+                sendSafely(email, inMemory, spilled, spilledIds);
+            }
+        }
+    }
+
+    /**
+     * Sends one digest of the notifications held in memory and the spilled ones. When sending
+     * fails, the ones in memory join the spilled ones in PendingNotifications, so the next window sends
+     * them all and a restart while SMTP is down loses nothing.
+     */
+    private void sendSafely(String email, List<Entry> inMemory, List<Entry> spilled, List<Long> spilledIds) {
+        List<Entry> entries = new ArrayList<>(inMemory.size() + spilled.size());
+        entries.addAll(inMemory);
+        entries.addAll(spilled);
+        entries.sort(Comparator.comparing(Entry::at));
+        Digest digest = compose(entries);
+        try {
+            emailService.sendEmail(email, digest.subject(), digest.body());
+        } catch (RuntimeException e) {
+            sendFailures.increment();
+            log.error("Failed to send notification digest to {}, keeping {} notifications for the next window", email, entries.size(), e);
+            if (!inMemory.isEmpty()) {
+                try {
+                    writeSpill(email, inMemory);
+                } catch (RuntimeException spillFailure) {
+                    log.error("Failed to spill {} notifications of {}, dropping them", inMemory.size(), email, spillFailure);
+                }
+            }
+            return;
+        }
+
+        sentToday++;
+        digestsSent.increment();
+        try {
+            shardRouter.runOnShardOf(email, () -> {
+                jdbcTemplate.update("INSERT INTO EmailsSent (recipient_email, type, subject, content) VALUES (?, 'Digest', ?, ?)",
+                        email, digest.subject(), digest.body());
+                if (!spilledIds.isEmpty()) {
+                    deleteSpilled(spilledIds);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The spilled notifications may go out once more with the next digest
+            log.error("Sent the notification digest to {} but failed to record it", email, e);
+        }
+    }
+
+    private static Digest compose(List<Entry> entries) {
+        String subject = entries.size() == 1
+                ? "UniMart: " + entries.get(0).summary()
+                : "UniMart: " + entries.size() + " updates";
+        if (subject.length() > 255) {
+            subject = subject.substring(0, 252) + "...";
+        }
+        StringBuilder body = new StringBuilder("Here is what happened on UniMart:\n\n");
+        for (int i = 0; i < Math.min(entries.size(), MAX_LINES); i++) {
+            Entry entry = entries.get(i);
+            body.append("- [").append(label(entry.type())).append("] ").append(entry.summary()).append('\n');
+        }
+        if (entries.size() > MAX_LINES) {
+            body.append("\n...and ").append(entries.size() - MAX_LINES).append(" more in the app.\n");
+        }
+        return new Digest(subject, body.toString());
+    }
+
+    /**
+     * Moves the largest buffers to PendingNotifications until at most keep notifications are
+     * left in memory
+     */
+    private void spill(int keep) {
+        List<Map.Entry<String, RecipientBuffer>> largest = new ArrayList<>(buffers.entrySet());
+        largest.sort(Comparator.comparingInt((Map.Entry<String, RecipientBuffer> buffer) -> buffer.getValue().size()).reversed());
+        int spilled = 0;
+        for (Map.Entry<String, RecipientBuffer> buffer : largest) {
+            if (buffered.get() <= keep) {
+                break;
+            }
+            if (!buffers.remove(buffer.getKey(), buffer.getValue())) {
+                continue;
+            }
+            List<Entry> entries = takeAll(buffer.getValue());
+            try {
+                writeSpill(buffer.getKey(), entries);
+                spilled += entries.size();
+            } catch (RuntimeException e) {
+                log.error("Failed to spill {} notifications of {}, dropping them", entries.size(), buffer.getKey(), e);
+            }
+        }
+        if (spilled > 0) {
+            log.info("Spilled {} buffered notifications to PendingNotifications", spilled);
+        }
+    }
+
+    private void writeSpill(String email, List<Entry> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            String summary = entry.summary().length() > 500 ? entry.summary().substring(0, 500) : entry.summary();
+            rows.add(new Object[] {email, entry.type().name(), summary, Timestamp.valueOf(entry.at())});
+        }
+        shardRouter.runOnShardOf(email, () -> jdbcTemplate.batchUpdate(SPILL_SQL, rows));
+        notificationsSpilled.add(entries.size());
+    }
+
+    private void deleteSpilled(List<Long> ids) {
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        ids.forEach(id -> rows.add(new Object[] {id}));
+        jdbcTemplate.batchUpdate("DELETE FROM PendingNotifications WHERE notification_id = ?", rows);
+    }
+
+    private List<Entry> takeAll(RecipientBuffer buffer) {
+        List<Entry> entries = buffer.copy();
+        buffered.addAndGet(-entries.size());
+        return entries;
+    }
+
+    private boolean withinBudget() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(budgetDay)) {
+            int[] sent = new int[1];
+            shardRouter.forEachGroup(group -> {
+                Integer inGroup = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EmailsSent WHERE sent_at >= ?",
+                        Integer.class, Timestamp.valueOf(today.atStartOfDay()));
+                sent[0] += inGroup != null ? inGroup : 0;
+            });
+            budgetDay = today;
+            sentToday = sent[0];
+        }
+        return sentToday < dailyLimit;
+    }
+
+    private static String label(UserNotificationEvent.Type type) {
+        return switch (type) {
+            case BID -> "Bid";
+            case MESSAGE -> "Message";
+            case ORDER_UPDATE -> "Order";
+        };
+    }
+
+    private record Entry(UserNotificationEvent.Type type, String summary, LocalDateTime at) {
+    }
+
+    private record Digest(String subject, String body) {
+    }
+
+    private static final class RecipientBuffer {
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<Entry> entries = new ArrayList<>();
+
+        synchronized void add(Entry entry) {
+            entries.add(entry);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized List<Entry> copy() {
+            return new ArrayList<>(entries);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.unimart.backend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.backend.events.ProductChangedEvent;
+import com.unimart.backend.events.UserNotificationEvent;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.models.Order;
+import com.unimart.backend.models.OrderProduct;
+import com.unimart.backend.repositories.OrderProductRepository;
+import com.unimart.backend.repositories.OrderRepository;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.scheduling.BackgroundScheduler;
+import com.unimart.backend.service.expiry.HierarchicalTimingWheel;
+import com.unimart.backend.sharding.ShardContext;
+import com.unimart.backend.sharding.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Expires pending orders whose pickup deadline passed and gives their units back to the listing.
+ *
+ * Only deadlines falling in the next window are held in memory, in a hierarchical timing wheel;
+ * the window is topped up periodically from idx_orders_status_deadline, so neither a restart nor
+ * a growing Orders table turns into a scan of every order. Due orders are expired in batches:
+ * one locking SELECT, one UPDATE of the orders and one JDBC batch returning quantities.
+ * Orders canceled or picked up in the meantime are skipped by the status check, and orders
+ * paid in the meantime by the payment check, so the wheel never needs to be told about them.
+ * A paid order stays Pending until it is picked up; its units belong to the buyer.
+ *
+ * Order ids repeat across shard groups, so every group has a wheel and window of its own and
+ * is refreshed and expired inside the group.
+ */
+@Service
+@Slf4j
+public class OrderExpiryService implements MetricsSource {
+    // Status is assigned first so it sees the quantity before the units come back.
+    // Orders from accepted bids reserved the listing without taking units, they release 0.
+    private static final String RELEASE_SQL =
+            "UPDATE Products SET "
+            + "status = CASE WHEN status = 'Pending' AND is_active = TRUE AND quantity + ? > 0 THEN 'Available' ELSE status END, "
+            + "quantity = quantity + ? WHERE product_id = ?";
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int LOAD_PAGE_SIZE = 1_000;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${marketplace.orders.expiry.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${marketplace.orders.expiry.window-minutes:360}")
+    private long windowMinutes;
+
+    @Value("${marketplace.orders.expiry.refresh-minutes:15}")
+    private long refreshMinutes;
+
+    @Value("${marketplace.orders.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${marketplace.orders.expiry.retry-seconds:60}")
+    private long retrySeconds;
+
+    // Shard group -> its deadlines, under the null key without sharding; guarded by this
+    private final Map<String, ExpiryWindow> windows = new HashMap<>();
+    private final BackgroundScheduler scheduler = new BackgroundScheduler("order-expiry");
+
+    private final Counters counters = new Counters();
+    private final LongAdder ordersLoaded = counters.add("ordersLoaded");
+    private final LongAdder ordersExpired = counters.add("ordersExpired");
+    private final LongAdder unitsReleased = counters.add("unitsReleased");
+    private final LongAdder batches = counters.add("batches");
+    private final LongAdder failedBatches = counters.add("failedBatches");
+    private final AtomicLong lastBatchMillis = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        // The first refresh also picks up orders that lapsed while the application was down
+        scheduler.scheduleWithFixedDelay("load pickup deadlines", this::refreshWindow, 0, refreshMinutes, TimeUnit.MINUTES);
+        scheduler.scheduleAtFixedRate("expire due orders", this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.stop();
+    }
+
+    /**
+     * Schedules a new order right away when its deadline already falls inside the loaded
+     * window; later deadlines are picked up by the next refresh
+     */
+    public void track(Order order) {
+        String group = ShardContext.current();
+        if (!Order.STATUS_PENDING.equals(order.getOrderStatus())
+                || order.getPickupDeadline().isAfter(LocalDateTime.now().plusMinutes(windowMinutes))
+                // Saved outside any shard group; there is no window it could be expired from
+                || shardRouter.isEnabled() && (group == null || ShardContext.GLOBAL.equals(group))) {
+            return;
+        }
+        // DATETIME drops the fraction of a second, so fire a second late rather than too early
+        schedule(windowOf(group), order.getOrderId(), toMillis(order.getPickupDeadline()) + 1_000);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "order-expiry";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        int scheduled = 0;
+        LocalDateTime loadedUntil = null;
+        synchronized (this) {
+            for (ExpiryWindow window : windows.values()) {
+                scheduled += window.wheel.size();
+                if (loadedUntil == null || window.loadedUntil != null && window.loadedUntil.isBefore(loadedUntil)) {
+                    loadedUntil = window.loadedUntil;
+                }
+            }
+        }
+        stats.put("scheduled", scheduled);
+        stats.put("windowMinutes", windowMinutes);
+        // The group furthest behind
+        stats.put("loadedUntil", String.valueOf(loadedUntil));
+        stats.put("lastBatchMillis", lastBatchMillis.get());
+        return stats;
+    }
+
+    void refreshWindow() {
+        shardRouter.forEachGroup(group -> refreshWindow(windowOf(group)));
+    }
+
+    void tick() {
+        shardRouter.forEachGroup(group -> {
+            ExpiryWindow window = windowOf(group);
+            List<Long> due = new ArrayList<>();
+            synchronized (this) {
+                window.wheel.advance(System.currentTimeMillis(), due::add);
+            }
+            expire(window, due);
+        });
+    }
+
+    /**
+     * Loads the group's pending deadlines between the end of its loaded window and now + window,
+     * one keyset page at a time
+     */
+    private void refreshWindow(ExpiryWindow window) {
+        LocalDateTime until = LocalDateTime.now().plusMinutes(windowMinutes);
+        LocalDateTime loadedUntil = window.loadedUntil;
+        LocalDateTime after = loadedUntil != null ? loadedUntil : BEGINNING;
+        // Everything at exactly loadedUntil was read by the previous refresh
+        long afterId = loadedUntil != null ? Long.MAX_VALUE : 0;
+        int loaded = 0;
+        List<Long> overdue = new ArrayList<>();
+        while (true) {
+            List<Object[]> page = orderRepository.findPendingDeadlines(after, afterId, until, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                Long orderId = (Long) row[0];
+                LocalDateTime deadline = (LocalDateTime) row[1];
+                if (!schedule(window, orderId, toMillis(deadline))) {
+                    overdue.add(orderId);
+                }
+                after = deadline;
+                afterId = orderId;
+            }
+            loaded += page.size();
+            if (page.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+        }
+        window.loadedUntil = until;
+        ordersLoaded.add(loaded);
+        if (loaded > 0) {
+            log.debug("Loaded {} pickup deadlines up to {}, {} already overdue", loaded, until, overdue.size());
+        }
+        expire(window, overdue);
+    }
+
+    private void expire(ExpiryWindow window, List<Long> orderIds) {
+        for (int from = 0; from < orderIds.size(); from += batchSize) {
+            List<Long> batch = orderIds.subList(from, Math.min(orderIds.size(), from + batchSize));
+            try {
+                expireBatch(batch);
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                log.error("Failed to expire {} orders, retrying in {} s", batch.size(), retrySeconds, e);
+                long retryAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(retrySeconds);
+                batch.forEach(orderId -> schedule(window, orderId, retryAt));
+            }
+        }
+    }
+
+    private void expireBatch(List<Long> orderIds) {
+        long started = System.nanoTime();
+        Map<Long, Integer> releasedByProduct = new LinkedHashMap<>();
+        List<Order> expired = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Order> orders = orderRepository.lockExpirable(orderIds, LocalDateTime.now());
+            if (orders.isEmpty()) {
+                return orders;
+            }
+            List<Long> expiredIds = new ArrayList<>(orders.size());
+            Set<Long> fromBids = new HashSet<>();
+            for (Order order : orders) {
+                expiredIds.add(order.getOrderId());
+                if (order.getBidId() != null) {
+                    fromBids.add(order.getOrderId());
+                }
+            }
+            orderRepository.markExpired(expiredIds);
+
+            for (OrderProduct item : orderProductRepository.findByOrderIdIn(expiredIds)) {
+                int units = fromBids.contains(item.getOrderId()) || item.getQuantity() == null ? 0 : item.getQuantity();
+                releasedByProduct.merge(item.getProductId(), units, Integer::sum);
+            }
+            List<Object[]> releases = new ArrayList<>(releasedByProduct.size());
+            releasedByProduct.forEach((productId, units) -> releases.add(new Object[] {units, units, productId}));
+            jdbcTemplate.batchUpdate(RELEASE_SQL, releases);
+            return orders;
+        });
+        batches.increment();
+        lastBatchMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        ordersExpired.add(expired.size());
+        releasedByProduct.values().forEach(unitsReleased::add);
+        log.info("Expired {} orders past their pickup deadline, released {} listings", expired.size(), releasedByProduct.size());
+
+        productRepository.findAllById(releasedByProduct.keySet()).forEach(product -> eventPublisher.publishEvent(
+                new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, product,
+                        product.isListed() ? productImageService.gridImageUrl(product.getProductId()) : null)));
+        for (Order order : expired) {
+            Map<String, Object> payload = Map.of("orderId", order.getOrderId(), "status", Order.STATUS_EXPIRED);
+            String summary = "Order " + order.getOrderId() + " expired, it was not picked up by " + order.getPickupDeadline();
+            eventPublisher.publishEvent(new UserNotificationEvent(order.getBuyerEmail(), UserNotificationEvent.Type.ORDER_UPDATE, summary, payload));
+            eventPublisher.publishEvent(new UserNotificationEvent(order.getSellerEmail(), UserNotificationEvent.Type.ORDER_UPDATE, summary, payload));
+        }
+    }
+
+    private synchronized ExpiryWindow windowOf(String group) {
+        return windows.computeIfAbsent(group, key -> new ExpiryWindow(new HierarchicalTimingWheel(tickMillis, System.currentTimeMillis())));
+    }
+
+    /**
+     * Returns false when the deadline already passed and the order was not scheduled
+     */
+    private synchronized boolean schedule(ExpiryWindow window, long orderId, long deadlineMillis) {
+        return window.wheel.add(orderId, deadlineMillis);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class ExpiryWindow {
+        private final HierarchicalTimingWheel wheel;
+        // Deadlines up to here have been read from the database; touched only by the scheduler thread
+        private LocalDateTime loadedUntil;
+
+        ExpiryWindow(HierarchicalTimingWheel wheel) {
+            this.wheel = wheel;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.unimart.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimart.backend.exceptions.InvalidRequestException;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.service.export.ExportColumn;
+import com.unimart.backend.service.export.ExportFormat;
+import com.unimart.backend.service.export.ExportRowWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports order lines with their payment for a date range, straight from the database to the
+ * response.
+ *
+ * Rows come from a forward-only, read-only cursor and are written as soon as they are read,
+ * so memory use is one row plus the output buffers whatever the range. On MySQL the statement
+ * uses a fetch size of Integer.MIN_VALUE, which makes Connector/J stream rows instead of
+ * loading the whole result set first; other drivers get a regular fetch size. When writing
+ * fails the query is canceled before the statement is closed, because closing a streaming
+ * Connector/J result set reads and discards every remaining row first.
+ */
+@Service
+@Slf4j
+public class OrderExportService implements MetricsSource {
+    private static final String EXPORT_SQL =
+            "SELECT o.order_id, o.order_date, o.order_status, o.buyer_email, o.seller_email, o.total_price, "
+            + "o.pickup_deadline, o.pickup_confirmed, op.product_id, op.quantity, op.price_at_purchase, "
+            + "pay.payment_id, pay.payment_status, pay.payment_method, pay.amount_paid, pay.payment_date, "
+            + "pay.stripe_payment_intent_id "
+            + "FROM Orders o "
+            + "JOIN Order_Products op ON op.order_id = o.order_id "
+            + "LEFT JOIN Payments pay ON pay.order_id = o.order_id "
+            // Range scan of idx_orders_order_date, already in output order so nothing is sorted
+            + "WHERE o.order_date >= ? AND o.order_date < ? "
+            + "ORDER BY o.order_date, o.order_id";
+
+    // In SELECT order
+    private static final List<ExportColumn> COLUMNS = List.of(
+            new ExportColumn("order_id", ExportColumn.Type.NUMBER),
+            new ExportColumn("order_date", ExportColumn.Type.DATETIME),
+            new ExportColumn("order_status", ExportColumn.Type.TEXT),
+            new ExportColumn("buyer_email", ExportColumn.Type.TEXT),
+            new ExportColumn("seller_email", ExportColumn.Type.TEXT),
+            new ExportColumn("total_price", ExportColumn.Type.NUMBER),
+            new ExportColumn("pickup_deadline", ExportColumn.Type.DATETIME),
+            new ExportColumn("pickup_confirmed", ExportColumn.Type.BOOLEAN),
+            new ExportColumn("product_id", ExportColumn.Type.NUMBER),
+            new ExportColumn("quantity", ExportColumn.Type.NUMBER),
+            new ExportColumn("price_at_purchase", ExportColumn.Type.NUMBER),
+            new ExportColumn("payment_id", ExportColumn.Type.NUMBER),
+            new ExportColumn("payment_status", ExportColumn.Type.TEXT),
+            new ExportColumn("payment_method", ExportColumn.Type.TEXT),
+            new ExportColumn("amount_paid", ExportColumn.Type.NUMBER),
+            new ExportColumn("payment_date", ExportColumn.Type.DATETIME),
+            new ExportColumn("stripe_payment_intent_id", ExportColumn.Type.TEXT));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${marketplace.exports.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${marketplace.exports.flush-every-rows:1000}")
+    private int flushEveryRows;
+
+    @Value("${marketplace.exports.buffer-bytes:65536}")
+    private int bufferBytes;
+
+    private final Counters counters = new Counters();
+    private final LongAdder exports = counters.add("exports");
+    private final LongAdder rowsExported = counters.add("rowsExported");
+
+    /**
+     * Checks a range before the response is committed, so a bad request still gets a 400
+     */
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("Export range ends before it starts");
+        }
+    }
+
+    /**
+     * Writes the order lines placed between from and to (both inclusive) to out and returns the
+     * number of rows. Output is flushed every few rows, so the client sees a steady chunked
+     * stream instead of one response at the end.
+     */
+    public long exportOrders(LocalDate from, LocalDate to, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        validateRange(from, to);
+        long started = System.nanoTime();
+        OutputStream target = gzip ? new GZIPOutputStream(out, bufferBytes) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), bufferBytes);
+        ExportRowWriter rows = format.newWriter(COLUMNS, writer, objectMapper);
+        rows.writeHeader();
+
+        long[] count = new long[1];
+        Statement[] running = new Statement[1];
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                running[0] = statement;
+                boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+                statement.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+                statement.setObject(1, from.atStartOfDay());
+                statement.setObject(2, to.plusDays(1).atStartOfDay());
+                return statement;
+            }, (ResultSet row) -> {
+                try {
+                    rows.writeRow(row);
+                    if (++count[0] % flushEveryRows == 0) {
+                        rows.flush();
+                    }
+                } catch (IOException e) {
+                    // Usually the client went away. Without the cancel, closing the statement
+                    // would stream the rest of the range from the server only to drop it.
+                    cancel(running[0]);
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.info("Order export aborted after {} rows: {}", count[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        rows.flush();
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        target.flush();
+
+        exports.increment();
+        rowsExported.add(count[0]);
+        log.info("Exported {} order rows from {} to {} as {}{} in {} ms", count[0], from, to, format,
+                gzip ? " (gzip)" : "", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return count[0];
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "exports";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("fetchSize", fetchSize);
+        stats.put("flushEveryRows", flushEveryRows);
+        return stats;
+    }
+
+    private static void cancel(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.warn("Failed to cancel the export query, closing it reads the remaining rows", e);
+        }
+    }
+}
@@ -7,11 +7,18 @@ import com.stripe.model.Price;
 import com.stripe.param.PaymentIntentCreateParams;
 import com.stripe.param.ProductCreateParams;
 import com.stripe.param.PriceCreateParams;
+import com.unimart.backend.diagnostics.StripeCallEvent;
 import com.unimart.backend.dto.payment.PaymentRequestDTO;
 import com.unimart.backend.dto.payment.PaymentResponseDTO;
 import com.unimart.backend.dto.payment.ProductCreateRequestDTO;
 import com.unimart.backend.dto.payment.ProductCreateResponseDTO;
+import com.unimart.backend.resilience.DependencyGuard;
+import com.unimart.backend.resilience.GuardedCall;
+import com.unimart.backend.tracing.Span;
+import com.unimart.backend.tracing.SpanKind;
+import com.unimart.backend.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +33,12 @@ public class PaymentService {
     @Value("${stripe.api.key}")
     private String stripeApiKey;
 
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private DependencyGuard stripeGuard;
+
     @Transactional
     public ProductCreateResponseDTO createProduct(ProductCreateRequestDTO request) {
         try {
@@ -35,7 +48,7 @@ public class PaymentService {
                 .setDescription(request.getDescription())
                 .build();
 
-            Product product = Product.create(productParams);
+            Product product = stripe("Product.create", () -> Product.create(productParams));
 
             // Create price for the product
             PriceCreateParams priceParams = PriceCreateParams.builder()
@@ -44,7 +57,7 @@ public class PaymentService {
                 .setCurrency(request.getCurrency().toLowerCase())
                 .build();
 
-            Price price = Price.create(priceParams);
+            Price price = stripe("Price.create", () -> Price.create(priceParams));
 
             return ProductCreateResponseDTO.builder()
                 .stripeProductId(product.getId())
@@ -73,7 +86,7 @@ public class PaymentService {
                 .putAllMetadata(metadata)
                 .build();
 
-            PaymentIntent paymentIntent = PaymentIntent.create(params);
+            PaymentIntent paymentIntent = stripe("PaymentIntent.create", () -> PaymentIntent.create(params));
 
             return PaymentResponseDTO.builder()
                 .paymentIntentId(paymentIntent.getId())
@@ -93,8 +106,8 @@ public class PaymentService {
 
     public PaymentResponseDTO confirmPayment(String paymentIntentId) {
         try {
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
-            PaymentIntent confirmedIntent = paymentIntent.confirm();
+            PaymentIntent paymentIntent = stripe("PaymentIntent.retrieve", () -> PaymentIntent.retrieve(paymentIntentId));
+            PaymentIntent confirmedIntent = stripe("PaymentIntent.confirm", paymentIntent::confirm);
 
             return PaymentResponseDTO.builder()
                 .paymentIntentId(confirmedIntent.getId())
@@ -110,4 +123,21 @@ public class PaymentService {
                 .build();
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Runs one Stripe API call through the Stripe bulkhead and circuit breaker, inside a trace
+     * span and a StripeCallEvent
+     */
+    private <T> T stripe(String endpoint, GuardedCall<T, StripeException> call) throws StripeException {
+        StripeCallEvent event = new StripeCallEvent();
+        event.endpoint = endpoint;
+        event.begin();
+        try (Span span = tracer.start("stripe " + endpoint, SpanKind.EXTERNAL)) {
+            T result = stripeGuard.call(call);
+            event.success = true;
+            return result;
+        } finally {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.unimart.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.unimart.backend.dto.product.ProductImageDTO;
+import com.unimart.backend.exceptions.InvalidImageException;
+import com.unimart.backend.models.ImageRendition;
+import com.unimart.backend.models.ProductImage;
+import com.unimart.backend.repositories.ProductImageRepository;
+import com.unimart.backend.scheduling.BackgroundScheduler;
+import com.unimart.backend.sharding.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ProductImageService {
+    // Grid cells are a few hundred pixels wide, the card rendition is the smallest that stays sharp
+    private static final ImageRendition GRID_RENDITION = ImageRendition.CARD;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private ImageDerivativePipeline imageDerivativePipeline;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${marketplace.images.storage-dir:uploads/products}")
+    private String storageDir;
+
+    @Value("${marketplace.images.public-path:/media/products}")
+    private String publicPath;
+
+    // Failed runs after which a pending image is left on its original
+    @Value("${marketplace.images.max-attempts:3}")
+    private int maxAttempts;
+
+    // Sweep for images that still lack renditions, 0 disables it
+    @Value("${marketplace.images.requeue-minutes:10}")
+    private long requeueMinutes;
+
+    private Path storageRoot;
+
+    private final BackgroundScheduler scheduler = new BackgroundScheduler("image-requeue");
+
+    @PostConstruct
+    public void init() throws IOException {
+        storageRoot = Paths.get(storageDir).toAbsolutePath().normalize();
+        Files.createDirectories(storageRoot);
+        if (requeueMinutes > 0) {
+            scheduler.scheduleWithFixedDelay("requeue pending renditions", this::requeuePending, 0, requeueMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.stop();
+    }
+
+    /**
+     * Streams an uploaded image to local storage and queues its renditions.
+     * Throws ImagePipelineBusyException without storing anything when the pipeline is full,
+     * and InvalidImageException when the upload is not a supported image or is too large.
+     */
+    public ProductImageDTO uploadImage(Long productId, MultipartFile image) throws IOException {
+        String extension = extensionOf(image.getContentType());
+        if (extension == null) {
+            throw new InvalidImageException("Unsupported image type: " + image.getContentType());
+        }
+
+        imageDerivativePipeline.reserve();
+        Path target = null;
+        boolean submitted = false;
+        try {
+            String fileName = productId + "-" + UUID.randomUUID() + extension;
+            target = storageRoot.resolve(fileName);
+            try (InputStream in = image.getInputStream()) {
+                Files.copy(in, target);
+            }
+            try {
+                imageDerivativePipeline.checkDimensions(target);
+            } catch (IOException e) {
+                throw new InvalidImageException(e.getMessage());
+            }
+
+            ProductImage productImage = new ProductImage();
+            productImage.setProductId(productId);
+            productImage.setImageUrl(publicPath + "/" + fileName);
+            productImage = productImageRepository.save(productImage);
+
+            imageDerivativePipeline.submit(productImage.getImageId(), productId, target, publicPath);
+            submitted = true;
+            log.info("Stored image {} for product {}, renditions queued", productImage.getImageId(), productId);
+            return ProductImageDTO.from(productImage);
+        } finally {
+            if (!submitted) {
+                imageDerivativePipeline.release();
+                if (target != null) {
+                    deleteQuietly(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands images whose renditions were lost to a restart or a failed run back to the pipeline,
+     * oldest first and no more than it has free slots for, group by group. Returns how many were
+     * queued.
+     */
+    int requeuePending() {
+        int[] requeued = new int[1];
+        shardRouter.forEachGroup(group -> requeued[0] += requeuePendingInGroup());
+        return requeued[0];
+    }
+
+    private int requeuePendingInGroup() {
+        int free = imageDerivativePipeline.freeSlots();
+        if (free == 0) {
+            return 0;
+        }
+        int requeued = 0;
+        for (ProductImage image : productImageRepository.findPendingRenditions(maxAttempts, PageRequest.of(0, free))) {
+            Path original = storageRoot.resolve(fileName(image.getImageUrl()));
+            if (!Files.exists(original)) {
+                log.warn("Original of image {} is missing, cannot generate its renditions", image.getImageId());
+                imageDerivativePipeline.recordFailure(image.getImageId());
+                continue;
+            }
+            if (!imageDerivativePipeline.resubmit(image.getImageId(), image.getProductId(), original, publicPath)) {
+                break;
+            }
+            requeued++;
+        }
+        if (requeued > 0) {
+            log.info("Requeued {} images without renditions", requeued);
+        }
+        return requeued;
+    }
+
+    public List<ProductImageDTO> getImages(Long productId) {
+        return productImageRepository.findByProductIdOrderByImageIdAsc(productId).stream()
+                .map(ProductImageDTO::from)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Grid image of a single listing, the smallest suitable rendition of its first image
+     */
+    public String gridImageUrl(Long productId) {
+        List<ProductImage> images = productImageRepository.findByProductIdOrderByImageIdAsc(productId);
+        return images.isEmpty() ? null : images.get(0).urlFor(GRID_RENDITION);
+    }
+
+    /**
+     * Grid images for a page of listings in one query, keyed by product id
+     */
+    public Map<Long, String> gridImageUrls(Collection<Long> productIds) {
+        Map<Long, String> urls = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return urls;
+        }
+        for (ProductImage image : productImageRepository.findByProductIdInOrderByImageIdAsc(productIds)) {
+            urls.putIfAbsent(image.getProductId(), image.urlFor(GRID_RENDITION));
+        }
+        return urls;
+    }
+
+    public Path getStorageRoot() {
+        return storageRoot;
+    }
+
+    private static String fileName(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * File extension for the image types the pipeline can decode, null for anything else
+     */
+    private static String extensionOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        switch (contentType) {
+            case "image/jpeg":
+                return ".jpg";
+            case "image/png":
+                return ".png";
+            case "image/gif":
+                return ".gif";
+            case "image/bmp":
+                return ".bmp";
+            default:
+                return null;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete abandoned upload {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.unimart.backend.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.dto.product.ListingDetailDTO;
+import com.unimart.backend.dto.product.ListingPageDTO;
+import com.unimart.backend.dto.product.ListingRequestDTO;
+import com.unimart.backend.dto.product.ListingSummaryDTO;
+import com.unimart.backend.dto.product.ProductImageDTO;
+import com.unimart.backend.events.ProductChangedEvent;
+import com.unimart.backend.events.ProductEngagementEvent;
+import com.unimart.backend.events.ProductImageProcessedEvent;
+import com.unimart.backend.exceptions.ProductNotFoundException;
+import com.unimart.backend.exceptions.UserNotFoundException;
+import com.unimart.backend.models.Product;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.singleflight.SingleFlight;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ProductService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_TRENDING_SIZE = 50;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ListingFeedCache listingFeedCache;
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private SellerStatsService sellerStatsService;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates a new listing in the seller's university marketplace
+     */
+    @Transactional
+    public ListingDetailDTO createListing(String sellerEmail, ListingRequestDTO request) {
+        User seller = userRepository.findByEmail(sellerEmail)
+                .orElseThrow(() -> new UserNotFoundException("Unknown seller: " + sellerEmail));
+
+        Product product = new Product();
+        product.setSellerEmail(seller.getEmail());
+        product.setUniversityId(seller.getUniversity().getId());
+        product.setCreatedAt(LocalDateTime.now());
+        product.setStatus(Product.STATUS_AVAILABLE);
+        product.setActive(true);
+        applyRequest(product, request);
+
+        product = productRepository.save(product);
+        sellerStatsService.listingCreated(seller.getEmail());
+        log.info("Listing {} created by {}", product.getProductId(), seller.getEmail());
+
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, product, null));
+        return ListingDetailDTO.from(product, List.of());
+    }
+
+    /**
+     * Edits the title, price and other seller-controlled fields of a listing
+     */
+    @Transactional
+    public ListingDetailDTO updateListing(String sellerEmail, Long productId, ListingRequestDTO request) {
+        Product product = findOwnProduct(sellerEmail, productId);
+        applyRequest(product, request);
+        product = productRepository.save(product);
+
+        return publishAndDescribe(ProductChangedEvent.Type.UPDATED, product);
+    }
+
+    /**
+     * Marks a listing as sold, removing it from the marketplace feed
+     */
+    @Transactional
+    public ListingDetailDTO markSold(String sellerEmail, Long productId) {
+        Product product = findOwnProduct(sellerEmail, productId);
+        boolean alreadySold = Product.STATUS_SOLD.equals(product.getStatus());
+        product.setStatus(Product.STATUS_SOLD);
+        product = productRepository.save(product);
+        if (!alreadySold) {
+            sellerStatsService.listingSold(product.getSellerEmail());
+        }
+        log.info("Listing {} marked as sold", productId);
+
+        return publishAndDescribe(ProductChangedEvent.Type.SOLD, product);
+    }
+
+    /**
+     * Takes a listing off the market while a sale is in progress
+     */
+    @Transactional
+    public ListingDetailDTO markPending(Long productId) {
+        Product product = findProduct(productId);
+        product.setStatus(Product.STATUS_PENDING);
+        product = productRepository.save(product);
+
+        return publishAndDescribe(ProductChangedEvent.Type.UPDATED, product);
+    }
+
+    /**
+     * Get a single listing. A shared link brings many identical reads at once, so concurrent
+     * reads of one listing share a single load; views are counted with recordView.
+     */
+    @SingleFlight
+    public ListingDetailDTO getListing(Long productId) {
+        Product product = findProduct(productId);
+        ListingDetailDTO listing = ListingDetailDTO.from(product, productImageService.getImages(productId));
+        listing.setSellerStats(sellerStatsService.getStats(product.getSellerEmail()));
+        listing.setSeller(userSummaryService.getSummary(product.getSellerEmail()));
+        return listing;
+    }
+
+    /**
+     * Counts one view of a listing, for trending
+     */
+    public void recordView(ListingDetailDTO listing) {
+        eventPublisher.publishEvent(new ProductEngagementEvent(ProductEngagementEvent.Type.VIEW,
+                listing.getProductId(), listing.getUniversityId()));
+    }
+
+    /**
+     * Adds an image to a listing; renditions are generated in the background
+     */
+    public ProductImageDTO uploadImage(String sellerEmail, Long productId, MultipartFile image) throws IOException {
+        findOwnProduct(sellerEmail, productId);
+        return productImageService.uploadImage(productId, image);
+    }
+
+    /**
+     * Refreshes the listing's feed entry once a new image has its grid rendition
+     */
+    @EventListener
+    public void onImageProcessed(ProductImageProcessedEvent event) {
+        productRepository.findById(event.getProductId()).ifPresent(product ->
+                eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, product,
+                        productImageService.gridImageUrl(product.getProductId()))));
+    }
+
+    /**
+     * Get one page of a university's newest available listings
+     */
+    public ListingPageDTO getFeed(Long universityId, Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return listingFeedCache.getPage(universityId, cursor, pageSize);
+    }
+
+    /**
+     * A university's trending listings, hottest first, skipping any that sold since they trended
+     */
+    public List<ListingSummaryDTO> getTrending(Long universityId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_TRENDING_SIZE));
+        List<Long> productIds = trendingService.getTrendingProductIds(universityId, size);
+        Map<Long, Product> products = new HashMap<>();
+        productRepository.findAllById(productIds).forEach(product -> products.put(product.getProductId(), product));
+        Map<Long, String> imageUrls = productImageService.gridImageUrls(productIds);
+
+        List<ListingSummaryDTO> trending = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            Product product = products.get(productId);
+            if (product != null && product.isListed()) {
+                trending.add(ListingSummaryDTO.from(product, imageUrls.get(productId)));
+            }
+        }
+        return trending;
+    }
+
+    private ListingDetailDTO publishAndDescribe(ProductChangedEvent.Type type, Product product) {
+        List<ProductImageDTO> images = productImageService.getImages(product.getProductId());
+        String imageUrl = productImageService.gridImageUrl(product.getProductId());
+        eventPublisher.publishEvent(new ProductChangedEvent(type, product, imageUrl));
+        return ListingDetailDTO.from(product, images);
+    }
+
+    private Product findProduct(Long productId) {
+        return productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Listing not found: " + productId));
+    }
+
+    /**
+     * The listing, if the caller is its seller
+     */
+    private Product findOwnProduct(String sellerEmail, Long productId) {
+        Product product = findProduct(productId);
+        if (!product.getSellerEmail().equalsIgnoreCase(sellerEmail)) {
+            throw new AccessDeniedException("Listing " + productId + " belongs to another seller");
+        }
+        return product;
+    }
+
+    private void applyRequest(Product product, ListingRequestDTO request) {
+        product.setTitle(request.getTitle());
+        product.setDescription(request.getDescription());
+        product.setPrice(request.getPrice());
+        product.setCategory(request.getCategory());
+        product.setItemCondition(request.getItemCondition());
+        product.setQuantity(request.getQuantity() != null ? request.getQuantity() : 1);
+    }
+}
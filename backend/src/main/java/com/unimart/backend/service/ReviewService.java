@@ -0,0 +1,68 @@
+package com.unimart.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.dto.review.ReviewDTO;
+import com.unimart.backend.dto.review.ReviewRequestDTO;
+import com.unimart.backend.exceptions.InvalidRequestException;
+import com.unimart.backend.models.Order;
+import com.unimart.backend.models.Review;
+import com.unimart.backend.repositories.OrderRepository;
+import com.unimart.backend.repositories.ReviewRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ReviewService {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SellerStatsService sellerStatsService;
+
+    /**
+     * Reviews the seller of an order the buyer completed, once per order; the seller's rating
+     * totals change in the same transaction
+     */
+    @Transactional
+    public ReviewDTO addReview(String buyerEmail, ReviewRequestDTO request) {
+        String buyer = buyerEmail.trim().toLowerCase();
+        Order order = orderRepository.findCompletedPurchase(request.getOrderId(), buyer)
+                .orElseThrow(() -> new InvalidRequestException("Only the buyer of a completed order can review its seller"));
+        String seller = order.getSellerEmail().trim().toLowerCase();
+        if (seller.equals(buyer)) {
+            throw new InvalidRequestException("Sellers cannot review themselves");
+        }
+        if (!userRepository.existsByEmail(seller)) {
+            throw new InvalidRequestException("Unknown seller");
+        }
+        if (reviewRepository.existsByOrderId(order.getOrderId())) {
+            throw new InvalidRequestException("You already reviewed this order");
+        }
+
+        Review review;
+        try {
+            review = reviewRepository.saveAndFlush(
+                    new Review(order.getOrderId(), seller, buyer, request.getRating(), request.getComment()));
+        } catch (DataIntegrityViolationException e) {
+            // Submitted twice at once; uq_reviews_order kept the first
+            throw new InvalidRequestException("You already reviewed this order");
+        }
+        sellerStatsService.reviewAdded(seller, review.getRating());
+        log.info("Review {} of {} by {} for order {}: {} stars", review.getReviewId(), seller, buyer, order.getOrderId(),
+                review.getRating());
+        return ReviewDTO.from(review);
+    }
+}
@@ -0,0 +1,63 @@
+package com.unimart.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.unimart.backend.metrics.MetricsSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hit and miss figures of the Hibernate second-level, natural-id and query caches
+ */
+@Service
+public class SecondLevelCacheService implements MetricsSource {
+    private static final List<String> REGIONS = List.of("universities", "users", "users-by-username", "user-profiles");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public String getMetricsName() {
+        return "entity-cache";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                stats.put(region, regionStats(regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                        regionStatistics.getPutCount(), regionStatistics.getElementCountInMemory()));
+            }
+        }
+        stats.put("naturalIdCache", regionStats(statistics.getNaturalIdCacheHitCount(),
+                statistics.getNaturalIdCacheMissCount(), statistics.getNaturalIdCachePutCount(), -1));
+        stats.put("queryCache", regionStats(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), -1));
+        stats.put("preparedStatements", statistics.getPrepareStatementCount());
+        return stats;
+    }
+
+    private static Map<String, Object> regionStats(long hits, long misses, long puts, long entries) {
+        Map<String, Object> region = new LinkedHashMap<>();
+        region.put("hits", hits);
+        region.put("misses", misses);
+        region.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        region.put("puts", puts);
+        if (entries >= 0) {
+            region.put("entries", entries);
+        }
+        return region;
+    }
+}
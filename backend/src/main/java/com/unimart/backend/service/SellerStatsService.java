@@ -0,0 +1,362 @@
+package com.unimart.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.backend.dto.seller.SellerStatsDTO;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.models.SellerStats;
+import com.unimart.backend.repositories.OrderRepository;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.repositories.ReviewRepository;
+import com.unimart.backend.repositories.SellerStatsRepository;
+import com.unimart.backend.scheduling.BackgroundScheduler;
+import com.unimart.backend.sharding.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seller reputation (ratings, listings, sales, orders) as a materialized aggregate.
+ *
+ * Every review, new listing, sale and order adds its delta to the seller's SellerStats row in
+ * the same transaction as the change itself, so reads are a primary key lookup and hot sellers
+ * are served from memory. A nightly job recomputes the aggregates from Reviews, Products and
+ * Orders and corrects any row that drifted, e.g. after a manual fix in the database, then
+ * walks SellerStats itself to delete rows whose seller no longer exists.
+ */
+@Service
+@Slf4j
+public class SellerStatsService implements MetricsSource {
+    private static final int RECONCILE_CHUNK = 500;
+    private static final long[] NO_ACTIVITY = new long[5];
+
+    @Autowired
+    private SellerStatsRepository sellerStatsRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${marketplace.seller-stats.cached-sellers:10000}")
+    private int cachedSellers;
+
+    // Bounds how long a read racing a write can keep serving the old totals
+    @Value("${marketplace.seller-stats.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    @Value("${marketplace.seller-stats.reconcile-at:03:30}")
+    private String reconcileAt;
+
+    private final Map<String, CachedStats> cache = new ConcurrentHashMap<>();
+    private final BackgroundScheduler reconciler = new BackgroundScheduler("seller-stats-reconcile");
+
+    private final Counters counters = new Counters();
+    private final LongAdder cacheHits = counters.add("cacheHits");
+    private final LongAdder cacheLoads = counters.add("cacheLoads");
+    private final LongAdder updates = counters.add("updates");
+    private final AtomicLong reconciliations = new AtomicLong();
+    private final AtomicReference<Map<String, Object>> lastReconciliation = new AtomicReference<>(Map.of());
+
+    @PostConstruct
+    public void start() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(LocalTime.parse(reconcileAt));
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        reconciler.scheduleAtFixedRate("reconcile seller stats", this::reconcile,
+                Duration.between(now, next).toMillis(), TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        reconciler.stop();
+    }
+
+    public SellerStatsDTO getStats(String sellerEmail) {
+        String key = sellerEmail.toLowerCase();
+        CachedStats cached = cache.get(key);
+        if (cached != null && !cached.isExpired()) {
+            cacheHits.increment();
+            return cached.stats;
+        }
+        cacheLoads.increment();
+        SellerStatsDTO stats = sellerStatsRepository.findById(sellerEmail)
+                .map(SellerStatsDTO::from)
+                .orElseGet(() -> SellerStatsDTO.empty(sellerEmail));
+        cache.put(key, new CachedStats(stats, System.nanoTime() + TimeUnit.SECONDS.toNanos(cacheTtlSeconds)));
+        evictIfFull();
+        return stats;
+    }
+
+    @Transactional
+    public void reviewAdded(String sellerEmail, int rating) {
+        apply(sellerEmail, rating, 1, 0, 0, 0);
+    }
+
+    @Transactional
+    public void listingCreated(String sellerEmail) {
+        apply(sellerEmail, 0, 0, 1, 0, 0);
+    }
+
+    @Transactional
+    public void listingSold(String sellerEmail) {
+        apply(sellerEmail, 0, 0, 0, 1, 0);
+    }
+
+    @Transactional
+    public void orderReceived(String sellerEmail) {
+        apply(sellerEmail, 0, 0, 0, 0, 1);
+    }
+
+    /**
+     * Compares every seller's row with a fresh aggregate, chunk by chunk, and rewrites the rows
+     * that differ, then removes the rows of sellers that are gone, in every shard group. Returns
+     * the number of rows corrected or removed.
+     */
+    public int reconcile() {
+        long started = System.nanoTime();
+        int[] totals = new int[3];
+        shardRouter.forEachGroup(group -> {
+            int[] inGroup = reconcileGroup();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += inGroup[i];
+            }
+        });
+        int checked = totals[0];
+        int corrected = totals[1];
+        int orphans = totals[2];
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("at", LocalDateTime.now().toString());
+        summary.put("sellersChecked", checked);
+        summary.put("rowsCorrected", corrected);
+        summary.put("orphansRemoved", orphans);
+        summary.put("millis", millis);
+        lastReconciliation.set(summary);
+        reconciliations.incrementAndGet();
+        log.info("Seller stats reconciliation checked {} sellers, corrected {} rows and removed {} orphans in {} ms",
+                checked, corrected, orphans, millis);
+        return corrected + orphans;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "seller-stats";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("cachedSellers", cache.size());
+        stats.put("reconciliations", reconciliations.get());
+        stats.put("lastReconciliation", lastReconciliation.get());
+        return stats;
+    }
+
+    /**
+     * Reconciles the sellers of the current shard group; returns sellers checked, rows corrected
+     * and orphans removed
+     */
+    private int[] reconcileGroup() {
+        int checked = 0;
+        int corrected = 0;
+        String after = "";
+        while (true) {
+            List<String> sellers = jdbcTemplate.queryForList(
+                    "SELECT email FROM Users WHERE email > ? ORDER BY email LIMIT ?", String.class, after, RECONCILE_CHUNK);
+            if (sellers.isEmpty()) {
+                break;
+            }
+            Map<String, long[]> actual = aggregate(sellers);
+            Map<String, SellerStats> stored = new HashMap<>();
+            sellerStatsRepository.findAllById(sellers).forEach(stats -> stored.put(key(stats.getSellerEmail()), stats));
+            for (String seller : sellers) {
+                long[] totals = actual.getOrDefault(key(seller), NO_ACTIVITY);
+                SellerStats stats = stored.get(key(seller));
+                boolean drifted = stats == null ? totals != NO_ACTIVITY : !matches(stats, totals);
+                if (drifted && correct(seller)) {
+                    corrected++;
+                }
+            }
+            checked += sellers.size();
+            after = sellers.get(sellers.size() - 1);
+        }
+        return new int[] {checked, corrected, removeOrphans()};
+    }
+
+    private void apply(String sellerEmail, int ratingSum, int ratingCount, int listings, int sold, int ordersReceived) {
+        sellerStatsRepository.addDeltas(sellerEmail, ratingSum, ratingCount, listings, sold, ordersReceived);
+        updates.increment();
+        evictAfterCommit(sellerEmail);
+    }
+
+    /**
+     * Rewrites one seller's row from a fresh aggregate while holding its row lock, so increments
+     * committed in the meantime are either counted by the aggregate or applied on top of it
+     */
+    private boolean correct(String sellerEmail) {
+        Boolean corrected = new TransactionTemplate(transactionManager).execute(status -> {
+            SellerStats stats = sellerStatsRepository.lockBySellerEmail(sellerEmail).orElse(null);
+            if (stats == null) {
+                sellerStatsRepository.addDeltas(sellerEmail, 0, 0, 0, 0, 0);
+                stats = sellerStatsRepository.lockBySellerEmail(sellerEmail).orElseThrow();
+            }
+            long[] totals = aggregate(List.of(sellerEmail)).getOrDefault(key(sellerEmail), NO_ACTIVITY);
+            if (matches(stats, totals)) {
+                // The difference was a change in flight, it has committed by now
+                return false;
+            }
+            log.warn("Seller stats of {} drifted: ratings {}/{} listings {} sold {} orders {}, actual {}/{} {} {} {}",
+                    sellerEmail, stats.getRatingSum(), stats.getRatingCount(), stats.getListings(), stats.getSold(),
+                    stats.getOrdersReceived(), totals[0], totals[1], totals[2], totals[3], totals[4]);
+            stats.setRatingSum(totals[0]);
+            stats.setRatingCount(totals[1]);
+            stats.setListings(totals[2]);
+            stats.setSold(totals[3]);
+            stats.setOrdersReceived(totals[4]);
+            stats.setUpdatedAt(LocalDateTime.now());
+            sellerStatsRepository.save(stats);
+            return true;
+        });
+        cache.remove(key(sellerEmail));
+        return Boolean.TRUE.equals(corrected);
+    }
+
+    /**
+     * Deletes, chunk by chunk, the SellerStats rows without a matching user; the pass over Users
+     * never visits them
+     */
+    private int removeOrphans() {
+        int removed = 0;
+        String after = "";
+        while (true) {
+            List<String> orphans = jdbcTemplate.queryForList(
+                    "SELECT s.seller_email FROM SellerStats s WHERE s.seller_email > ? "
+                    + "AND NOT EXISTS (SELECT 1 FROM Users u WHERE u.email = s.seller_email) "
+                    + "ORDER BY s.seller_email LIMIT ?", String.class, after, RECONCILE_CHUNK);
+            if (orphans.isEmpty()) {
+                return removed;
+            }
+            sellerStatsRepository.deleteAllByIdInBatch(orphans);
+            orphans.forEach(email -> cache.remove(key(email)));
+            log.warn("Removed seller stats of {} sellers that no longer exist", orphans.size());
+            removed += orphans.size();
+            after = orphans.get(orphans.size() - 1);
+        }
+    }
+
+    /**
+     * Seller -> {rating sum, rating count, listings, sold, orders received}, with one grouped
+     * query per source table for the whole chunk
+     */
+    private Map<String, long[]> aggregate(List<String> sellers) {
+        Map<String, long[]> totals = new HashMap<>();
+        for (Object[] row : reviewRepository.sumRatingsBySeller(sellers)) {
+            long[] seller = totals.computeIfAbsent(key((String) row[0]), email -> new long[5]);
+            seller[0] = ((Number) row[1]).longValue();
+            seller[1] = ((Number) row[2]).longValue();
+        }
+        for (Object[] row : productRepository.countListingsBySeller(sellers)) {
+            long[] seller = totals.computeIfAbsent(key((String) row[0]), email -> new long[5]);
+            seller[2] = ((Number) row[1]).longValue();
+            seller[3] = row[2] != null ? ((Number) row[2]).longValue() : 0;
+        }
+        for (Object[] row : orderRepository.countOrdersBySeller(sellers)) {
+            long[] seller = totals.computeIfAbsent(key((String) row[0]), email -> new long[5]);
+            seller[4] = ((Number) row[1]).longValue();
+        }
+        return totals;
+    }
+
+    private void evictAfterCommit(String sellerEmail) {
+        String key = key(sellerEmail);
+        cache.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops arbitrary entries once the cache outgrows its bound; they are reloaded on next use
+     */
+    private void evictIfFull() {
+        if (cache.size() <= cachedSellers) {
+            return;
+        }
+        Iterator<String> iterator = cache.keySet().iterator();
+        int excess = cache.size() - cachedSellers + cachedSellers / 10;
+        while (excess-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static boolean matches(SellerStats stats, long[] totals) {
+        return stats.getRatingSum() == totals[0] && stats.getRatingCount() == totals[1]
+                && stats.getListings() == totals[2] && stats.getSold() == totals[3]
+                && stats.getOrdersReceived() == totals[4];
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase();
+    }
+
+    private static class CachedStats {
+        final SellerStatsDTO stats;
+        final long expiresAtNanos;
+
+        CachedStats(SellerStatsDTO stats, long expiresAtNanos) {
+            this.stats = stats;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.unimart.backend.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.unimart.backend.events.ListingsHiddenEvent;
+import com.unimart.backend.events.ProductChangedEvent;
+import com.unimart.backend.events.ProductEngagementEvent;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.models.Product;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.scheduling.BackgroundScheduler;
+import com.unimart.backend.service.trending.TrendingEngine;
+import com.unimart.backend.service.trending.TrendingEntry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds listing views, favorites and bids into the trending engine and checkpoints it to disk
+ */
+@Service
+@Slf4j
+public class TrendingService implements MetricsSource {
+    // A bid says more about demand than a favorite, a favorite more than a view
+    private static final double VIEW_WEIGHT = 1;
+    private static final double FAVORITE_WEIGHT = 3;
+    private static final double BID_WEIGHT = 5;
+    private static final int MAX_KNOWN_PRODUCTS = 100_000;
+
+    @Autowired
+    private TrendingEngine trendingEngine;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${marketplace.trending.checkpoint-file:data/trending.bin}")
+    private String checkpointFile;
+
+    @Value("${marketplace.trending.checkpoint-interval-seconds:300}")
+    private long checkpointIntervalSeconds;
+
+    // product -> university, so favorite and bid events need no lookup
+    private final Map<Long, Long> universityByProduct = new ConcurrentHashMap<>();
+    private final BackgroundScheduler checkpointer = new BackgroundScheduler("trending-checkpoint");
+
+    @PostConstruct
+    public void start() {
+        checkpointer.scheduleWithFixedDelay("write trending checkpoint", this::checkpoint,
+                checkpointIntervalSeconds, checkpointIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        checkpointer.drain(10, TimeUnit.SECONDS);
+        checkpointer.runNow("write trending checkpoint", this::checkpoint);
+    }
+
+    @EventListener
+    public void onEngagement(ProductEngagementEvent event) {
+        Long universityId = event.getUniversityId() != null
+                ? rememberUniversity(event.getProductId(), event.getUniversityId())
+                : universityOf(event.getProductId());
+        if (universityId == null) {
+            return;
+        }
+        trendingEngine.record(universityId, event.getProductId(), weightOf(event.getType()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        rememberUniversity(event.getProductId(), event.getUniversityId());
+        if (!event.isListed()) {
+            trendingEngine.remove(event.getUniversityId(), event.getProductId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingsHidden(ListingsHiddenEvent event) {
+        event.getProductIdsByUniversity().forEach((universityId, productIds) ->
+                productIds.forEach(productId -> trendingEngine.remove(universityId, productId)));
+    }
+
+    /**
+     * Product ids of a university's trending listings, hottest first
+     */
+    public List<Long> getTrendingProductIds(Long universityId, int limit) {
+        List<Long> productIds = new ArrayList<>();
+        for (TrendingEntry entry : trendingEngine.top(universityId, limit)) {
+            productIds.add(entry.getProductId());
+        }
+        return productIds;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "trending";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        return trendingEngine.stats();
+    }
+
+    void checkpoint() {
+        Path file = Paths.get(checkpointFile);
+        try {
+            long started = System.nanoTime();
+            trendingEngine.checkpoint(file);
+            log.debug("Trending checkpoint written to {} in {} ms", file,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            log.error("Failed to write trending checkpoint {}", file, e);
+        }
+    }
+
+    private Long universityOf(Long productId) {
+        Long universityId = universityByProduct.get(productId);
+        if (universityId == null) {
+            universityId = productRepository.findById(productId).map(Product::getUniversityId).orElse(null);
+            if (universityId != null) {
+                rememberUniversity(productId, universityId);
+            }
+        }
+        return universityId;
+    }
+
+    private Long rememberUniversity(Long productId, Long universityId) {
+        if (universityByProduct.size() >= MAX_KNOWN_PRODUCTS) {
+            universityByProduct.clear();
+        }
+        universityByProduct.put(productId, universityId);
+        return universityId;
+    }
+
+    private static double weightOf(ProductEngagementEvent.Type type) {
+        switch (type) {
+            case FAVORITE:
+                return FAVORITE_WEIGHT;
+            case BID:
+                return BID_WEIGHT;
+            default:
+                return VIEW_WEIGHT;
+        }
+    }
+}
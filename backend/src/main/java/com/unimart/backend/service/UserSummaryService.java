@@ -0,0 +1,114 @@
+package com.unimart.backend.service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.unimart.Authentication.repositories.UserProfileRepository;
+import com.unimart.backend.dto.user.UserSummaryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Short user descriptions for seller cards and message headers, read through a projection so
+ * the bio and the profile picture stay in the database. The picture has its own endpoint.
+ */
+@Service
+public class UserSummaryService {
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    // Served under their own type; anything else a client declared at upload is served as bytes
+    private static final Set<String> IMAGE_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/webp");
+    private static final String OPAQUE_TYPE = "application/octet-stream";
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    // Hosts an externally hosted picture may be redirected to; none by default
+    @Value("${marketplace.avatars.external-hosts:}")
+    private List<String> externalHosts;
+
+    @Transactional(readOnly = true)
+    public UserSummaryDTO getSummary(String email) {
+        return getSummaries(List.of(email)).get(email.toLowerCase());
+    }
+
+    /**
+     * Summaries keyed by lower-cased email, one query per 500 users; unknown users are left out
+     */
+    @Transactional(readOnly = true)
+    public Map<String, UserSummaryDTO> getSummaries(Collection<String> emails) {
+        Set<String> distinct = new LinkedHashSet<>();
+        emails.forEach(email -> distinct.add(email.toLowerCase()));
+        List<String> keys = new ArrayList<>(distinct);
+
+        Map<String, UserSummaryDTO> summaries = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + LOOKUP_CHUNK_SIZE));
+            userProfileRepository.findSummaries(chunk)
+                    .forEach(view -> summaries.put(view.getEmail().toLowerCase(), UserSummaryDTO.from(view)));
+        }
+        return summaries;
+    }
+
+    /**
+     * The user's profile picture, reading only that column. A picture hosted elsewhere is only
+     * returned when its https host is one of marketplace.avatars.external-hosts, so the avatar
+     * endpoint cannot redirect to arbitrary sites.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Avatar> getAvatar(String email) {
+        return userProfileRepository.findProfileImageUrl(email.toLowerCase())
+                .map(Avatar::parse)
+                .filter(avatar -> avatar.getExternalUrl() == null || isAllowedExternalUrl(avatar.getExternalUrl()));
+    }
+
+    private boolean isAllowedExternalUrl(String url) {
+        try {
+            URI uri = new URI(url);
+            return "https".equalsIgnoreCase(uri.getScheme()) && uri.getHost() != null
+                    && externalHosts.stream().anyMatch(host -> host.trim().equalsIgnoreCase(uri.getHost()));
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Either the decoded bytes of a data URI or the address of an externally hosted picture
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Avatar {
+        private final String contentType;
+        private final byte[] bytes;
+        private final String externalUrl;
+
+        static Avatar parse(String value) {
+            if (!value.startsWith("data:")) {
+                return new Avatar(null, null, value);
+            }
+            int comma = value.indexOf(',');
+            if (comma < 0 || !value.substring(0, comma).endsWith(";base64")) {
+                throw new IllegalStateException("Unsupported profile picture encoding");
+            }
+            // The type was declared by the uploading client; an image/svg+xml or text/html
+            // picture would run script on our origin
+            String declared = value.substring("data:".length(), comma - ";base64".length()).trim().toLowerCase();
+            String contentType = IMAGE_TYPES.contains(declared) ? declared : OPAQUE_TYPE;
+            return new Avatar(contentType, Base64.getDecoder().decode(value.substring(comma + 1)), null);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.unimart.backend.service.bidding;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of a bid, safe to hand out of the engine
+ */
+@Getter
+@AllArgsConstructor
+public class Bid {
+    public enum Status { PENDING, ACCEPTED, DECLINED, COUNTERED }
+
+    private final long bidId;
+    private final long productId;
+    private final String bidderEmail;
+    private final String sellerEmail;
+    private final BigDecimal amount;
+    private final Status status;
+    private final BigDecimal counterOffer;
+    private final String reason;
+    private final Instant placedAt;
+}
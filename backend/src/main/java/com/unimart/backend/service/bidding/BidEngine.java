@@ -0,0 +1,629 @@
+package com.unimart.backend.service.bidding;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.unimart.backend.exceptions.BidNotFoundException;
+import com.unimart.backend.exceptions.BidRejectedException;
+import com.unimart.backend.exceptions.ProductNotFoundException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live bid state for every listing, held in memory.
+ *
+ * Updates to one listing are serialized by a striped lock chosen from the product id, so hot
+ * listings never block each other (only listings that share a stripe do, and the stripe count
+ * keeps that rare). Inside the lock a change is validated and appended to the {@link BidLog};
+ * the caller then waits for the log's group fsync outside the lock, so fsync latency does not
+ * serialize bidders on the same listing. Only once the fsync succeeded is the change applied to
+ * memory, so nobody ever sees a change the log does not have.
+ *
+ * Because changes become visible after their fsync rather than in log order, a listing admits
+ * either any number of new bids or a single decision at a time: an accept must see every bid
+ * logged before it to decline them, exactly as replay will. Waiting decisions hold back new
+ * bids so a busy listing cannot starve its seller.
+ *
+ * Replay skips records that do not fit the state rebuilt so far instead of failing startup.
+ * {@link #compact(Duration)} drops listings that closed long ago from memory and from the log.
+ */
+@Slf4j
+public class BidEngine {
+
+    /**
+     * Resolves the seller and current availability of a listing the engine has not seen yet
+     */
+    public interface ListingLookup {
+        Optional<ListingInfo> find(long productId);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ListingInfo {
+        private final String sellerEmail;
+        private final boolean listed;
+    }
+
+    private static final String AUTO_DECLINE_REASON = "Another offer was accepted";
+
+    private final BidLog bidLog;
+    private final ListingLookup lookup;
+    private final BidProjection projection;
+    private final ReentrantLock[] stripes;
+    // Signalled whenever a change settles on a listing of the stripe
+    private final Condition[] settled;
+    private final int stripeMask;
+
+    private final Map<Long, ListingState> listings = new ConcurrentHashMap<>();
+    private final Map<Long, Long> listingByBid = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> listingsBySeller = new ConcurrentHashMap<>();
+    private final AtomicLong bidIds = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder contendedLocks = new LongAdder();
+    private final LongAdder skippedRecords = new LongAdder();
+    private final LongAdder compactedListings = new LongAdder();
+
+    public BidEngine(BidLog bidLog, ListingLookup lookup, BidProjection projection, int stripeCount) {
+        this.bidLog = bidLog;
+        this.lookup = lookup;
+        this.projection = projection;
+        // Round up to a power of two so the stripe index is a mask instead of a modulo
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.settled = new Condition[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+            settled[i] = stripes[i].newCondition();
+        }
+        this.stripeMask = size - 1;
+    }
+
+    /**
+     * Rebuilds bid state from the log. Must run before the engine serves requests.
+     */
+    public void recover() throws IOException {
+        List<BidRecord> records = bidLog.replay();
+        long maxSequence = 0;
+        long maxBidId = 0;
+        for (BidRecord record : records) {
+            try {
+                if (!replay(record)) {
+                    skippedRecords.increment();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Skipping unreadable bid record {}", record.getSequence(), e);
+                skippedRecords.increment();
+            }
+            maxSequence = Math.max(maxSequence, record.getSequence());
+            maxBidId = Math.max(maxBidId, record.getBidId());
+        }
+        sequence.set(maxSequence);
+        bidIds.set(maxBidId);
+
+        List<Bid> accepted = new ArrayList<>();
+        for (ListingState listing : listings.values()) {
+            for (MutableBid bid : listing.bids.values()) {
+                if (bid.status == Bid.Status.ACCEPTED) {
+                    accepted.add(bid.snapshot(listing));
+                }
+            }
+            // Product state may have moved on while we were down, re-check on first use
+            listing.listed = null;
+        }
+        projection.recover(accepted);
+        log.info("Recovered {} bids on {} listings from the bid log, skipped {} records",
+                listingByBid.size(), listings.size(), skippedRecords.sum());
+    }
+
+    public Bid placeBid(long productId, String bidderEmail, BigDecimal amount) {
+        long amountCents = toCents(amount);
+
+        BidRecord record;
+        CompletableFuture<Void> durable;
+        ListingState listing = lockListing(productId);
+        try {
+            // A decision may close the listing, let it settle first
+            while (listing.decisionInFlight || listing.decisionsWaiting > 0) {
+                settledOn(productId).awaitUninterruptibly();
+            }
+            if (!Boolean.TRUE.equals(listing.listed)) {
+                throw new BidRejectedException("This listing is no longer accepting offers");
+            }
+            if (listing.sellerEmail.equalsIgnoreCase(bidderEmail)) {
+                throw new BidRejectedException("You cannot bid on your own listing");
+            }
+            record = new BidRecord(BidRecord.Type.PLACE, sequence.incrementAndGet(), bidIds.incrementAndGet(),
+                    productId, bidderEmail, listing.sellerEmail, amountCents, null, System.currentTimeMillis());
+            durable = bidLog.append(record);
+            listing.placesInFlight++;
+        } finally {
+            stripe(productId).unlock();
+        }
+        return settle(listing, record, durable);
+    }
+
+    public Bid acceptBid(long bidId, String sellerEmail) {
+        return respond(bidId, sellerEmail, BidRecord.Type.ACCEPT, null, null);
+    }
+
+    /**
+     * Declines a pending bid, optionally proposing a counter-offer to the bidder
+     */
+    public Bid declineBid(long bidId, String sellerEmail, String reason, BigDecimal counterOffer) {
+        BidRecord.Type type = counterOffer != null ? BidRecord.Type.COUNTER : BidRecord.Type.DECLINE;
+        return respond(bidId, sellerEmail, type, reason, counterOffer);
+    }
+
+    public Bid getBid(long bidId) {
+        long productId = productOf(bidId);
+        ListingState listing = listings.get(productId);
+        if (listing == null) {
+            throw new BidNotFoundException("Bid not found: " + bidId);
+        }
+        ReentrantLock lock = lock(productId);
+        try {
+            MutableBid bid = listing.bids.get(bidId);
+            if (bid == null) {
+                throw new BidNotFoundException("Bid not found: " + bidId);
+            }
+            return bid.snapshot(listing);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Bid> getBidsForListing(long productId) {
+        ListingState listing = listings.get(productId);
+        if (listing == null) {
+            return List.of();
+        }
+        ReentrantLock lock = lock(productId);
+        try {
+            List<Bid> bids = new ArrayList<>(listing.bids.size());
+            for (MutableBid bid : listing.bids.values()) {
+                bids.add(bid.snapshot(listing));
+            }
+            return bids;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Bid> getBidsForSeller(String sellerEmail) {
+        List<Bid> bids = new ArrayList<>();
+        for (Long productId : listingsBySeller.getOrDefault(sellerEmail.toLowerCase(), Set.of())) {
+            bids.addAll(getBidsForListing(productId));
+        }
+        return bids;
+    }
+
+    /**
+     * Keeps the engine's view of a listing in step with product changes made elsewhere
+     */
+    public void listingChanged(long productId, boolean listed) {
+        ListingState listing = listings.get(productId);
+        if (listing == null) {
+            return;
+        }
+        ReentrantLock lock = lock(productId);
+        try {
+            listing.listed = listed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets listings that closed more than the retention ago, then rewrites the log without
+     * their records. A listing is closed once a bid was accepted and projected, or once it was
+     * taken off the market with no bid pending. Listings without bids are forgotten at once,
+     * they have nothing in the log. Returns the number of listings forgotten.
+     */
+    public synchronized int compact(Duration retention) {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+
+        Map<Long, Long> acceptedByListing = new HashMap<>();
+        List<ListingState> candidates = new ArrayList<>();
+        for (ListingState listing : listings.values()) {
+            ReentrantLock lock = lock(listing.productId);
+            try {
+                if (droppable(listing, cutoff)) {
+                    candidates.add(listing);
+                    Long accepted = acceptedBidOf(listing);
+                    if (accepted != null) {
+                        acceptedByListing.put(listing.productId, accepted);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        // An accepted bid must stay in the log until its order exists, recovery re-projects it
+        Set<Long> projected = acceptedByListing.isEmpty()
+                ? Set.of() : projection.projectedBidIds(new ArrayList<>(acceptedByListing.values()));
+
+        int dropped = 0;
+        for (ListingState listing : candidates) {
+            Long accepted = acceptedByListing.get(listing.productId);
+            if (accepted != null && !projected.contains(accepted)) {
+                continue;
+            }
+            ReentrantLock lock = lock(listing.productId);
+            try {
+                if (listings.get(listing.productId) != listing || !droppable(listing, cutoff)) {
+                    continue;
+                }
+                listings.remove(listing.productId);
+                listing.bids.keySet().forEach(listingByBid::remove);
+                Set<Long> bySeller = listingsBySeller.get(listing.sellerEmail.toLowerCase());
+                if (bySeller != null) {
+                    bySeller.remove(listing.productId);
+                }
+                dropped++;
+            } finally {
+                lock.unlock();
+            }
+        }
+        compactedListings.add(dropped);
+
+        // Read before the live listings: a listing created after the snapshot only has records
+        // sequenced after this point
+        long threshold = sequence.get();
+        Set<Long> live = new HashSet<>(listings.keySet());
+        BidRecord checkpoint = new BidRecord(BidRecord.Type.CHECKPOINT, threshold, bidIds.get(), 0, "", null, 0,
+                null, System.currentTimeMillis());
+        try {
+            bidLog.compact(checkpoint, record -> record.getType() != BidRecord.Type.CHECKPOINT
+                    && (record.getSequence() > threshold || live.contains(record.getProductId()))).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to compact the bid log", e.getCause());
+        }
+        log.info("Bid log compacted, forgot {} closed listings", dropped);
+        return dropped;
+    }
+
+    public Map<String, Object> stats() {
+        long batches = bidLog.getBatches();
+        long records = bidLog.getRecords();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("listings", listings.size());
+        stats.put("bids", listingByBid.size());
+        stats.put("lockStripes", stripes.length);
+        stats.put("contendedLockAcquisitions", contendedLocks.sum());
+        stats.put("logRecords", records);
+        stats.put("logFsyncBatches", batches);
+        stats.put("avgRecordsPerFsync", batches == 0 ? 0.0 : (double) records / batches);
+        stats.put("replaySkippedRecords", skippedRecords.sum());
+        stats.put("logCompactions", bidLog.getCompactions());
+        stats.put("compactedListings", compactedListings.sum());
+        return stats;
+    }
+
+    private Bid respond(long bidId, String sellerEmail, BidRecord.Type type, String reason, BigDecimal counterOffer) {
+        long counterCents = counterOffer != null ? toCents(counterOffer) : 0;
+        long productId = productOf(bidId);
+
+        BidRecord record;
+        CompletableFuture<Void> durable;
+        ListingState listing = lockListing(productId);
+        try {
+            // Wait for bids already logged so an accept declines every one of them
+            listing.decisionsWaiting++;
+            try {
+                while (listing.decisionInFlight || listing.placesInFlight > 0) {
+                    settledOn(productId).awaitUninterruptibly();
+                }
+            } finally {
+                listing.decisionsWaiting--;
+                settledOn(productId).signalAll();
+            }
+            MutableBid bid = listing.bids.get(bidId);
+            if (bid == null) {
+                throw new BidNotFoundException("Bid not found: " + bidId);
+            }
+            if (!listing.sellerEmail.equalsIgnoreCase(sellerEmail)) {
+                throw new BidRejectedException("Only the seller can respond to this bid");
+            }
+            if (bid.status != Bid.Status.PENDING) {
+                throw new BidRejectedException("This bid is no longer pending");
+            }
+            if (type == BidRecord.Type.ACCEPT && !Boolean.TRUE.equals(listing.listed)) {
+                throw new BidRejectedException("This listing is no longer accepting offers");
+            }
+            long amountCents = type == BidRecord.Type.ACCEPT ? bid.amountCents : counterCents;
+            record = new BidRecord(type, sequence.incrementAndGet(), bidId, productId, listing.sellerEmail,
+                    null, amountCents, reason, System.currentTimeMillis());
+            durable = bidLog.append(record);
+            listing.decisionInFlight = true;
+        } finally {
+            stripe(productId).unlock();
+        }
+        return settle(listing, record, durable);
+    }
+
+    /**
+     * Waits for the fsync, then applies the change to memory if it is durable
+     */
+    private Bid settle(ListingState listing, BidRecord record, CompletableFuture<Void> durable) {
+        Throwable failure = null;
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            failure = e.getCause();
+        }
+
+        Bid result = null;
+        ReentrantLock lock = lock(listing.productId);
+        try {
+            if (record.getType() == BidRecord.Type.PLACE) {
+                listing.placesInFlight--;
+            } else {
+                listing.decisionInFlight = false;
+            }
+            if (failure == null) {
+                result = apply(listing, record).snapshot(listing);
+            }
+            settledOn(listing.productId).signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (failure != null) {
+            throw new IllegalStateException("Failed to persist bid change", failure);
+        }
+        if (record.getType() == BidRecord.Type.ACCEPT) {
+            projection.bidAccepted(result);
+        }
+        return result;
+    }
+
+    /**
+     * Applies a replayed record if it fits the state rebuilt so far. Runs before any request
+     * is served, so no lock is taken.
+     */
+    private boolean replay(BidRecord record) {
+        if (record.getType() == BidRecord.Type.CHECKPOINT) {
+            return true;
+        }
+        if (record.getType() == BidRecord.Type.PLACE) {
+            if (record.getSellerEmail() == null || listingByBid.containsKey(record.getBidId())) {
+                log.warn("Skipping bid record {}: bid {} has no seller or was already placed",
+                        record.getSequence(), record.getBidId());
+                return false;
+            }
+            ListingState listing = listings.computeIfAbsent(record.getProductId(),
+                    productId -> newListing(productId, record.getSellerEmail()));
+            apply(listing, record);
+            return true;
+        }
+        ListingState listing = listings.get(record.getProductId());
+        MutableBid bid = listing != null ? listing.bids.get(record.getBidId()) : null;
+        if (bid == null || bid.status != Bid.Status.PENDING) {
+            log.warn("Skipping bid record {}: {} of bid {} that is unknown or not pending",
+                    record.getSequence(), record.getType(), record.getBidId());
+            return false;
+        }
+        apply(listing, record);
+        return true;
+    }
+
+    /**
+     * Applies a durable record to memory. Callers hold the listing's stripe lock, except during
+     * replay.
+     */
+    private MutableBid apply(ListingState listing, BidRecord record) {
+        listing.lastActivityMillis = record.getTimestampMillis();
+        switch (record.getType()) {
+            case PLACE: {
+                MutableBid bid = new MutableBid(record.getBidId(), record.getActorEmail(), record.getAmountCents(),
+                        Instant.ofEpochMilli(record.getTimestampMillis()));
+                listing.bids.put(bid.bidId, bid);
+                listingByBid.put(bid.bidId, record.getProductId());
+                return bid;
+            }
+            case ACCEPT: {
+                MutableBid accepted = listing.bids.get(record.getBidId());
+                accepted.status = Bid.Status.ACCEPTED;
+                listing.listed = false;
+                for (MutableBid other : listing.bids.values()) {
+                    if (other.status == Bid.Status.PENDING) {
+                        other.status = Bid.Status.DECLINED;
+                        other.reason = AUTO_DECLINE_REASON;
+                    }
+                }
+                return accepted;
+            }
+            case DECLINE: {
+                MutableBid bid = listing.bids.get(record.getBidId());
+                bid.status = Bid.Status.DECLINED;
+                bid.reason = record.getReason();
+                return bid;
+            }
+            default: {
+                MutableBid bid = listing.bids.get(record.getBidId());
+                bid.status = Bid.Status.COUNTERED;
+                bid.counterOfferCents = record.getAmountCents();
+                bid.reason = record.getReason();
+                return bid;
+            }
+        }
+    }
+
+    /**
+     * Locks the listing's stripe and returns the listing, retrying if compaction forgot the
+     * listing in between
+     */
+    private ListingState lockListing(long productId) {
+        while (true) {
+            ListingState listing = listingFor(productId);
+            ReentrantLock lock = lock(productId);
+            if (listings.get(productId) == listing) {
+                return listing;
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Idle, nothing pending and closed before the cutoff. Caller holds the stripe lock.
+     */
+    private static boolean droppable(ListingState listing, long cutoff) {
+        if (listing.placesInFlight > 0 || listing.decisionInFlight || listing.decisionsWaiting > 0) {
+            return false;
+        }
+        if (listing.bids.isEmpty()) {
+            return true;
+        }
+        if (listing.lastActivityMillis >= cutoff) {
+            return false;
+        }
+        boolean accepted = false;
+        for (MutableBid bid : listing.bids.values()) {
+            if (bid.status == Bid.Status.PENDING) {
+                return false;
+            }
+            accepted |= bid.status == Bid.Status.ACCEPTED;
+        }
+        return accepted || Boolean.FALSE.equals(listing.listed);
+    }
+
+    private static Long acceptedBidOf(ListingState listing) {
+        for (MutableBid bid : listing.bids.values()) {
+            if (bid.status == Bid.Status.ACCEPTED) {
+                return bid.bidId;
+            }
+        }
+        return null;
+    }
+
+    private ListingState listingFor(long productId) {
+        ListingState listing = listings.get(productId);
+        if (listing != null && listing.listed != null) {
+            return listing;
+        }
+
+        // First touch since startup: ask the database, outside any lock
+        ListingInfo info = lookup.find(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Listing not found: " + productId));
+        listing = listings.computeIfAbsent(productId, id -> newListing(id, info.getSellerEmail()));
+        ReentrantLock lock = lock(productId);
+        try {
+            if (listing.listed == null) {
+                listing.listed = info.isListed();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return listing;
+    }
+
+    private ListingState newListing(long productId, String sellerEmail) {
+        listingsBySeller.computeIfAbsent(sellerEmail.toLowerCase(), email -> ConcurrentHashMap.newKeySet())
+                .add(productId);
+        return new ListingState(productId, sellerEmail);
+    }
+
+    private long productOf(long bidId) {
+        Long productId = listingByBid.get(bidId);
+        if (productId == null) {
+            throw new BidNotFoundException("Bid not found: " + bidId);
+        }
+        return productId;
+    }
+
+    private ReentrantLock lock(long productId) {
+        ReentrantLock lock = stripe(productId);
+        if (!lock.tryLock()) {
+            contendedLocks.increment();
+            lock.lock();
+        }
+        return lock;
+    }
+
+    private ReentrantLock stripe(long productId) {
+        return stripes[stripeIndex(productId)];
+    }
+
+    private Condition settledOn(long productId) {
+        return settled[stripeIndex(productId)];
+    }
+
+    private int stripeIndex(long productId) {
+        // Spread the id bits so sequential product ids do not walk the stripes in lockstep
+        int hash = Long.hashCode(productId * 0x9E3779B97F4A7C15L);
+        return (hash ^ (hash >>> 16)) & stripeMask;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new BidRejectedException("Bid amount must be greater than 0");
+        }
+        try {
+            return amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new BidRejectedException("Bid amount can have at most two decimal places");
+        }
+    }
+
+    private static final class ListingState {
+        final long productId;
+        final String sellerEmail;
+        // Keyed by bid id, so bids list in the order they were placed whatever order they settled in
+        final Map<Long, MutableBid> bids = new TreeMap<>();
+        // null until checked against the database after startup
+        volatile Boolean listed;
+        // Changes logged but not yet durable, and decisions queued behind them
+        int placesInFlight;
+        boolean decisionInFlight;
+        int decisionsWaiting;
+        long lastActivityMillis;
+
+        ListingState(long productId, String sellerEmail) {
+            this.productId = productId;
+            this.sellerEmail = sellerEmail;
+        }
+    }
+
+    private static final class MutableBid {
+        final long bidId;
+        final String bidderEmail;
+        final long amountCents;
+        final Instant placedAt;
+        Bid.Status status = Bid.Status.PENDING;
+        long counterOfferCents;
+        String reason;
+
+        MutableBid(long bidId, String bidderEmail, long amountCents, Instant placedAt) {
+            this.bidId = bidId;
+            this.bidderEmail = bidderEmail;
+            this.amountCents = amountCents;
+            this.placedAt = placedAt;
+        }
+
+        Bid snapshot(ListingState listing) {
+            return new Bid(bidId, listing.productId, bidderEmail, listing.sellerEmail, BigDecimal.valueOf(amountCents, 2), status,
+                    status == Bid.Status.COUNTERED ? BigDecimal.valueOf(counterOfferCents, 2) : null,
+                    reason, placedAt);
+        }
+    }
+}
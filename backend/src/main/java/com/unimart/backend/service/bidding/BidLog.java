@@ -0,0 +1,366 @@
+package com.unimart.backend.service.bidding;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only, checksummed log of bid records with group commit.
+ *
+ * Appenders only enqueue; a single writer thread drains whatever has accumulated, writes it
+ * in one go and issues one fsync for the whole batch, then completes every appender's future.
+ * Under load a single fsync therefore covers hundreds of bids instead of one.
+ *
+ * Each frame is [int length][int crc32][payload]. A torn or corrupt tail left by a crash is
+ * detected during {@link #replay()} and truncated.
+ *
+ * {@link #compact(BidRecord, Predicate)} rewrites the log without the records the engine no longer
+ * needs. It runs on the writer thread between two batches, so it sees every record written so
+ * far and no append can interleave with the rewrite.
+ */
+@Slf4j
+public class BidLog implements Closeable {
+    private static final int HEADER_BYTES = 8;
+    private static final PendingAppend STOP = new PendingAppend(null, null);
+
+    private final Path file;
+    private final int maxBatch;
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean closed;
+
+    public BidLog(Path file, int maxBatch) {
+        this.file = file;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Reads every intact record, truncates a damaged tail and opens the log for appending.
+     * Must be called once before the first {@link #append(BidRecord)}.
+     */
+    public synchronized List<BidRecord> replay() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        List<BidRecord> replayed = new ArrayList<>();
+        long validLength = Files.exists(file) ? readIntact(file, replayed::add) : 0;
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+
+        writer = new Thread(this::writeLoop, "bid-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        log.info("Replayed {} bid records from {}", replayed.size(), file);
+        return replayed;
+    }
+
+    /**
+     * Queues a record; the future completes once it has been fsynced
+     */
+    public CompletableFuture<Void> append(BidRecord record) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IOException("Bid log is closed"));
+        }
+        PendingAppend pending = new PendingAppend(record, null);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    /**
+     * Rewrites the log as the given first record followed by the records that match; the
+     * future completes once the compacted file has replaced the old one
+     */
+    public CompletableFuture<Void> compact(BidRecord first, Predicate<BidRecord> keep) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IOException("Bid log is closed"));
+        }
+        PendingAppend pending = new PendingAppend(first, keep);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getRecords() {
+        return records.sum();
+    }
+
+    public long getCompactions() {
+        return compactions.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (writer != null) {
+            // Not interrupt(): an interrupt during a write closes the FileChannel
+            queue.add(STOP);
+            try {
+                writer.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatch);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, maxBatch - batch.size());
+            stopping = batch.remove(STOP);
+            try {
+                // Records are written in batches; a compaction waits for the records queued before it
+                List<PendingAppend> records = new ArrayList<>(batch.size());
+                for (PendingAppend pending : batch) {
+                    if (pending.compaction == null) {
+                        records.add(pending);
+                        continue;
+                    }
+                    if (!records.isEmpty()) {
+                        writeBatch(records);
+                        records.clear();
+                    }
+                    rewrite(pending);
+                }
+                if (!records.isEmpty()) {
+                    writeBatch(records);
+                }
+            } catch (RuntimeException e) {
+                // The writer must outlive any one batch, or every later append would wait forever
+                log.error("Bid log writer failed on a batch of {} entries", batch.size(), e);
+                for (PendingAppend pending : batch) {
+                    pending.future.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+        }
+        // Appends that raced with close() never reach the file
+        PendingAppend late;
+        while ((late = queue.poll()) != null) {
+            if (late != STOP) {
+                late.future.completeExceptionally(new IOException("Bid log is closed"));
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingAppend> batch) {
+        long start = -1;
+        try {
+            start = channel.position();
+            List<byte[]> payloads = new ArrayList<>(batch.size());
+            int total = 0;
+            for (PendingAppend pending : batch) {
+                byte[] payload = pending.record.encode();
+                payloads.add(payload);
+                total += HEADER_BYTES + payload.length;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(total);
+            for (byte[] payload : payloads) {
+                buffer.putInt(payload.length);
+                buffer.putInt(crc(payload));
+                buffer.put(payload);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+
+            batches.increment();
+            records.add(batch.size());
+            for (PendingAppend pending : batch) {
+                pending.future.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            // A record that fails to encode fails its whole batch, nothing of it is written
+            log.error("Failed to write {} bid records to {}", batch.size(), file, e);
+            // Drop a partially written batch so later frames are not stranded behind garbage on replay
+            if (start >= 0) {
+                try {
+                    channel.truncate(start);
+                    channel.position(start);
+                } catch (IOException truncateFailure) {
+                    log.error("Failed to roll back bid log {} to offset {}", file, start, truncateFailure);
+                }
+            }
+            for (PendingAppend pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the kept records to a new file, fsyncs it and moves it over the log
+     */
+    private void rewrite(PendingAppend task) {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        int[] counts = new int[2];
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(out, frame(task.record.encode()));
+            IOException[] writeFailure = new IOException[1];
+            readIntact(file, record -> {
+                if (writeFailure[0] != null || !task.compaction.test(record)) {
+                    counts[1]++;
+                    return;
+                }
+                try {
+                    write(out, frame(record.encode()));
+                    counts[0]++;
+                } catch (IOException e) {
+                    writeFailure[0] = e;
+                }
+            });
+            if (writeFailure[0] != null) {
+                throw writeFailure[0];
+            }
+            out.force(true);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to compact bid log {}, keeping it as is", file, e);
+            deleteQuietly(compacted);
+            task.future.completeExceptionally(e);
+            return;
+        }
+
+        try {
+            channel.close();
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            compactions.increment();
+            log.info("Compacted bid log {}: kept {} records, dropped {}", file, counts[0], counts[1]);
+            task.future.complete(null);
+        } catch (IOException e) {
+            log.error("Failed to replace bid log {} with its compacted copy", file, e);
+            deleteQuietly(compacted);
+            task.future.completeExceptionally(e);
+        } finally {
+            // Whichever file is in place now, later appends go to its end
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+            } catch (IOException e) {
+                log.error("Failed to reopen bid log {}, appends will fail", file, e);
+            }
+        }
+    }
+
+    /**
+     * Hands every intact record to the consumer and returns the length of the intact prefix
+     */
+    private static long readIntact(Path file, Consumer<BidRecord> consumer) throws IOException {
+        long validLength = 0;
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+             DataInputStream in = new DataInputStream(raw)) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                try {
+                    int checksum = in.readInt();
+                    if (length <= 0 || length > (1 << 20)) {
+                        log.warn("Bid log {} has a corrupt frame at offset {}, truncating", file, validLength);
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    if (checksum != crc(payload)) {
+                        log.warn("Bid log {} has a checksum mismatch at offset {}, truncating", file, validLength);
+                        break;
+                    }
+                    consumer.accept(BidRecord.decode(new DataInputStream(new ByteArrayInputStream(payload))));
+                    validLength += HEADER_BYTES + length;
+                } catch (EOFException e) {
+                    log.warn("Bid log {} ends with a torn write at offset {}, truncating", file, validLength);
+                    break;
+                }
+            }
+        }
+        return validLength;
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private static ByteBuffer frame(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt(crc(payload));
+        buffer.put(payload);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path, e);
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class PendingAppend {
+        // For a compaction, the record that heads the compacted log
+        final BidRecord record;
+        // Only set for a compaction request
+        final Predicate<BidRecord> compaction;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingAppend(BidRecord record, Predicate<BidRecord> compaction) {
+            this.record = record;
+            this.compaction = compaction;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.unimart.backend.service.bidding;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies the effects of accepted bids on Products and Orders outside the bidding hot path
+ */
+public interface BidProjection {
+    /**
+     * Called once the ACCEPT is durable in the bid log. Must not block.
+     */
+    void bidAccepted(Bid bid);
+
+    /**
+     * Called once after replay with every accepted bid in the log, so that projections lost
+     * in a crash can be redone. Implementations must skip bids that were already projected.
+     */
+    void recover(List<Bid> acceptedBids);
+
+    /**
+     * Returns the accepted bids among the given ones whose effects are already stored, so
+     * their records can be dropped from the log
+     */
+    Set<Long> projectedBidIds(List<Long> bidIds);
+}
@@ -0,0 +1,144 @@
+package com.unimart.backend.service.bidding;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.backend.events.UserNotificationEvent;
+import com.unimart.backend.models.Order;
+import com.unimart.backend.models.OrderProduct;
+import com.unimart.backend.repositories.OrderProductRepository;
+import com.unimart.backend.repositories.OrderRepository;
+import com.unimart.backend.service.OrderExpiryService;
+import com.unimart.backend.service.ProductService;
+import com.unimart.backend.service.SellerStatsService;
+import com.unimart.backend.sharding.ShardRouter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns accepted bids into a pending Order and takes the listing off the market.
+ *
+ * Runs on a single background thread so bidders never wait on MySQL. Orders carry the bid id,
+ * which makes projecting the same bid twice (e.g. on recovery after a crash) a no-op. An order
+ * is written to the shard group of the seller, where the listing lives.
+ */
+@Component
+@Slf4j
+public class BidProjector implements BidProjection {
+    private static final int RECOVERY_CHUNK = 500;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderExpiryService orderExpiryService;
+
+    @Autowired
+    private SellerStatsService sellerStatsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bid-projector");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void bidAccepted(Bid bid) {
+        executor.execute(() -> project(bid));
+    }
+
+    @Override
+    public void recover(List<Bid> acceptedBids) {
+        executor.execute(() -> {
+            int redone = 0;
+            for (int from = 0; from < acceptedBids.size(); from += RECOVERY_CHUNK) {
+                List<Bid> chunk = acceptedBids.subList(from, Math.min(acceptedBids.size(), from + RECOVERY_CHUNK));
+                List<Long> bidIds = new ArrayList<>(chunk.size());
+                chunk.forEach(bid -> bidIds.add(bid.getBidId()));
+                Set<Long> projected = projectedBidIds(bidIds);
+                for (Bid bid : chunk) {
+                    if (!projected.contains(bid.getBidId())) {
+                        project(bid);
+                        redone++;
+                    }
+                }
+            }
+            log.info("Bid projection recovery checked {} accepted bids, re-projected {}", acceptedBids.size(), redone);
+        });
+    }
+
+    @Override
+    public Set<Long> projectedBidIds(List<Long> bidIds) {
+        Set<Long> projected = new HashSet<>();
+        for (int from = 0; from < bidIds.size(); from += RECOVERY_CHUNK) {
+            List<Long> chunk = bidIds.subList(from, Math.min(bidIds.size(), from + RECOVERY_CHUNK));
+            shardRouter.forEachGroup(group -> projected.addAll(orderRepository.findExistingBidIds(chunk)));
+        }
+        return projected;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void project(Bid bid) {
+        try {
+            shardRouter.runOnShardOf(bid.getSellerEmail(), () -> createOrder(bid));
+        } catch (Exception e) {
+            // The bid stays accepted in the log; the next restart retries the projection
+            log.error("Failed to project accepted bid {} for product {}", bid.getBidId(), bid.getProductId(), e);
+        }
+    }
+
+    private void createOrder(Bid bid) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (orderRepository.existsByBidId(bid.getBidId())) {
+                return;
+            }
+            Order order = new Order(bid.getBidderEmail(), bid.getSellerEmail(), bid.getAmount());
+            order.setBidId(bid.getBidId());
+            order = orderRepository.save(order);
+            orderProductRepository.save(new OrderProduct(order.getOrderId(), bid.getProductId(), 1, bid.getAmount()));
+            productService.markPending(bid.getProductId());
+            sellerStatsService.orderReceived(order.getSellerEmail());
+            orderExpiryService.track(order);
+            log.info("Projected accepted bid {} as order {}", bid.getBidId(), order.getOrderId());
+
+            Map<String, Object> payload = Map.of("orderId", order.getOrderId(), "productId", bid.getProductId(),
+                    "status", order.getOrderStatus());
+            String summary = "Order " + order.getOrderId() + " created for product " + bid.getProductId();
+            eventPublisher.publishEvent(new UserNotificationEvent(bid.getBidderEmail(), UserNotificationEvent.Type.ORDER_UPDATE, summary, payload));
+            eventPublisher.publishEvent(new UserNotificationEvent(bid.getSellerEmail(), UserNotificationEvent.Type.ORDER_UPDATE, summary, payload));
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.unimart.backend.service.bidding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One entry of the bid log. Every state change of a bid is recorded as exactly one record,
+ * and replaying the records in log order rebuilds the in-memory bid state.
+ */
+@Getter
+@AllArgsConstructor
+public class BidRecord {
+    // CHECKPOINT heads a compacted log and carries the sequence and bid id reached so far
+    public enum Type { PLACE, ACCEPT, DECLINE, COUNTER, CHECKPOINT }
+
+    private final Type type;
+    private final long sequence;
+    private final long bidId;
+    private final long productId;
+    // Bidder for PLACE, seller for every other type
+    private final String actorEmail;
+    // Only set on PLACE, lets replay rebuild a listing without the database
+    private final String sellerEmail;
+    // Bid amount for PLACE, counter-offer for COUNTER
+    private final long amountCents;
+    private final String reason;
+    private final long timestampMillis;
+
+    byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(type.ordinal());
+        out.writeLong(sequence);
+        out.writeLong(bidId);
+        out.writeLong(productId);
+        out.writeUTF(actorEmail);
+        out.writeUTF(sellerEmail != null ? sellerEmail : "");
+        out.writeLong(amountCents);
+        out.writeUTF(reason != null ? reason : "");
+        out.writeLong(timestampMillis);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static BidRecord decode(DataInputStream in) throws IOException {
+        Type type = Type.values()[in.readUnsignedByte()];
+        long sequence = in.readLong();
+        long bidId = in.readLong();
+        long productId = in.readLong();
+        String actorEmail = in.readUTF();
+        String sellerEmail = in.readUTF();
+        long amountCents = in.readLong();
+        String reason = in.readUTF();
+        long timestampMillis = in.readLong();
+        return new BidRecord(type, sequence, bidId, productId, actorEmail,
+                sellerEmail.isEmpty() ? null : sellerEmail, amountCents,
+                reason.isEmpty() ? null : reason, timestampMillis);
+    }
+}
@@ -0,0 +1,164 @@
+package com.unimart.backend.service.expiry;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical hashed timing wheel of long ids keyed by a deadline in epoch millis.
+ *
+ * Level 0 has one slot per tick; each higher level has slots as wide as a full turn of the
+ * level below. A timer is stored at the lowest level whose turn still covers its deadline and
+ * cascades down a level each time that slot comes around, so adding a timer and expiring one
+ * are O(1) regardless of how many are scheduled, and advancing costs one slot per tick rather
+ * than a scan of every pending deadline. Deadlines past the top level wait in an overflow
+ * bucket that is re-sorted whenever the top level turns.
+ *
+ * Not thread safe; callers synchronize.
+ */
+public class HierarchicalTimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Bucket[][] levels = new Bucket[LEVELS][SLOTS];
+    private final Bucket overflow = new Bucket();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        for (Bucket[] level : levels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Schedules id at deadlineMillis. Returns false without scheduling when the deadline is
+     * already due, so the caller can handle it right away.
+     */
+    public boolean add(long id, long deadlineMillis) {
+        long deadlineTick = ceilDiv(deadlineMillis, tickMillis);
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        place(id, deadlineMillis, deadlineTick);
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to nowMillis and hands every id whose deadline passed to expired,
+     * in deadline order to the precision of one tick.
+     */
+    public int advance(long nowMillis, LongConsumer expired) {
+        long targetTick = nowMillis / tickMillis;
+        int fired = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Cascade from the top so timers falling through several levels land in this tick
+            if ((currentTick & ((1L << (SLOT_BITS * (LEVELS - 1))) - 1)) == 0) {
+                fired += cascade(overflow, expired);
+            }
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    fired += cascade(levels[level][slot(currentTick, level)], expired);
+                }
+            }
+            Bucket due = levels[0][(int) (currentTick & SLOT_MASK)];
+            for (int i = 0; i < due.size; i++) {
+                expired.accept(due.ids[i]);
+            }
+            fired += due.size;
+            size -= due.size;
+            due.clear();
+        }
+        return fired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Latest deadline that fits without going through the overflow bucket
+     */
+    public long horizonMillis() {
+        return (currentTick + (1L << (SLOT_BITS * LEVELS)) - 1) * tickMillis;
+    }
+
+    private void place(long id, long deadlineMillis, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                levels[level][slot(deadlineTick, level)].add(id, deadlineMillis);
+                return;
+            }
+        }
+        overflow.add(id, deadlineMillis);
+    }
+
+    private int cascade(Bucket bucket, LongConsumer expired) {
+        if (bucket.size == 0) {
+            return 0;
+        }
+        long[] ids = Arrays.copyOf(bucket.ids, bucket.size);
+        long[] deadlines = Arrays.copyOf(bucket.deadlines, bucket.size);
+        bucket.clear();
+        int fired = 0;
+        for (int i = 0; i < ids.length; i++) {
+            long deadlineTick = ceilDiv(deadlines[i], tickMillis);
+            if (deadlineTick <= currentTick) {
+                expired.accept(ids[i]);
+                size--;
+                fired++;
+            } else {
+                place(ids[i], deadlines[i], deadlineTick);
+            }
+        }
+        return fired;
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * Parallel arrays instead of a list of timer objects, two longs per timer
+     */
+    private static final class Bucket {
+        private long[] ids = new long[0];
+        private long[] deadlines = new long[0];
+        private int size;
+
+        void add(long id, long deadlineMillis) {
+            if (size == ids.length) {
+                int capacity = Math.max(4, size * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                deadlines = Arrays.copyOf(deadlines, capacity);
+            }
+            ids[size] = id;
+            deadlines[size] = deadlineMillis;
+            size++;
+        }
+
+        void clear() {
+            size = 0;
+            if (ids.length > 64) {
+                ids = new long[0];
+                deadlines = new long[0];
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.unimart.backend.service.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV: fields with commas, quotes or line breaks are quoted, quotes are doubled
+ */
+public class CsvRowWriter implements ExportRowWriter {
+    private final List<ExportColumn> columns;
+    private final Writer out;
+
+    public CsvRowWriter(List<ExportColumn> columns, Writer out) {
+        this.columns = columns;
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeText(columns.get(i).getName());
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void writeRow(ResultSet row) throws SQLException, IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            int index = i + 1;
+            switch (columns.get(i).getType()) {
+                case NUMBER -> {
+                    BigDecimal value = row.getBigDecimal(index);
+                    if (value != null) {
+                        out.write(value.toPlainString());
+                    }
+                }
+                case DATETIME -> {
+                    LocalDateTime value = row.getObject(index, LocalDateTime.class);
+                    if (value != null) {
+                        out.write(value.toString());
+                    }
+                }
+                case BOOLEAN -> {
+                    boolean value = row.getBoolean(index);
+                    if (!row.wasNull()) {
+                        out.write(value ? "true" : "false");
+                    }
+                }
+                default -> writeText(row.getString(index));
+            }
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,16 @@
+package com.unimart.backend.service.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One column of an export, read from the result set by position
+ */
+@Getter
+@AllArgsConstructor
+public class ExportColumn {
+    public enum Type { TEXT, NUMBER, DATETIME, BOOLEAN }
+
+    private final String name;
+    private final Type type;
+}
@@ -0,0 +1,33 @@
+package com.unimart.backend.service.export;
+
+import java.io.Writer;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimart.backend.exceptions.InvalidRequestException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    public static ExportFormat parse(String format) {
+        for (ExportFormat candidate : values()) {
+            if (candidate.name().equalsIgnoreCase(format)) {
+                return candidate;
+            }
+        }
+        throw new InvalidRequestException("Unsupported export format: " + format + ", use csv or ndjson");
+    }
+
+    public ExportRowWriter newWriter(List<ExportColumn> columns, Writer out, ObjectMapper objectMapper) {
+        return this == CSV ? new CsvRowWriter(columns, out) : new NdjsonRowWriter(columns, out, objectMapper);
+    }
+}
@@ -0,0 +1,16 @@
+package com.unimart.backend.service.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes the current row of a result set straight to the output, holding nothing between rows
+ */
+public interface ExportRowWriter {
+    void writeHeader() throws IOException;
+
+    void writeRow(ResultSet row) throws SQLException, IOException;
+
+    void flush() throws IOException;
+}
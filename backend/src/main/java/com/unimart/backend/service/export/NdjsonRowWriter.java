@@ -0,0 +1,84 @@
+package com.unimart.backend.service.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One JSON object per line, written field by field through a single generator
+ */
+public class NdjsonRowWriter implements ExportRowWriter {
+    private final List<ExportColumn> columns;
+    private final Writer out;
+    private final JsonGenerator generator;
+
+    public NdjsonRowWriter(List<ExportColumn> columns, Writer out, ObjectMapper objectMapper) {
+        this.columns = columns;
+        this.out = out;
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    // Flushing the generator only empties its own buffer, the caller decides when bytes hit the wire
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create JSON generator", e);
+        }
+        // Rows are separated by newlines, not by the default single space
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void writeHeader() {
+        // Every line carries its own field names
+    }
+
+    @Override
+    public void writeRow(ResultSet row) throws SQLException, IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.size(); i++) {
+            ExportColumn column = columns.get(i);
+            int index = i + 1;
+            generator.writeFieldName(column.getName());
+            switch (column.getType()) {
+                case NUMBER -> {
+                    BigDecimal value = row.getBigDecimal(index);
+                    if (value != null) {
+                        generator.writeNumber(value);
+                    } else {
+                        generator.writeNull();
+                    }
+                }
+                case DATETIME -> {
+                    LocalDateTime value = row.getObject(index, LocalDateTime.class);
+                    generator.writeString(value != null ? value.toString() : null);
+                }
+                case BOOLEAN -> {
+                    boolean value = row.getBoolean(index);
+                    if (row.wasNull()) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeBoolean(value);
+                    }
+                }
+                default -> generator.writeString(row.getString(index));
+            }
+        }
+        generator.writeEndObject();
+        // The generator buffers on its own, so its output must reach the writer before the newline
+        generator.flush();
+        out.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+        out.flush();
+    }
+}
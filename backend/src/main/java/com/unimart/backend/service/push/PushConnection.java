@@ -0,0 +1,96 @@
+package com.unimart.backend.service.push;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open client connection with a bounded send buffer.
+ *
+ * Publishers only enqueue. Writing happens on a sender task that is started when the buffer
+ * goes from empty to non-empty and exits once it is drained, so an idle connection holds no
+ * thread at all. A client that stops reading fills its buffer and is dropped instead of
+ * blocking publishers or growing memory.
+ */
+public abstract class PushConnection {
+    private final String userEmail;
+    private final ArrayBlockingQueue<PushFrame> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Executor sender;
+    private volatile long lastSendNanos = System.nanoTime();
+    private volatile boolean closed;
+    private volatile Runnable closeListener;
+
+    protected PushConnection(String userEmail, int bufferSize, Executor sender) {
+        this.userEmail = userEmail;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+    }
+
+    /**
+     * Queues a frame; false means the buffer is full or the connection is gone
+     */
+    public boolean offer(PushFrame frame) {
+        if (closed || !buffer.offer(frame)) {
+            return false;
+        }
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+        return true;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public long getLastSendNanos() {
+        return lastSendNanos;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the transport and notifies the hub. Safe to call more than once.
+     */
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            buffer.clear();
+            closeTransport();
+            Runnable listener = closeListener;
+            if (listener != null) {
+                listener.run();
+            }
+        }
+    }
+
+    void setCloseListener(Runnable closeListener) {
+        this.closeListener = closeListener;
+    }
+
+    protected abstract void write(PushFrame frame) throws IOException;
+
+    protected abstract void closeTransport();
+
+    private void drain() {
+        try {
+            PushFrame frame;
+            while (!closed && (frame = buffer.poll()) != null) {
+                write(frame);
+                lastSendNanos = System.nanoTime();
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+        } finally {
+            draining.set(false);
+            // A frame offered between the last poll and clearing the flag would otherwise sit unsent
+            if (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.unimart.backend.service.push;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An event serialized once and shared by every connection it is fanned out to
+ */
+@Getter
+@AllArgsConstructor
+public class PushFrame {
+    public static final PushFrame HEARTBEAT = new PushFrame("heartbeat", null);
+
+    private final String name;
+    private final String json;
+
+    public boolean isHeartbeat() {
+        return this == HEARTBEAT;
+    }
+}
@@ -0,0 +1,172 @@
+package com.unimart.backend.service.push;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimart.backend.events.UserNotificationEvent;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+import com.unimart.backend.scheduling.BackgroundScheduler;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans notifications out to every open connection of the recipient.
+ *
+ * Connections are registered per user, so delivering to one user touches only that user's
+ * tabs. Payloads are serialized once per event, not once per connection. Writes run on virtual
+ * threads that exist only while a connection has something to send, and a consumer whose
+ * buffer fills up is disconnected (the browser's EventSource reconnects on its own).
+ *
+ * Heartbeats are coalesced: one sweep per interval queues a heartbeat only on connections that
+ * sent nothing during that interval, instead of every connection running its own timer.
+ */
+@Component
+@Slf4j
+public class PushHub implements MetricsSource {
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long heartbeatIntervalMillis;
+
+    private final Map<String, Set<PushConnection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final BackgroundScheduler heartbeats = new BackgroundScheduler("push-heartbeat");
+
+    private final Counters counters = new Counters();
+    private final LongAdder openConnections = counters.add("openConnections");
+    private final LongAdder framesQueued = counters.add("framesQueued");
+    private final LongAdder heartbeatsQueued = counters.add("heartbeatsQueued");
+    private final LongAdder slowConsumersDropped = counters.add("slowConsumersDropped");
+
+    public PushHub(ObjectMapper objectMapper,
+                   @Value("${marketplace.push.buffer-size:32}") int bufferSize,
+                   @Value("${marketplace.push.heartbeat-seconds:25}") long heartbeatSeconds) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.heartbeatIntervalMillis = TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+    }
+
+    @PostConstruct
+    public void start() {
+        heartbeats.scheduleAtFixedRate("sweep heartbeats", this::sweepHeartbeats,
+                heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.stop();
+        connectionsByUser.values().forEach(connections -> connections.forEach(PushConnection::close));
+        sender.shutdown();
+    }
+
+    public SseConnection openSse(String userEmail, long timeoutMillis) {
+        SseConnection connection = new SseConnection(userEmail, bufferSize, sender, timeoutMillis);
+        register(connection);
+        return connection;
+    }
+
+    public WebSocketConnection openWebSocket(String userEmail, WebSocketSession session) {
+        WebSocketConnection connection = new WebSocketConnection(userEmail, bufferSize, sender, session);
+        register(connection);
+        return connection;
+    }
+
+    public void register(PushConnection connection) {
+        String user = connection.getUserEmail().toLowerCase();
+        connection.setCloseListener(() -> unregister(user, connection));
+        connectionsByUser.computeIfAbsent(user, key -> ConcurrentHashMap.newKeySet()).add(connection);
+        openConnections.increment();
+    }
+
+    /**
+     * Queues an event on every open connection of the user
+     */
+    public void publish(String userEmail, String eventName, Object payload) {
+        Set<PushConnection> connections = connectionsByUser.get(userEmail.toLowerCase());
+        if (connections == null || connections.isEmpty()) {
+            return;
+        }
+
+        PushFrame frame;
+        try {
+            frame = new PushFrame(eventName, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} push event for {}", eventName, userEmail, e);
+            return;
+        }
+        for (PushConnection connection : connections) {
+            if (connection.offer(frame)) {
+                framesQueued.increment();
+            } else {
+                drop(connection);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserNotification(UserNotificationEvent event) {
+        publish(event.getRecipientEmail(), event.getType().name().toLowerCase(), event.getPayload());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "push";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("connectedUsers", connectionsByUser.size());
+        stats.put("bufferSize", bufferSize);
+        return stats;
+    }
+
+    void sweepHeartbeats() {
+        long idleSince = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMillis);
+        for (Set<PushConnection> connections : connectionsByUser.values()) {
+            for (PushConnection connection : connections) {
+                // Anything sent recently already proved the connection alive
+                if (connection.getLastSendNanos() - idleSince > 0) {
+                    continue;
+                }
+                if (connection.offer(PushFrame.HEARTBEAT)) {
+                    heartbeatsQueued.increment();
+                } else {
+                    drop(connection);
+                }
+            }
+        }
+    }
+
+    private void drop(PushConnection connection) {
+        if (!connection.isClosed()) {
+            slowConsumersDropped.increment();
+            log.debug("Dropping slow push consumer for {}", connection.getUserEmail());
+            connection.close();
+        }
+    }
+
+    private void unregister(String user, PushConnection connection) {
+        connectionsByUser.computeIfPresent(user, (key, connections) -> {
+            if (connections.remove(connection)) {
+                openConnections.decrement();
+            }
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.unimart.backend.service.push;
+
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.unimart.Authentication.services.SessionTokenService;
+
+/**
+ * Registers each WebSocket session with the push hub. The channel is push only, anything the
+ * client sends is ignored.
+ */
+public class PushWebSocketHandler extends TextWebSocketHandler {
+    private static final String CONNECTION_ATTRIBUTE = "pushConnection";
+
+    private final PushHub pushHub;
+    private final SessionTokenService sessionTokenService;
+
+    public PushWebSocketHandler(PushHub pushHub, SessionTokenService sessionTokenService) {
+        this.pushHub = pushHub;
+        this.sessionTokenService = sessionTokenService;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        if (session.getUri() == null) {
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+        // Browsers cannot set headers on the handshake, the session token comes as a parameter
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+        String email = params.getFirst("email");
+        if (!sessionTokenService.isIssuedTo(params.getFirst("token"), email)) {
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+        session.getAttributes().put(CONNECTION_ATTRIBUTE, pushHub.openWebSocket(email, session));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object connection = session.getAttributes().get(CONNECTION_ATTRIBUTE);
+        if (connection instanceof PushConnection pushConnection) {
+            pushConnection.close();
+        }
+    }
+}
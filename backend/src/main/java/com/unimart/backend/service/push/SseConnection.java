@@ -0,0 +1,45 @@
+package com.unimart.backend.service.push;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent events transport. The servlet request is in async mode, so an idle stream holds
+ * only its socket and a few objects, no request thread.
+ */
+public class SseConnection extends PushConnection {
+    private final SseEmitter emitter;
+
+    public SseConnection(String userEmail, int bufferSize, Executor sender, long timeoutMillis) {
+        super(userEmail, bufferSize, sender);
+        this.emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    @Override
+    protected void write(PushFrame frame) throws IOException {
+        if (frame.isHeartbeat()) {
+            // A comment line keeps proxies from timing out the stream and is ignored by EventSource
+            emitter.send(SseEmitter.event().comment(""));
+        } else {
+            emitter.send(SseEmitter.event().name(frame.getName()).data(frame.getJson()));
+        }
+    }
+
+    @Override
+    protected void closeTransport() {
+        try {
+            emitter.complete();
+        } catch (RuntimeException e) {
+            // Already completed by the container
+        }
+    }
+}
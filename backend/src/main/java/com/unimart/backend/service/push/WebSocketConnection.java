@@ -0,0 +1,46 @@
+package com.unimart.backend.service.push;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * WebSocket transport. Frames are sent as {"event": name, "data": payload} text messages and
+ * heartbeats as protocol-level pings, which browsers answer without involving page code.
+ */
+public class WebSocketConnection extends PushConnection {
+    private static final PingMessage PING = new PingMessage(ByteBuffer.allocate(0));
+
+    private final WebSocketSession session;
+
+    public WebSocketConnection(String userEmail, int bufferSize, Executor sender, WebSocketSession session) {
+        super(userEmail, bufferSize, sender);
+        this.session = session;
+    }
+
+    @Override
+    protected void write(PushFrame frame) throws IOException {
+        // Only the connection's own drain task writes, so sends never interleave
+        if (frame.isHeartbeat()) {
+            session.sendMessage(PING);
+        } else {
+            session.sendMessage(new TextMessage("{\"event\":\"" + frame.getName() + "\",\"data\":" + frame.getJson() + "}"));
+        }
+    }
+
+    @Override
+    protected void closeTransport() {
+        try {
+            if (session.isOpen()) {
+                session.close(CloseStatus.GOING_AWAY);
+            }
+        } catch (IOException e) {
+            // The peer is gone already
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.unimart.backend.service.trending;
+
+/**
+ * Count-min sketch over product ids with conservative update.
+ *
+ * Estimates never undercount; with width ceil(e / epsilon) and depth ceil(ln(1 / delta)) they
+ * overcount by more than epsilon times the total weight with probability at most delta.
+ * Counters are doubles so callers can add time-decayed weights, and {@link #scale(double)}
+ * lets them renormalize everything at once.
+ */
+public class DecayingCountMinSketch {
+    private final int width;
+    private final int depth;
+    // depth rows of width counters, row-major
+    private final double[] counters;
+
+    public DecayingCountMinSketch(double epsilon, double delta) {
+        this(widthFor(epsilon), depthFor(delta));
+    }
+
+    public DecayingCountMinSketch(int width, int depth) {
+        this(width, depth, new double[width * depth]);
+    }
+
+    DecayingCountMinSketch(int width, int depth, double[] counters) {
+        if (width < 1 || depth < 1 || counters.length != width * depth) {
+            throw new IllegalArgumentException("Invalid sketch dimensions " + width + "x" + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = counters;
+    }
+
+    public static int widthFor(double epsilon) {
+        return (int) Math.ceil(Math.E / epsilon);
+    }
+
+    public static int depthFor(double delta) {
+        return (int) Math.ceil(Math.log(1 / delta));
+    }
+
+    /**
+     * Adds weight to an item and returns its new estimate. Only the counters at the current
+     * minimum are raised, which keeps collisions from inflating other items more than needed.
+     */
+    public double add(long item, double weight) {
+        long hash = mix(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            double value = counters[row * width + index(h1, h2, row)];
+            if (value < min) {
+                min = value;
+            }
+        }
+        double estimate = min + weight;
+        for (int row = 0; row < depth; row++) {
+            int slot = row * width + index(h1, h2, row);
+            if (counters[slot] < estimate) {
+                counters[slot] = estimate;
+            }
+        }
+        return estimate;
+    }
+
+    public double estimate(long item) {
+        long hash = mix(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row * width + index(h1, h2, row)]);
+        }
+        return min;
+    }
+
+    public void scale(double factor) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] *= factor;
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    double[] counters() {
+        return counters;
+    }
+
+    public long memoryBytes() {
+        return (long) counters.length * Double.BYTES;
+    }
+
+    private int index(int h1, int h2, int row) {
+        // Kirsch-Mitzenmacher: depth hash functions out of two
+        return ((h1 + row * h2) & Integer.MAX_VALUE) % width;
+    }
+
+    private static long mix(long value) {
+        // splitmix64 finalizer, sequential ids spread over the whole table
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
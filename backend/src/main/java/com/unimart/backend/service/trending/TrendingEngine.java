@@ -0,0 +1,145 @@
+package com.unimart.backend.service.trending;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streaming "trending" ranking per university.
+ *
+ * Engagement events are folded into a per-university {@link UniversityTrending} in constant
+ * time and memory, no matter how many products or events there are. Sketch accuracy
+ * (epsilon, delta), the number of tracked products (K) and the half-life of an event are
+ * configurable; memory is width * depth * 8 bytes per university plus the heap.
+ */
+@Slf4j
+public class TrendingEngine {
+    private static final int CHECKPOINT_MAGIC = 0x54524E44;
+    private static final int CHECKPOINT_VERSION = 1;
+
+    private final int width;
+    private final int depth;
+    private final int topK;
+    private final double lambdaPerMilli;
+    private final LongSupplier clock;
+    private final Map<Long, UniversityTrending> universities = new ConcurrentHashMap<>();
+    private final LongAdder events = new LongAdder();
+
+    public TrendingEngine(double epsilon, double delta, int topK, long halfLifeMillis, LongSupplier clock) {
+        this.width = DecayingCountMinSketch.widthFor(epsilon);
+        this.depth = DecayingCountMinSketch.depthFor(delta);
+        this.topK = topK;
+        this.lambdaPerMilli = Math.log(2) / halfLifeMillis;
+        this.clock = clock;
+    }
+
+    public void record(long universityId, long productId, double weight) {
+        universityFor(universityId).record(productId, weight, clock.getAsLong());
+        events.increment();
+    }
+
+    public List<TrendingEntry> top(long universityId, int limit) {
+        UniversityTrending trending = universities.get(universityId);
+        return trending == null ? List.of() : trending.top(limit, clock.getAsLong());
+    }
+
+    public void remove(long universityId, long productId) {
+        UniversityTrending trending = universities.get(universityId);
+        if (trending != null) {
+            trending.remove(productId);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long memory = 0;
+        for (UniversityTrending trending : universities.values()) {
+            memory += trending.memoryBytes();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("universities", universities.size());
+        stats.put("events", events.sum());
+        stats.put("sketchWidth", width);
+        stats.put("sketchDepth", depth);
+        stats.put("topK", topK);
+        stats.put("halfLifeMinutes", TimeUnit.MILLISECONDS.toMinutes(Math.round(Math.log(2) / lambdaPerMilli)));
+        stats.put("memoryBytes", memory);
+        return stats;
+    }
+
+    /**
+     * Writes every university's state to a temporary file and moves it over the previous
+     * checkpoint, so a crash mid-write leaves the old checkpoint intact
+     */
+    public void checkpoint(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeInt(CHECKPOINT_VERSION);
+            out.writeInt(width);
+            out.writeInt(depth);
+            out.writeInt(topK);
+            out.writeInt(universities.size());
+            for (Map.Entry<Long, UniversityTrending> entry : universities.entrySet()) {
+                out.writeLong(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a checkpoint written with the same sketch dimensions; anything else is ignored and
+     * trending starts empty
+     */
+    public void restore(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != CHECKPOINT_VERSION) {
+                log.warn("Ignoring trending checkpoint {} with an unknown format", file);
+                return;
+            }
+            if (in.readInt() != width || in.readInt() != depth || in.readInt() != topK) {
+                log.warn("Ignoring trending checkpoint {} written with different sketch settings", file);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long universityId = in.readLong();
+                universityFor(universityId).readFrom(in);
+            }
+            log.info("Restored trending state of {} universities from {}", count, file);
+        } catch (IOException e) {
+            // A truncated file must not leave half of the universities restored
+            universities.clear();
+            throw e;
+        }
+    }
+
+    private UniversityTrending universityFor(long universityId) {
+        UniversityTrending trending = universities.get(universityId);
+        if (trending == null) {
+            trending = universities.computeIfAbsent(universityId, id ->
+                    new UniversityTrending(new DecayingCountMinSketch(width, depth), topK, lambdaPerMilli, clock.getAsLong()));
+        }
+        return trending;
+    }
+}
@@ -0,0 +1,14 @@
+package com.unimart.backend.service.trending;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A trending product and its decayed engagement score as of the read
+ */
+@Getter
+@AllArgsConstructor
+public class TrendingEntry {
+    private final long productId;
+    private final double score;
+}
@@ -0,0 +1,179 @@
+package com.unimart.backend.service.trending;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Trending state of one university: a decaying count-min sketch and a min-heap of the K
+ * products with the highest estimates.
+ *
+ * Decay uses forward decay: an event at time t is added with weight e^(lambda * (t - landmark)),
+ * so newer events count exponentially more and nothing has to be aged on a timer. Scores of
+ * products that stop receiving events fall behind automatically. When the multiplier grows too
+ * large, every counter and score is rescaled and the landmark moves to now.
+ */
+class UniversityTrending {
+    // e^200 is far from double overflow yet leaves plenty of headroom for weights
+    private static final double RESCALE_EXPONENT = 200;
+
+    private final DecayingCountMinSketch sketch;
+    private final double lambdaPerMilli;
+    private final long[] heapIds;
+    private final double[] heapScores;
+    private int size;
+    private long landmarkMillis;
+
+    UniversityTrending(DecayingCountMinSketch sketch, int topK, double lambdaPerMilli, long landmarkMillis) {
+        this.sketch = sketch;
+        this.lambdaPerMilli = lambdaPerMilli;
+        this.heapIds = new long[topK];
+        this.heapScores = new double[topK];
+        this.landmarkMillis = landmarkMillis;
+    }
+
+    synchronized void record(long productId, double weight, long nowMillis) {
+        double exponent = lambdaPerMilli * (nowMillis - landmarkMillis);
+        if (exponent > RESCALE_EXPONENT) {
+            rescale(nowMillis);
+            exponent = 0;
+        }
+        offer(productId, sketch.add(productId, weight * Math.exp(exponent)));
+    }
+
+    /**
+     * Highest scoring products first, scores decayed to nowMillis
+     */
+    synchronized List<TrendingEntry> top(int limit, long nowMillis) {
+        double decay = Math.exp(-lambdaPerMilli * (nowMillis - landmarkMillis));
+        List<TrendingEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new TrendingEntry(heapIds[i], heapScores[i] * decay));
+        }
+        entries.sort(Comparator.comparingDouble(TrendingEntry::getScore).reversed());
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    /**
+     * Stops ranking a product, e.g. once it is sold; its sketch counts fade out on their own
+     */
+    synchronized void remove(long productId) {
+        for (int i = 0; i < size; i++) {
+            if (heapIds[i] == productId) {
+                size--;
+                if (i != size) {
+                    heapIds[i] = heapIds[size];
+                    heapScores[i] = heapScores[size];
+                    siftDown(i);
+                    siftUp(i);
+                }
+                return;
+            }
+        }
+    }
+
+    long memoryBytes() {
+        return sketch.memoryBytes() + heapIds.length * (long) (Long.BYTES + Double.BYTES);
+    }
+
+    synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(landmarkMillis);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeLong(heapIds[i]);
+            out.writeDouble(heapScores[i]);
+        }
+        for (double counter : sketch.counters()) {
+            out.writeDouble(counter);
+        }
+    }
+
+    synchronized void readFrom(DataInputStream in) throws IOException {
+        landmarkMillis = in.readLong();
+        int stored = in.readInt();
+        size = 0;
+        for (int i = 0; i < stored; i++) {
+            long productId = in.readLong();
+            double score = in.readDouble();
+            offer(productId, score);
+        }
+        double[] counters = sketch.counters();
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = in.readDouble();
+        }
+    }
+
+    private void offer(long productId, double estimate) {
+        if (size == heapIds.length && estimate <= heapScores[0]) {
+            // Cannot displace the weakest entry; estimates only grow, so it is not in the heap either
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (heapIds[i] == productId) {
+                heapScores[i] = estimate;
+                siftDown(i);
+                return;
+            }
+        }
+        if (size < heapIds.length) {
+            heapIds[size] = productId;
+            heapScores[size] = estimate;
+            siftUp(size++);
+        } else {
+            heapIds[0] = productId;
+            heapScores[0] = estimate;
+            siftDown(0);
+        }
+    }
+
+    private void rescale(long nowMillis) {
+        double factor = Math.exp(-lambdaPerMilli * (nowMillis - landmarkMillis));
+        sketch.scale(factor);
+        for (int i = 0; i < size; i++) {
+            heapScores[i] *= factor;
+        }
+        landmarkMillis = nowMillis;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heapScores[parent] <= heapScores[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && heapScores[left] < heapScores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && heapScores[right] < heapScores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(smallest, index);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = heapIds[a];
+        heapIds[a] = heapIds[b];
+        heapIds[b] = id;
+        double score = heapScores[a];
+        heapScores[a] = heapScores[b];
+        heapScores[b] = score;
+    }
+}
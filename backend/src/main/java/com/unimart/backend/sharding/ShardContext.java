@@ -0,0 +1,61 @@
+package com.unimart.backend.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard group the current thread's database work goes to, read by ShardRoutingDataSource
+ * whenever a connection is taken.
+ *
+ * A transaction keeps the connection it started with, so the group has to be chosen before
+ * the transaction begins; changing it inside one has no effect until the next transaction.
+ */
+public final class ShardContext {
+    public static final String GLOBAL = "global";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * The current group, or null for the global datasource
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callIn(String group, Supplier<T> work) {
+        String previous = enter(group);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runIn(String group, Runnable work) {
+        String previous = enter(group);
+        try {
+            work.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Switches to group and returns the group to hand back to {@link #restore(String)}
+     */
+    public static String enter(String group) {
+        String previous = CURRENT.get();
+        CURRENT.set(group);
+        return previous;
+    }
+
+    public static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
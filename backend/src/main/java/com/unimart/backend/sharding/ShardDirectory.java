@@ -0,0 +1,90 @@
+package com.unimart.backend.sharding;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps a university to its shard group.
+ *
+ * Universities can be pinned to a group explicitly; the others are spread over the groups by
+ * university_id. Users are routed by the domain of their email, looked up in the Universities
+ * table of the global datasource and kept in memory, so routing a request needs no query.
+ */
+@Slf4j
+public class ShardDirectory {
+    private static final long RELOAD_AFTER_MISS_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final List<String> groups;
+    private final Map<Long, String> assignments;
+    private final JdbcTemplate globalJdbcTemplate;
+
+    private volatile Map<String, Long> universityByDomain = Map.of();
+    private volatile long loadedAtMillis;
+
+    public ShardDirectory(List<String> groups, Map<Long, String> assignments, DataSource global) {
+        if (groups.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard group is required");
+        }
+        assignments.forEach((universityId, group) -> {
+            if (!groups.contains(group)) {
+                throw new IllegalArgumentException("University " + universityId + " is assigned to unknown shard group " + group);
+            }
+        });
+        this.groups = List.copyOf(groups);
+        this.assignments = Map.copyOf(assignments);
+        this.globalJdbcTemplate = new JdbcTemplate(global);
+    }
+
+    public List<String> groups() {
+        return groups;
+    }
+
+    public String groupOf(long universityId) {
+        String assigned = assignments.get(universityId);
+        return assigned != null ? assigned : groups.get((int) Math.floorMod(universityId, (long) groups.size()));
+    }
+
+    /**
+     * Group of the university the email belongs to, or null when the domain is not a
+     * supported university
+     */
+    public String groupOfEmail(String email) {
+        Long universityId = universityOfEmail(email);
+        return universityId != null ? groupOf(universityId) : null;
+    }
+
+    public Long universityOfEmail(String email) {
+        int at = email != null ? email.lastIndexOf('@') : -1;
+        if (at < 0) {
+            return null;
+        }
+        String domain = email.substring(at + 1).toLowerCase();
+        Long universityId = universityByDomain.get(domain);
+        // A university added since the last load; reloading is rate limited so unknown domains cannot force a query each
+        if (universityId == null && System.currentTimeMillis() - loadedAtMillis > RELOAD_AFTER_MISS_MILLIS) {
+            reload();
+            universityId = universityByDomain.get(domain);
+        }
+        return universityId;
+    }
+
+    public synchronized void reload() {
+        Map<String, Long> domains = new HashMap<>();
+        // A RowCallbackHandler, called once per row; a ResultSet lambda would be a ResultSetExtractor
+        // and read the row before next() was called
+        globalJdbcTemplate.query("SELECT university_id, domain FROM Universities",
+                (RowCallbackHandler) row -> domains.put(row.getString(2).toLowerCase(), row.getLong(1)));
+        universityByDomain = domains;
+        loadedAtMillis = System.currentTimeMillis();
+        log.debug("Loaded {} university domains for shard routing", domains.size());
+    }
+}
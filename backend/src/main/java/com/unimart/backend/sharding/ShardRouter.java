@@ -0,0 +1,102 @@
+package com.unimart.backend.sharding;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.unimart.backend.metrics.MetricsSource;
+
+/**
+ * Runs work against the shard group of a user, against the global datasource, or once in every
+ * shard group for background jobs, which have no request to route by.
+ * Without sharding configured every call simply runs the work.
+ */
+@Component
+public class ShardRouter implements MetricsSource {
+    @Autowired(required = false)
+    private ShardDirectory shardDirectory;
+
+    @Autowired(required = false)
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    public boolean isEnabled() {
+        return shardDirectory != null;
+    }
+
+    /**
+     * Group of the user's university, GLOBAL when the email does not belong to one
+     */
+    public String groupOfEmail(String email) {
+        if (shardDirectory == null) {
+            return null;
+        }
+        String group = shardDirectory.groupOfEmail(email);
+        return group != null ? group : ShardContext.GLOBAL;
+    }
+
+    public <T> T onShardOf(String email, Supplier<T> work) {
+        return shardDirectory == null ? work.get() : ShardContext.callIn(groupOfEmail(email), work);
+    }
+
+    public void runOnShardOf(String email, Runnable work) {
+        if (shardDirectory == null) {
+            work.run();
+        } else {
+            ShardContext.runIn(groupOfEmail(email), work);
+        }
+    }
+
+    /**
+     * Runs the work inside each shard group in turn, passing the group's name, or once with null
+     * without sharding. A group that fails does not keep the others from running; the first
+     * failure is rethrown once all groups had their turn.
+     */
+    public void forEachGroup(Consumer<String> work) {
+        if (shardDirectory == null) {
+            work.accept(null);
+            return;
+        }
+        RuntimeException failure = null;
+        for (String group : shardDirectory.groups()) {
+            try {
+                ShardContext.runIn(group, () -> work.accept(group));
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * For data that is not partitioned by university: the university directory and admin reports
+     */
+    public <T> T onGlobal(Supplier<T> work) {
+        return shardDirectory == null ? work.get() : ShardContext.callIn(ShardContext.GLOBAL, work);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "shards";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        if (shardDirectory != null) {
+            stats.put("groups", shardDirectory.groups());
+            stats.put("connectionsByGroup", shardRoutingDataSource.connectionCounts());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,56 @@
+package com.unimart.backend.sharding;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource that hands out connections of the shard group named by ShardContext, or of the
+ * global datasource when no group is set. An unknown group fails instead of silently
+ * landing on the global datasource.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private final Map<String, LongAdder> connectionsByGroup = new ConcurrentHashMap<>();
+
+    public ShardRoutingDataSource(DataSource global, Map<String, DataSource> groups) {
+        Map<Object, Object> targets = new LinkedHashMap<>(groups);
+        targets.put(ShardContext.GLOBAL, global);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(global);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String group = ShardContext.current();
+        connectionsByGroup.computeIfAbsent(group != null ? group : ShardContext.GLOBAL, key -> new LongAdder()).increment();
+        return group;
+    }
+
+    /**
+     * Closes the pools of the global datasource and every group
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource target : getResolvedDataSources().values()) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Connections taken per group since startup
+     */
+    public Map<String, Long> connectionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        connectionsByGroup.forEach((group, count) -> counts.put(group, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,56 @@
+package com.unimart.backend.sharding;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.unimart.Authentication.config.SessionTokenFilter;
+import com.unimart.Authentication.services.SessionTokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Points the request at the shard group of the university of the user its session token was
+ * issued to. The token is read from the request itself, so routing does not depend on where
+ * authentication runs in the filter chain. Admin endpoints report across universities and use
+ * the global datasource; requests without a valid token do too.
+ */
+public class ShardRoutingFilter extends OncePerRequestFilter {
+    private final ShardRouter shardRouter;
+    private final SessionTokenService sessionTokenService;
+
+    public ShardRoutingFilter(ShardRouter shardRouter, SessionTokenService sessionTokenService) {
+        this.shardRouter = shardRouter;
+        this.sessionTokenService = sessionTokenService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !shardRouter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String group = null;
+        if (request.getRequestURI().startsWith("/api/admin/")) {
+            group = ShardContext.GLOBAL;
+        } else {
+            Optional<String> email = sessionTokenService.verify(SessionTokenFilter.tokenOf(request));
+            if (email.isPresent()) {
+                group = shardRouter.groupOfEmail(email.get());
+            }
+        }
+
+        String previous = ShardContext.enter(group);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.unimart.backend.singleflight;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls of the annotated method with equal arguments share one execution: the
+ * first caller runs it, the others wait for and receive its result, or its exception.
+ *
+ * Only for reads whose result depends on nothing but the arguments (and the shard group,
+ * which is part of the key). Every caller gets the same result object, so callers must not
+ * modify it. Nothing is cached once the execution finishes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+}
@@ -0,0 +1,66 @@
+package com.unimart.backend.singleflight;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.unimart.backend.sharding.ShardContext;
+
+/**
+ * Applies SingleFlight. Runs outside the transaction interceptor, so waiting callers hold
+ * neither a transaction nor a pooled connection, and inside tracing, so waits show up in
+ * traces.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SingleFlightAspect {
+    private final SingleFlightGroup group;
+
+    public SingleFlightAspect(SingleFlightGroup group) {
+        this.group = group;
+    }
+
+    @Around("@annotation(com.unimart.backend.singleflight.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint call) throws Throwable {
+        Method method = ((MethodSignature) call.getSignature()).getMethod();
+        Key key = new Key(method, ShardContext.current(), call.getArgs());
+        return group.execute(method.getDeclaringClass().getSimpleName() + "." + method.getName(), key, call::proceed);
+    }
+
+    /**
+     * Method, shard group and arguments, compared element by element
+     */
+    private static class Key {
+        private final Method method;
+        private final String shardGroup;
+        private final Object[] args;
+        private final int hash;
+
+        Key(Method method, String shardGroup, Object[] args) {
+            this.method = method;
+            this.shardGroup = shardGroup;
+            this.args = args;
+            this.hash = 31 * Objects.hash(method, shardGroup) + Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash && method.equals(key.method)
+                    && Objects.equals(shardGroup, key.shardGroup) && Arrays.deepEquals(args, key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
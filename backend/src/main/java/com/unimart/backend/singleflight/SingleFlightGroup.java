@@ -0,0 +1,91 @@
+package com.unimart.backend.singleflight;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+
+/**
+ * In-flight executions by key. The first caller of a key becomes the leader and runs the
+ * work; callers arriving before it finishes wait on the leader's future. The key is removed
+ * as the leader finishes, so the next caller starts a fresh execution.
+ */
+@Component
+public class SingleFlightGroup implements MetricsSource {
+    private final Map<Object, Flight> flights = new ConcurrentHashMap<>();
+
+    private final Counters counters = new Counters();
+    private final LongAdder executions = counters.add("executions");
+    private final LongAdder coalesced = counters.add("coalesced");
+    private final Map<String, LongAdder> coalescedByName = new ConcurrentHashMap<>();
+
+    /**
+     * Runs work for key, or waits for the run already in flight for an equal key. name is
+     * only used for statistics.
+     */
+    public Object execute(String name, Object key, Work work) throws Throwable {
+        Flight flight = new Flight(Thread.currentThread());
+        Flight existing = flights.putIfAbsent(key, flight);
+        // A recursive call from the leader itself would wait for its own result forever
+        if (existing != null && existing.leader != Thread.currentThread()) {
+            coalesced.increment();
+            coalescedByName.computeIfAbsent(name, n -> new LongAdder()).increment();
+            try {
+                return existing.result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        if (existing != null) {
+            return work.run();
+        }
+
+        executions.increment();
+        try {
+            Object result = work.run();
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "single-flight";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("inFlight", flights.size());
+        Map<String, Long> byName = new LinkedHashMap<>();
+        coalescedByName.forEach((name, count) -> byName.put(name, count.sum()));
+        stats.put("coalescedByMethod", byName);
+        return stats;
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        Object run() throws Throwable;
+    }
+
+    private static class Flight {
+        private final Thread leader;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Flight(Thread leader) {
+            this.leader = leader;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.unimart.backend.streaming;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a collection response as a JSON array, one element at a time, straight to the
+ * servlet output stream.
+ *
+ * Elements are pulled from a Stream (e.g. KeysetStream over a repository, or an in-memory
+ * view) and serialized through a single JsonGenerator, so a request holds one element plus the
+ * generator buffer instead of the whole List and its serialized body. The first element is
+ * flushed at once to cut time to first byte, then every few elements.
+ *
+ * The body runs after the handler has returned and the status is sent with the first bytes, so
+ * validate the request (membership, ids) before returning the body; a failure mid-stream can
+ * only cut the response short.
+ */
+@Component
+@Slf4j
+public class JsonArrayStreamer implements MetricsSource {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${marketplace.streaming.flush-every-items:200}")
+    private int flushEveryItems;
+
+    private final Counters counters = new Counters();
+    private final LongAdder responses = counters.add("responses");
+    private final LongAdder itemsWritten = counters.add("itemsWritten");
+    private final LongAdder aborted = counters.add("aborted");
+    private final LongAccumulator maxItems = new LongAccumulator(Long::max, 0);
+    private final LongAccumulator maxFirstByteMicros = new LongAccumulator(Long::max, 0);
+
+    /**
+     * A body that opens the stream when the response is written and closes it at the end
+     */
+    public <T> StreamingResponseBody stream(Supplier<Stream<T>> items) {
+        return out -> write(items, out);
+    }
+
+    private <T> void write(Supplier<Stream<T>> items, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long count = 0;
+        // The mapper would otherwise flush after every element, defeating flushEveryItems
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<T> stream = items.get();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                count++;
+                if (count == 1) {
+                    generator.flush();
+                    maxFirstByteMicros.accumulate(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+                } else if (count % flushEveryItems == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.flush();
+        } catch (IOException | RuntimeException e) {
+            // Usually the client went away; the status is already sent, so all we can do is stop
+            aborted.increment();
+            log.info("Streamed JSON response aborted after {} items: {}", count, e.getMessage());
+            throw e;
+        } finally {
+            responses.increment();
+            itemsWritten.add(count);
+            maxItems.accumulate(count);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "streaming";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("maxItemsPerResponse", maxItems.get());
+        stats.put("maxFirstByteMicros", maxFirstByteMicros.get());
+        stats.put("flushEveryItems", flushEveryItems);
+        return stats;
+    }
+}
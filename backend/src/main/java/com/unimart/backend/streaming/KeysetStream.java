@@ -0,0 +1,54 @@
+package com.unimart.backend.streaming;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy Stream over a keyset-paged query: the next chunk is fetched only when the previous
+ * one has been consumed, starting after its last element.
+ *
+ * Each chunk is its own short query, so no connection or transaction stays open while a slow
+ * client reads the response, and the stream holds at most one chunk in memory.
+ */
+public final class KeysetStream {
+
+    private KeysetStream() {
+    }
+
+    /**
+     * @param chunkSize rows per query; a shorter chunk ends the stream
+     * @param nextChunk given the last element so far (null for the first chunk), returns the
+     *                  next chunkSize elements in keyset order
+     */
+    public static <T> Stream<T> of(int chunkSize, Function<T, List<T>> nextChunk) {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Iterator<T> chunk;
+            private T last;
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (chunk == null || !chunk.hasNext()) {
+                    if (exhausted) {
+                        return false;
+                    }
+                    List<T> next = nextChunk.apply(last);
+                    exhausted = next.size() < chunkSize;
+                    chunk = next.iterator();
+                    if (!chunk.hasNext()) {
+                        return false;
+                    }
+                }
+                last = chunk.next();
+                action.accept(last);
+                return true;
+            }
+        }, false);
+    }
+}
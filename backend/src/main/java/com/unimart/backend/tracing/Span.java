@@ -0,0 +1,58 @@
+package com.unimart.backend.tracing;
+
+/**
+ * One timed section of a trace. Spans are opened and closed on the request thread, in
+ * try-with-resources order, so closing a span makes its parent current again.
+ *
+ * The NOOP span is handed out when no trace is active; every method on it does nothing.
+ */
+public class Span implements AutoCloseable {
+    static final Span NOOP = new Span(null, -1, -1, "", SpanKind.HTTP);
+
+    private final Trace trace;
+    final int index;
+    final int parentIndex;
+    final SpanKind kind;
+    final long startNanos;
+    String name;
+    long endNanos = -1;
+    String error;
+
+    Span(Trace trace, int index, int parentIndex, String name, SpanKind kind) {
+        this.trace = trace;
+        this.index = index;
+        this.parentIndex = parentIndex;
+        this.name = name;
+        this.kind = kind;
+        this.startNanos = trace != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Replaces the name, for spans whose best name is only known at the end
+     */
+    public Span rename(String name) {
+        if (trace != null) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    /**
+     * Marks the span as failed with the type of the exception
+     */
+    public Span error(Throwable throwable) {
+        if (trace != null) {
+            this.error = throwable.getClass().getSimpleName();
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (trace == null || endNanos >= 0) {
+            return;
+        }
+        endNanos = System.nanoTime();
+        trace.closed(this);
+    }
+}
@@ -0,0 +1,13 @@
+package com.unimart.backend.tracing;
+
+/**
+ * Layer a span was recorded in
+ */
+public enum SpanKind {
+    HTTP,
+    CONTROLLER,
+    SERVICE,
+    REPOSITORY,
+    TRANSACTION,
+    EXTERNAL
+}
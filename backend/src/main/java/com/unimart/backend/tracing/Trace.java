@@ -0,0 +1,100 @@
+package com.unimart.backend.tracing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spans of one request. Written only by the request thread while it runs; once finished it
+ * is published to the ring buffer and never changed again.
+ */
+class Trace {
+    final String id;
+    final long startedAtMillis;
+    final boolean sampled;
+    private final Tracer tracer;
+    private final int maxSpans;
+    private final List<Span> spans = new ArrayList<>();
+    private Span current;
+    int droppedSpans;
+    String keptBecause;
+
+    Trace(Tracer tracer, String id, boolean sampled, int maxSpans) {
+        this.tracer = tracer;
+        this.id = id;
+        this.sampled = sampled;
+        this.maxSpans = maxSpans;
+        this.startedAtMillis = System.currentTimeMillis();
+    }
+
+    Span open(String name, SpanKind kind) {
+        if (spans.size() >= maxSpans) {
+            droppedSpans++;
+            return Span.NOOP;
+        }
+        Span span = new Span(this, spans.size(), current != null ? current.index : -1, name, kind);
+        spans.add(span);
+        current = span;
+        return span;
+    }
+
+    void closed(Span span) {
+        current = span.parentIndex >= 0 ? spans.get(span.parentIndex) : null;
+        if (span.index == 0) {
+            tracer.finish(this);
+        }
+    }
+
+    Span root() {
+        return spans.get(0);
+    }
+
+    long durationNanos() {
+        Span root = root();
+        return root.endNanos - root.startNanos;
+    }
+
+    /**
+     * Summary plus the span tree, with times in microseconds from the start of the request
+     */
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("traceId", id);
+        map.put("name", root().name);
+        map.put("startedAt", startedAtMillis);
+        map.put("durationMillis", TimeUnit.NANOSECONDS.toMillis(durationNanos()));
+        map.put("keptBecause", keptBecause);
+        map.put("spans", spans.size());
+        map.put("droppedSpans", droppedSpans);
+
+        List<Map<String, Object>> nodes = new ArrayList<>(spans.size());
+        long origin = root().startNanos;
+        for (Span span : spans) {
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("name", span.name);
+            node.put("kind", span.kind);
+            node.put("startMicros", TimeUnit.NANOSECONDS.toMicros(span.startNanos - origin));
+            // A span left open (an exception skipped its close) ends with the request
+            long end = span.endNanos >= 0 ? span.endNanos : root().endNanos;
+            node.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(end - span.startNanos));
+            if (span.error != null) {
+                node.put("error", span.error);
+            }
+            nodes.add(node);
+        }
+        for (Span span : spans) {
+            if (span.parentIndex >= 0) {
+                children(nodes.get(span.parentIndex)).add(nodes.get(span.index));
+            }
+        }
+        map.put("root", nodes.get(0));
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> children(Map<String, Object> node) {
+        return (List<Map<String, Object>>) node.computeIfAbsent("children", key -> new ArrayList<Map<String, Object>>());
+    }
+}
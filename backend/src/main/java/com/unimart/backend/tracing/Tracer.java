@@ -0,0 +1,150 @@
+package com.unimart.backend.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.unimart.backend.metrics.Counters;
+import com.unimart.backend.metrics.MetricsSource;
+
+/**
+ * In-process request tracer. Every request records its spans with System.nanoTime into a
+ * thread-confined Trace; when the request ends the trace is kept if it was sampled or slower
+ * than the threshold, and dropped otherwise. So slow requests are always there to look at,
+ * whatever the sample rate.
+ *
+ * Kept traces go into a fixed ring buffer, claimed with one atomic increment, where newer
+ * traces overwrite the oldest ones. Nothing is sent anywhere; TraceController reads the buffer.
+ */
+@Component
+public class Tracer implements MetricsSource {
+    @Value("${marketplace.tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${marketplace.tracing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${marketplace.tracing.slow-threshold-ms:500}")
+    private long slowThresholdMillis;
+
+    @Value("${marketplace.tracing.max-spans:256}")
+    private int maxSpans;
+
+    private final AtomicReferenceArray<Trace> buffer;
+    private final AtomicLong next = new AtomicLong();
+    private final ThreadLocal<Trace> active = new ThreadLocal<>();
+
+    private final Counters counters = new Counters();
+    private final LongAdder traces = counters.add("traces");
+    private final LongAdder keptSampled = counters.add("keptSampled");
+    private final LongAdder keptSlow = counters.add("keptSlow");
+    private final LongAdder droppedSpans = counters.add("droppedSpans");
+
+    public Tracer(@Value("${marketplace.tracing.buffer-size:1024}") int bufferSize) {
+        this.buffer = new AtomicReferenceArray<>(Math.max(1, bufferSize));
+    }
+
+    /**
+     * Starts a trace on this thread and returns its root span; closing the root ends the trace.
+     * Returns the NOOP span when tracing is off or a trace is already running.
+     */
+    public Span startTrace(String name) {
+        if (!enabled || active.get() != null) {
+            return Span.NOOP;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // At least the root span, or the trace could never end and would stay on the thread
+        Trace trace = new Trace(this, Long.toHexString(random.nextLong() | Long.MIN_VALUE),
+                random.nextDouble() < sampleRate, Math.max(1, maxSpans));
+        active.set(trace);
+        traces.increment();
+        return trace.open(name, SpanKind.HTTP);
+    }
+
+    /**
+     * Opens a child of the current span, or returns the NOOP span outside a trace
+     */
+    public Span start(String name, SpanKind kind) {
+        Trace trace = active.get();
+        return trace != null ? trace.open(name, kind) : Span.NOOP;
+    }
+
+    public boolean isActive() {
+        return active.get() != null;
+    }
+
+    /**
+     * Id of the trace running on this thread, null outside a trace
+     */
+    public String currentTraceId() {
+        Trace trace = active.get();
+        return trace != null ? trace.id : null;
+    }
+
+    void finish(Trace trace) {
+        active.remove();
+        droppedSpans.add(trace.droppedSpans);
+        if (trace.durationNanos() >= TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis)) {
+            trace.keptBecause = "slow";
+            keptSlow.increment();
+        } else if (trace.sampled) {
+            trace.keptBecause = "sampled";
+            keptSampled.increment();
+        } else {
+            return;
+        }
+        buffer.set((int) (next.getAndIncrement() % buffer.length()), trace);
+    }
+
+    /**
+     * Kept traces, newest first, that took at least minMillis
+     */
+    public List<Map<String, Object>> recent(int limit, long minMillis) {
+        List<Map<String, Object>> recent = new ArrayList<>();
+        long last = next.get();
+        for (long i = last - 1; i >= 0 && i >= last - buffer.length() && recent.size() < limit; i--) {
+            Trace trace = buffer.get((int) (i % buffer.length()));
+            if (trace != null && trace.durationNanos() >= TimeUnit.MILLISECONDS.toNanos(minMillis)) {
+                recent.add(trace.toMap());
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * A kept trace by id, null once it has been overwritten
+     */
+    public Map<String, Object> find(String traceId) {
+        for (int i = 0; i < buffer.length(); i++) {
+            Trace trace = buffer.get(i);
+            if (trace != null && trace.id.equals(traceId)) {
+                return trace.toMap();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "tracing";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("enabled", enabled);
+        stats.put("sampleRate", sampleRate);
+        stats.put("slowThresholdMillis", slowThresholdMillis);
+        stats.put("bufferSize", buffer.length());
+        stats.put("buffered", Math.min(next.get(), buffer.length()));
+        return stats;
+    }
+}
@@ -0,0 +1,130 @@
+package com.unimart.backend.tracing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Spans around controller, service and repository calls made inside a trace. Outside a trace
+ * (schedulers, background pipelines) the advice is one thread-local read.
+ *
+ * The aspect runs outside the transaction interceptor, so a service span includes its
+ * commit. The commit itself, with the Hibernate flush, gets its own span through a
+ * transaction synchronization registered by the first repository call of the transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+    private final Tracer tracer;
+    // Repository proxy class -> simple name of the application interface it implements
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(com.unimart..controllers..*)")
+    public Object aroundController(ProceedingJoinPoint call) throws Throwable {
+        if (!tracer.isActive()) {
+            return call.proceed();
+        }
+        return proceed(call, SpanKind.CONTROLLER, call.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("within(com.unimart.backend.service..*) || within(com.unimart.Authentication.services..*)")
+    public Object aroundService(ProceedingJoinPoint call) throws Throwable {
+        if (!tracer.isActive()) {
+            return call.proceed();
+        }
+        return proceed(call, SpanKind.SERVICE, call.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object aroundRepository(ProceedingJoinPoint call) throws Throwable {
+        if (!tracer.isActive()) {
+            return call.proceed();
+        }
+        traceCommit();
+        // The declaring type of inherited methods is JpaRepository, so names come from the proxy
+        String type = repositoryNames.computeIfAbsent(call.getTarget().getClass(), TracingAspect::repositoryName);
+        return proceed(call, SpanKind.REPOSITORY, type);
+    }
+
+    private Object proceed(ProceedingJoinPoint call, SpanKind kind, String type) throws Throwable {
+        try (Span span = tracer.start(type + "." + call.getSignature().getName(), kind)) {
+            try {
+                return call.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+
+    private void traceCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof CommitSpan) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new CommitSpan(tracer));
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getName().startsWith("com.unimart.")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+
+    /**
+     * Times flush and commit. Ordered first so the span ends before after-commit listeners
+     * run, which would otherwise show up as children of the commit.
+     */
+    static class CommitSpan implements TransactionSynchronization {
+        private final Tracer tracer;
+        private Span span = Span.NOOP;
+
+        CommitSpan(Tracer tracer) {
+            this.tracer = tracer;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            span = tracer.start("commit", SpanKind.TRANSACTION);
+        }
+
+        @Override
+        public void afterCommit() {
+            span.close();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_ROLLED_BACK) {
+                span.rename("rollback");
+            }
+            span.close();
+        }
+    }
+}
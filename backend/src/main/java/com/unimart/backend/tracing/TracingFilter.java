@@ -0,0 +1,54 @@
+package com.unimart.backend.tracing;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens the root span of each request, ahead of the security filter chain so authentication
+ * time is part of the trace, and names it after the matched route once the handler is known.
+ * The trace id goes back in X-Trace-Id, to look the request up under /api/admin/traces.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingFilter extends OncePerRequestFilter {
+    static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Span root = tracer.startTrace(request.getMethod() + " " + request.getRequestURI());
+        String traceId = tracer.currentTraceId();
+        if (traceId != null) {
+            response.setHeader(TRACE_ID_HEADER, traceId);
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            root.error(e);
+            throw e;
+        } finally {
+            // Route templates keep traces of /api/products/1 and /api/products/2 under one name
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                root.rename(request.getMethod() + " " + pattern);
+            }
+            root.close();
+        }
+    }
+}
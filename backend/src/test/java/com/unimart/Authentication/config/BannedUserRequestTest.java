@@ -0,0 +1,93 @@
+package com.unimart.Authentication.config;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.unimart.Authentication.exceptions.UserBannedException;
+import com.unimart.Authentication.services.SessionTokenService;
+import com.unimart.backend.BackendApplication;
+import com.unimart.backend.dto.payment.PaymentRequestDTO;
+import com.unimart.backend.events.UserBanStatusEvent;
+import com.unimart.backend.service.BannedUserService;
+
+/**
+ * Requests that act as a banned user are refused, whether the user is the caller, an email
+ * parameter or a field of the body
+ */
+@SpringBootTest(classes = BackendApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BannedUserRequestTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private BannedUserService bannedUserService;
+
+    @Autowired
+    private BannedUserBodyAdvice bannedUserBodyAdvice;
+
+    private String banned;
+    private String student;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        banned = "banned-" + suffix + "@northeastern.edu";
+        student = "student-" + suffix + "@northeastern.edu";
+        bannedUserService.onBanStatusChanged(new UserBanStatusEvent(List.of(banned), true, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bannedUserService.onBanStatusChanged(new UserBanStatusEvent(List.of(banned), false, null));
+    }
+
+    @Test
+    void bannedCallerIsRefused() throws Exception {
+        mockMvc.perform(get("/api/favorites").param("email", student).header("Authorization", bearer(banned)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void emailParameterOfABannedUserIsRefused() throws Exception {
+        mockMvc.perform(get("/api/favorites").param("email", banned).header("Authorization", bearer(student)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("This account is banned"));
+        mockMvc.perform(get("/api/favorites").param("email", student).header("Authorization", bearer(student)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bodyActingAsABannedUserIsRefused() {
+        PaymentRequestDTO request = new PaymentRequestDTO();
+        request.setCustomerEmail(" " + banned.toUpperCase() + " ");
+        assertThrows(UserBannedException.class,
+                () -> bannedUserBodyAdvice.afterBodyRead(request, null, null, PaymentRequestDTO.class, null));
+
+        request.setCustomerEmail(student);
+        assertSame(request, bannedUserBodyAdvice.afterBodyRead(request, null, null, PaymentRequestDTO.class, null));
+    }
+
+    private String bearer(String email) {
+        return "Bearer " + sessionTokenService.issue(email);
+    }
+}
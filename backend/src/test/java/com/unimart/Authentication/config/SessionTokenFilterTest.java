@@ -0,0 +1,73 @@
+package com.unimart.Authentication.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.unimart.Authentication.services.SessionTokenService;
+
+/**
+ * Only a token signed by the service makes a request authenticated, and then as the email it
+ * was issued to
+ */
+class SessionTokenFilterTest {
+    private SessionTokenService tokens;
+    private SessionTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokens = new SessionTokenService();
+        ReflectionTestUtils.setField(tokens, "secret", "test-secret");
+        ReflectionTestUtils.setField(tokens, "ttlHours", 12L);
+        tokens.init();
+        filter = new SessionTokenFilter(tokens);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bearerTokenAuthenticatesItsEmail() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/admin/moderation/listings/hide");
+        request.addHeader("Authorization", "Bearer " + tokens.issue("moderator@northeastern.edu"));
+        assertEquals("moderator@northeastern.edu", authenticate(request).getName());
+    }
+
+    @Test
+    void forgedOrMissingTokensStayAnonymous() throws Exception {
+        MockHttpServletRequest forged = new MockHttpServletRequest("POST", "/api/admin/moderation/listings/hide");
+        forged.addHeader("Authorization", "Bearer token-moderator@northeastern.edu-1700000000000");
+        assertNull(authenticate(forged));
+
+        assertNull(authenticate(new MockHttpServletRequest("POST", "/api/admin/moderation/listings/hide")));
+    }
+
+    @Test
+    void tokenParameterOnlyCountsForPushStreams() throws Exception {
+        String token = tokens.issue("student@northeastern.edu");
+        MockHttpServletRequest push = new MockHttpServletRequest("GET", "/api/push/stream");
+        push.setParameter("token", token);
+        assertEquals("student@northeastern.edu", authenticate(push).getName());
+
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/admin/moderation/listings/hide");
+        other.setParameter("token", token);
+        assertNull(authenticate(other));
+    }
+
+    private Authentication authenticate(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,146 @@
+package com.unimart.Authentication.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.models.UserProfile;
+import com.unimart.Authentication.repositories.UserProfileRepository.UserSummaryView;
+import com.unimart.backend.BackendApplication;
+
+/**
+ * Bytes read from the database to describe a page of sellers: the profile row with bio and
+ * picture that loading UserProfile used to read, the rows loading UserProfile reads now that
+ * both sit behind the lazy UserProfileDetails, and the summary projection.
+ *
+ * The entity path is measured as the columns of the tables its load joins (profile, user,
+ * university), after checking that loading the profiles leaves the details uninitialized.
+ * Counts the payload of the returned values (UTF-8 text, numbers as written), not the wire
+ * protocol overhead. Profiles carry a 150 KB data URI and a 2 KB bio, like uploaded ones.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ProfileReadBytesBenchmark
+ */
+@SpringBootTest(classes = BackendApplication.class)
+@ActiveProfiles("test")
+@Tag("benchmark")
+class ProfileReadBytesBenchmark {
+    private static final int USERS = 24;
+    private static final int IMAGE_BYTES = 150 * 1024;
+    private static final int BIO_CHARS = 2_000;
+
+    private static final String FULL_ROW_SQL =
+            "SELECT p.*, d.*, u.*, un.* FROM UserProfiles p "
+            + "JOIN UserProfileDetails d ON d.user_email = p.user_email "
+            + "JOIN Users u ON u.email = p.user_email "
+            + "LEFT JOIN universities un ON un.university_id = u.university_id "
+            + "WHERE p.user_email IN (%s)";
+
+    private static final String ENTITY_ROW_SQL =
+            "SELECT p.*, u.*, un.* FROM UserProfiles p "
+            + "JOIN Users u ON u.email = p.user_email "
+            + "LEFT JOIN universities un ON un.university_id = u.university_id "
+            + "WHERE p.user_email IN (%s)";
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void entityAndSummaryReadAFractionOfTheProfileRow() {
+        List<String> emails = createProfiles();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (UserProfile profile : userProfileRepository.findAllById(emails)) {
+                assertFalse(Hibernate.isInitialized(profile.getDetails()), "details of " + profile.getUserEmail() + " were loaded");
+            }
+        });
+
+        String placeholders = String.join(",", emails.stream().map(e -> "?").toList());
+        long fullRowBytes = jdbcTemplate.query(FULL_ROW_SQL.formatted(placeholders), this::payloadBytes, emails.toArray());
+        long entityBytes = jdbcTemplate.query(ENTITY_ROW_SQL.formatted(placeholders), this::payloadBytes, emails.toArray());
+
+        List<UserSummaryView> summaries = userProfileRepository.findSummaries(emails);
+        long summaryBytes = 0;
+        for (UserSummaryView view : summaries) {
+            summaryBytes += utf8(view.getEmail()) + utf8(view.getUsername()) + utf8(view.getFirstName())
+                    + utf8(view.getLastName()) + utf8(view.getUniversityName()) + 1;
+        }
+
+        assertEquals(USERS, summaries.size());
+        System.out.printf("%d sellers: full profile rows %d bytes (%d per seller), entity loads %d bytes (%d per seller), "
+                        + "summaries %d bytes (%d per seller)%n",
+                USERS, fullRowBytes, fullRowBytes / USERS, entityBytes, entityBytes / USERS, summaryBytes, summaryBytes / USERS);
+        assertTrue(entityBytes * 100 < fullRowBytes, "entity loads should read under 1% of the full rows");
+        assertTrue(summaryBytes < entityBytes, "summaries should read less than entity loads");
+    }
+
+    private List<String> createProfiles() {
+        University university = universityRepository.findByDomain("bytes.edu")
+                .orElseGet(() -> universityRepository.save(new University("Bytes Test University", "bytes.edu")));
+        Random random = new Random(42);
+        byte[] image = new byte[IMAGE_BYTES];
+        random.nextBytes(image);
+        String dataUri = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image);
+        String bio = "b".repeat(BIO_CHARS);
+
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String email = "seller" + i + "@bytes.edu";
+            emails.add(email);
+            if (userProfileRepository.existsByUserEmail(email)) {
+                continue;
+            }
+            User user = userRepository.save(new User(email, "bytes-seller-" + i, "unused", "USER", university));
+            UserProfile profile = new UserProfile(user, "Seller", "Number " + i, "617-555-0100", bio);
+            profile.setProfileImageUrl(dataUri);
+            userProfileRepository.save(profile);
+        }
+        return emails;
+    }
+
+    private long payloadBytes(ResultSet rows) throws SQLException {
+        long bytes = 0;
+        int columns = rows.getMetaData().getColumnCount();
+        while (rows.next()) {
+            for (int column = 1; column <= columns; column++) {
+                bytes += utf8(rows.getString(column));
+            }
+        }
+        return bytes;
+    }
+
+    private static long utf8(String value) {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,87 @@
+package com.unimart.Authentication.services;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unimart.Authentication.dtos.auth.ProfileSetupRequest;
+import com.unimart.Authentication.exceptions.UserBannedException;
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.BackendApplication;
+import com.unimart.backend.events.UserBanStatusEvent;
+import com.unimart.backend.service.BannedUserService;
+
+/**
+ * A banned user gets no session token from any sign-in path, and signs in again once the ban
+ * is lifted
+ */
+@SpringBootTest(classes = BackendApplication.class)
+@ActiveProfiles("test")
+class AuthServiceBanTest {
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private BannedUserService bannedUserService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String email;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        University university = universityRepository.findByDomain("northeastern.edu")
+                .orElseGet(() -> universityRepository.save(new University("Northeastern University", "northeastern.edu")));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        email = "banned-" + suffix + "@northeastern.edu";
+        user = userRepository.save(new User(email, "banned-" + suffix, "unused", "USER", university));
+        bannedUserService.onBanStatusChanged(new UserBanStatusEvent(List.of(email), true, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bannedUserService.onBanStatusChanged(new UserBanStatusEvent(List.of(email), false, null));
+    }
+
+    @Test
+    void verificationCodeSignInIsRefused() {
+        assertThrows(UserBannedException.class, () -> authService.verifyCode(email, "123456", true));
+    }
+
+    @Test
+    void trustedDeviceSignInIsRefused() {
+        assertThrows(UserBannedException.class, () -> authService.generateToken(user));
+    }
+
+    @Test
+    void profileSetupIsRefused() {
+        ProfileSetupRequest request = new ProfileSetupRequest();
+        request.setEmail(email);
+        request.setFirstName("Jane");
+        request.setLastName("Smith");
+        assertThrows(UserBannedException.class, () -> authService.setupProfile(request, null));
+    }
+
+    @Test
+    void liftedBanSignsInAgain() {
+        bannedUserService.onBanStatusChanged(new UserBanStatusEvent(List.of(email), false, null));
+        assertNotNull(authService.verifyCode(email, "123456", false).getToken());
+    }
+}
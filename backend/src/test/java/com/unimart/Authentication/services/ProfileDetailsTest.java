@@ -0,0 +1,94 @@
+package com.unimart.Authentication.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.Authentication.dtos.auth.ProfileSetupRequest;
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.models.UserProfile;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserProfileRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.BackendApplication;
+
+/**
+ * Bio and picture stay out of profile loads until asked for, and changing them is a new version
+ * of the profile like changing any other field
+ */
+@SpringBootTest(classes = BackendApplication.class)
+@ActiveProfiles("test")
+class ProfileDetailsTest {
+    private static final String EMAIL = "student@profiletest.edu";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        University university = universityRepository.findByDomain("profiletest.edu")
+                .orElseGet(() -> universityRepository.save(new University("Profile Test University", "profiletest.edu")));
+        if (!userRepository.existsByEmail(EMAIL)) {
+            userRepository.save(new User(EMAIL, "profiletest-student", "unused", "USER", university));
+        }
+    }
+
+    @Test
+    void loadingAProfileLeavesBioAndPictureUnread() {
+        authService.setupProfile(request("Sells textbooks"),
+                new MockMultipartFile("picture", "me.png", "image/png", new byte[] { 1, 2, 3 }));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            UserProfile profile = userProfileRepository.findById(EMAIL).orElseThrow();
+            assertEquals("Student", profile.getFirstName());
+            assertFalse(Hibernate.isInitialized(profile.getDetails()));
+
+            assertEquals("Sells textbooks", profile.getBio());
+            assertTrue(profile.getProfileImageUrl().startsWith("data:image/png;base64,"));
+        });
+    }
+
+    @Test
+    void changingOnlyTheBioIsANewVersion() {
+        authService.setupProfile(request("First bio"), null);
+        LocalDateTime before = userProfileRepository.findById(EMAIL).orElseThrow().getUpdatedAt();
+
+        authService.setupProfile(request("Second bio"), null);
+
+        UserProfile profile = new TransactionTemplate(transactionManager).execute(status -> {
+            UserProfile loaded = userProfileRepository.findById(EMAIL).orElseThrow();
+            assertEquals("Second bio", loaded.getBio());
+            return loaded;
+        });
+        assertTrue(profile.getUpdatedAt().isAfter(before), "updated_at should move when the bio changes");
+    }
+
+    private static ProfileSetupRequest request(String description) {
+        return new ProfileSetupRequest(EMAIL, "Student", "Tester", "617-555-0101", description);
+    }
+}
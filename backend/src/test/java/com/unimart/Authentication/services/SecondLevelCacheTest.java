@@ -0,0 +1,137 @@
+package com.unimart.Authentication.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.models.UserProfile;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserProfileRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.BackendApplication;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Repeat logins are served from the second-level cache without touching the database, and
+ * cached profiles stay small
+ */
+@SpringBootTest(classes = BackendApplication.class)
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+    private static final String EMAIL = "student@cachetest.edu";
+    private static final String USERNAME = "cachetest-student";
+    private static final String TOKEN = "trusted-cachetest";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        University university = universityRepository.findByDomain("cachetest.edu")
+                .orElseGet(() -> universityRepository.save(new University("Cache Test University", "cachetest.edu")));
+        if (!userRepository.existsByEmail(EMAIL)) {
+            User user = new User(EMAIL, USERNAME, "unused", "USER", university);
+            user.setTrustedDeviceToken(TOKEN);
+            userRepository.save(user);
+            UserProfile profile = new UserProfile(user, "Cache", "Student", null, "Bio kept out of the cache");
+            profile.setProfileImageUrl("data:image/png;base64," + "A".repeat(100_000));
+            userProfileRepository.save(profile);
+        }
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void repeatTrustedTokenLoginsIssueNoSql() {
+        // The first login loads the user and university and fills the caches
+        trustedTokenLogin();
+
+        statistics.clear();
+        trustedTokenLogin();
+        trustedTokenLogin();
+
+        assertEquals(0L, statistics.getPrepareStatementCount());
+        CacheRegionStatistics universities = statistics.getCacheRegionStatistics("universities");
+        assertEquals(0L, universities.getMissCount());
+        assertTrue(universities.getHitCount() >= 2, "university should come from the cache on every login");
+        assertEquals(0L, statistics.getCacheRegionStatistics("users").getMissCount());
+    }
+
+    @Test
+    void usernameLookupsUseTheNaturalIdCache() {
+        assertEquals(EMAIL, userRepository.findByUsername(USERNAME).orElseThrow().getEmail());
+
+        statistics.clear();
+        assertEquals(EMAIL, userRepository.findByUsername(USERNAME).orElseThrow().getEmail());
+
+        assertEquals(0L, statistics.getPrepareStatementCount());
+        assertEquals(1L, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    void universityDirectoryComesFromTheQueryCache() {
+        universityRepository.findByDomain("cachetest.edu").orElseThrow();
+
+        statistics.clear();
+        assertEquals("Cache Test University", universityRepository.findByDomain("cachetest.edu").orElseThrow().getName());
+
+        assertEquals(0L, statistics.getPrepareStatementCount());
+        assertEquals(1L, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void cachedProfilesLeaveTheBioAndPictureOut() {
+        userProfileRepository.findById(EMAIL).orElseThrow();
+
+        statistics.clear();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            UserProfile profile = userProfileRepository.findById(EMAIL).orElseThrow();
+            assertEquals("Cache", profile.getFirstName());
+            assertEquals(0L, statistics.getPrepareStatementCount());
+            assertEquals(1L, statistics.getCacheRegionStatistics("user-profiles").getHitCount());
+
+            // The picture was never in the cached entry; it takes a query of its own
+            assertEquals(100_000 + "data:image/png;base64,".length(), profile.getProfileImageUrl().length());
+            assertEquals(1L, statistics.getPrepareStatementCount());
+        });
+    }
+
+    private void trustedTokenLogin() {
+        assertTrue(authService.verifyTrustedDeviceToken(EMAIL, TOKEN));
+        User user = authService.getUserByEmail(EMAIL);
+        assertEquals("cachetest.edu", user.getUniversity().getDomain());
+    }
+}
@@ -0,0 +1,64 @@
+package com.unimart.Authentication.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tokens verify for the email they were issued to and nothing else
+ */
+class SessionTokenServiceTest {
+    private SessionTokenService tokens;
+
+    @BeforeEach
+    void setUp() {
+        tokens = service("test-secret", 12);
+    }
+
+    @Test
+    void issuedTokenVerifiesToItsEmail() {
+        String token = tokens.issue("Student@Northeastern.edu");
+        assertEquals(Optional.of("student@northeastern.edu"), tokens.verify(token));
+        assertTrue(tokens.isIssuedTo(token, "student@northeastern.edu"));
+        assertFalse(tokens.isIssuedTo(token, "someone.else@northeastern.edu"));
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        String token = tokens.issue("student@northeastern.edu");
+        String otherEmail = tokens.issue("victim@northeastern.edu").split("\\.")[0];
+        String[] parts = token.split("\\.");
+
+        assertFalse(tokens.verify(otherEmail + "." + parts[1] + "." + parts[2]).isPresent());
+        assertFalse(tokens.verify(parts[0] + "." + (Long.parseLong(parts[1]) + 1) + "." + parts[2]).isPresent());
+        assertFalse(tokens.verify("token-victim@northeastern.edu-1700000000000").isPresent());
+        assertFalse(tokens.verify("a.b.%%").isPresent());
+        assertFalse(tokens.verify(null).isPresent());
+    }
+
+    @Test
+    void tokensFromAnotherSecretAreRejected() {
+        String foreign = service("other-secret", 12).issue("student@northeastern.edu");
+        assertFalse(tokens.verify(foreign).isPresent());
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        String expired = service("test-secret", -1).issue("student@northeastern.edu");
+        assertFalse(tokens.verify(expired).isPresent());
+    }
+
+    private static SessionTokenService service(String secret, long ttlHours) {
+        SessionTokenService service = new SessionTokenService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "ttlHours", ttlHours);
+        service.init();
+        return service;
+    }
+}
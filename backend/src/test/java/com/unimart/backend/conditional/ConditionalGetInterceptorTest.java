@@ -0,0 +1,187 @@
+package com.unimart.backend.conditional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * ETag and Last-Modified are set from the source's version, a matching revalidation ends in
+ * 304 before the handler, and a new version lets the handler run again
+ */
+class ConditionalGetInterceptorTest {
+    private static final long LAST_MODIFIED = 1_767_225_600_000L;
+
+    private CounterSource source;
+    private ConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        source = new CounterSource();
+        interceptor = new ConditionalGetInterceptor(List.of(source));
+    }
+
+    @Test
+    void firstRequestGetsTheValidators() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get("42", null), response, handler("versioned")));
+
+        assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+        assertEquals(LAST_MODIFIED, response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void matchingETagEndsIn304WithoutABody() throws Exception {
+        String etag = etagOf(get("42", null));
+
+        MockHttpServletRequest revalidation = get("42", null);
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(revalidation, response, handler("versioned")));
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, source.notModifiedCalls);
+        assertEquals(1L, counters().get("notModified"));
+        assertEquals(2L, counters().get("checks"));
+    }
+
+    @Test
+    void unchangedLastModifiedEndsIn304() throws Exception {
+        MockHttpServletRequest revalidation = get("42", null);
+        revalidation.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(revalidation, response, handler("versioned")));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void newVersionRunsTheHandlerWithANewETag() throws Exception {
+        String etag = etagOf(get("42", null));
+        source.version++;
+
+        MockHttpServletRequest revalidation = get("42", null);
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(revalidation, response, handler("versioned")));
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, source.notModifiedCalls);
+    }
+
+    @Test
+    void keyAndQueryStringArePartOfTheETag() throws Exception {
+        String etag = etagOf(get("42", null));
+        assertNotEquals(etag, etagOf(get("43", null)));
+        assertNotEquals(etag, etagOf(get("42", "cursor=100")));
+        assertEquals(etag, etagOf(get("42", null)));
+    }
+
+    @Test
+    void unversionedKeysAndOtherRequestsRunNormally() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get(CounterSource.UNKNOWN, null), response, handler("versioned")));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1L, interceptor.stats().get("unversioned"));
+
+        MockHttpServletRequest post = get("42", null);
+        post.setMethod("POST");
+        assertTrue(interceptor.preHandle(post, response, handler("versioned")));
+        assertTrue(interceptor.preHandle(get("42", null), response, handler("plain")));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        // Only the unversioned lookup asked the source
+        assertEquals(1L, counters().get("checks"));
+    }
+
+    @Test
+    void unknownSourceFailsLoudly() {
+        assertThrows(IllegalStateException.class,
+                () -> interceptor.preHandle(get("42", null), new MockHttpServletResponse(), handler("misnamed")));
+        assertThrows(IllegalStateException.class, () -> new ConditionalGetInterceptor(List.of(source, new CounterSource())));
+    }
+
+    private String etagOf(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, handler("versioned"));
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> counters() {
+        return (Map<String, Object>) ((Map<String, Object>) interceptor.stats().get("sources")).get(CounterSource.NAME);
+    }
+
+    private static MockHttpServletRequest get(String id, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/things/" + id);
+        request.setQueryString(query);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        return request;
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getDeclaredMethod(name, String.class));
+    }
+
+    static class Endpoints {
+        @ConditionalGet(source = CounterSource.NAME, key = "id")
+        String versioned(String id) {
+            return id;
+        }
+
+        String plain(String id) {
+            return id;
+        }
+
+        @ConditionalGet(source = "nowhere", key = "id")
+        String misnamed(String id) {
+            return id;
+        }
+    }
+
+    /**
+     * One counter for every key, standing in for a change counter like the listing feed's
+     */
+    private static class CounterSource implements VersionSource {
+        static final String NAME = "counter";
+        static final String UNKNOWN = "unknown";
+
+        long version = 1;
+        int notModifiedCalls;
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public ResourceVersion currentVersion(String key) {
+            return UNKNOWN.equals(key) ? null : new ResourceVersion(String.valueOf(version), LAST_MODIFIED, null);
+        }
+
+        @Override
+        public void notModified(String key, ResourceVersion version) {
+            notModifiedCalls++;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.unimart.backend.conditional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.unimart.Authentication.dtos.auth.ProfileSetupRequest;
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.Authentication.services.AuthService;
+import com.unimart.Authentication.services.SessionTokenService;
+import com.unimart.backend.dto.product.ListingRequestDTO;
+import com.unimart.backend.service.ProductService;
+
+/**
+ * Every version source behind a real endpoint: a revalidation with the ETag it handed out is
+ * a 304 without a body until the data changes, and then the response carries a new ETag
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetRequestTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    private University university;
+    private User seller;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        // The context and its database are shared, every test lists as its own seller
+        university = universityRepository.findByDomain("conditionaltest.edu")
+                .orElseGet(() -> universityRepository.save(new University("Conditional Test University", "conditionaltest.edu")));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        seller = userRepository.save(new User("seller-" + suffix + "@conditionaltest.edu", "conditional-" + suffix,
+                "unused", "USER", university));
+        token = "Bearer " + sessionTokenService.issue(seller.getEmail());
+    }
+
+    @Test
+    void productDetailChangesWithTheListing() throws Exception {
+        Long productId = productService.createListing(seller.getEmail(), listing("Desk lamp")).getProductId();
+        String path = "/api/products/" + productId;
+        String etag = validated(path);
+
+        notModified(path, etag);
+
+        productService.updateListing(seller.getEmail(), productId, listing("Desk lamp, barely used"));
+        assertNotEquals(etag, changed(path, etag));
+    }
+
+    @Test
+    void listingFeedChangesWithANewListing() throws Exception {
+        productService.createListing(seller.getEmail(), listing("Bookshelf"));
+        String path = "/api/products/feed/" + university.getId();
+        String etag = validated(path);
+
+        notModified(path, etag);
+
+        productService.createListing(seller.getEmail(), listing("Office chair"));
+        assertNotEquals(etag, changed(path, etag));
+    }
+
+    @Test
+    void userSummaryChangesWithTheProfile() throws Exception {
+        setUpProfile("Ada");
+        String path = "/api/users/" + seller.getEmail() + "/summary";
+        String etag = validated(path);
+        MockHttpServletResponse first = request(get(path)).andReturn().getResponse();
+        assertNotNull(first.getHeader(HttpHeaders.LAST_MODIFIED));
+
+        notModified(path, etag);
+        mockMvc.perform(get(path).header("Authorization", token)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, first.getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+
+        // The version is the profile's updated_at, which has to move for the ETag to
+        Thread.sleep(5);
+        setUpProfile("Augusta");
+        assertNotEquals(etag, changed(path, etag));
+    }
+
+    @Test
+    void universityListChangesWithANewUniversity() throws Exception {
+        String path = "/api/auth/supported-universities";
+        String etag = validated(path);
+
+        notModified(path, etag);
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        universityRepository.save(new University("New University " + suffix, suffix + ".edu"));
+        assertNotEquals(etag, changed(path, etag));
+    }
+
+    /**
+     * A full response with its weak ETag
+     */
+    private String validated(String path) throws Exception {
+        MockHttpServletResponse response = request(get(path)).andExpect(status().isOk()).andReturn().getResponse();
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag, "no ETag on " + path);
+        assertTrue(etag.startsWith("W/\""));
+        assertTrue(response.getContentAsByteArray().length > 0);
+        return etag;
+    }
+
+    private void notModified(String path, String etag) throws Exception {
+        MockHttpServletResponse response = request(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()).andReturn().getResponse();
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Revalidates with the old ETag, expects the full response and returns its new ETag
+     */
+    private String changed(String path, String etag) throws Exception {
+        MockHttpServletResponse response = request(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertTrue(response.getContentAsByteArray().length > 0);
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private ResultActions request(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder.header("Authorization", token));
+    }
+
+    private void setUpProfile(String firstName) {
+        ProfileSetupRequest request = new ProfileSetupRequest();
+        request.setEmail(seller.getEmail());
+        request.setFirstName(firstName);
+        request.setLastName("Lovelace");
+        authService.setupProfile(request, null);
+    }
+
+    private ListingRequestDTO listing(String title) {
+        ListingRequestDTO request = new ListingRequestDTO();
+        request.setTitle(title);
+        request.setPrice(new BigDecimal("25.00"));
+        request.setCategory("Furniture");
+        request.setItemCondition("Used");
+        request.setQuantity(1);
+        return request;
+    }
+}
@@ -0,0 +1,110 @@
+package com.unimart.backend.controllers;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.Authentication.services.SessionTokenService;
+
+/**
+ * Every component's statistics stay at the path they were served at before the registry, and
+ * only AdminUsers reach them or any other admin endpoint
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminMetricsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+    private String studentToken;
+
+    @BeforeEach
+    void setUp() {
+        University university = universityRepository.findByDomain("metricstest.edu")
+                .orElseGet(() -> universityRepository.save(new University("Metrics Test University", "metricstest.edu")));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String admin = "admin-" + suffix + "@metricstest.edu";
+        userRepository.save(new User(admin, "metrics-admin-" + suffix, "unused", "ADMIN", university));
+        // AdminUsers has no entity, so the test schema does not include it
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS AdminUsers (email VARCHAR(255) PRIMARY KEY, role VARCHAR(20) NOT NULL)");
+        jdbcTemplate.update("MERGE INTO AdminUsers (email, role) KEY (email) VALUES (?, 'Admin')", admin);
+        token = "Bearer " + sessionTokenService.issue(admin);
+
+        // The users table's role column is not what makes an admin
+        String student = "student-" + suffix + "@metricstest.edu";
+        userRepository.save(new User(student, "metrics-student-" + suffix, "unused", "ADMIN", university));
+        studentToken = "Bearer " + sessionTokenService.issue(student);
+    }
+
+    @Test
+    void listsEveryMetricsSource() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasItems("listing-feed", "image-pipeline", "bidding", "push", "favorites",
+                        "trending", "order-expiry", "seller-stats", "exports", "moderation", "bans",
+                        "notification-digest", "shards", "entity-cache", "conditional-get", "streaming", "queries",
+                        "tracing", "resilience", "concurrency-limits", "single-flight")));
+    }
+
+    @Test
+    void servesOneSourceByName() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics/listing-feed").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reloads").isNumber())
+                .andExpect(jsonPath("$.hitRatio").isNumber());
+        mockMvc.perform(get("/api/admin/metrics/resilience").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stripe").exists())
+                .andExpect(jsonPath("$.smtp").exists());
+    }
+
+    @Test
+    void unknownSourceIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics/no-such-thing").header("Authorization", token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void usersOutsideAdminUsersAreRefused() throws Exception {
+        for (String path : new String[] {"/api/admin/metrics", "/api/admin/metrics/queries/explain",
+                "/api/admin/exports/orders", "/api/admin/traces", "/api/admin/diagnostics/jfr"}) {
+            mockMvc.perform(get(path).header("Authorization", studentToken)).andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void indexAdvisorKeepsItsOwnPath() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics/queries/explain").header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+}
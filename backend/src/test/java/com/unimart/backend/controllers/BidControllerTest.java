@@ -0,0 +1,124 @@
+package com.unimart.backend.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.Authentication.services.SessionTokenService;
+import com.unimart.backend.dto.bid.BidRequestDTO;
+import com.unimart.backend.dto.product.ListingRequestDTO;
+import com.unimart.backend.service.BiddingService;
+import com.unimart.backend.service.ProductService;
+
+/**
+ * Bid lists are validated before anything is written: an unknown listing or seller is a 404
+ * with an error body, not a 200 with an empty or cut-off array. The seller list is always the
+ * caller's own.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BidControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private BiddingService biddingService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String seller;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        University university = universityRepository.findByDomain("bidtest.edu")
+                .orElseGet(() -> universityRepository.save(new University("Bid Test University", "bidtest.edu")));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        seller = "seller-" + suffix + "@bidtest.edu";
+        userRepository.save(new User(seller, "bid-seller-" + suffix, "unused", "USER", university));
+        token = "Bearer " + sessionTokenService.issue(seller);
+    }
+
+    @Test
+    void knownListingAndSellerWithoutBidsAreEmptyLists() throws Exception {
+        Long productId = productService.createListing(seller, listing()).getProductId();
+
+        mockMvc.perform(get("/api/bids/product/" + productId).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+        mockMvc.perform(get("/api/bids/seller").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void sellerBidsAreTheCallersOwn() throws Exception {
+        Long productId = productService.createListing(seller, listing()).getProductId();
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String bidder = "bidder-" + suffix + "@bidtest.edu";
+        userRepository.save(new User(bidder, "bid-bidder-" + suffix, "unused", "USER",
+                universityRepository.findByDomain("bidtest.edu").orElseThrow()));
+        BidRequestDTO bid = new BidRequestDTO();
+        bid.setProductId(productId);
+        bid.setAmount(new BigDecimal("45.00"));
+        biddingService.placeBid(bidder, bid);
+
+        mockMvc.perform(get("/api/bids/seller").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bidder").value(bidder));
+        mockMvc.perform(get("/api/bids/seller").header("Authorization", "Bearer " + sessionTokenService.issue(bidder)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void unknownListingIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/bids/product/" + Long.MAX_VALUE).header("Authorization", token))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Product not found: " + Long.MAX_VALUE));
+    }
+
+    @Test
+    void unknownSellerIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/bids/seller").header("Authorization", "Bearer " + sessionTokenService.issue("nobody@bidtest.edu")))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("User not found: nobody@bidtest.edu"));
+    }
+
+    private static ListingRequestDTO listing() {
+        ListingRequestDTO request = new ListingRequestDTO();
+        request.setTitle("Mini fridge");
+        request.setPrice(new BigDecimal("60.00"));
+        request.setCategory("Appliances");
+        request.setItemCondition("Used");
+        request.setQuantity(1);
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package com.unimart.backend.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.Authentication.services.SessionTokenService;
+import com.unimart.backend.dto.message.SendMessageDTO;
+import com.unimart.backend.service.MessagingService;
+
+/**
+ * Inboxes and threads are read as the session's user, whatever email the request names
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MessageControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private MessagingService messagingService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String alice;
+    private String bob;
+    private String eve;
+    private String conversation;
+
+    @BeforeEach
+    void setUp() {
+        University university = universityRepository.findByDomain("messagetest.edu")
+                .orElseGet(() -> universityRepository.save(new University("Message Test University", "messagetest.edu")));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        alice = user("alice-" + suffix, university);
+        bob = user("bob-" + suffix, university);
+        eve = user("eve-" + suffix, university);
+
+        SendMessageDTO message = new SendMessageDTO();
+        message.setReceiverEmail(bob);
+        message.setText("Is the lamp still available?");
+        conversation = messagingService.sendMessage(alice, message).getConversationKey();
+    }
+
+    @Test
+    void participantsReadTheThread() throws Exception {
+        mockMvc.perform(get("/api/messages/conversations/" + conversation).header("Authorization", token(bob)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].sender").value(alice));
+        mockMvc.perform(get("/api/messages/inbox").header("Authorization", token(bob)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUnread").value(1));
+    }
+
+    @Test
+    void othersCannotReadItByNamingAParticipant() throws Exception {
+        mockMvc.perform(get("/api/messages/conversations/" + conversation).param("email", bob)
+                        .header("Authorization", token(eve)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/messages/inbox").param("email", bob).header("Authorization", token(eve)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conversations").isEmpty())
+                .andExpect(jsonPath("$.totalUnread").value(0));
+    }
+
+    private String user(String name, University university) {
+        String email = name + "@messagetest.edu";
+        userRepository.save(new User(email, name, "unused", "USER", university));
+        return email;
+    }
+
+    private String token(String email) {
+        return "Bearer " + sessionTokenService.issue(email);
+    }
+}
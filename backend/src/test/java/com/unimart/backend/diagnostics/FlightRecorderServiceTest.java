@@ -0,0 +1,131 @@
+package com.unimart.backend.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.unimart.backend.exceptions.InvalidRequestException;
+import com.unimart.backend.querystats.QueryStatsRecorder;
+import com.unimart.backend.querystats.QueryTimingDataSource;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * The continuous recording picks up the application events and a dump reads back as a
+ * regular JFR file
+ */
+class FlightRecorderServiceTest {
+    private FlightRecorderService service;
+    private Path dumpDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dumpDir = Files.createTempDirectory("jfr-test");
+        service = new FlightRecorderService();
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxAgeMinutes", 5L);
+        ReflectionTestUtils.setField(service, "maxSizeMb", 64L);
+        ReflectionTestUtils.setField(service, "connectionWaitThresholdMillis", 0L);
+        ReflectionTestUtils.setField(service, "dumpDir", dumpDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.stop();
+        try (Stream<Path> files = Files.walk(dumpDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void dumpContainsTheApplicationEvents() throws Exception {
+        service.start();
+
+        VerificationAttemptEvent verification = new VerificationAttemptEvent();
+        verification.emailDomain = "northeastern.edu";
+        verification.outcome = "SUCCESS";
+        verification.commit();
+
+        SmtpSendEvent smtp = new SmtpSendEvent();
+        smtp.begin();
+        smtp.recipientDomain = "northeastern.edu";
+        smtp.success = true;
+        smtp.commit();
+
+        StripeCallEvent stripe = new StripeCallEvent();
+        stripe.begin();
+        stripe.endpoint = "payment_intents.create";
+        stripe.commit();
+
+        // Connection waits are only recorded through the query stats wrapper
+        QueryTimingDataSource dataSource = new QueryTimingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:jfr-test;DB_CLOSE_DELAY=-1", "sa", ""),
+                mock(QueryStatsRecorder.class));
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+
+        Path dump = service.dump(1);
+
+        assertEquals(dumpDir, dump.getParent());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Set<String> types = events.stream().map(event -> event.getEventType().getName()).collect(Collectors.toSet());
+        assertTrue(types.containsAll(Set.of("com.unimart.VerificationAttempt", "com.unimart.SmtpSend",
+                "com.unimart.StripeCall", "com.unimart.ConnectionAcquire")), types.toString());
+
+        RecordedEvent acquire = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.unimart.ConnectionAcquire"))
+                .findFirst().orElseThrow();
+        assertEquals("DriverManagerDataSource", acquire.getString("pool"));
+        assertTrue(acquire.getStackTrace() != null);
+
+        RecordedEvent smtpEvent = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.unimart.SmtpSend"))
+                .findFirst().orElseThrow();
+        assertEquals("northeastern.edu", smtpEvent.getString("recipientDomain"));
+
+        // Only the trimmed file is left behind, not the full copy of the recording
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            assertEquals(List.of(dump), files.toList());
+        }
+        Map<String, Object> stats = service.stats();
+        assertEquals(1L, stats.get("dumps"));
+        assertEquals(dump.toString(), stats.get("lastDump"));
+    }
+
+    @Test
+    void dumpIsLimitedToTheRecordedWindow() {
+        service.start();
+        assertThrows(InvalidRequestException.class, () -> service.dump(0));
+        assertThrows(InvalidRequestException.class, () -> service.dump(6));
+    }
+
+    @Test
+    void dumpNeedsARunningRecording() {
+        ReflectionTestUtils.setField(service, "enabled", false);
+        service.start();
+        assertThrows(IllegalStateException.class, () -> service.dump(1));
+        assertEquals("OFF", service.stats().get("recording"));
+    }
+}
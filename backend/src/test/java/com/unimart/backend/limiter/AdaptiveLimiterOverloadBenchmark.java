@@ -0,0 +1,157 @@
+package com.unimart.backend.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Latency of served requests when offered more load than the database can take, with a fixed
+ * worker pool only (the current behaviour) and with the adaptive limiter in front.
+ *
+ * The stand-in server is a 200-thread pool, like Tomcat's default, over a database of 8
+ * connections that takes 4 ms per request, so about 2000 requests per second. Arrivals are
+ * open-loop: half that rate for a warm-up second, then 150% of it. Without a limit every
+ * request is accepted and waits for a connection, so the queue and the latency grow for as
+ * long as the overload lasts; with the limiter the excess is refused at once and the requests
+ * that are served keep close to their unloaded latency.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=AdaptiveLimiterOverloadBenchmark
+ */
+@Tag("benchmark")
+class AdaptiveLimiterOverloadBenchmark {
+    private static final int WORKERS = 200;
+    private static final int CONNECTIONS = 8;
+    private static final long SERVICE_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+    private static final int CAPACITY_PER_SECOND = (int) (CONNECTIONS * TimeUnit.SECONDS.toNanos(1) / SERVICE_NANOS);
+    private static final long WARM_UP_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long OVERLOAD_NANOS = TimeUnit.SECONDS.toNanos(3);
+
+    @Test
+    void limiterKeepsServedLatencyStableUnderOverload() throws Exception {
+        Result unlimited = run(null);
+        // A 10 ms queue wait, in proportion to the 4 ms requests here
+        AdaptiveLimiter limiter = new AdaptiveLimiter("bench", new GradientLimit(20, 4, 200, 0.2, 1.5, 1000),
+                50, 10, System::nanoTime);
+        Result limited = run(limiter);
+
+        System.out.printf("capacity ~%d req/s, offered %d req/s during overload%n", CAPACITY_PER_SECOND, CAPACITY_PER_SECOND * 3 / 2);
+        System.out.println("unlimited: " + unlimited);
+        System.out.println("limited:   " + limited);
+        System.out.println("limiter:   " + limiter.stats());
+
+        assertTrue(limited.p99Millis * 4 < unlimited.p99Millis,
+                "p99 of served requests with the limiter should be far below the unlimited p99");
+        // Refusing the excess must not cost throughput: the database stays busy
+        assertTrue(limited.servedPerSecond > CAPACITY_PER_SECOND * 0.8,
+                "the limiter should still serve close to capacity");
+    }
+
+    private Result run(AdaptiveLimiter limiter) throws InterruptedException {
+        Semaphore database = new Semaphore(CONNECTIONS, true);
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        ConcurrentLinkedQueue<Long> served = new ConcurrentLinkedQueue<>();
+        AtomicLong refused = new AtomicLong();
+        AtomicLong servedInWindow = new AtomicLong();
+
+        long began = System.nanoTime();
+        long overloadStart = began + WARM_UP_NANOS;
+        long end = overloadStart + OVERLOAD_NANOS;
+        long next = began;
+        while (next < end) {
+            long arrival = next;
+            boolean measured = arrival >= overloadStart;
+            workers.execute(() -> {
+                boolean handled = handle(limiter, database, arrival, measured, served, refused);
+                if (handled && measured && System.nanoTime() <= end) {
+                    servedInWindow.incrementAndGet();
+                }
+            });
+            int rate = measured ? CAPACITY_PER_SECOND * 3 / 2 : CAPACITY_PER_SECOND / 2;
+            next += TimeUnit.SECONDS.toNanos(1) / rate;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        shutdown(workers);
+
+        long[] latencies = served.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(latencies, servedInWindow.get(), refused.get(), TimeUnit.NANOSECONDS.toSeconds(OVERLOAD_NANOS));
+    }
+
+    /**
+     * Serves one request, or refuses it when the limiter says so
+     */
+    private static boolean handle(AdaptiveLimiter limiter, Semaphore database, long arrival, boolean measured,
+                               ConcurrentLinkedQueue<Long> served, AtomicLong refused) {
+        AdaptiveLimiter.Permit permit = null;
+        if (limiter != null) {
+            permit = limiter.tryAcquire();
+            if (permit == null) {
+                if (measured) {
+                    refused.incrementAndGet();
+                }
+                return false;
+            }
+        }
+        try {
+            database.acquireUninterruptibly();
+            try {
+                LockSupport.parkNanos(SERVICE_NANOS);
+            } finally {
+                database.release();
+            }
+        } finally {
+            if (permit != null) {
+                limiter.release(permit);
+            }
+        }
+        if (measured) {
+            served.add(System.nanoTime() - arrival);
+        }
+        return true;
+    }
+
+    private static void shutdown(ExecutorService workers) throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(2, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private static class Result {
+        final double p50Millis;
+        final double p99Millis;
+        final double servedPerSecond;
+        final long refused;
+
+        Result(long[] latencies, long servedInWindow, long refused, long seconds) {
+            this.p50Millis = percentile(latencies, 0.50);
+            this.p99Millis = percentile(latencies, 0.99);
+            this.servedPerSecond = servedInWindow / (double) seconds;
+            this.refused = refused;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("served %6.0f req/s  p50 %8.2f ms  p99 %8.2f ms  refused %d", servedPerSecond, p50Millis, p99Millis, refused);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.unimart.backend.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Admission, the bounded wait for a slot, and which releases feed the limit, with a clock the
+ * test moves
+ */
+class AdaptiveLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void refusesAtTheLimitWithoutAQueue() {
+        AdaptiveLimiter limiter = limiter(fixedLimit(2), 0, 0);
+
+        AdaptiveLimiter.Permit first = limiter.tryAcquire();
+        assertNotNull(first);
+        assertNotNull(limiter.tryAcquire());
+        assertNull(limiter.tryAcquire());
+
+        limiter.release(first);
+        assertNotNull(limiter.tryAcquire());
+        assertEquals(3L, limiter.stats().get("admitted"));
+        assertEquals(1L, limiter.stats().get("rejected"));
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void waitingRequestTakesTheReleasedSlot() throws Exception {
+        AdaptiveLimiter limiter = limiter(fixedLimit(1), 1, 10_000);
+        AdaptiveLimiter.Permit first = limiter.tryAcquire();
+
+        CompletableFuture<AdaptiveLimiter.Permit> waiter = CompletableFuture.supplyAsync(limiter::tryAcquire);
+        while ((Integer) limiter.stats().get("waiting") == 0) {
+            Thread.onSpinWait();
+        }
+        // The queue holds one request, the next is refused without waiting
+        assertNull(limiter.tryAcquire());
+
+        limiter.release(first);
+        assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1L, limiter.stats().get("queued"));
+        assertEquals(0, limiter.stats().get("waiting"));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void waitForASlotRunsOut() {
+        AdaptiveLimiter limiter = limiter(fixedLimit(1), 1, 20);
+        limiter.tryAcquire();
+
+        assertNull(limiter.tryAcquire());
+        assertEquals(1L, limiter.stats().get("queued"));
+        assertEquals(1L, limiter.stats().get("rejected"));
+        assertEquals(0, limiter.stats().get("waiting"));
+    }
+
+    @Test
+    void onlySampledReleasesMoveTheLimit() {
+        AdaptiveLimiter limiter = limiter(new GradientLimit(2, 1, 10, 1.0, 1.5, 1000), 0, 0);
+        limiter.tryAcquire();
+        AdaptiveLimiter.Permit streamed = limiter.tryAcquire();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+
+        limiter.releaseUnsampled(streamed);
+        assertEquals(2, limiter.getLimit());
+        assertEquals(1, limiter.getInFlight());
+
+        AdaptiveLimiter.Permit sampled = limiter.tryAcquire();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        limiter.release(sampled);
+        assertEquals(3, limiter.getLimit());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    private AdaptiveLimiter limiter(GradientLimit limit, int maxQueue, long maxQueueMillis) {
+        return new AdaptiveLimiter("test", limit, maxQueue, maxQueueMillis, clock::get);
+    }
+
+    private static GradientLimit fixedLimit(int limit) {
+        return new GradientLimit(limit, limit, limit, 0.2, 1.5, 1000);
+    }
+}
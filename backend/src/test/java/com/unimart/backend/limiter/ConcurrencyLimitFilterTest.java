@@ -0,0 +1,72 @@
+package com.unimart.backend.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Endpoint groups, refusals, and streamed responses that keep their slot to the end without
+ * counting as a latency sample
+ */
+class ConcurrencyLimitFilterTest {
+    // One slot per group, no queue, and a limit that follows every sample at once
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(true, 1, 1, 10, 1.0, 1.5, 1000, 0, 0);
+
+    @Test
+    void requestsAreGroupedByPathAndMethod() {
+        assertEquals(ConcurrencyLimitFilter.AUTH, ConcurrencyLimitFilter.group(request("POST", "/api/auth/verify-code")));
+        assertEquals(ConcurrencyLimitFilter.PAYMENTS, ConcurrencyLimitFilter.group(request("POST", "/api/checkout/1")));
+        assertEquals(ConcurrencyLimitFilter.PAYMENTS, ConcurrencyLimitFilter.group(request("GET", "/api/payments/7")));
+        assertEquals(ConcurrencyLimitFilter.READS, ConcurrencyLimitFilter.group(request("GET", "/api/products")));
+        assertEquals(ConcurrencyLimitFilter.READS, ConcurrencyLimitFilter.group(request("HEAD", "/api/products")));
+        assertEquals(ConcurrencyLimitFilter.WRITES, ConcurrencyLimitFilter.group(request("POST", "/api/products")));
+        assertNull(ConcurrencyLimitFilter.group(request("GET", "/api/admin/metrics")));
+        assertNull(ConcurrencyLimitFilter.group(request("GET", "/api/push/subscribe")));
+        assertNull(ConcurrencyLimitFilter.group(request("POST", "/api/webhook/stripe")));
+        assertNull(ConcurrencyLimitFilter.group(request("GET", "/images/1.png")));
+    }
+
+    @Test
+    void completedRequestReleasesItsSlotAndFeedsTheLimit() throws Exception {
+        filter.doFilter(request("GET", "/api/products"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(0, reads().get("inFlight"));
+        assertEquals(2, reads().get("limit"));
+    }
+
+    @Test
+    void streamedResponseHoldsItsSlotUntilCompleteWithoutASample() throws Exception {
+        MockHttpServletRequest streamed = request("GET", "/api/products/export");
+        streamed.setAsyncSupported(true);
+        FilterChain startsStreaming = (request, response) -> request.startAsync();
+        filter.doFilter(streamed, new MockHttpServletResponse(), startsStreaming);
+        assertEquals(1, reads().get("inFlight"));
+
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/products"), refused, new MockFilterChain());
+        assertEquals(503, refused.getStatus());
+        assertEquals("1", refused.getHeader("Retry-After"));
+
+        ((MockAsyncContext) streamed.getAsyncContext()).complete();
+        assertEquals(0, reads().get("inFlight"));
+        assertEquals(1, reads().get("limit"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> reads() {
+        return (Map<String, Object>) filter.stats().get(ConcurrencyLimitFilter.READS);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
@@ -0,0 +1,72 @@
+package com.unimart.backend.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The limit grows while latency holds, shrinks toward the minimum once requests queue, and
+ * ignores samples taken far below it
+ */
+class GradientLimitTest {
+    private static final long ONE_MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void growsUpToTheMaximumWhileLatencyHolds() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 0.2, 1.5, 1000);
+
+        sample(limit, 10, ONE_MS);
+        assertTrue(limit.getLimit() > 20, "limit " + limit.getLimit());
+
+        sample(limit, 500, ONE_MS);
+        assertEquals(200, limit.getLimit());
+    }
+
+    @Test
+    void shrinksToTheMinimumWhenLatencyRises() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 0.2, 1.5, 1000);
+        sample(limit, 20, ONE_MS);
+        int before = limit.getLimit();
+
+        sample(limit, 20, 10 * ONE_MS);
+        assertTrue(limit.getLimit() < before, before + " -> " + limit.getLimit());
+
+        sample(limit, 500, 10 * ONE_MS);
+        assertEquals(4, limit.getLimit());
+        assertEquals(1000, limit.getNoLoadRttMicros());
+    }
+
+    @Test
+    void baselineFollowsLatencyAfterTwoWindows() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 0.2, 1.5, 50);
+        sample(limit, 50, ONE_MS);
+
+        // Once both windows saw only slow samples, the slow latency is the new normal
+        sample(limit, 200, 10 * ONE_MS);
+        assertTrue(limit.getNoLoadRttMicros() > 9_000, "baseline " + limit.getNoLoadRttMicros());
+        int settled = limit.getLimit();
+        sample(limit, 20, 10 * ONE_MS);
+        assertTrue(limit.getLimit() >= settled, settled + " -> " + limit.getLimit());
+    }
+
+    @Test
+    void samplesFarBelowTheLimitOnlyFeedTheAverages() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 0.2, 1.5, 1000);
+        assertEquals(0, limit.getNoLoadRttMicros());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(20, limit.onSample(100 * ONE_MS, 5));
+        }
+        assertEquals(20, limit.getLimit());
+        assertEquals(100_000, limit.getNoLoadRttMicros());
+    }
+
+    private static void sample(GradientLimit limit, int times, long rttNanos) {
+        for (int i = 0; i < times; i++) {
+            limit.onSample(rttNanos, limit.getLimit());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.unimart.backend.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sources are found by name and counters come out in the order they were registered
+ */
+class MetricsRegistryTest {
+
+    @Test
+    void findsSourcesByName() {
+        MetricsRegistry registry = new MetricsRegistry(List.of(
+                MetricsSource.of("push", () -> Map.of("openConnections", 2L)),
+                MetricsSource.of("bans", () -> Map.of("checks", 5L))));
+
+        assertEquals(List.of("bans", "push"), List.copyOf(registry.names()));
+        assertEquals(Map.of("openConnections", 2L), registry.stats("push").orElseThrow());
+        assertTrue(registry.stats("unknown").isEmpty());
+    }
+
+    @Test
+    void sameNameTwiceFailsTheStartup() {
+        List<MetricsSource> sources = List.of(MetricsSource.of("push", Map::of), MetricsSource.of("push", Map::of));
+        assertThrows(IllegalStateException.class, () -> new MetricsRegistry(sources));
+    }
+
+    @Test
+    void countersSnapshotInRegistrationOrder() {
+        Counters counters = new Counters();
+        LongAdder hits = counters.add("hits");
+        LongAdder misses = counters.add("misses");
+        hits.add(3);
+        misses.increment();
+
+        Map<String, Object> stats = counters.snapshot();
+        stats.put("size", 10);
+        assertEquals(List.of("hits", "misses", "size"), List.copyOf(stats.keySet()));
+        assertEquals(3L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+        assertThrows(IllegalArgumentException.class, () -> counters.add("hits"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.unimart.backend.querystats;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserProfileRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Derived lookups used on every login hit an index; a filter on an unindexed column is
+ * reported as a full scan
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanAdvisorTest {
+
+    @Autowired
+    private QueryPlanAdvisor queryPlanAdvisor;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // Cached lookups would not reach the database at all
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void keyLookupsAreNotFullScans() {
+        universityRepository.findByDomain("advisor.edu");
+        userProfileRepository.findByUserEmail("nobody@advisor.edu");
+
+        List<QueryPlanAdvisor.Plan> plans = queryPlanAdvisor.explainFlagged();
+
+        QueryPlanAdvisor.Plan byDomain = plan(plans, "from universities", "domain=?");
+        QueryPlanAdvisor.Plan byUserEmail = plan(plans, "from userprofiles", "user_email=?");
+        assertNull(byDomain.getError());
+        assertFalse(byDomain.isFullScan(), byDomain.getPlan());
+        assertNull(byUserEmail.getError());
+        assertFalse(byUserEmail.isFullScan(), byUserEmail.getPlan());
+    }
+
+    @Test
+    void unindexedFilterIsReportedAsFullScan() {
+        jdbcTemplate.queryForList("SELECT user_email FROM UserProfiles WHERE phone_number = ?", "617-555-0000");
+
+        QueryPlanAdvisor.Plan plan = plan(queryPlanAdvisor.explainFlagged(), "from userprofiles", "phone_number = ?");
+
+        assertTrue(plan.isFullScan(), plan.getPlan());
+        assertFalse(plan.getScannedTables().isEmpty());
+    }
+
+    private static QueryPlanAdvisor.Plan plan(List<QueryPlanAdvisor.Plan> plans, String table, String condition) {
+        return plans.stream()
+                .filter(plan -> plan.getFingerprint().contains(table) && plan.getFingerprint().contains(condition))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan for a statement on " + table + " with " + condition));
+    }
+}
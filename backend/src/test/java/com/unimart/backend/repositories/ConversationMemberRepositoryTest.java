@@ -0,0 +1,160 @@
+package com.unimart.backend.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unimart.backend.models.ConversationMember;
+import com.unimart.backend.models.ConversationMemberId;
+
+/**
+ * The native INSERT ... ON DUPLICATE KEY UPDATE behind every send, run against H2 in MySQL
+ * mode: rows are created on the first message, counters add up, and a message committed out
+ * of order never replaces a newer preview
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConversationMemberRepositoryTest {
+    private static final AtomicLong MESSAGE_IDS = new AtomicLong();
+
+    @Autowired
+    private ConversationMemberRepository conversationMemberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String alice;
+    private String bob;
+    private String conversation;
+
+    @BeforeEach
+    void setUp() {
+        // The context and its database are shared, every test talks in its own conversation
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        alice = "alice-" + suffix + "@northeastern.edu";
+        bob = "bob-" + suffix + "@northeastern.edu";
+        conversation = "conv-" + suffix;
+    }
+
+    @Test
+    void firstMessageCreatesBothRows() {
+        long messageId = send(alice, bob, "Is the lamp still available?", LocalDateTime.of(2026, 1, 5, 10, 0));
+
+        ConversationMember sender = member(alice);
+        ConversationMember receiver = member(bob);
+        assertEquals(0, sender.getUnreadCount());
+        assertEquals(1, receiver.getUnreadCount());
+        assertEquals(alice, receiver.getOtherEmail());
+        assertEquals(messageId, receiver.getLastMessageId().longValue());
+        assertEquals("Is the lamp still available?", receiver.getLastMessagePreview());
+    }
+
+    @Test
+    void laterMessagesAddUpAndAdvanceThePreview() {
+        send(alice, bob, "Hi", LocalDateTime.of(2026, 1, 5, 10, 0));
+        send(alice, bob, "Still there?", LocalDateTime.of(2026, 1, 5, 10, 1));
+        long last = send(bob, alice, "Yes", LocalDateTime.of(2026, 1, 5, 10, 2));
+
+        assertEquals(2, member(bob).getUnreadCount());
+        assertEquals(1, member(alice).getUnreadCount());
+        assertEquals(last, member(bob).getLastMessageId().longValue());
+        assertEquals("Yes", member(bob).getLastMessagePreview());
+        assertEquals(LocalDateTime.of(2026, 1, 5, 10, 2), member(alice).getLastMessageAt());
+    }
+
+    @Test
+    void olderMessageCommittedLateKeepsTheNewerPreview() {
+        long older = MESSAGE_IDS.incrementAndGet();
+        long newer = send(alice, bob, "Newer", LocalDateTime.of(2026, 1, 5, 10, 1));
+        record(alice, bob, older, "Older", LocalDateTime.of(2026, 1, 5, 10, 0));
+
+        ConversationMember receiver = member(bob);
+        assertEquals(newer, receiver.getLastMessageId().longValue());
+        assertEquals("Newer", receiver.getLastMessagePreview());
+        assertEquals(LocalDateTime.of(2026, 1, 5, 10, 1), receiver.getLastMessageAt());
+        assertEquals(2, receiver.getUnreadCount());
+    }
+
+    @Test
+    void markReadClearsOneConversationAndSumUnreadCountsTheRest() {
+        send(alice, bob, "First", LocalDateTime.of(2026, 1, 5, 10, 0));
+        send(alice, bob, "Second", LocalDateTime.of(2026, 1, 5, 10, 1));
+        String other = conversation + "-other";
+        inTransaction(() -> conversationMemberRepository.recordMessage(bob, other, "carol@northeastern.edu", null,
+                MESSAGE_IDS.incrementAndGet(), LocalDateTime.of(2026, 1, 5, 11, 0), "Hello", 1));
+        assertEquals(3, conversationMemberRepository.sumUnread(bob));
+
+        assertEquals(1, inTransaction(() -> conversationMemberRepository.markRead(bob, conversation)));
+        assertEquals(0, member(bob).getUnreadCount());
+        assertEquals(1, conversationMemberRepository.sumUnread(bob));
+        assertEquals(List.of(other, conversation),
+                conversationMemberRepository.findByUserEmailOrderByLastMessageAtDesc(bob, PageRequest.of(0, 10))
+                        .stream().map(ConversationMember::getConversationKey).toList());
+    }
+
+    @Test
+    void concurrentSendsNeverLoseAnIncrement() throws Exception {
+        int senders = 8;
+        int messagesEach = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(senders);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < senders; i++) {
+                futures.add(pool.submit(() -> {
+                    for (int j = 0; j < messagesEach; j++) {
+                        send(alice, bob, "ping", LocalDateTime.of(2026, 1, 5, 12, 0));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(senders * messagesEach, member(bob).getUnreadCount());
+        assertEquals(0, member(alice).getUnreadCount());
+    }
+
+    /**
+     * Records a message for both participants the way MessagingService does
+     */
+    private long send(String from, String to, String text, LocalDateTime sentAt) {
+        long messageId = MESSAGE_IDS.incrementAndGet();
+        record(from, to, messageId, text, sentAt);
+        return messageId;
+    }
+
+    private void record(String from, String to, long messageId, String text, LocalDateTime sentAt) {
+        inTransaction(() -> {
+            conversationMemberRepository.recordMessage(from, conversation, to, null, messageId, sentAt, text, 0);
+            return conversationMemberRepository.recordMessage(to, conversation, from, null, messageId, sentAt, text, 1);
+        });
+    }
+
+    private ConversationMember member(String email) {
+        return conversationMemberRepository.findById(new ConversationMemberId(email, conversation)).orElseThrow();
+    }
+
+    private int inTransaction(IntSupplier work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.getAsInt());
+    }
+}
@@ -0,0 +1,224 @@
+package com.unimart.backend.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.unimart.backend.exceptions.DependencyUnavailableException;
+
+/**
+ * Bulkhead and circuit breaker behaviour against a local stand-in for Stripe or SMTP that can
+ * be told to answer, fail, hang or answer slowly. Time is a manual clock, so the open period
+ * and slow calls need no sleeping.
+ */
+class DependencyGuardTest {
+    private final AtomicLong clock = new AtomicLong();
+    private StandIn dependency;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        dependency = new StandIn();
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dependency.release();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void bulkheadRefusesCallsBeyondTheLimitWhileTheDependencyHangs() throws Exception {
+        DependencyGuard guard = guard(ResiliencePolicy.builder().maxConcurrent(2).build());
+        CountDownLatch entered = dependency.hangNext(2);
+        Future<String> first = callers.submit(() -> guard.call(dependency::call));
+        Future<String> second = callers.submit(() -> guard.call(dependency::call));
+        assertTrue(entered.await(5, TimeUnit.SECONDS), "both calls reached the dependency");
+
+        DependencyUnavailableException refused = assertThrows(DependencyUnavailableException.class,
+                () -> guard.call(dependency::call));
+        assertEquals("stand-in", refused.getDependency());
+        assertEquals(2, dependency.calls.get());
+
+        dependency.release();
+        assertEquals("ok", first.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", second.get(5, TimeUnit.SECONDS));
+        dependency.mode = Mode.OK;
+        assertEquals("ok", guard.call(dependency::call));
+    }
+
+    @Test
+    void circuitOpensAfterFailuresAndFailsFastWithoutCallingTheDependency() throws Exception {
+        DependencyGuard guard = guard(breakerPolicy());
+        dependency.mode = Mode.ERROR;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(StandInFailure.class, () -> guard.call(dependency::call));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+
+        DependencyUnavailableException refused = assertThrows(DependencyUnavailableException.class,
+                () -> guard.call(dependency::call));
+        assertEquals(4, dependency.calls.get());
+        assertEquals(10L, refused.getRetryAfterSeconds());
+    }
+
+    @Test
+    void halfOpenProbesCloseTheCircuitOnceTheDependencyRecovers() throws Exception {
+        DependencyGuard guard = guard(breakerPolicy());
+        open(guard);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        dependency.mode = Mode.OK;
+        assertEquals("ok", guard.call(dependency::call));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, guard.getState());
+        assertEquals("ok", guard.call(dependency::call));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+        assertEquals("ok", guard.call(dependency::call));
+    }
+
+    @Test
+    void failedProbeOpensTheCircuitAgain() throws Exception {
+        DependencyGuard guard = guard(breakerPolicy());
+        open(guard);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThrows(StandInFailure.class, () -> guard.call(dependency::call));
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+        assertThrows(DependencyUnavailableException.class, () -> guard.call(dependency::call));
+
+        Map<?, ?> transitions = (Map<?, ?>) ((Map<?, ?>) guard.stats().get("circuit")).get("transitions");
+        assertEquals(Long.valueOf(1), transitions.get("CLOSED->OPEN"));
+        assertEquals(Long.valueOf(1), transitions.get("OPEN->HALF_OPEN"));
+        assertEquals(Long.valueOf(1), transitions.get("HALF_OPEN->OPEN"));
+    }
+
+    @Test
+    void onlyOneProbeAtATimeWhileHalfOpen() throws Exception {
+        DependencyGuard guard = guard(ResiliencePolicy.builder().windowSize(4).minimumCalls(4).openMillis(10_000)
+                .halfOpenProbes(1).build());
+        open(guard);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        CountDownLatch entered = dependency.hangNext(1);
+        Future<String> probe = callers.submit(() -> guard.call(dependency::call));
+        assertTrue(entered.await(5, TimeUnit.SECONDS), "the probe reached the dependency");
+        assertThrows(DependencyUnavailableException.class, () -> guard.call(dependency::call));
+
+        dependency.release();
+        assertEquals("ok", probe.get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void slowAnswersCountAsFailures() throws Exception {
+        DependencyGuard guard = guard(breakerPolicy());
+        dependency.mode = Mode.SLOW;
+        for (int i = 0; i < 4; i++) {
+            assertEquals("ok", guard.call(dependency::call));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+    }
+
+    @Test
+    void answersThatAreNotOutagesKeepTheCircuitClosed() throws Exception {
+        DependencyGuard guard = guard(breakerPolicy());
+        dependency.mode = Mode.DECLINE;
+        for (int i = 0; i < 10; i++) {
+            assertThrows(Declined.class, () -> guard.call(dependency::call));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+    }
+
+    private void open(DependencyGuard guard) {
+        dependency.mode = Mode.ERROR;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(StandInFailure.class, () -> guard.call(dependency::call));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+    }
+
+    /**
+     * Opens on two failures out of the last four calls, for ten seconds, and closes after two
+     * good probes
+     */
+    private static ResiliencePolicy breakerPolicy() {
+        return ResiliencePolicy.builder()
+                .windowSize(4)
+                .minimumCalls(4)
+                .failureRatePercent(50)
+                .slowCallMillis(50)
+                .openMillis(10_000)
+                .halfOpenProbes(2)
+                .build();
+    }
+
+    private DependencyGuard guard(ResiliencePolicy policy) {
+        return new DependencyGuard("stand-in", policy, e -> e instanceof StandInFailure, clock::get);
+    }
+
+    private enum Mode { OK, ERROR, DECLINE, HANG, SLOW }
+
+    private static class StandInFailure extends Exception {
+        StandInFailure() {
+            super("connection reset");
+        }
+    }
+
+    private static class Declined extends Exception {
+        Declined() {
+            super("card declined");
+        }
+    }
+
+    /**
+     * Local stand-in for an external API
+     */
+    private class StandIn {
+        volatile Mode mode = Mode.OK;
+        final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch hang = new CountDownLatch(1);
+        private volatile CountDownLatch entered = new CountDownLatch(0);
+
+        String call() throws StandInFailure, Declined, InterruptedException {
+            calls.incrementAndGet();
+            switch (mode) {
+                case ERROR -> throw new StandInFailure();
+                case DECLINE -> throw new Declined();
+                case HANG -> {
+                    entered.countDown();
+                    hang.await();
+                }
+                case SLOW -> clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+                default -> { }
+            }
+            return "ok";
+        }
+
+        /**
+         * Makes calls block until release; the latch opens once that many calls are blocked
+         */
+        CountDownLatch hangNext(int callers) {
+            entered = new CountDownLatch(callers);
+            mode = Mode.HANG;
+            return entered;
+        }
+
+        void release() {
+            hang.countDown();
+        }
+    }
+}
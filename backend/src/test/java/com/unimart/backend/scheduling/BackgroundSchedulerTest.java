@@ -0,0 +1,86 @@
+package com.unimart.backend.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A failing task is counted and keeps its schedule, and shutdown either waits for the running
+ * task or interrupts it
+ */
+class BackgroundSchedulerTest {
+    private final BackgroundScheduler scheduler = new BackgroundScheduler("scheduler-test");
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void periodicTaskKeepsRunningAfterAFailure() throws InterruptedException {
+        // The fourth run starts only after the third failure was counted
+        CountDownLatch fourthRun = new CountDownLatch(4);
+        scheduler.scheduleWithFixedDelay("flaky", () -> {
+            fourthRun.countDown();
+            throw new IllegalStateException("database down");
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        assertTrue(fourthRun.await(5, TimeUnit.SECONDS));
+        assertTrue(scheduler.getFailures() >= 3);
+    }
+
+    @Test
+    void runNowGuardsTheCallingThread() {
+        scheduler.runNow("first load", () -> {
+            throw new IllegalStateException("database down");
+        });
+        assertEquals(1, scheduler.getFailures());
+    }
+
+    @Test
+    void drainWaitsForTheRunningTask() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+        scheduler.execute("flush", () -> {
+            started.countDown();
+            sleep(50);
+            finished.set(true);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        scheduler.drain(5, TimeUnit.SECONDS);
+        assertTrue(finished.get());
+    }
+
+    @Test
+    void stopInterruptsTheRunningTask() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        scheduler.execute("reconcile", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        scheduler.stop();
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unimart.backend.dto.checkout.CheckoutRequestDTO;
+import com.unimart.backend.dto.checkout.CheckoutResponseDTO;
+import com.unimart.backend.dto.payment.PaymentResponseDTO;
+import com.unimart.backend.exceptions.OutOfStockException;
+import com.unimart.backend.models.Order;
+import com.unimart.backend.models.Payment;
+import com.unimart.backend.models.Product;
+import com.unimart.backend.repositories.OrderRepository;
+import com.unimart.backend.repositories.ProductRepository;
+
+/**
+ * Many buyers racing for the same listing against a real (H2) database
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CheckoutServiceConcurrencyTest {
+    private static final int BUYERS = 50;
+    private static final String SELLER = "seller@northeastern.edu";
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void onlyOneBuyerGetsTheLastUnit() throws Exception {
+        when(paymentService.createPaymentIntent(any())).thenReturn(payment("succeeded"));
+        Product product = listing(1);
+
+        List<Object> results = race(product.getProductId());
+
+        long succeeded = results.stream().filter(CheckoutResponseDTO.class::isInstance).count();
+        assertEquals(1, succeeded);
+        for (Object result : results) {
+            if (!(result instanceof CheckoutResponseDTO)) {
+                assertInstanceOf(OutOfStockException.class, result);
+            }
+        }
+
+        Product after = productRepository.findById(product.getProductId()).orElseThrow();
+        assertEquals(0, after.getQuantity().intValue());
+        assertEquals(Product.STATUS_PENDING, after.getStatus());
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void failedPaymentsReleaseTheirUnits() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        when(paymentService.createPaymentIntent(any())).thenAnswer(invocation ->
+                payment(calls.incrementAndGet() % 2 == 0 ? "succeeded" : "requires_payment_method"));
+        int stock = 10;
+        Product product = listing(stock);
+
+        List<Object> results = race(product.getProductId());
+
+        int paid = 0;
+        for (Object result : results) {
+            if (result instanceof CheckoutResponseDTO response && Payment.STATUS_COMPLETED.equals(response.getPaymentStatus())) {
+                paid++;
+            } else if (!(result instanceof CheckoutResponseDTO)) {
+                assertInstanceOf(OutOfStockException.class, result);
+            }
+        }
+
+        Product after = productRepository.findById(product.getProductId()).orElseThrow();
+        assertEquals(stock - paid, after.getQuantity().intValue());
+        long pending = orderRepository.findAll().stream()
+                .filter(order -> Order.STATUS_PENDING.equals(order.getOrderStatus())).count();
+        assertEquals(paid, pending);
+        orderRepository.findAll().stream()
+                .filter(order -> !Order.STATUS_PENDING.equals(order.getOrderStatus()))
+                .forEach(order -> assertEquals(Order.STATUS_CANCELED, order.getOrderStatus()));
+    }
+
+    /**
+     * Starts every buyer at once and returns each one's response or exception
+     */
+    private List<Object> race(Long productId) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CheckoutResponseDTO>> futures = new ArrayList<>(BUYERS);
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        try {
+            for (int i = 0; i < BUYERS; i++) {
+                String buyer = "buyer" + i + "@northeastern.edu";
+                CheckoutRequestDTO request = new CheckoutRequestDTO();
+                request.setProductId(productId);
+                request.setQuantity(1);
+                request.setPaymentMethodId("pm_card_visa");
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return checkoutService.checkout(buyer, request);
+                }));
+            }
+            start.countDown();
+
+            List<Object> results = new ArrayList<>(BUYERS);
+            for (Future<CheckoutResponseDTO> future : futures) {
+                try {
+                    results.add(future.get(1, TimeUnit.MINUTES));
+                } catch (ExecutionException e) {
+                    results.add(e.getCause());
+                } catch (TimeoutException e) {
+                    throw new AssertionError("Checkout did not finish", e);
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Product listing(int quantity) {
+        Product product = new Product();
+        product.setSellerEmail(SELLER);
+        product.setUniversityId(1L);
+        product.setTitle("Desk lamp");
+        product.setPrice(new BigDecimal("15.00"));
+        product.setCategory("Furniture");
+        product.setItemCondition("Good");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setStatus(Product.STATUS_AVAILABLE);
+        product.setActive(true);
+        product.setQuantity(quantity);
+        return productRepository.save(product);
+    }
+
+    private static PaymentResponseDTO payment(String status) {
+        return PaymentResponseDTO.builder()
+            .paymentIntentId("pi_test")
+            .clientSecret("pi_test_secret")
+            .status(status)
+            .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.unimart.backend.dto.favorite.FavoriteStatusDTO;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.repositories.UserFavoriteRepository;
+
+/**
+ * Favorite state for a page of listing cards: one membership query and one count query per card
+ * versus FavoritesService answering the whole page from the cached favorite set.
+ *
+ * Repositories are stand-ins that count calls and sleep a simulated round trip per query.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=FavoritesLookupBenchmark
+ */
+@Tag("benchmark")
+class FavoritesLookupBenchmark {
+    private static final String USER = "jane.smith@bu.edu";
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(300);
+    private static final int PAGES = 20;
+    private static final int[] PAGE_SIZES = {12, 24, 48, 96};
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    void pageLookupCostIsIndependentOfPageSize() {
+        UserFavoriteRepository favorites = stub(UserFavoriteRepository.class);
+        ProductRepository products = stub(ProductRepository.class);
+
+        for (int pageSize : PAGE_SIZES) {
+            FavoritesService service = new FavoritesService(favorites, products, null, event -> { }, 10_000, 50_000, 5_000);
+
+            // Per-card: "is it mine?" and "how many?" for every card on every page
+            queries.set(0);
+            long began = System.nanoTime();
+            for (int page = 0; page < PAGES; page++) {
+                for (long productId : page(page, pageSize)) {
+                    favorites.existsByUserEmailAndProductId(USER, productId);
+                    favorites.countByProductId(productId);
+                }
+            }
+            int perCardQueries = queries.get();
+            long perCardNanos = System.nanoTime() - began;
+
+            // Batched: whole page per call, then the same pages again as a user scrolling back
+            queries.set(0);
+            began = System.nanoTime();
+            for (int pass = 0; pass < 2; pass++) {
+                for (int page = 0; page < PAGES; page++) {
+                    List<FavoriteStatusDTO> statuses = service.lookup(USER, page(page, pageSize));
+                    assertEquals(pageSize, statuses.size());
+                    assertEquals(statuses.get(0).getProductId() % 3 == 0, statuses.get(0).isFavorited());
+                }
+            }
+            int batchedQueries = queries.get();
+            long batchedNanos = System.nanoTime() - began;
+
+            System.out.printf("page size %3d: per-card %5.1f queries/page %7.2f ms/page | batched %4.2f queries/page %6.3f ms/page%n",
+                    pageSize,
+                    perCardQueries / (double) PAGES, perCardNanos / 1e6 / PAGES,
+                    batchedQueries / (2.0 * PAGES), batchedNanos / 1e6 / (2 * PAGES));
+
+            assertEquals(2 * pageSize * PAGES, perCardQueries);
+            // One favorite-set load overall plus one count query per page not seen before
+            assertEquals(1 + PAGES, batchedQueries);
+            assertTrue(batchedQueries < perCardQueries);
+        }
+    }
+
+    private static List<Long> page(int page, int pageSize) {
+        List<Long> ids = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            ids.add((long) page * pageSize + i + 1);
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T stub(Class<T> repository) {
+        return (T) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] {repository}, (proxy, method, args) -> {
+            queries.incrementAndGet();
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            switch (method.getName()) {
+                case "findProductIdsByUserEmail": {
+                    // Every third product is a favorite of the user
+                    List<Long> ids = new ArrayList<>();
+                    for (long id = 3; id <= 10_000; id += 3) {
+                        ids.add(id);
+                    }
+                    return ids;
+                }
+                case "findFavoriteCounts": {
+                    List<Object[]> rows = new ArrayList<>();
+                    for (Long id : (Collection<Long>) args[0]) {
+                        rows.add(new Object[] {id, id % 7});
+                    }
+                    return rows;
+                }
+                case "existsByUserEmailAndProductId":
+                    return (Long) args[1] % 3 == 0;
+                case "countByProductId":
+                    return (Long) args[0] % 7;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
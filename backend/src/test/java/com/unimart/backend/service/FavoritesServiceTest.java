@@ -0,0 +1,135 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.repositories.UserFavoriteRepository;
+
+/**
+ * Counts stay exact across flushes, failed flushes and eviction, and the cache neither leaks
+ * entries nor re-queries ids the database does not know
+ */
+class FavoritesServiceTest {
+    private static final String USER = "jane.smith@bu.edu";
+    private static final String FLUSH_SQL =
+            "UPDATE Products SET favorite_count = GREATEST(favorite_count + ?, 0) WHERE product_id = ?";
+
+    private UserFavoriteRepository favorites;
+    private ProductRepository products;
+    private JdbcTemplate jdbcTemplate;
+    private FavoritesService service;
+    // The Products.favorite_count column as the stand-in database holds it
+    private final Map<Long, Long> database = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        favorites = mock(UserFavoriteRepository.class);
+        products = mock(ProductRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(favorites.findProductIdsByUserEmail(anyString())).thenReturn(List.of());
+        when(favorites.deleteFavorite(anyString(), any())).thenReturn(1);
+        when(products.existsById(any())).thenAnswer(invocation -> database.containsKey(invocation.<Long>getArgument(0)));
+        when(products.findFavoriteCounts(any())).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (Long productId : invocation.<Collection<Long>>getArgument(0)) {
+                if (database.containsKey(productId)) {
+                    rows.add(new Object[] {productId, database.get(productId)});
+                }
+            }
+            return rows;
+        });
+        doAnswer(invocation -> {
+            for (Object[] row : invocation.<List<Object[]>>getArgument(1)) {
+                database.merge((Long) row[1], (Long) row[0], (a, b) -> Math.max(0, a + b));
+            }
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(eq(FLUSH_SQL), anyList());
+        service = new FavoritesService(favorites, products, jdbcTemplate, event -> { }, 100, 100, 5_000);
+    }
+
+    @Test
+    void countsStayExactAcrossAFlush() {
+        database.put(1L, 4L);
+        assertEquals(4, count(1L));
+
+        service.addFavorite(USER, 1L);
+        assertEquals(5, count(1L));
+        assertEquals(1, service.flush());
+        assertEquals(Long.valueOf(5), database.get(1L));
+        assertEquals(5, count(1L));
+        assertEquals(0L, service.stats().get("pendingProducts"));
+        assertEquals(0, service.flush());
+    }
+
+    @Test
+    void failedFlushKeepsTheDeltaPending() {
+        database.put(1L, 4L);
+        service.addFavorite(USER, 1L);
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .when(jdbcTemplate).batchUpdate(eq(FLUSH_SQL), anyList());
+
+        try {
+            service.flush();
+        } catch (DataAccessResourceFailureException expected) {
+            // retried on the next run
+        }
+        assertEquals(5, count(1L));
+        assertEquals(1L, service.stats().get("pendingProducts"));
+    }
+
+    @Test
+    void changesThatCancelOutLeaveNoEntryBehind() {
+        database.put(1L, 0L);
+        service.addFavorite(USER, 1L);
+        service.removeFavorite(USER, 1L);
+        assertEquals(0L, service.stats().get("pendingProducts"));
+        assertEquals(0, service.flush());
+    }
+
+    @Test
+    void unknownIdsAreNotQueriedAgain() {
+        assertEquals(0, count(404L));
+        assertEquals(0, count(404L));
+        verify(products, times(1)).findFavoriteCounts(any());
+        assertEquals(1L, service.stats().get("countQueries"));
+    }
+
+    @Test
+    void evictionKeepsUnflushedChanges() {
+        service = new FavoritesService(favorites, products, jdbcTemplate, event -> { }, 100, 2, 5_000);
+        database.put(1L, 4L);
+        service.addFavorite(USER, 1L);
+        for (long productId = 100; productId < 120; productId++) {
+            count(productId);
+        }
+
+        assertEquals(5, count(1L));
+        assertEquals(1, service.flush());
+        assertEquals(Long.valueOf(5), database.get(1L));
+    }
+
+    private long count(Long productId) {
+        return service.lookup(null, List.of(productId)).get(0).getFavoriteCount();
+    }
+}
@@ -0,0 +1,102 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Images are measured from their header and refused before decoding when too large
+ */
+class ImageDerivativePipelineTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void decodesImagesUnderTheCap() throws IOException {
+        Path png = png(64, 48);
+        BufferedImage decoded = ImageDerivativePipeline.decode(png, 64 * 48);
+        assertEquals(64, decoded.getWidth());
+        assertEquals(48, decoded.getHeight());
+    }
+
+    @Test
+    void refusesImagesOverTheCap() throws IOException {
+        Path png = png(64, 48);
+        IOException refused = assertThrows(IOException.class, () -> ImageDerivativePipeline.decode(png, 64 * 48 - 1));
+        assertTrue(refused.getMessage().contains("64x48"), refused.getMessage());
+    }
+
+    @Test
+    void refusesABombFromItsHeaderWithoutDecodingIt() throws IOException {
+        // 100000 x 100000 pixels would take 40 GB decoded; the file has no pixel data at all
+        Path bomb = dir.resolve("bomb.png");
+        Files.write(bomb, pngHeaderOnly(100_000, 100_000));
+        IOException refused = assertThrows(IOException.class, () -> ImageDerivativePipeline.decode(bomb, 40_000_000));
+        assertTrue(refused.getMessage().contains("100000x100000"), refused.getMessage());
+    }
+
+    @Test
+    void refusesFilesThatAreNotImages() throws IOException {
+        Path html = dir.resolve("avatar.png");
+        Files.writeString(html, "<html><script>alert(1)</script></html>");
+        IOException refused = assertThrows(IOException.class, () -> ImageDerivativePipeline.decode(html, 40_000_000));
+        assertTrue(refused.getMessage().startsWith("Unsupported image format"), refused.getMessage());
+    }
+
+    @Test
+    void resizeKeepsTheAspectRatio() {
+        BufferedImage resized = ImageDerivativePipeline.resize(new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB), 300);
+        assertEquals(300, resized.getWidth());
+        assertEquals(200, resized.getHeight());
+    }
+
+    private Path png(int width, int height) throws IOException {
+        Path png = dir.resolve(width + "x" + height + ".png");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", png.toFile());
+        return png;
+    }
+
+    /**
+     * PNG signature and an IHDR chunk claiming the given size, followed by IEND
+     */
+    static byte[] pngHeaderOnly(int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+
+        ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(ihdr);
+        header.writeInt(width);
+        header.writeInt(height);
+        // 8-bit truecolour, deflate, no filter, no interlace
+        header.write(new byte[] {8, 2, 0, 0, 0});
+        chunk(out, "IHDR", ihdr.toByteArray());
+        chunk(out, "IEND", new byte[0]);
+        return bytes.toByteArray();
+    }
+
+    private static void chunk(DataOutputStream out, String type, byte[] data) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(typeBytes);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+}
@@ -0,0 +1,152 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.dto.product.ListingDetailDTO;
+import com.unimart.backend.dto.product.ListingRequestDTO;
+import com.unimart.backend.dto.product.ListingSummaryDTO;
+import com.unimart.backend.events.ListingsHiddenEvent;
+import com.unimart.backend.exceptions.UserNotFoundException;
+
+/**
+ * The feed buffer follows listings created, edited, sold and taken down through ProductService,
+ * without reloading from the database
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ListingFeedCacheTest {
+    private static final String SELLER = "seller@feedtest.edu";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ListingFeedCache listingFeedCache;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Long universityId;
+
+    @BeforeEach
+    void setUp() {
+        University university = universityRepository.findByDomain("feedtest.edu")
+                .orElseGet(() -> universityRepository.save(new University("Feed Test University", "feedtest.edu")));
+        universityId = university.getId();
+        if (!userRepository.existsByEmail(SELLER)) {
+            userRepository.save(new User(SELLER, "feedtest-seller", "unused", "USER", university));
+        }
+        // Every test starts from a freshly loaded buffer
+        listingFeedCache.invalidate(universityId);
+        feed();
+    }
+
+    @Test
+    void createdListingIsServedFromTheBuffer() {
+        long reloads = reloads();
+        long version = listingFeedCache.version(universityId);
+
+        ListingDetailDTO created = productService.createListing(SELLER, request("Desk lamp"));
+
+        List<ListingSummaryDTO> feed = feed();
+        assertEquals(created.getProductId(), feed.get(0).getProductId());
+        assertEquals(reloads, reloads());
+        assertTrue(listingFeedCache.version(universityId) > version);
+    }
+
+    @Test
+    void editedListingReplacesItsEntry() {
+        ListingDetailDTO created = productService.createListing(SELLER, request("Desk lamp"));
+        long reloads = reloads();
+
+        productService.updateListing(SELLER, created.getProductId(), request("Brass desk lamp"));
+
+        List<ListingSummaryDTO> feed = feed();
+        assertEquals("Brass desk lamp", feed.get(0).getTitle());
+        assertEquals(1, feed.stream().filter(item -> item.getProductId().equals(created.getProductId())).count());
+        assertEquals(reloads, reloads());
+    }
+
+    @Test
+    void soldListingLeavesTheFeed() {
+        ListingDetailDTO created = productService.createListing(SELLER, request("Desk lamp"));
+        long reloads = reloads();
+
+        productService.markSold(SELLER, created.getProductId());
+
+        assertFalse(feed().stream().anyMatch(item -> item.getProductId().equals(created.getProductId())));
+        assertEquals(reloads, reloads());
+    }
+
+    @Test
+    void takedownDropsTheBufferOfTheUniversity() {
+        ListingDetailDTO created = productService.createListing(SELLER, request("Desk lamp"));
+        long reloads = reloads();
+        long version = listingFeedCache.version(universityId);
+
+        eventPublisher.publishEvent(new ListingsHiddenEvent(Map.of(universityId, List.of(created.getProductId()))));
+
+        assertTrue(listingFeedCache.version(universityId) > version);
+        feed();
+        assertEquals(reloads + 1, reloads());
+    }
+
+    @Test
+    void unknownSellerIsNotFound() {
+        assertThrows(UserNotFoundException.class, () -> productService.createListing("nobody@feedtest.edu", request("Desk lamp")));
+    }
+
+    @Test
+    void onlyTheSellerChangesTheListing() {
+        ListingDetailDTO created = productService.createListing(SELLER, request("Desk lamp"));
+
+        assertThrows(AccessDeniedException.class,
+                () -> productService.updateListing("other@feedtest.edu", created.getProductId(), request("Free desk lamp")));
+        assertThrows(AccessDeniedException.class,
+                () -> productService.markSold("other@feedtest.edu", created.getProductId()));
+        assertEquals("Desk lamp", productService.getListing(created.getProductId()).getTitle());
+    }
+
+    private List<ListingSummaryDTO> feed() {
+        return productService.getFeed(universityId, null, 20).getItems();
+    }
+
+    private long reloads() {
+        return ((Number) listingFeedCache.stats().get("reloads")).longValue();
+    }
+
+    private static ListingRequestDTO request(String title) {
+        ListingRequestDTO request = new ListingRequestDTO();
+        request.setTitle(title);
+        request.setPrice(new BigDecimal("15.00"));
+        request.setCategory("Furniture");
+        request.setItemCondition("Good");
+        request.setQuantity(1);
+        return request;
+    }
+}
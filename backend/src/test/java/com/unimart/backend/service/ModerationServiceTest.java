@@ -0,0 +1,157 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.models.Product;
+import com.unimart.backend.models.ReportedListing;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.repositories.ReportedListingRepository;
+
+/**
+ * Bulk actions against H2: only moderators act, upholding reports leaves the ones a moderator
+ * already dismissed alone, and a timed ban ends whether or not a report was open
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ModerationServiceTest {
+    private static final String MODERATOR = "moderator@northeastern.edu";
+
+    @Autowired
+    private ModerationService moderationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReportedListingRepository reportedListingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BannedUserService bannedUserService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String seller;
+
+    @BeforeEach
+    void setUp() {
+        // AdminUsers has no entity, so the test schema does not include it
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS AdminUsers (email VARCHAR(255) PRIMARY KEY, role VARCHAR(20) NOT NULL)");
+        jdbcTemplate.update("MERGE INTO AdminUsers (email, role) KEY (email) VALUES (?, 'Moderator')", MODERATOR);
+        seller = "seller-" + UUID.randomUUID().toString().substring(0, 8) + "@northeastern.edu";
+    }
+
+    @Test
+    void nonModeratorsAreRefused() {
+        Long productId = listing().getProductId();
+        assertThrows(AccessDeniedException.class,
+                () -> moderationService.hideListings("student@northeastern.edu", List.of(productId)));
+        assertThrows(AccessDeniedException.class,
+                () -> moderationService.banUsers("student@northeastern.edu", List.of(seller), null));
+        assertEquals(true, productRepository.findById(productId).orElseThrow().isActive());
+    }
+
+    @Test
+    void hidingUpholdsOnlyPendingReports() {
+        Long productId = listing().getProductId();
+        ReportedListing dismissed = report(productId, "reporter1@northeastern.edu");
+        moderationService.dismissListingReports(MODERATOR, List.of(productId));
+        ReportedListing pending = report(productId, "reporter2@northeastern.edu");
+
+        moderationService.hideListings(MODERATOR, List.of(productId));
+
+        assertEquals(ReportedListing.STATUS_REVIEWED, status(dismissed));
+        assertEquals(ReportedListing.STATUS_RESOLVED, status(pending));
+        assertEquals(false, productRepository.findById(productId).orElseThrow().isActive());
+    }
+
+    @Test
+    void banningASellerUpholdsOnlyPendingReports() {
+        Long productId = listing().getProductId();
+        ReportedListing dismissed = report(productId, "reporter1@northeastern.edu");
+        moderationService.dismissListingReports(MODERATOR, List.of(productId));
+        ReportedListing pending = report(productId, "reporter2@northeastern.edu");
+
+
+        moderationService.banUsers(MODERATOR, List.of(seller), 7);
+
+        assertEquals(ReportedListing.STATUS_REVIEWED, status(dismissed));
+        assertEquals(ReportedListing.STATUS_RESOLVED, status(pending));
+    }
+
+    @Test
+    void timedBanWithoutReportsLiftsAfterAReload() {
+        University university = universityRepository.findByDomain("northeastern.edu")
+                .orElseGet(() -> universityRepository.save(new University("Northeastern University", "northeastern.edu")));
+        userRepository.save(new User(seller, seller.substring(0, seller.indexOf('@')), "unused", "USER", university));
+
+        moderationService.banUsers(MODERATOR, List.of(seller), 7);
+        bannedUserService.reload();
+        assertTrue(bannedUserService.isBanned(seller));
+        assertNotNull(userRepository.findById(seller).orElseThrow().getBanExpiresAt());
+
+        // Seven days later, as another instance that only has the database to go by
+        jdbcTemplate.update("UPDATE Users SET ban_expires_at = ? WHERE email = ?", LocalDateTime.now().minusMinutes(1), seller);
+        bannedUserService.reload();
+        assertFalse(bannedUserService.isBanned(seller));
+
+        bannedUserService.liftExpired();
+        assertFalse(userRepository.findById(seller).orElseThrow().isBanned());
+    }
+
+    private ReportedListing report(Long productId, String reporter) {
+        ReportedListing report = new ReportedListing();
+        report.setProductId(productId);
+        report.setReporterEmail(reporter);
+        report.setReason("Counterfeit");
+        report.setStatus(ReportedListing.STATUS_PENDING);
+        report.setCreatedAt(LocalDateTime.now());
+        return reportedListingRepository.save(report);
+    }
+
+    private String status(ReportedListing report) {
+        return reportedListingRepository.findById(report.getReportId()).orElseThrow().getStatus();
+    }
+
+    private Product listing() {
+        Product product = new Product();
+        product.setSellerEmail(seller);
+        product.setUniversityId(1L);
+        product.setTitle("Desk lamp");
+        product.setPrice(new BigDecimal("15.00"));
+        product.setCategory("Furniture");
+        product.setItemCondition("Good");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setStatus(Product.STATUS_AVAILABLE);
+        product.setActive(true);
+        product.setQuantity(1);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,109 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.unimart.Authentication.services.EmailService;
+import com.unimart.backend.events.UserNotificationEvent;
+import com.unimart.backend.sharding.ShardRouter;
+
+/**
+ * A digest that fails to send loses nothing: notifications held in memory are spilled, the ones
+ * already spilled stay where they are
+ */
+class NotificationDigestServiceTest {
+    private static final String RECIPIENT = "buyer@northeastern.edu";
+    private static final String SPILL_SQL =
+            "INSERT INTO PendingNotifications (recipient_email, type, summary, created_at) VALUES (?, ?, ?, ?)";
+
+    private EmailService emailService;
+    private JdbcTemplate jdbcTemplate;
+    private NotificationDigestService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        emailService = mock(EmailService.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM EmailsSent"), eq(Integer.class), any(Object[].class)))
+                .thenReturn(0);
+        // One notification spilled in an earlier window
+        when(jdbcTemplate.queryForList(startsWith("SELECT recipient_email FROM PendingNotifications"), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of(RECIPIENT));
+        ResultSet spilledRow = mock(ResultSet.class);
+        when(spilledRow.getLong(1)).thenReturn(41L);
+        when(spilledRow.getString(2)).thenReturn("MESSAGE");
+        when(spilledRow.getString(3)).thenReturn("New message from the seller");
+        when(spilledRow.getTimestamp(4)).thenReturn(Timestamp.valueOf(LocalDateTime.now().minusHours(2)));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(spilledRow);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT notification_id"), any(RowCallbackHandler.class), any(Object[].class));
+
+        service = new NotificationDigestService();
+        ReflectionTestUtils.setField(service, "emailService", emailService);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "shardRouter", new ShardRouter());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "windowMinutes", 0L);
+        ReflectionTestUtils.setField(service, "maxBuffered", 100);
+        ReflectionTestUtils.setField(service, "immediateTypes", Set.of());
+        ReflectionTestUtils.setField(service, "dailyLimit", 400);
+
+        service.onUserNotification(new UserNotificationEvent(RECIPIENT, UserNotificationEvent.Type.BID, "New bid on Desk lamp", null));
+    }
+
+    @Test
+    void failedSendSpillsOnlyTheNotificationsInMemory() {
+        doThrow(new MailSendException("SMTP down")).when(emailService).sendEmail(anyString(), anyString(), anyString());
+
+        service.flushDue();
+
+        ArgumentCaptor<List<Object[]>> rows = rowsCaptor();
+        verify(jdbcTemplate).batchUpdate(eq(SPILL_SQL), rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals("New bid on Desk lamp", rows.getValue().get(0)[2]);
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("DELETE FROM PendingNotifications"), anyList());
+        assertEquals(1L, service.stats().get("sendFailures"));
+        assertEquals(0, service.stats().get("notificationsBuffered"));
+    }
+
+    @Test
+    void sentDigestCoversBothAndDeletesTheSpilledOnes() {
+        service.flushDue();
+
+        verify(emailService).sendEmail(eq(RECIPIENT), eq("UniMart: 2 updates"), anyString());
+        verify(jdbcTemplate, never()).batchUpdate(eq(SPILL_SQL), anyList());
+        ArgumentCaptor<List<Object[]>> rows = rowsCaptor();
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM PendingNotifications"), rows.capture());
+        assertEquals(41L, rows.getValue().get(0)[0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Object[]>> rowsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.unimart.backend.models.Order;
+import com.unimart.backend.models.OrderProduct;
+import com.unimart.backend.models.Payment;
+import com.unimart.backend.models.Product;
+import com.unimart.backend.repositories.OrderProductRepository;
+import com.unimart.backend.repositories.OrderRepository;
+import com.unimart.backend.repositories.PaymentRepository;
+import com.unimart.backend.repositories.ProductRepository;
+
+/**
+ * An expiry batch against H2: unpaid orders past their deadline expire and give their units
+ * back, paid ones keep waiting for pickup
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderExpiryServiceTest {
+    private static final String SELLER = "seller@northeastern.edu";
+    private static final String BUYER = "buyer@northeastern.edu";
+
+    @Autowired
+    private OrderExpiryService orderExpiryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository.deleteAll();
+        orderProductRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void unpaidOrderPastItsDeadlineExpiresAndReleasesItsUnits() {
+        Product product = listing();
+        Order order = overdueOrder(product, 2);
+        pay(order, Payment.STATUS_FAILED);
+
+        reloadEverything();
+
+        assertEquals(Order.STATUS_EXPIRED, status(order));
+        Product after = productRepository.findById(product.getProductId()).orElseThrow();
+        assertEquals(2, after.getQuantity().intValue());
+        assertEquals(Product.STATUS_AVAILABLE, after.getStatus());
+    }
+
+    @Test
+    void paidOrderPastItsDeadlineKeepsWaitingForPickup() {
+        Product paidProduct = listing();
+        Order paid = overdueOrder(paidProduct, 1);
+        pay(paid, Payment.STATUS_COMPLETED);
+        Product unpaidProduct = listing();
+        Order unpaid = overdueOrder(unpaidProduct, 1);
+
+        reloadEverything();
+
+        assertEquals(Order.STATUS_PENDING, status(paid));
+        assertEquals(0, productRepository.findById(paidProduct.getProductId()).orElseThrow().getQuantity().intValue());
+        assertEquals(Order.STATUS_EXPIRED, status(unpaid));
+        assertEquals(1, productRepository.findById(unpaidProduct.getProductId()).orElseThrow().getQuantity().intValue());
+    }
+
+    /**
+     * Forgets the loaded windows, so the next refresh reads every pending deadline like a restart
+     */
+    private void reloadEverything() {
+        synchronized (orderExpiryService) {
+            ((Map<?, ?>) ReflectionTestUtils.getField(orderExpiryService, "windows")).clear();
+        }
+        orderExpiryService.refreshWindow();
+    }
+
+    private Order overdueOrder(Product product, int units) {
+        Order order = new Order(BUYER, SELLER, product.getPrice().multiply(BigDecimal.valueOf(units)));
+        order.setPickupDeadline(LocalDateTime.now().minusHours(1));
+        order = orderRepository.save(order);
+        orderProductRepository.save(new OrderProduct(order.getOrderId(), product.getProductId(), units, product.getPrice()));
+        return order;
+    }
+
+    private void pay(Order order, String status) {
+        Payment payment = new Payment(order, Payment.METHOD_STRIPE);
+        payment.setPaymentStatus(status);
+        paymentRepository.save(payment);
+    }
+
+    private String status(Order order) {
+        return orderRepository.findById(order.getOrderId()).orElseThrow().getOrderStatus();
+    }
+
+    // Sold out by the orders under test
+    private Product listing() {
+        Product product = new Product();
+        product.setSellerEmail(SELLER);
+        product.setUniversityId(1L);
+        product.setTitle("Desk lamp");
+        product.setPrice(new BigDecimal("15.00"));
+        product.setCategory("Furniture");
+        product.setItemCondition("Good");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setStatus(Product.STATUS_PENDING);
+        product.setActive(true);
+        product.setQuantity(0);
+        return productRepository.save(product);
+    }
+}
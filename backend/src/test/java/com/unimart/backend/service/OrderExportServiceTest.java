@@ -0,0 +1,77 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimart.backend.service.export.ExportFormat;
+
+/**
+ * A client that goes away mid-export cancels the query before the statement is closed
+ */
+class OrderExportServiceTest {
+
+    @Test
+    void failedWriteCancelsTheQueryBeforeClosingIt() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet rows = mock(ResultSet.class);
+        // An endless result set, as a streaming cursor looks from the client
+        when(rows.next()).thenReturn(true);
+        when(rows.getString(anyInt())).thenReturn("x");
+        when(statement.executeQuery()).thenReturn(rows);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn("MySQL");
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        OrderExportService service = new OrderExportService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", new JdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "fetchSize", 1000);
+        ReflectionTestUtils.setField(service, "flushEveryRows", 10);
+        ReflectionTestUtils.setField(service, "bufferBytes", 64);
+
+        assertThrows(IOException.class, () -> service.exportOrders(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31),
+                ExportFormat.CSV, false, new DisconnectedClient()));
+
+        InOrder order = inOrder(statement);
+        order.verify(statement).setFetchSize(Integer.MIN_VALUE);
+        order.verify(statement).cancel();
+        order.verify(statement).close();
+    }
+
+    private static class DisconnectedClient extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.unimart.backend.exceptions.InvalidImageException;
+import com.unimart.backend.models.ProductImage;
+import com.unimart.backend.repositories.ProductImageRepository;
+import com.unimart.backend.sharding.ShardRouter;
+
+/**
+ * Uploads that are refused or fail to save leave no file behind and give back their slot, and
+ * images left without renditions are queued again
+ */
+class ProductImageServiceTest {
+    @TempDir
+    Path storage;
+
+    private ProductImageRepository productImageRepository;
+    private ImageDerivativePipeline pipeline;
+    private ProductImageService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        productImageRepository = mock(ProductImageRepository.class);
+        pipeline = new ImageDerivativePipeline();
+        ReflectionTestUtils.setField(pipeline, "productImageRepository", productImageRepository);
+        ReflectionTestUtils.setField(pipeline, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(pipeline, "workers", 1);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 0);
+        ReflectionTestUtils.setField(pipeline, "jpegQuality", 0.85f);
+        ReflectionTestUtils.setField(pipeline, "maxPixels", 10_000L);
+        pipeline.start();
+
+        service = new ProductImageService();
+        ReflectionTestUtils.setField(service, "productImageRepository", productImageRepository);
+        ReflectionTestUtils.setField(service, "imageDerivativePipeline", pipeline);
+        ReflectionTestUtils.setField(service, "shardRouter", new ShardRouter());
+        ReflectionTestUtils.setField(service, "storageDir", storage.toString());
+        ReflectionTestUtils.setField(service, "publicPath", "/media/products");
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Test
+    void failedSaveDeletesTheStoredFile() throws IOException {
+        when(productImageRepository.save(any())).thenThrow(new DataAccessResourceFailureException("database down"));
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> service.uploadImage(1L, upload("image/png", png(64, 48))));
+
+        assertEquals(0, storedFiles());
+        // The only slot was given back
+        pipeline.reserve();
+    }
+
+    @Test
+    void unknownContentTypesAreRefused() throws IOException {
+        assertThrows(InvalidImageException.class,
+                () -> service.uploadImage(1L, upload("image/svg+xml", "<svg onload=alert(1)/>".getBytes())));
+        assertThrows(InvalidImageException.class,
+                () -> service.uploadImage(1L, upload("application/octet-stream", png(64, 48))));
+
+        assertEquals(0, storedFiles());
+        verify(productImageRepository, never()).save(any());
+    }
+
+    @Test
+    void imagesOverThePixelCapAreRefusedAndDeleted() throws IOException {
+        assertThrows(InvalidImageException.class,
+                () -> service.uploadImage(1L, upload("image/png", ImageDerivativePipelineTest.pngHeaderOnly(50_000, 50_000))));
+
+        assertEquals(0, storedFiles());
+        verify(productImageRepository, never()).save(any());
+        pipeline.reserve();
+    }
+
+    @Test
+    void uploadsThatDoNotDecodeAreRefused() throws IOException {
+        assertThrows(InvalidImageException.class,
+                () -> service.uploadImage(1L, upload("image/jpeg", "<html></html>".getBytes())));
+
+        assertEquals(0, storedFiles());
+    }
+
+    @Test
+    void pendingImagesAreRequeuedAndMissingOriginalsCountAsFailures() throws IOException {
+        Files.write(storage.resolve("1-stored.png"), png(64, 48));
+        when(productImageRepository.findPendingRenditions(eq(3), any())).thenReturn(List.of(
+                pending(7L, "/media/products/1-missing.png"), pending(8L, "/media/products/1-stored.png")));
+
+        assertEquals(1, service.requeuePending());
+
+        verify(productImageRepository).recordRenditionFailure(7L);
+        verify(productImageRepository, timeout(5000)).updateRenditions(eq(8L), any(), any(), any());
+    }
+
+    @Test
+    void nothingIsRequeuedWithoutAFreeSlot() {
+        pipeline.reserve();
+
+        assertEquals(0, service.requeuePending());
+        verify(productImageRepository, never()).findPendingRenditions(anyInt(), any());
+        pipeline.release();
+    }
+
+    private static ProductImage pending(Long imageId, String imageUrl) {
+        ProductImage image = new ProductImage();
+        image.setImageId(imageId);
+        image.setProductId(1L);
+        image.setImageUrl(imageUrl);
+        return image;
+    }
+
+    private long storedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(storage)) {
+            return files.count();
+        }
+    }
+
+    private static MockMultipartFile upload(String contentType, byte[] content) {
+        return new MockMultipartFile("image", "upload", contentType, content);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,166 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unimart.Authentication.models.University;
+import com.unimart.Authentication.models.User;
+import com.unimart.Authentication.repositories.UniversityRepository;
+import com.unimart.Authentication.repositories.UserRepository;
+import com.unimart.backend.dto.review.ReviewRequestDTO;
+import com.unimart.backend.exceptions.InvalidRequestException;
+import com.unimart.backend.models.Order;
+import com.unimart.backend.models.Payment;
+import com.unimart.backend.models.Review;
+import com.unimart.backend.repositories.OrderRepository;
+import com.unimart.backend.repositories.PaymentRepository;
+import com.unimart.backend.repositories.ReviewRepository;
+import com.unimart.backend.repositories.SellerStatsRepository;
+
+/**
+ * Reviews against H2: only the buyer of a completed order reviews its seller, once per order,
+ * and the nightly reconciliation cleans up stats of sellers that are gone
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReviewServiceTest {
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private SellerStatsService sellerStatsService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private SellerStatsRepository sellerStatsRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String seller;
+    private String buyer;
+
+    @BeforeEach
+    void setUp() {
+        // The context and its database are shared, every test reviews its own seller
+        University university = universityRepository.findByDomain("reviewtest.edu")
+                .orElseGet(() -> universityRepository.save(new University("Review Test University", "reviewtest.edu")));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        seller = "seller-" + suffix + "@reviewtest.edu";
+        buyer = "buyer-" + suffix + "@reviewtest.edu";
+        userRepository.save(new User(seller, "review-seller-" + suffix, "unused", "USER", university));
+        userRepository.save(new User(buyer, "review-buyer-" + suffix, "unused", "USER", university));
+    }
+
+    @Test
+    void buyerWithACompletedOrderReviewsItOnce() {
+        Long orderId = order(Order.STATUS_COMPLETED, null);
+
+        reviewService.addReview(buyer, request(orderId, 4));
+
+        assertEquals(0, new BigDecimal("4").compareTo(sellerStatsService.getStats(seller).getAverageRating()));
+        InvalidRequestException again = assertThrows(InvalidRequestException.class,
+                () -> reviewService.addReview(buyer, request(orderId, 1)));
+        assertEquals("You already reviewed this order", again.getMessage());
+        assertEquals(1, sellerStatsService.getStats(seller).getReviewCount());
+    }
+
+    @Test
+    void anotherPurchaseFromTheSameSellerIsReviewedToo() {
+        reviewService.addReview(buyer, request(order(Order.STATUS_COMPLETED, null), 5));
+        reviewService.addReview(buyer, request(order(Order.STATUS_COMPLETED, null), 2));
+
+        assertEquals(2, sellerStatsService.getStats(seller).getReviewCount());
+        assertEquals(0, new BigDecimal("3.5").compareTo(sellerStatsService.getStats(seller).getAverageRating()));
+    }
+
+    @Test
+    void paidOrderWaitingForPickupCounts() {
+        Long orderId = order(Order.STATUS_PENDING, Payment.STATUS_COMPLETED);
+        reviewService.addReview(buyer, request(orderId, 5));
+        assertTrue(reviewRepository.existsByOrderId(orderId));
+    }
+
+    @Test
+    void buyerWithoutACompletedOrderIsRefused() {
+        Long unpaid = order(Order.STATUS_PENDING, Payment.STATUS_FAILED);
+        Long canceled = order(Order.STATUS_CANCELED, Payment.STATUS_REFUNDED);
+
+        assertThrows(InvalidRequestException.class, () -> reviewService.addReview(buyer, request(unpaid, 1)));
+        assertThrows(InvalidRequestException.class, () -> reviewService.addReview(buyer, request(canceled, 1)));
+        assertFalse(reviewRepository.existsByOrderId(unpaid));
+        assertEquals(0, sellerStatsService.getStats(seller).getReviewCount());
+    }
+
+    @Test
+    void onlyTheOrdersBuyerReviewsIt() {
+        Long orderId = order(Order.STATUS_COMPLETED, null);
+
+        assertThrows(InvalidRequestException.class, () -> reviewService.addReview(seller, request(orderId, 1)));
+        assertFalse(reviewRepository.existsByOrderId(orderId));
+    }
+
+    @Test
+    void databaseKeepsOneReviewPerOrder() {
+        Long orderId = order(Order.STATUS_COMPLETED, null);
+        reviewRepository.saveAndFlush(new Review(orderId, seller, buyer, 5, null));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> reviewRepository.saveAndFlush(new Review(orderId, seller, buyer, 1, null)));
+    }
+
+    @Test
+    void reconciliationRemovesStatsOfSellersThatAreGone() {
+        reviewService.addReview(buyer, request(order(Order.STATUS_COMPLETED, null), 3));
+        String gone = "gone-" + seller;
+        sellerStatsService.reviewAdded(gone, 5);
+
+        sellerStatsService.reconcile();
+
+        assertFalse(sellerStatsRepository.existsById(gone));
+        assertEquals(0, sellerStatsService.getStats(gone).getReviewCount());
+        assertEquals(1, sellerStatsService.getStats(seller).getReviewCount());
+    }
+
+    private Long order(String status, String paymentStatus) {
+        Order order = new Order(buyer, seller, new BigDecimal("15.00"));
+        order.setOrderStatus(status);
+        order = orderRepository.save(order);
+        if (paymentStatus != null) {
+            Payment payment = new Payment(order, Payment.METHOD_STRIPE);
+            payment.setPaymentStatus(paymentStatus);
+            paymentRepository.save(payment);
+        }
+        return order.getOrderId();
+    }
+
+    private static ReviewRequestDTO request(Long orderId, int rating) {
+        ReviewRequestDTO request = new ReviewRequestDTO();
+        request.setOrderId(orderId);
+        request.setRating(rating);
+        request.setComment("Smooth pickup");
+        return request;
+    }
+}
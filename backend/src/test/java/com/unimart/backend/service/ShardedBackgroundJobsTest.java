@@ -0,0 +1,159 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.unimart.backend.BackendApplication;
+import com.unimart.backend.models.Order;
+import com.unimart.backend.models.OrderProduct;
+import com.unimart.backend.models.Product;
+import com.unimart.backend.repositories.OrderProductRepository;
+import com.unimart.backend.repositories.OrderRepository;
+import com.unimart.backend.repositories.ProductRepository;
+import com.unimart.backend.sharding.ShardContext;
+import com.unimart.backend.sharding.ShardDirectory;
+import com.unimart.backend.sharding.ShardRoutingDataSource;
+
+/**
+ * The background jobs with sharding enabled: each one reads and writes every shard group, not
+ * only the global database, and keeps apart the rows that share an id across groups
+ */
+@SpringBootTest(classes = BackendApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded-global;MODE=MySQL;DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "marketplace.shards.enabled=true",
+        "marketplace.shards.groups=east,west",
+        "marketplace.shards.assignments=1:east",
+        "marketplace.shards.group.east.url=jdbc:h2:mem:sharded-east;MODE=MySQL;DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "marketplace.shards.group.west.url=jdbc:h2:mem:sharded-west;MODE=MySQL;DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardedBackgroundJobsTest {
+    @Autowired
+    private ShardRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private OrderExpiryService orderExpiryService;
+
+    @Autowired
+    private BannedUserService bannedUserService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private JdbcTemplate global;
+    private JdbcTemplate east;
+    private JdbcTemplate west;
+
+    @BeforeEach
+    void setUp() {
+        Map<Object, DataSource> targets = routingDataSource.getResolvedDataSources();
+        global = new JdbcTemplate(targets.get(ShardContext.GLOBAL));
+        east = new JdbcTemplate(targets.get("east"));
+        west = new JdbcTemplate(targets.get("west"));
+        // The same copy of the schema and the universities as ShardedListingIntegrationTest
+        for (JdbcTemplate database : List.of(global, east, west)) {
+            if (database != global && database.queryForObject(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'Users'", Integer.class) == 0) {
+                for (String statement : global.queryForList("SCRIPT NODATA NOSETTINGS", String.class)) {
+                    if (!statement.startsWith("CREATE USER")) {
+                        database.execute(statement);
+                    }
+                }
+            }
+            database.update("MERGE INTO universities (university_id, name, domain) KEY (university_id) VALUES "
+                    + "(1, 'Northeastern University', 'northeastern.edu'), (3, 'Tufts University', 'tufts.edu')");
+        }
+        shardDirectory.reload();
+    }
+
+    @Test
+    void overdueOrdersExpireInEveryGroupThoughTheyShareAnId() {
+        // Both groups hand out the next order id from the same value
+        long orderId = 1_000_000L + (System.nanoTime() & 0xFFFFF) * 10;
+        east.execute("ALTER TABLE Orders ALTER COLUMN order_id RESTART WITH " + orderId);
+        west.execute("ALTER TABLE Orders ALTER COLUMN order_id RESTART WITH " + orderId);
+        Order inEast = ShardContext.callIn("east", () -> overdueOrder("seller@northeastern.edu", 1L));
+        Order inWest = ShardContext.callIn("west", () -> overdueOrder("seller@tufts.edu", 3L));
+        assertEquals(orderId, (long) inEast.getOrderId());
+        assertEquals(orderId, (long) inWest.getOrderId());
+
+        synchronized (orderExpiryService) {
+            ((Map<?, ?>) ReflectionTestUtils.getField(orderExpiryService, "windows")).clear();
+        }
+        orderExpiryService.refreshWindow();
+
+        String sql = "SELECT order_status FROM Orders WHERE order_id = ?";
+        assertEquals("Expired", east.queryForObject(sql, String.class, orderId));
+        assertEquals("Expired", west.queryForObject(sql, String.class, orderId));
+    }
+
+    @Test
+    void bansAreLoadedFromEveryGroup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String inEast = "banned-" + suffix + "@northeastern.edu";
+        String inWest = "banned-" + suffix + "@tufts.edu";
+        bannedUser(east, inEast, 1L, null);
+        bannedUser(west, inWest, 3L, LocalDateTime.now().plusDays(1));
+
+        bannedUserService.reload();
+
+        assertTrue(bannedUserService.isBanned(inEast));
+        assertTrue(bannedUserService.isBanned(inWest));
+        assertFalse(bannedUserService.isBanned("other-" + suffix + "@tufts.edu"));
+    }
+
+    private Order overdueOrder(String seller, Long universityId) {
+        Product product = new Product();
+        product.setSellerEmail(seller);
+        product.setUniversityId(universityId);
+        product.setTitle("Desk lamp");
+        product.setPrice(new BigDecimal("15.00"));
+        product.setCategory("Furniture");
+        product.setItemCondition("Good");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setStatus(Product.STATUS_PENDING);
+        product.setActive(true);
+        product.setQuantity(0);
+        product = productRepository.save(product);
+
+        Order order = new Order("buyer@northeastern.edu", seller, product.getPrice());
+        order.setPickupDeadline(LocalDateTime.now().minusHours(1));
+        order = orderRepository.save(order);
+        orderProductRepository.save(new OrderProduct(order.getOrderId(), product.getProductId(), 1, product.getPrice()));
+        return order;
+    }
+
+    private static void bannedUser(JdbcTemplate database, String email, Long universityId, LocalDateTime banExpiresAt) {
+        database.update("INSERT INTO Users (email, username, password, role, is_verified, university_id, is_banned, "
+                        + "ban_expires_at, created_at) VALUES (?, ?, 'unused', 'USER', TRUE, ?, TRUE, ?, ?)",
+                email, email, universityId, banExpiresAt, LocalDateTime.now());
+    }
+}
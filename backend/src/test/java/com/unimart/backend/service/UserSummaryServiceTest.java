@@ -0,0 +1,67 @@
+package com.unimart.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.unimart.Authentication.repositories.UserProfileRepository;
+import com.unimart.backend.service.UserSummaryService.Avatar;
+
+/**
+ * Avatars are only served under an image type, and only redirect to configured hosts
+ */
+class UserSummaryServiceTest {
+    private static final String EMAIL = "student@northeastern.edu";
+
+    private UserProfileRepository userProfileRepository;
+    private UserSummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        userProfileRepository = mock(UserProfileRepository.class);
+        service = new UserSummaryService();
+        ReflectionTestUtils.setField(service, "userProfileRepository", userProfileRepository);
+        ReflectionTestUtils.setField(service, "externalHosts", List.of("images.unimart.app"));
+    }
+
+    @Test
+    void imageTypesAreKept() {
+        Avatar avatar = avatar(dataUri("image/PNG", "png-bytes")).orElseThrow();
+        assertEquals("image/png", avatar.getContentType());
+        assertEquals("png-bytes", new String(avatar.getBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void otherDeclaredTypesAreServedAsBytes() {
+        assertEquals("application/octet-stream", avatar(dataUri("text/html", "<script>alert(1)</script>")).orElseThrow().getContentType());
+        assertEquals("application/octet-stream", avatar(dataUri("image/svg+xml", "<svg onload=alert(1)>")).orElseThrow().getContentType());
+    }
+
+    @Test
+    void redirectsOnlyToConfiguredHttpsHosts() {
+        assertEquals("https://images.unimart.app/a.png", avatar("https://images.unimart.app/a.png").orElseThrow().getExternalUrl());
+        assertFalse(avatar("https://evil.example/a.png").isPresent());
+        assertFalse(avatar("http://images.unimart.app/a.png").isPresent());
+        assertFalse(avatar("https://images.unimart.app.evil.example/a.png").isPresent());
+        assertFalse(avatar("//evil.example/a.png").isPresent());
+    }
+
+    private Optional<Avatar> avatar(String storedValue) {
+        when(userProfileRepository.findProfileImageUrl(EMAIL)).thenReturn(Optional.of(storedValue));
+        return service.getAvatar(EMAIL);
+    }
+
+    private static String dataUri(String contentType, String content) {
+        return "data:" + contentType + ";base64," + Base64.getEncoder().encodeToString(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package com.unimart.backend.service.bidding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Thousands of bidders hammering a handful of hot listings.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=BidEngineContentionBenchmark
+ */
+@Tag("benchmark")
+class BidEngineContentionBenchmark {
+    private static final int BIDDERS = 4_000;
+    private static final int BIDS_PER_BIDDER = 5;
+    private static final int HOT_LISTINGS = 4;
+    private static final String SELLER = "seller@northeastern.edu";
+
+    private static final BidProjection NO_PROJECTION = new BidProjection() {
+        @Override
+        public void bidAccepted(Bid bid) {
+        }
+
+        @Override
+        public void recover(List<Bid> acceptedBids) {
+        }
+
+        @Override
+        public Set<Long> projectedBidIds(List<Long> bidIds) {
+            return Set.copyOf(bidIds);
+        }
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void thousandsOfBiddersOnHotListings() throws Exception {
+        Path logFile = tempDir.resolve("bids.log");
+        BidLog bidLog = new BidLog(logFile, 512);
+        BidEngine engine = newEngine(bidLog);
+        engine.recover();
+
+        int total = BIDDERS * BIDS_PER_BIDDER;
+        long[] latencies = new long[total];
+        AtomicInteger recorded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> bidders = new ArrayList<>(BIDDERS);
+
+        long elapsed;
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < BIDDERS; i++) {
+                final int bidder = i;
+                bidders.add(pool.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < BIDS_PER_BIDDER; j++) {
+                        long productId = 1 + (bidder + j) % HOT_LISTINGS;
+                        long began = System.nanoTime();
+                        engine.placeBid(productId, "bidder" + bidder + "@northeastern.edu", BigDecimal.valueOf(10 + j));
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - began;
+                    }
+                    return null;
+                }));
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : bidders) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+            elapsed = System.nanoTime() - began;
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%d bids from %d bidders on %d listings in %d ms (%.0f bids/s)%n",
+                total, BIDDERS, HOT_LISTINGS, elapsed / 1_000_000, total / (elapsed / 1e9));
+        System.out.printf("latency p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                latencies[total / 2] / 1e6, latencies[(int) (total * 0.99)] / 1e6, latencies[total - 1] / 1e6);
+        System.out.println("engine " + engine.stats());
+
+        int placed = 0;
+        for (long productId = 1; productId <= HOT_LISTINGS; productId++) {
+            placed += engine.getBidsForListing(productId).size();
+        }
+        assertEquals(total, placed);
+
+        // Accepting one bid per listing declines every other pending bid on it
+        for (long productId = 1; productId <= HOT_LISTINGS; productId++) {
+            Bid first = engine.getBidsForListing(productId).get(0);
+            engine.acceptBid(first.getBidId(), SELLER);
+        }
+        bidLog.close();
+
+        // A restart rebuilds exactly the same state from the log
+        BidLog reopenedLog = new BidLog(logFile, 512);
+        BidEngine replayed = newEngine(reopenedLog);
+        replayed.recover();
+        for (long productId = 1; productId <= HOT_LISTINGS; productId++) {
+            List<Bid> before = engine.getBidsForListing(productId);
+            List<Bid> after = replayed.getBidsForListing(productId);
+            assertEquals(before.size(), after.size());
+            for (int i = 0; i < before.size(); i++) {
+                assertEquals(before.get(i).getBidId(), after.get(i).getBidId());
+                assertEquals(before.get(i).getStatus(), after.get(i).getStatus());
+                assertEquals(before.get(i).getAmount(), after.get(i).getAmount());
+            }
+        }
+        reopenedLog.close();
+    }
+
+    private static BidEngine newEngine(BidLog bidLog) {
+        return new BidEngine(bidLog,
+                productId -> Optional.of(new BidEngine.ListingInfo(SELLER, true)),
+                NO_PROJECTION, 1024);
+    }
+}
@@ -0,0 +1,178 @@
+package com.unimart.backend.service.bidding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.unimart.backend.exceptions.BidNotFoundException;
+
+/**
+ * Replay tolerates records that do not fit, memory only changes after the fsync, and
+ * compaction forgets closed listings without losing anything else across a restart
+ */
+class BidEngineRecoveryTest {
+    private static final String SELLER = "seller@northeastern.edu";
+    private static final String BIDDER = "bidder@northeastern.edu";
+
+    @TempDir
+    Path dir;
+
+    private final Set<Long> projected = new HashSet<>();
+    private BidLog bidLog;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        bidLog.close();
+    }
+
+    @Test
+    void replayRebuildsBidsAndDecisions() throws IOException {
+        BidEngine engine = start();
+        Bid first = engine.placeBid(1, BIDDER, new BigDecimal("10.00"));
+        Bid second = engine.placeBid(1, "other@northeastern.edu", new BigDecimal("12.50"));
+        Bid countered = engine.placeBid(2, BIDDER, new BigDecimal("5.00"));
+        engine.declineBid(countered.getBidId(), SELLER, "Too low", new BigDecimal("8.00"));
+        engine.acceptBid(second.getBidId(), SELLER);
+
+        BidEngine replayed = restart();
+        assertEquals(Bid.Status.DECLINED, replayed.getBid(first.getBidId()).getStatus());
+        assertEquals(Bid.Status.ACCEPTED, replayed.getBid(second.getBidId()).getStatus());
+        assertEquals(new BigDecimal("8.00"), replayed.getBid(countered.getBidId()).getCounterOffer());
+        assertEquals(0L, replayed.stats().get("replaySkippedRecords"));
+        assertTrue(replayed.placeBid(2, BIDDER, new BigDecimal("7.00")).getBidId() > second.getBidId());
+    }
+
+    @Test
+    void replaySkipsOrphanRecordsInsteadOfFailing() throws IOException {
+        bidLog = new BidLog(dir.resolve("bids.log"), 16);
+        bidLog.replay();
+        long now = System.currentTimeMillis();
+        bidLog.append(new BidRecord(BidRecord.Type.ACCEPT, 1, 7, 1, SELLER, null, 1000, null, now)).join();
+        bidLog.append(new BidRecord(BidRecord.Type.PLACE, 2, 8, 1, BIDDER, null, 1000, null, now)).join();
+        bidLog.append(new BidRecord(BidRecord.Type.PLACE, 3, 9, 2, BIDDER, SELLER, 1000, null, now)).join();
+        bidLog.append(new BidRecord(BidRecord.Type.DECLINE, 4, 10, 2, SELLER, null, 0, "No", now)).join();
+        bidLog.append(new BidRecord(BidRecord.Type.ACCEPT, 5, 9, 2, SELLER, null, 1000, null, now)).join();
+        bidLog.append(new BidRecord(BidRecord.Type.DECLINE, 6, 9, 2, SELLER, null, 0, "Late", now)).join();
+
+        BidEngine engine = restart();
+        assertEquals(4L, engine.stats().get("replaySkippedRecords"));
+        assertEquals(Bid.Status.ACCEPTED, engine.getBid(9).getStatus());
+        assertThrows(BidNotFoundException.class, () -> engine.getBid(8));
+        // Ids of skipped records are never handed out again
+        assertTrue(engine.placeBid(3, BIDDER, BigDecimal.ONE).getBidId() > 10);
+    }
+
+    @Test
+    void failedAppendLeavesMemoryUnchanged() throws IOException {
+        BidEngine engine = start();
+        Bid pending = engine.placeBid(1, BIDDER, new BigDecimal("10.00"));
+        bidLog.close();
+
+        assertThrows(IllegalStateException.class, () -> engine.placeBid(1, BIDDER, new BigDecimal("11.00")));
+        assertThrows(IllegalStateException.class, () -> engine.acceptBid(pending.getBidId(), SELLER));
+
+        assertEquals(1, engine.getBidsForListing(1).size());
+        assertEquals(Bid.Status.PENDING, engine.getBid(pending.getBidId()).getStatus());
+    }
+
+    @Test
+    void recordThatFailsToEncodeFailsItsAppendAndTheWriterKeepsGoing() throws Exception {
+        bidLog = new BidLog(dir.resolve("bids.log"), 16);
+        bidLog.replay();
+        long now = System.currentTimeMillis();
+
+        CompletableFuture<Void> broken = bidLog.append(new BidRecord(BidRecord.Type.PLACE, 1, 1, 1, null, SELLER, 1000, null, now));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> broken.get(5, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof NullPointerException);
+
+        bidLog.append(new BidRecord(BidRecord.Type.PLACE, 2, 2, 1, BIDDER, SELLER, 1000, null, now)).get(5, TimeUnit.SECONDS);
+        assertEquals(Bid.Status.PENDING, restart().getBid(2).getStatus());
+    }
+
+    @Test
+    void compactionForgetsClosedListingsAndKeepsTheRest() throws Exception {
+        BidEngine engine = start();
+        Bid sold = engine.placeBid(1, BIDDER, new BigDecimal("10.00"));
+        engine.placeBid(1, "other@northeastern.edu", new BigDecimal("9.00"));
+        engine.acceptBid(sold.getBidId(), SELLER);
+        Bid unprojected = engine.placeBid(2, BIDDER, new BigDecimal("20.00"));
+        engine.acceptBid(unprojected.getBidId(), SELLER);
+        Bid open = engine.placeBid(3, BIDDER, new BigDecimal("30.00"));
+        projected.add(sold.getBidId());
+        Thread.sleep(5);
+
+        assertEquals(1, engine.compact(Duration.ZERO));
+        assertTrue(engine.getBidsForListing(1).isEmpty());
+        assertThrows(BidNotFoundException.class, () -> engine.getBid(sold.getBidId()));
+        assertEquals(Bid.Status.ACCEPTED, engine.getBid(unprojected.getBidId()).getStatus());
+
+        Bid placedAfter = engine.placeBid(3, "late@northeastern.edu", new BigDecimal("31.00"));
+
+        BidEngine replayed = restart();
+        assertTrue(replayed.getBidsForListing(1).isEmpty());
+        assertEquals(Bid.Status.ACCEPTED, replayed.getBid(unprojected.getBidId()).getStatus());
+        assertEquals(List.of(open.getBidId(), placedAfter.getBidId()),
+                replayed.getBidsForListing(3).stream().map(Bid::getBidId).toList());
+        assertEquals(0L, replayed.stats().get("replaySkippedRecords"));
+        assertTrue(replayed.placeBid(3, BIDDER, BigDecimal.TEN).getBidId() > placedAfter.getBidId());
+    }
+
+    @Test
+    void recentlyClosedListingsSurviveCompaction() throws IOException {
+        BidEngine engine = start();
+        Bid sold = engine.placeBid(1, BIDDER, new BigDecimal("10.00"));
+        engine.acceptBid(sold.getBidId(), SELLER);
+        projected.add(sold.getBidId());
+
+        assertEquals(0, engine.compact(Duration.ofDays(30)));
+        assertEquals(Bid.Status.ACCEPTED, restart().getBid(sold.getBidId()).getStatus());
+    }
+
+    private BidEngine start() throws IOException {
+        bidLog = new BidLog(dir.resolve("bids.log"), 16);
+        BidEngine engine = newEngine(bidLog);
+        engine.recover();
+        return engine;
+    }
+
+    private BidEngine restart() throws IOException {
+        bidLog.close();
+        return start();
+    }
+
+    private BidEngine newEngine(BidLog log) {
+        BidProjection projection = new BidProjection() {
+            @Override
+            public void bidAccepted(Bid bid) {
+            }
+
+            @Override
+            public void recover(List<Bid> acceptedBids) {
+            }
+
+            @Override
+            public Set<Long> projectedBidIds(List<Long> bidIds) {
+                Set<Long> done = new HashSet<>(bidIds);
+                done.retainAll(projected);
+                return done;
+            }
+        };
+        return new BidEngine(log, productId -> Optional.of(new BidEngine.ListingInfo(SELLER, true)), projection, 16);
+    }
+}
@@ -0,0 +1,79 @@
+package com.unimart.backend.service.expiry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Timers fire once, at their tick, in deadline order, whichever level they were stored at
+ */
+class HierarchicalTimingWheelTest {
+    private static final long TICK = 10;
+    private static final long START = 1_000_000;
+
+    @Test
+    void pastDueDeadlinesAreNotScheduled() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, START);
+        assertFalse(wheel.add(1, START - 1));
+        assertFalse(wheel.add(2, START));
+        assertTrue(wheel.add(3, START + 1));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void timersFireAtTheirTickAndNotBefore() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, START);
+        wheel.add(1, START + 5 * TICK);
+        List<Long> fired = new ArrayList<>();
+
+        assertEquals(0, wheel.advance(START + 4 * TICK, fired::add));
+        assertEquals(List.of(), fired);
+        assertEquals(1, wheel.advance(START + 5 * TICK, fired::add));
+        assertEquals(List.of(1L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void timersCascadeDownEveryLevel() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, START);
+        // One deadline per level: within 64 ticks, 64^2, 64^3, 64^4 and past the top level
+        long[] deltas = {30, 64 * 30, 64L * 64 * 30, 64L * 64 * 64 * 30, 64L * 64 * 64 * 64 * 2};
+        for (int i = 0; i < deltas.length; i++) {
+            assertTrue(wheel.add(i, START + deltas[i] * TICK));
+        }
+
+        for (int i = 0; i < deltas.length; i++) {
+            List<Long> fired = new ArrayList<>();
+            wheel.advance(START + deltas[i] * TICK - 1, fired::add);
+            assertEquals(List.of(), fired, "timer " + i + " fired early");
+            wheel.advance(START + deltas[i] * TICK, fired::add);
+            assertEquals(List.of((long) i), fired, "timer " + i + " missed its tick");
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void timersFireInDeadlineOrder() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, START);
+        // Added out of order and spread over three levels
+        long[] deltas = {5_000, 3, 70, 4_100, 64, 200_000, 65, 1};
+        for (int i = 0; i < deltas.length; i++) {
+            wheel.add(deltas[i], START + deltas[i] * TICK);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        assertEquals(deltas.length, wheel.advance(START + 300_000 * TICK, fired::add));
+        assertEquals(List.of(1L, 3L, 64L, 65L, 70L, 4_100L, 5_000L, 200_000L), fired);
+    }
+
+    @Test
+    void horizonCoversEveryLevel() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, START);
+        assertEquals(START + ((1L << 24) - 1) * TICK, wheel.horizonMillis());
+    }
+}
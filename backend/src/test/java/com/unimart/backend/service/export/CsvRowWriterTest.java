@@ -0,0 +1,66 @@
+package com.unimart.backend.service.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Fields that would break a CSV line are quoted, everything else is written as is
+ */
+class CsvRowWriterTest {
+    private static final List<ExportColumn> COLUMNS = List.of(
+            new ExportColumn("id", ExportColumn.Type.NUMBER),
+            new ExportColumn("note", ExportColumn.Type.TEXT),
+            new ExportColumn("at", ExportColumn.Type.DATETIME),
+            new ExportColumn("confirmed", ExportColumn.Type.BOOLEAN));
+
+    @Test
+    void headerIsOneLine() throws Exception {
+        StringWriter out = new StringWriter();
+        new CsvRowWriter(COLUMNS, out).writeHeader();
+        assertEquals("id,note,at,confirmed\r\n", out.toString());
+    }
+
+    @Test
+    void plainTextIsNotQuoted() throws Exception {
+        assertEquals("7,Desk lamp,2026-01-05T10:00,true\r\n", row("Desk lamp"));
+    }
+
+    @Test
+    void commasQuotesAndLineBreaksAreQuoted() throws Exception {
+        assertEquals("7,\"Lamp, desk\",2026-01-05T10:00,true\r\n", row("Lamp, desk"));
+        assertEquals("7,\"12\"\" monitor\",2026-01-05T10:00,true\r\n", row("12\" monitor"));
+        assertEquals("7,\"first\nsecond\",2026-01-05T10:00,true\r\n", row("first\nsecond"));
+        assertEquals("7,\"first\r\nsecond\",2026-01-05T10:00,true\r\n", row("first\r\nsecond"));
+    }
+
+    @Test
+    void nullsAreEmptyFields() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.wasNull()).thenReturn(true);
+        StringWriter out = new StringWriter();
+        new CsvRowWriter(COLUMNS, out).writeRow(row);
+        assertEquals(",,,\r\n", out.toString());
+    }
+
+    private static String row(String note) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getBigDecimal(1)).thenReturn(new BigDecimal("7"));
+        when(row.getString(2)).thenReturn(note);
+        when(row.getObject(eq(3), eq(LocalDateTime.class))).thenReturn(LocalDateTime.of(2026, 1, 5, 10, 0));
+        when(row.getBoolean(anyInt())).thenReturn(true);
+        StringWriter out = new StringWriter();
+        new CsvRowWriter(COLUMNS, out).writeRow(row);
+        return out.toString();
+    }
+}
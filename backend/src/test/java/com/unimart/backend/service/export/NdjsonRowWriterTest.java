@@ -0,0 +1,78 @@
+package com.unimart.backend.service.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Every row is one line of valid JSON, whatever the text fields contain
+ */
+class NdjsonRowWriterTest {
+    private static final List<ExportColumn> COLUMNS = List.of(
+            new ExportColumn("id", ExportColumn.Type.NUMBER),
+            new ExportColumn("note", ExportColumn.Type.TEXT),
+            new ExportColumn("at", ExportColumn.Type.DATETIME),
+            new ExportColumn("confirmed", ExportColumn.Type.BOOLEAN));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void rowsAreOneObjectPerLine() throws Exception {
+        StringWriter out = new StringWriter();
+        NdjsonRowWriter writer = new NdjsonRowWriter(COLUMNS, out, objectMapper);
+        writer.writeHeader();
+        writer.writeRow(row("Desk lamp"));
+        writer.writeRow(row("Chair"));
+        writer.flush();
+
+        assertEquals("{\"id\":7,\"note\":\"Desk lamp\",\"at\":\"2026-01-05T10:00\",\"confirmed\":true}\n"
+                + "{\"id\":7,\"note\":\"Chair\",\"at\":\"2026-01-05T10:00\",\"confirmed\":true}\n", out.toString());
+    }
+
+    @Test
+    void quotesBackslashesAndControlCharactersAreEscaped() throws Exception {
+        String note = "12\" monitor\\stand\nline two\ttab\u0001";
+        StringWriter out = new StringWriter();
+        NdjsonRowWriter writer = new NdjsonRowWriter(COLUMNS, out, objectMapper);
+        writer.writeRow(row(note));
+        writer.flush();
+
+        String line = out.toString();
+        assertEquals(line.length() - 1, line.indexOf('\n'));
+        JsonNode parsed = objectMapper.readTree(line);
+        assertEquals(note, parsed.get("note").asText());
+    }
+
+    @Test
+    void nullsAreJsonNulls() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.wasNull()).thenReturn(true);
+        StringWriter out = new StringWriter();
+        NdjsonRowWriter writer = new NdjsonRowWriter(COLUMNS, out, objectMapper);
+        writer.writeRow(row);
+        writer.flush();
+        assertEquals("{\"id\":null,\"note\":null,\"at\":null,\"confirmed\":null}\n", out.toString());
+    }
+
+    private static ResultSet row(String note) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getBigDecimal(1)).thenReturn(new BigDecimal("7"));
+        when(row.getString(2)).thenReturn(note);
+        when(row.getObject(eq(3), eq(LocalDateTime.class))).thenReturn(LocalDateTime.of(2026, 1, 5, 10, 0));
+        when(row.getBoolean(anyInt())).thenReturn(true);
+        return row;
+    }
+}
@@ -0,0 +1,141 @@
+package com.unimart.backend.service.push;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tens of thousands of idle subscribers on one hub: heap cost per connection, fan-out to a
+ * single user, coalesced heartbeats and eviction of a consumer that stopped reading.
+ *
+ * Transports are in-memory stand-ins, so the figure is the hub's own overhead per connection
+ * (registry entry, send buffer, bookkeeping), not the socket buffers of the container.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=PushHubConnectionScaleBenchmark
+ */
+@Tag("benchmark")
+class PushHubConnectionScaleBenchmark {
+    private static final int CONNECTIONS = 20_000;
+    private static final int BUFFER_SIZE = 32;
+
+    @Test
+    void tensOfThousandsOfIdleConnections() throws Exception {
+        PushHub hub = new PushHub(new ObjectMapper(), BUFFER_SIZE, 1);
+        Executor sender = Executors.newVirtualThreadPerTaskExecutor();
+        AtomicInteger heartbeatsWritten = new AtomicInteger();
+        List<StubConnection> connections = new ArrayList<>(CONNECTIONS);
+
+        long heapBefore = usedHeap();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            StubConnection connection = new StubConnection("user" + i + "@northeastern.edu", sender, heartbeatsWritten);
+            hub.register(connection);
+            connections.add(connection);
+        }
+        long heapAfter = usedHeap();
+        System.out.printf("%d idle connections, %.0f bytes of heap per connection%n",
+                CONNECTIONS, (heapAfter - heapBefore) / (double) CONNECTIONS);
+        System.out.printf("live threads with %d connections: %d%n",
+                CONNECTIONS, ManagementFactory.getThreadMXBean().getThreadCount());
+        assertEquals((long) CONNECTIONS, hub.stats().get("openConnections"));
+
+        // A second tab of one user receives the same event
+        StubConnection secondTab = new StubConnection("user7@northeastern.edu", sender, heartbeatsWritten);
+        hub.register(secondTab);
+        hub.publish("user7@northeastern.edu", "bid", Map.of("id", 1));
+        assertTrue(connections.get(7).awaitFrames(1));
+        assertTrue(secondTab.awaitFrames(1));
+        assertEquals(0, connections.get(8).framesWritten.get());
+
+        // One sweep heartbeats everyone idle for a full interval, except the user that just got a frame
+        Thread.sleep(1100);
+        hub.publish("user9@northeastern.edu", "message", Map.of("id", 2));
+        assertTrue(connections.get(9).awaitFrames(1));
+        long began = System.nanoTime();
+        hub.sweepHeartbeats();
+        System.out.printf("heartbeat sweep over %d connections queued in %.1f ms%n",
+                CONNECTIONS + 1, (System.nanoTime() - began) / 1e6);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (heartbeatsWritten.get() < CONNECTIONS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(CONNECTIONS, heartbeatsWritten.get());
+
+        // A consumer that stops reading is dropped once its buffer is full, others are unaffected
+        CountDownLatch stuck = new CountDownLatch(1);
+        StubConnection slow = new StubConnection("slow@northeastern.edu", sender, heartbeatsWritten) {
+            @Override
+            protected void write(PushFrame frame) throws java.io.IOException {
+                try {
+                    stuck.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.write(frame);
+            }
+        };
+        hub.register(slow);
+        for (int i = 0; i < BUFFER_SIZE + 2; i++) {
+            hub.publish("slow@northeastern.edu", "message", Map.of("id", i));
+        }
+        assertTrue(slow.isClosed());
+        assertEquals(1L, hub.stats().get("slowConsumersDropped"));
+        stuck.countDown();
+
+        System.out.println("hub " + hub.stats());
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static class StubConnection extends PushConnection {
+        final AtomicInteger framesWritten = new AtomicInteger();
+        private final AtomicInteger heartbeatsWritten;
+
+        StubConnection(String userEmail, Executor sender, AtomicInteger heartbeatsWritten) {
+            super(userEmail, BUFFER_SIZE, sender);
+            this.heartbeatsWritten = heartbeatsWritten;
+        }
+
+        @Override
+        protected void write(PushFrame frame) throws java.io.IOException {
+            if (frame.isHeartbeat()) {
+                heartbeatsWritten.incrementAndGet();
+            } else {
+                framesWritten.incrementAndGet();
+            }
+        }
+
+        @Override
+        protected void closeTransport() {
+        }
+
+        boolean awaitFrames(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (framesWritten.get() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return framesWritten.get() >= expected;
+        }
+    }
+}
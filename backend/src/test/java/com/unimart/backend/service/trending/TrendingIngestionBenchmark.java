@@ -0,0 +1,156 @@
+package com.unimart.backend.service.trending;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Ingestion throughput of the trending engine on a skewed (Zipf) stream of listing views,
+ * ranking quality against exact counts, decay, and checkpoint round trip.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=TrendingIngestionBenchmark
+ */
+@Tag("benchmark")
+class TrendingIngestionBenchmark {
+    private static final int PRODUCTS = 200_000;
+    private static final int STREAM_LENGTH = 1 << 22;
+    private static final int EVENTS_PER_THREAD = 20_000_000;
+    private static final long HALF_LIFE_MILLIS = 6 * 3600_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void millionsOfEventsPerSecondPerCore() throws Exception {
+        long[] stream = zipfStream(new SplittableRandom(42));
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+        // Warm up, then measure a single core on a single university
+        TrendingEngine engine = new TrendingEngine(0.001, 0.01, 50, HALF_LIFE_MILLIS, clock::get);
+        ingest(engine, 1, stream, 5_000_000, clock);
+        engine = new TrendingEngine(0.001, 0.01, 50, HALF_LIFE_MILLIS, clock::get);
+        long began = System.nanoTime();
+        ingest(engine, 1, stream, EVENTS_PER_THREAD, clock);
+        double seconds = (System.nanoTime() - began) / 1e9;
+        System.out.printf("1 thread: %d events in %.2f s (%.1f M events/s)%n",
+                EVENTS_PER_THREAD, seconds, EVENTS_PER_THREAD / seconds / 1e6);
+        System.out.println("engine " + engine.stats());
+
+        // The heaviest products of the stream are the ones ranked on top
+        List<TrendingEntry> top = engine.top(1, 10);
+        assertEquals(10, top.size());
+        int exactHits = 0;
+        for (TrendingEntry entry : top) {
+            if (entry.getProductId() <= 10) {
+                exactHits++;
+            }
+        }
+        System.out.println("top-10 overlap with the exact top-10: " + exactHits);
+        assertTrue(exactHits >= 9);
+
+        // One university per core scales with cores
+        int threads = Math.min(4, Runtime.getRuntime().availableProcessors());
+        TrendingEngine shared = new TrendingEngine(0.001, 0.01, 50, HALF_LIFE_MILLIS, clock::get);
+        List<Future<?>> workers = new ArrayList<>();
+        began = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                final long universityId = t + 1;
+                workers.add(pool.submit(() -> ingest(shared, universityId, stream, EVENTS_PER_THREAD, null)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        seconds = (System.nanoTime() - began) / 1e9;
+        System.out.printf("%d threads: %d events in %.2f s (%.1f M events/s)%n",
+                threads, (long) threads * EVENTS_PER_THREAD, seconds, threads * (long) EVENTS_PER_THREAD / seconds / 1e6);
+
+        // A checkpoint restores the same ranking
+        Path checkpoint = tempDir.resolve("trending.bin");
+        engine.checkpoint(checkpoint);
+        TrendingEngine restored = new TrendingEngine(0.001, 0.01, 50, HALF_LIFE_MILLIS, clock::get);
+        restored.restore(checkpoint);
+        List<TrendingEntry> before = engine.top(1, 50);
+        List<TrendingEntry> after = restored.top(1, 50);
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getProductId(), after.get(i).getProductId());
+        }
+    }
+
+    @Test
+    void recentEngagementOutranksOldEngagement() {
+        AtomicLong clock = new AtomicLong(0);
+        TrendingEngine engine = new TrendingEngine(0.001, 0.01, 10, HALF_LIFE_MILLIS, clock::get);
+        for (int i = 0; i < 1000; i++) {
+            engine.record(1, 100, 1);
+        }
+        // Two half-lives later a quarter as many views make a listing equally hot; a bit more wins
+        clock.addAndGet(2 * HALF_LIFE_MILLIS);
+        for (int i = 0; i < 300; i++) {
+            engine.record(1, 200, 1);
+        }
+        List<TrendingEntry> top = engine.top(1, 2);
+        assertEquals(200, top.get(0).getProductId());
+        assertEquals(300, top.get(0).getScore(), 1);
+        assertEquals(250, top.get(1).getScore(), 1);
+
+        // Rescaling after months keeps scores finite and the order intact
+        clock.addAndGet(400L * 24 * 3600_000L);
+        engine.record(1, 300, 1);
+        top = engine.top(1, 3);
+        assertEquals(300, top.get(0).getProductId());
+        assertTrue(Double.isFinite(top.get(1).getScore()));
+    }
+
+    private static void ingest(TrendingEngine engine, long universityId, long[] stream, int events, AtomicLong clock) {
+        int mask = stream.length - 1;
+        for (int i = 0; i < events; i++) {
+            if (clock != null && (i & 1023) == 0) {
+                clock.incrementAndGet();
+            }
+            engine.record(universityId, stream[i & mask], 1);
+        }
+    }
+
+    /**
+     * Product ids drawn from Zipf(1.0): id 1 is the most viewed, id 2 half as often, and so on
+     */
+    private static long[] zipfStream(SplittableRandom random) {
+        double[] cumulative = new double[PRODUCTS];
+        double total = 0;
+        for (int rank = 1; rank <= PRODUCTS; rank++) {
+            total += 1.0 / rank;
+            cumulative[rank - 1] = total;
+        }
+        long[] stream = new long[STREAM_LENGTH];
+        for (int i = 0; i < stream.length; i++) {
+            double target = random.nextDouble() * total;
+            int low = 0;
+            int high = PRODUCTS - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            stream[i] = low + 1;
+        }
+        return stream;
+    }
+}
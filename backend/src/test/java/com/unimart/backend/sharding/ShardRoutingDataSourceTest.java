@@ -0,0 +1,132 @@
+package com.unimart.backend.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Routing between a global and two shard group H2 databases
+ */
+class ShardRoutingDataSourceTest {
+    private DataSource global;
+    private DataSource east;
+    private DataSource west;
+    private ShardRoutingDataSource routing;
+    private ShardDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        global = h2("global-" + run);
+        east = h2("east-" + run);
+        west = h2("west-" + run);
+        for (DataSource dataSource : List.of(global, east, west)) {
+            new JdbcTemplate(dataSource).execute(
+                    "CREATE TABLE Products (product_id BIGINT PRIMARY KEY, university_id BIGINT NOT NULL, title VARCHAR(100))");
+        }
+        JdbcTemplate globalJdbc = new JdbcTemplate(global);
+        globalJdbc.execute("CREATE TABLE Universities (university_id BIGINT PRIMARY KEY, name VARCHAR(100), domain VARCHAR(100))");
+        globalJdbc.update("INSERT INTO Universities VALUES (1, 'Northeastern University', 'northeastern.edu'), "
+                + "(2, 'Boston University', 'bu.edu'), (3, 'Tufts University', 'tufts.edu')");
+
+        routing = new ShardRoutingDataSource(global, Map.of("east", east, "west", west));
+        // Northeastern is pinned to east; the others are spread by id, 2 -> east and 3 -> west
+        directory = new ShardDirectory(List.of("east", "west"), Map.of(1L, "east"), global);
+        directory.reload();
+    }
+
+    @Test
+    void writesLandOnTheGroupOfTheirUniversity() {
+        JdbcTemplate jdbc = new JdbcTemplate(routing);
+        for (long universityId = 1; universityId <= 3; universityId++) {
+            long id = universityId;
+            ShardContext.runIn(directory.groupOf(id), () ->
+                    jdbc.update("INSERT INTO Products VALUES (?, ?, ?)", id, id, "Listing " + id));
+        }
+
+        assertEquals(2, countProducts(east));
+        assertEquals(1, countProducts(west));
+        assertEquals(0, countProducts(global));
+        assertEquals(3L, (long) new JdbcTemplate(west).queryForObject("SELECT university_id FROM Products", Long.class));
+    }
+
+    @Test
+    void readsSeeOnlyTheirGroup() {
+        new JdbcTemplate(east).update("INSERT INTO Products VALUES (1, 1, 'Desk lamp')");
+        new JdbcTemplate(west).update("INSERT INTO Products VALUES (2, 3, 'Bike')");
+        JdbcTemplate jdbc = new JdbcTemplate(routing);
+
+        assertEquals("Desk lamp", ShardContext.callIn(directory.groupOfEmail("student@northeastern.edu"),
+                () -> jdbc.queryForObject("SELECT title FROM Products", String.class)));
+        assertEquals("Bike", ShardContext.callIn(directory.groupOfEmail("student@tufts.edu"),
+                () -> jdbc.queryForObject("SELECT title FROM Products", String.class)));
+    }
+
+    @Test
+    void workWithoutGroupGoesToGlobal() {
+        Integer universities = new JdbcTemplate(routing).queryForObject("SELECT COUNT(*) FROM Universities", Integer.class);
+        assertEquals(3, universities.intValue());
+        assertNull(ShardContext.current());
+        assertEquals(3, ShardContext.callIn(ShardContext.GLOBAL,
+                () -> new JdbcTemplate(routing).queryForObject("SELECT COUNT(*) FROM Universities", Integer.class)).intValue());
+    }
+
+    @Test
+    void routesUsersByEmailDomain() {
+        assertEquals("east", directory.groupOfEmail("someone@northeastern.edu"));
+        assertEquals("east", directory.groupOfEmail("someone@BU.EDU"));
+        assertEquals("west", directory.groupOfEmail("someone@tufts.edu"));
+        assertNull(directory.groupOfEmail("someone@gmail.com"));
+        assertNull(directory.groupOfEmail("not-an-email"));
+    }
+
+    @Test
+    void unknownGroupFailsInsteadOfFallingBackToGlobal() {
+        String previous = ShardContext.enter("north");
+        try {
+            assertThrows(IllegalStateException.class, () -> {
+                try (Connection connection = routing.getConnection()) {
+                    connection.isValid(1);
+                }
+            });
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    @Test
+    void rejectsAssignmentToUnknownGroup() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardDirectory(List.of("east"), Map.of(1L, "west"), global));
+    }
+
+    @Test
+    void countsConnectionsPerGroup() {
+        JdbcTemplate jdbc = new JdbcTemplate(routing);
+        ShardContext.runIn("east", () -> jdbc.queryForObject("SELECT COUNT(*) FROM Products", Integer.class));
+        ShardContext.runIn("east", () -> jdbc.queryForObject("SELECT COUNT(*) FROM Products", Integer.class));
+        jdbc.queryForObject("SELECT COUNT(*) FROM Products", Integer.class);
+
+        assertEquals(2L, routing.connectionCounts().get("east").longValue());
+        assertEquals(1L, routing.connectionCounts().get(ShardContext.GLOBAL).longValue());
+    }
+
+    private static int countProducts(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM Products", Integer.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,128 @@
+package com.unimart.backend.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Listing writes from many universities against 1, 2 and 4 shard groups.
+ *
+ * Each group is a local H2 database behind a small connection pool, and every operation holds
+ * its connection for a few milliseconds the way a round trip to a remote MySQL would, so one
+ * group saturates like one database server does. Throughput should grow with the number of
+ * groups.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ShardScalingBenchmark
+ */
+@Tag("benchmark")
+class ShardScalingBenchmark {
+    private static final int UNIVERSITIES = 16;
+    private static final int CLIENTS = 256;
+    private static final int POOL_SIZE_PER_GROUP = 4;
+    private static final long SERVER_TIME_MILLIS = 2;
+    private static final long RUN_MILLIS = 3_000;
+
+    @Test
+    void throughputScalesWithShardGroups() throws Exception {
+        Map<Integer, Double> throughput = new LinkedHashMap<>();
+        for (int groupCount : new int[] {1, 2, 4}) {
+            throughput.put(groupCount, run(groupCount));
+        }
+        throughput.forEach((groups, opsPerSecond) ->
+                System.out.printf("%d shard groups: %.0f writes/s (%.2fx)%n", groups, opsPerSecond, opsPerSecond / throughput.get(1)));
+
+        assertTrue(throughput.get(2) > throughput.get(1) * 1.6, "2 groups should almost double throughput");
+        assertTrue(throughput.get(4) > throughput.get(1) * 3.0, "4 groups should come close to 4x throughput");
+    }
+
+    private double run(int groupCount) throws Exception {
+        String run = UUID.randomUUID().toString();
+        List<String> groups = new ArrayList<>();
+        Map<String, DataSource> targets = new LinkedHashMap<>();
+        for (int i = 0; i < groupCount; i++) {
+            String group = "group" + i;
+            groups.add(group);
+            targets.put(group, pool(group + "-" + run));
+        }
+        HikariDataSource global = pool("global-" + run);
+        new JdbcTemplate(global).execute("CREATE TABLE Universities (university_id BIGINT PRIMARY KEY, name VARCHAR(100), domain VARCHAR(100))");
+        for (DataSource target : targets.values()) {
+            new JdbcTemplate(target).execute(
+                    "CREATE TABLE Products (product_id BIGINT AUTO_INCREMENT PRIMARY KEY, university_id BIGINT NOT NULL, title VARCHAR(100))");
+        }
+
+        ShardDirectory directory = new ShardDirectory(groups, Map.of(), global);
+        LongAdder writes = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> clients = new ArrayList<>(CLIENTS);
+        long elapsed;
+        try (ShardRoutingDataSource routing = new ShardRoutingDataSource(global, targets);
+             ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+            for (int i = 0; i < CLIENTS; i++) {
+                long universityId = 1 + i % UNIVERSITIES;
+                clients.add(pool.submit(() -> {
+                    start.await();
+                    String previous = ShardContext.enter(directory.groupOf(universityId));
+                    try {
+                        while (System.nanoTime() < deadline) {
+                            write(routing, universityId);
+                            writes.increment();
+                        }
+                    } finally {
+                        ShardContext.restore(previous);
+                    }
+                    return null;
+                }));
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> client : clients) {
+                client.get(1, TimeUnit.MINUTES);
+            }
+            elapsed = System.nanoTime() - began;
+        }
+        return writes.sum() / (elapsed / 1e9);
+    }
+
+    private static void write(DataSource routing, long universityId) throws Exception {
+        try (Connection connection = routing.getConnection();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO Products (university_id, title) VALUES (?, ?)")) {
+            insert.setLong(1, universityId);
+            insert.setString(2, "Listing of " + universityId);
+            insert.executeUpdate();
+            // Time the database server would spend on the statement and the network round trip
+            Thread.sleep(SERVER_TIME_MILLIS);
+        }
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        dataSource.setMaximumPoolSize(POOL_SIZE_PER_GROUP);
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
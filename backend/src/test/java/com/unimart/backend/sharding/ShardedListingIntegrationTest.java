@@ -0,0 +1,182 @@
+package com.unimart.backend.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimart.backend.BackendApplication;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Signing up and listing an item with sharding enabled: the user and the listing land on the
+ * shard group of the user's university, routed by the session token of the request
+ */
+@SpringBootTest(classes = BackendApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded-global;MODE=MySQL;DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "marketplace.shards.enabled=true",
+        "marketplace.shards.groups=east,west",
+        "marketplace.shards.assignments=1:east",
+        "marketplace.shards.group.east.url=jdbc:h2:mem:sharded-east;MODE=MySQL;DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "marketplace.shards.group.west.url=jdbc:h2:mem:sharded-west;MODE=MySQL;DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardedListingIntegrationTest {
+    private static final String CSRF_TOKEN = UUID.randomUUID().toString();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    private JdbcTemplate global;
+    private JdbcTemplate east;
+    private JdbcTemplate west;
+
+    @BeforeEach
+    void setUp() {
+        Map<Object, DataSource> targets = routingDataSource.getResolvedDataSources();
+        global = new JdbcTemplate(targets.get(ShardContext.GLOBAL));
+        east = new JdbcTemplate(targets.get("east"));
+        west = new JdbcTemplate(targets.get("west"));
+        // Hibernate generated the schema on the global datasource only; the groups get a copy,
+        // and every database the same universities, the way the reference data is replicated
+        for (JdbcTemplate database : List.of(global, east, west)) {
+            if (database != global && database.queryForObject(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'Users'", Integer.class) == 0) {
+                for (String statement : global.queryForList("SCRIPT NODATA NOSETTINGS", String.class)) {
+                    if (!statement.startsWith("CREATE USER")) {
+                        database.execute(statement);
+                    }
+                }
+            }
+            database.update("MERGE INTO universities (university_id, name, domain) KEY (university_id) VALUES "
+                    + "(1, 'Northeastern University', 'northeastern.edu'), (3, 'Tufts University', 'tufts.edu')");
+        }
+        shardDirectory.reload();
+    }
+
+    @Test
+    void userAndListingLandOnTheGroupOfTheirUniversity() throws Exception {
+        // Tufts is not pinned, university 3 of two groups goes to west
+        String seller = "seller-" + UUID.randomUUID().toString().substring(0, 8) + "@tufts.edu";
+        String token = signIn(seller);
+        assertEquals(List.of(0, 0, 1), rowsIn("SELECT COUNT(*) FROM Users WHERE email = ?", seller));
+
+        mockMvc.perform(post("/api/products")
+                        .header("Authorization", "Bearer " + token)
+                        .cookie(new Cookie("XSRF-TOKEN", CSRF_TOKEN))
+                        .header("X-XSRF-TOKEN", maskedCsrfToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "title", "Road bike",
+                                "price", "120.00",
+                                "category", "Sports",
+                                "itemCondition", "Used",
+                                "quantity", 1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Road bike"));
+
+        assertEquals(List.of(0, 0, 1), rowsIn("SELECT COUNT(*) FROM Products WHERE seller_email = ?", seller));
+        assertEquals(3L, (long) west.queryForObject("SELECT university_id FROM Products WHERE seller_email = ?", Long.class, seller));
+    }
+
+    @Test
+    void pinnedUniversityLandsOnItsGroup() throws Exception {
+        String student = "student-" + UUID.randomUUID().toString().substring(0, 8) + "@northeastern.edu";
+        signIn(student);
+        assertEquals(List.of(0, 1, 0), rowsIn("SELECT COUNT(*) FROM Users WHERE email = ?", student));
+    }
+
+    @Test
+    void historyIsStreamedFromTheGroupOfTheConversation() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String buyer = "buyer-" + suffix + "@tufts.edu";
+        String seller = "seller-" + suffix + "@tufts.edu";
+        String token = signIn(buyer);
+        signIn(seller);
+        String sent = mockMvc.perform(post("/api/messages")
+                        .header("Authorization", "Bearer " + token)
+                        .cookie(new Cookie("XSRF-TOKEN", CSRF_TOKEN))
+                        .header("X-XSRF-TOKEN", maskedCsrfToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("receiverEmail", seller, "text", "Still for sale?"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String conversation = objectMapper.readTree(sent).get("conversationKey").asText();
+
+        // The body is written after the handler returns, on another thread
+        MvcResult history = mockMvc.perform(get("/api/messages/conversations/" + conversation + "/history")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(history))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Still for sale?"));
+    }
+
+    /**
+     * Signs up with the test verification code and returns the session token
+     */
+    private String signIn(String email) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/verify-code")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "code", "123456"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode user = objectMapper.readTree(body);
+        return user.get("token").asText();
+    }
+
+    /**
+     * Row counts of the query in the global, east and west databases
+     */
+    private List<Integer> rowsIn(String sql, String email) {
+        return List.of(global.queryForObject(sql, Integer.class, email), east.queryForObject(sql, Integer.class, email),
+                west.queryForObject(sql, Integer.class, email));
+    }
+
+    /**
+     * The CSRF token as a browser sends it back: the cookie value masked the way
+     * XorCsrfTokenRequestAttributeHandler expects, here with an all-zero mask
+     */
+    private static String maskedCsrfToken() {
+        byte[] token = CSRF_TOKEN.getBytes(StandardCharsets.UTF_8);
+        byte[] masked = new byte[token.length * 2];
+        System.arraycopy(token, 0, masked, token.length, token.length);
+        return Base64.getUrlEncoder().encodeToString(masked);
+    }
+}
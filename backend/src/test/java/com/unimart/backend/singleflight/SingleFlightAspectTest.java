@@ -0,0 +1,144 @@
+package com.unimart.backend.singleflight;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+/**
+ * Concurrent callers of a SingleFlight service method against a stand-in repository that
+ * counts its queries and holds them until released, so every caller is in flight at once.
+ */
+class SingleFlightAspectTest {
+    private static final int CALLERS = 50;
+
+    private SingleFlightGroup group;
+    private StandInRepository repository;
+    private ListingReader reader;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        group = new SingleFlightGroup();
+        repository = new StandInRepository();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ListingReader(repository));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(group));
+        reader = factory.getProxy();
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersWithTheSameKeyShareOneRepositoryCall() throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> reader.getListing(42L)));
+        }
+        awaitCoalesced(CALLERS - 1);
+        repository.release.countDown();
+
+        String first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<String> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, repository.queries.get());
+        assertEquals(1L, (long) (Long) group.stats().get("executions"));
+    }
+
+    @Test
+    void differentArgumentsAreNotShared() throws Exception {
+        repository.release.countDown();
+        assertEquals("listing 1", reader.getListing(1L));
+        assertEquals("listing 2", reader.getListing(2L));
+        assertEquals(2, repository.queries.get());
+    }
+
+    @Test
+    void callsAfterTheFlightLandedQueryAgain() throws Exception {
+        repository.release.countDown();
+        reader.getListing(7L);
+        reader.getListing(7L);
+        assertEquals(2, repository.queries.get());
+    }
+
+    @Test
+    void everyWaitingCallerGetsTheLeadersException() throws Exception {
+        repository.failing = true;
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> reader.getListing(42L)));
+        }
+        awaitCoalesced(CALLERS - 1);
+        repository.release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(1, repository.queries.get());
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((Long) group.stats().get("coalesced") < expected) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the flight in time");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Repository stand-in; queries block until release opens
+     */
+    static class StandInRepository {
+        final AtomicInteger queries = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean failing;
+
+        String findListing(Long productId) throws InterruptedException {
+            queries.incrementAndGet();
+            release.await();
+            if (failing) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return "listing " + productId;
+        }
+    }
+
+    /**
+     * Service with a coalesced read, like ProductService.getListing
+     */
+    static class ListingReader {
+        private final StandInRepository repository;
+
+        ListingReader(StandInRepository repository) {
+            this.repository = repository;
+        }
+
+        @SingleFlight
+        public String getListing(Long productId) throws InterruptedException {
+            // A fresh object per query, so sharing shows as the same instance
+            return new String(repository.findListing(productId));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.unimart.backend.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The streamed body is the same JSON array a List would give, flushed early and often, and
+ * the source stream is closed however the response ends
+ */
+class JsonArrayStreamerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonArrayStreamer streamer;
+
+    @BeforeEach
+    void setUp() {
+        streamer = new JsonArrayStreamer();
+        ReflectionTestUtils.setField(streamer, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(streamer, "flushEveryItems", 2);
+    }
+
+    @Test
+    void writesTheSameArrayAsAList() throws Exception {
+        List<Map<String, Object>> items = List.of(Map.of("id", 1, "amount", "12.50"), Map.of("id", 2, "amount", "13.00"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamer.stream(items::stream).writeTo(out);
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(items)), objectMapper.readTree(out.toByteArray()));
+        assertEquals(2L, streamer.stats().get("itemsWritten"));
+    }
+
+    @Test
+    void emptyStreamIsAnEmptyArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.stream(Stream::empty).writeTo(out);
+        assertEquals("[]", out.toString());
+    }
+
+    @Test
+    void firstItemIsFlushedAtOnceThenEveryFewItems() throws Exception {
+        FlushCountingStream out = new FlushCountingStream();
+
+        streamer.stream(() -> IntStream.rangeClosed(1, 5).boxed()).writeTo(out);
+
+        // After items 1, 2 and 4, then at the end and when the generator closes
+        assertEquals(5, out.flushes);
+        assertEquals("[1,2,3,4,5]", out.toString());
+    }
+
+    @Test
+    void failureMidStreamClosesTheSourceAndCountsTheAbort() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Integer> failing = IntStream.rangeClosed(1, 3).boxed().map(i -> {
+            if (i == 3) {
+                throw new IllegalStateException("connection lost");
+            }
+            return i;
+        }).onClose(() -> closed.set(true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalStateException.class, () -> streamer.stream(() -> failing).writeTo(out));
+
+        assertTrue(closed.get());
+        assertTrue(out.toString().startsWith("[1,2"));
+        assertEquals(1L, streamer.stats().get("aborted"));
+        assertEquals(2L, streamer.stats().get("maxItemsPerResponse"));
+    }
+
+    @Test
+    void sourceIsClosedAfterAFullResponse() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        streamer.stream(() -> Stream.of(1).onClose(() -> closed.set(true))).writeTo(new ByteArrayOutputStream());
+        assertTrue(closed.get());
+        assertEquals(0L, streamer.stats().get("aborted"));
+    }
+
+    private static class FlushCountingStream extends ByteArrayOutputStream {
+        int flushes;
+
+        @Override
+        public void flush() throws IOException {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.unimart.backend.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Chunks are fetched one after the other, each starting after the last element of the
+ * previous one, and only as far as the stream is consumed
+ */
+class KeysetStreamTest {
+    private final List<Long> afterKeys = new ArrayList<>();
+
+    @Test
+    void walksAllChunksInKeysetOrder() {
+        assertEquals(LongStream.rangeClosed(1, 7).boxed().toList(), ids(7, 3).toList());
+        // The third chunk is short, so no fourth query
+        assertEquals(listOfKeys(null, 3L, 6L), afterKeys);
+    }
+
+    @Test
+    void fullLastChunkTakesOneEmptyQuery() {
+        assertEquals(6, ids(6, 3).count());
+        assertEquals(listOfKeys(null, 3L, 6L), afterKeys);
+    }
+
+    @Test
+    void emptySourceIsOneQuery() {
+        assertEquals(0, ids(0, 3).count());
+        assertEquals(listOfKeys((Long) null), afterKeys);
+    }
+
+    @Test
+    void fetchesOnlyWhatIsConsumed() {
+        Stream<Long> stream = ids(100, 10);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L), stream.limit(12).toList());
+        assertEquals(listOfKeys(null, 10L), afterKeys);
+    }
+
+    @Test
+    void nothingIsFetchedUntilTheStreamIsConsumed() {
+        Stream<Long> stream = ids(10, 3);
+        assertEquals(0, afterKeys.size());
+        assertEquals("1,2", stream.limit(2).map(String::valueOf).collect(Collectors.joining(",")));
+        assertEquals(1, afterKeys.size());
+    }
+
+    /**
+     * Ids 1..total, read like "WHERE id > ? ORDER BY id LIMIT chunkSize"
+     */
+    private Stream<Long> ids(long total, int chunkSize) {
+        return KeysetStream.of(chunkSize, (Long last) -> {
+            afterKeys.add(last);
+            long from = last == null ? 1 : last + 1;
+            return LongStream.rangeClosed(from, Math.min(total, from + chunkSize - 1)).boxed().toList();
+        });
+    }
+
+    private static List<Long> listOfKeys(Long... keys) {
+        List<Long> list = new ArrayList<>();
+        for (Long key : keys) {
+            list.add(key);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,165 @@
+package com.unimart.backend.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+
+/**
+ * Span trees, which traces are kept, the ring buffer and the commit span, driven on the test
+ * thread the way a request drives them
+ */
+class TracerTest {
+
+    @Test
+    void spansNestInTryWithResourcesOrder() {
+        Tracer tracer = tracer(4, 1.0, 10_000, 16);
+        try (Span root = tracer.startTrace("GET /api/products/1")) {
+            try (Span controller = tracer.start("ProductController.getListing", SpanKind.CONTROLLER)) {
+                try (Span service = tracer.start("ProductService.getListing", SpanKind.SERVICE)) {
+                    tracer.start("ProductRepository.findById", SpanKind.REPOSITORY).close();
+                    tracer.start("ProductImageRepository.findByProductId", SpanKind.REPOSITORY).close();
+                }
+                tracer.start("ProductService.recordView", SpanKind.SERVICE).close();
+            }
+        }
+
+        Map<String, Object> trace = tracer.recent(10, 0).get(0);
+        assertEquals(6, trace.get("spans"));
+        Map<String, Object> controller = children(node(trace)).get(0);
+        assertEquals("ProductController.getListing", controller.get("name"));
+        List<Map<String, Object>> services = children(controller);
+        assertEquals(List.of("ProductService.getListing", "ProductService.recordView"), names(services));
+        assertEquals(List.of("ProductRepository.findById", "ProductImageRepository.findByProductId"),
+                names(children(services.get(0))));
+        assertFalse(tracer.isActive());
+    }
+
+    @Test
+    void unsampledFastTracesAreDropped() {
+        Tracer tracer = tracer(4, 0.0, 10_000, 16);
+        tracer.startTrace("GET /fast").close();
+
+        assertTrue(tracer.recent(10, 0).isEmpty());
+        assertEquals(1L, tracer.stats().get("traces"));
+        assertEquals(0L, tracer.stats().get("keptSampled"));
+    }
+
+    @Test
+    void sampledTracesAreKept() {
+        Tracer tracer = tracer(4, 1.0, 10_000, 16);
+        tracer.startTrace("GET /sampled").close();
+
+        assertEquals("sampled", tracer.recent(10, 0).get(0).get("keptBecause"));
+        assertEquals(1L, tracer.stats().get("keptSampled"));
+    }
+
+    @Test
+    void slowTracesAreKeptWhateverTheSampleRate() throws InterruptedException {
+        Tracer tracer = tracer(4, 0.0, 5, 16);
+        try (Span root = tracer.startTrace("GET /slow")) {
+            Thread.sleep(10);
+        }
+        tracer.startTrace("GET /fast").close();
+
+        List<Map<String, Object>> kept = tracer.recent(10, 0);
+        assertEquals(1, kept.size());
+        assertEquals("GET /slow", kept.get(0).get("name"));
+        assertEquals("slow", kept.get(0).get("keptBecause"));
+        assertEquals(1L, tracer.stats().get("keptSlow"));
+    }
+
+    @Test
+    void ringBufferOverwritesTheOldestTraces() {
+        Tracer tracer = tracer(2, 1.0, 10_000, 16);
+        String first = traceOnce(tracer, "GET /1");
+        traceOnce(tracer, "GET /2");
+        String third = traceOnce(tracer, "GET /3");
+
+        assertEquals(List.of("GET /3", "GET /2"), names(tracer.recent(10, 0)));
+        assertNull(tracer.find(first));
+        assertNotNull(tracer.find(third));
+        assertEquals(2L, tracer.stats().get("buffered"));
+    }
+
+    @Test
+    void spansOverTheLimitAreDroppedAndCounted() {
+        Tracer tracer = tracer(4, 1.0, 10_000, 2);
+        try (Span root = tracer.startTrace("GET /busy")) {
+            tracer.start("kept", SpanKind.SERVICE).close();
+            assertSame(Span.NOOP, tracer.start("dropped", SpanKind.SERVICE));
+        }
+
+        assertEquals(1, tracer.recent(10, 0).get(0).get("droppedSpans"));
+        assertEquals(1L, tracer.stats().get("droppedSpans"));
+    }
+
+    @Test
+    void maxSpansBelowOneStillEndsTheTrace() {
+        Tracer tracer = tracer(4, 1.0, 10_000, 0);
+        tracer.startTrace("GET /a").close();
+
+        assertFalse(tracer.isActive());
+        assertEquals(1, tracer.recent(10, 0).size());
+        // The thread is free for the next request
+        assertTrue(tracer.startTrace("GET /b") != Span.NOOP);
+    }
+
+    @Test
+    void commitSpanIsRenamedOnRollback() {
+        Tracer tracer = tracer(4, 1.0, 10_000, 16);
+        try (Span root = tracer.startTrace("POST /api/checkout")) {
+            TracingAspect.CommitSpan committed = new TracingAspect.CommitSpan(tracer);
+            committed.beforeCommit(false);
+            committed.afterCommit();
+            committed.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+            TracingAspect.CommitSpan failed = new TracingAspect.CommitSpan(tracer);
+            failed.beforeCommit(false);
+            failed.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        Map<String, Object> trace = tracer.recent(10, 0).get(0);
+        List<Map<String, Object>> spans = children(node(trace));
+        assertEquals(List.of("commit", "rollback"), names(spans));
+        assertEquals(SpanKind.TRANSACTION, spans.get(1).get("kind"));
+    }
+
+    private static String traceOnce(Tracer tracer, String name) {
+        try (Span root = tracer.startTrace(name)) {
+            return tracer.currentTraceId();
+        }
+    }
+
+    private static Tracer tracer(int bufferSize, double sampleRate, long slowThresholdMillis, int maxSpans) {
+        Tracer tracer = new Tracer(bufferSize);
+        ReflectionTestUtils.setField(tracer, "enabled", true);
+        ReflectionTestUtils.setField(tracer, "sampleRate", sampleRate);
+        ReflectionTestUtils.setField(tracer, "slowThresholdMillis", slowThresholdMillis);
+        ReflectionTestUtils.setField(tracer, "maxSpans", maxSpans);
+        return tracer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> node(Map<String, Object> trace) {
+        return (Map<String, Object>) trace.get("root");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> children(Map<String, Object> node) {
+        return (List<Map<String, Object>>) node.get("children");
+    }
+
+    private static List<Object> names(List<Map<String, Object>> nodes) {
+        return nodes.stream().map(node -> node.get("name")).toList();
+    }
+}
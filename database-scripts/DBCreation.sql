@@ -11,11 +11,15 @@ CREATE TABLE Users (
     trusted_device_token VARCHAR(255),
     is_banned BOOLEAN DEFAULT FALSE,
     banned_by VARCHAR(255) NULL,
+    ban_expires_at DATETIME NULL,  -- End of a timed ban; NULL while banned means until unbanned
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (university_id) REFERENCES Universities(university_id) ON DELETE SET NULL,
     FOREIGN KEY (banned_by) REFERENCES AdminUsers(email) ON DELETE SET NULL
 );
 
+-- Startup load of the in-memory banned user set
+CREATE INDEX idx_users_banned ON Users(is_banned);
+
 CREATE TABLE IF NOT EXISTS Universities (
     university_id INT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(255) UNIQUE NOT NULL,
@@ -33,9 +37,17 @@ CREATE TABLE UserProfiles (
     user_email VARCHAR(255) PRIMARY KEY,
     first_name VARCHAR(100) NOT NULL,
     last_name VARCHAR(100) NOT NULL,
-    profile_image_url VARCHAR(500) NULL,
-    bio TEXT NULL,
     phone_number VARCHAR(20) NULL,
+    updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    FOREIGN KEY (user_email) REFERENCES Users(email) ON DELETE CASCADE
+);
+
+-- Bio and picture of each profile, kept out of UserProfiles so loading a profile reads neither.
+-- Every profile has a row here; it is written before its profile, so it references Users.
+CREATE TABLE UserProfileDetails (
+    user_email VARCHAR(255) PRIMARY KEY,
+    profile_image_url MEDIUMTEXT NULL,
+    bio TEXT NULL,
     FOREIGN KEY (user_email) REFERENCES Users(email) ON DELETE CASCADE
 );
 
@@ -66,6 +78,8 @@ CREATE TABLE Products (
     stripe_price_id VARCHAR(255),    -- Stripe price ID
     is_active BOOLEAN DEFAULT TRUE,  -- For soft deletion
     quantity INT DEFAULT 1,          -- For multiple items
+    favorite_count INT NOT NULL DEFAULT 0,  -- Flushed in batches by the favorites service
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
     FOREIGN KEY (seller_email) REFERENCES Users(email) ON DELETE CASCADE,
     FOREIGN KEY (university_id) REFERENCES Universities(university_id) ON DELETE CASCADE
 );
@@ -73,12 +87,18 @@ CREATE TABLE Products (
 CREATE INDEX idx_products_seller_email ON Products(seller_email);
 CREATE INDEX idx_products_category ON Products(category);
 CREATE INDEX idx_products_status ON Products(status);
+-- Keyset paging of the per-university latest listings feed
+CREATE INDEX idx_products_feed ON Products(university_id, status, is_active, product_id);
 
 
 CREATE TABLE ProductImages (
     image_id INT AUTO_INCREMENT PRIMARY KEY,
     product_id INT NOT NULL,
-    image_url VARCHAR(500) NOT NULL,
+    image_url VARCHAR(500) NOT NULL,   -- Original upload
+    thumbnail_url VARCHAR(500) NULL,   -- Renditions, filled in by the image pipeline
+    card_url VARCHAR(500) NULL,
+    detail_url VARCHAR(500) NULL,
+    rendition_failures INT NOT NULL DEFAULT 0,   -- Failed pipeline runs, retried up to marketplace.images.max-attempts
     FOREIGN KEY (product_id) REFERENCES Products(product_id) ON DELETE CASCADE
 );
 
@@ -93,6 +113,7 @@ CREATE TABLE Orders (
     seller_rejection_reason VARCHAR(255) NULL,
     buyer_cancellation_reason VARCHAR(255) NULL,
     pickup_confirmed BOOLEAN DEFAULT FALSE,
+    bid_id BIGINT NULL UNIQUE,  -- Set when the order came from an accepted bid, makes bid projection idempotent
     CHECK (pickup_deadline > order_date),
     FOREIGN KEY (buyer_email) REFERENCES Users(email) ON DELETE CASCADE,
     FOREIGN KEY (seller_email) REFERENCES Users(email) ON DELETE CASCADE
@@ -100,7 +121,10 @@ CREATE TABLE Orders (
 
 CREATE INDEX idx_orders_buyer_email ON Orders(buyer_email);
 CREATE INDEX idx_orders_seller_email ON Orders(seller_email);
-CREATE INDEX idx_orders_status ON Orders(order_status);
+-- Serves status filters and the expiry scheduler's window of upcoming pickup deadlines
+CREATE INDEX idx_orders_status_deadline ON Orders(order_status, pickup_deadline);
+-- Date range exports read orders in this order without sorting
+CREATE INDEX idx_orders_order_date ON Orders(order_date);
 
 
 CREATE TABLE Order_Products (
@@ -140,17 +164,38 @@ CREATE INDEX idx_payments_status ON Payments(payment_status);
 
 CREATE TABLE Messages (
     message_id INT AUTO_INCREMENT PRIMARY KEY,
+    conversation_key CHAR(64) NOT NULL,   -- SHA-256 of the sorted participant emails and product id
     sender_email VARCHAR(255) NOT NULL,
     receiver_email VARCHAR(255) NOT NULL,
+    product_id INT NULL,                  -- Listing the conversation is about, NULL for direct messages
     message_text TEXT NOT NULL,
     sent_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     is_deleted BOOLEAN DEFAULT FALSE,
     FOREIGN KEY (sender_email) REFERENCES Users(email) ON DELETE CASCADE,
-    FOREIGN KEY (receiver_email) REFERENCES Users(email) ON DELETE CASCADE
+    FOREIGN KEY (receiver_email) REFERENCES Users(email) ON DELETE CASCADE,
+    FOREIGN KEY (product_id) REFERENCES Products(product_id) ON DELETE CASCADE
 );
 
 CREATE INDEX idx_messages_sender ON Messages(sender_email);
 CREATE INDEX idx_messages_receiver ON Messages(receiver_email);
+-- Thread pages, newest first
+CREATE INDEX idx_messages_conversation ON Messages(conversation_key, sent_at, message_id);
+
+-- One row per participant and conversation, maintained on send and read so the inbox is one indexed read
+CREATE TABLE ConversationMembers (
+    user_email VARCHAR(255) NOT NULL,
+    conversation_key CHAR(64) NOT NULL,
+    other_email VARCHAR(255) NOT NULL,
+    product_id INT NULL,
+    last_message_id INT NOT NULL,
+    last_message_at TIMESTAMP NOT NULL,
+    last_message_preview VARCHAR(200),
+    unread_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_email, conversation_key),
+    FOREIGN KEY (user_email) REFERENCES Users(email) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_conversation_members_inbox ON ConversationMembers(user_email, last_message_at);
 
 CREATE TABLE ReportedUsers (
     report_id INT AUTO_INCREMENT PRIMARY KEY,
@@ -165,18 +210,38 @@ CREATE TABLE ReportedUsers (
     FOREIGN KEY (reported_email) REFERENCES Users(email) ON DELETE CASCADE
 );
 
+-- Moderation queue: open reports and each reporter's track record
+CREATE INDEX idx_reported_users_open ON ReportedUsers(reviewed_status, reported_email);
+CREATE INDEX idx_reported_users_reporter ON ReportedUsers(reporter_email, reviewed_status);
+
 CREATE TABLE EmailsSent (
     email_id INT AUTO_INCREMENT PRIMARY KEY,
     recipient_email VARCHAR(255) NOT NULL,
-    type ENUM('OrderUpdate', 'Message', 'ReportUpdate', 'Reminder') NOT NULL,
+    type ENUM('OrderUpdate', 'Message', 'ReportUpdate', 'Reminder', 'Digest') NOT NULL,
     subject VARCHAR(255) NOT NULL,
     content TEXT NOT NULL,
     sent_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (recipient_email) REFERENCES Users(email) ON DELETE CASCADE
 );
 
+-- Daily sending budget of the notification digest
+CREATE INDEX idx_emails_sent_sent_at ON EmailsSent(sent_at);
+
+-- Notifications waiting for their digest that did not fit in memory or outlived a restart
+CREATE TABLE PendingNotifications (
+    notification_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    recipient_email VARCHAR(255) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    summary VARCHAR(500) NOT NULL,
+    created_at DATETIME NOT NULL,
+    FOREIGN KEY (recipient_email) REFERENCES Users(email) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_pending_notifications_recipient ON PendingNotifications(recipient_email, created_at);
+
 CREATE TABLE Reviews (
     review_id INT AUTO_INCREMENT PRIMARY KEY,
+    order_id INT NOT NULL,
     seller_email VARCHAR(255) NOT NULL,
     buyer_email VARCHAR(255) NOT NULL,
     rating INT CHECK (rating BETWEEN 1 AND 5) NOT NULL,
@@ -184,11 +249,28 @@ CREATE TABLE Reviews (
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME NULL ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (seller_email) REFERENCES Users(email) ON DELETE CASCADE,
-    FOREIGN KEY (buyer_email) REFERENCES Users(email) ON DELETE CASCADE
+    FOREIGN KEY (buyer_email) REFERENCES Users(email) ON DELETE CASCADE,
+    FOREIGN KEY (order_id) REFERENCES Orders(order_id) ON DELETE CASCADE
 );
 
+-- One review per completed order, so a buyer reviews a seller again after another purchase
+CREATE UNIQUE INDEX uq_reviews_order ON Reviews(order_id);
+-- Serves the per-seller rating aggregates
 CREATE INDEX idx_reviews_seller ON Reviews(seller_email);
 
+-- Per-seller aggregates kept in step with Reviews, Products and Orders by the application,
+-- so seller badges never need the multi-table GROUP BY at read time. Reconciled nightly.
+CREATE TABLE SellerStats (
+    seller_email VARCHAR(255) PRIMARY KEY,
+    rating_sum INT NOT NULL DEFAULT 0,
+    rating_count INT NOT NULL DEFAULT 0,
+    listings INT NOT NULL DEFAULT 0,
+    sold INT NOT NULL DEFAULT 0,
+    orders_received INT NOT NULL DEFAULT 0,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (seller_email) REFERENCES Users(email) ON DELETE CASCADE
+);
+
 CREATE TABLE UserFavorites (
     favorite_id INT AUTO_INCREMENT PRIMARY KEY,
     user_email VARCHAR(255) NOT NULL,
@@ -199,6 +281,7 @@ CREATE TABLE UserFavorites (
 );
 
 CREATE INDEX idx_favorites_user ON UserFavorites(user_email);
+CREATE UNIQUE INDEX uq_favorites_user_product ON UserFavorites(user_email, product_id);
 
 CREATE TABLE ReviewReports (
     report_id INT AUTO_INCREMENT PRIMARY KEY,
@@ -241,3 +324,6 @@ CREATE TABLE ReportedListings (
     FOREIGN KEY (reporter_email) REFERENCES Users(email) ON DELETE CASCADE,
     FOREIGN KEY (handled_by) REFERENCES AdminUsers(email) ON DELETE SET NULL
 );
+
+CREATE INDEX idx_reported_listings_open ON ReportedListings(status, product_id);
+CREATE INDEX idx_reported_listings_reporter ON ReportedListings(reporter_email, status);
@@ -25,12 +25,20 @@ INSERT INTO AdminUsers (email, role) VALUES
 ('alex.thompson@stanford.edu', 'SuperAdmin');
 
 -- Insert UserProfiles
-INSERT INTO UserProfiles (user_email, profile_image_url, bio, phone_number) VALUES
-('john.doe@northeastern.edu', 'https://example.com/profiles/john.jpg', 'Computer Science student at Northeastern', '617-555-1234'),
-('jane.smith@bu.edu', 'https://example.com/profiles/jane.jpg', 'Biology major at BU', '617-555-2345'),
-('mike.wilson@harvard.edu', 'https://example.com/profiles/mike.jpg', 'Economics student at Harvard', '617-555-3456'),
-('sarah.johnson@mit.edu', 'https://example.com/profiles/sarah.jpg', 'Engineering student at MIT', '617-555-4567'),
-('alex.thompson@stanford.edu', 'https://example.com/profiles/alex.jpg', 'Computer Science major at Stanford', '650-555-5678');
+INSERT INTO UserProfiles (user_email, phone_number) VALUES
+('john.doe@northeastern.edu', '617-555-1234'),
+('jane.smith@bu.edu', '617-555-2345'),
+('mike.wilson@harvard.edu', '617-555-3456'),
+('sarah.johnson@mit.edu', '617-555-4567'),
+('alex.thompson@stanford.edu', '650-555-5678');
+
+-- Insert UserProfileDetails
+INSERT INTO UserProfileDetails (user_email, profile_image_url, bio) VALUES
+('john.doe@northeastern.edu', 'https://example.com/profiles/john.jpg', 'Computer Science student at Northeastern'),
+('jane.smith@bu.edu', 'https://example.com/profiles/jane.jpg', 'Biology major at BU'),
+('mike.wilson@harvard.edu', 'https://example.com/profiles/mike.jpg', 'Economics student at Harvard'),
+('sarah.johnson@mit.edu', 'https://example.com/profiles/sarah.jpg', 'Engineering student at MIT'),
+('alex.thompson@stanford.edu', 'https://example.com/profiles/alex.jpg', 'Computer Science major at Stanford');
 
 -- Insert VerificationCodes
 INSERT INTO VerificationCodes (email, verification_code, expires_at, is_used) VALUES
@@ -80,13 +88,24 @@ INSERT INTO Payments (order_id, buyer_email, seller_email, amount_paid, payment_
 (4, 'alex.thompson@stanford.edu', 'sarah.johnson@mit.edu', 25.00, 'Failed', 'Apple Pay'),
 (5, 'john.doe@northeastern.edu', 'alex.thompson@stanford.edu', 80.00, 'Completed', 'Venmo');
 
--- Insert Messages
-INSERT INTO Messages (sender_email, receiver_email, message_text) VALUES
-('jane.smith@bu.edu', 'john.doe@northeastern.edu', 'Is the calculus textbook still available?'),
-('john.doe@northeastern.edu', 'jane.smith@bu.edu', 'Yes, it is! When would you like to meet?'),
-('mike.wilson@harvard.edu', 'jane.smith@bu.edu', 'Can I pick up the desk lamp tomorrow?'),
-('sarah.johnson@mit.edu', 'mike.wilson@harvard.edu', 'Does the calculator come with batteries?'),
-('alex.thompson@stanford.edu', 'sarah.johnson@mit.edu', 'I\'m interested in the drawing set. Can you send more pictures?');
+-- Insert Messages (conversation key = SHA-256 of 'lower email|higher email|product id or 0')
+INSERT INTO Messages (conversation_key, sender_email, receiver_email, message_text) VALUES
+(SHA2('jane.smith@bu.edu|john.doe@northeastern.edu|0', 256), 'jane.smith@bu.edu', 'john.doe@northeastern.edu', 'Is the calculus textbook still available?'),
+(SHA2('jane.smith@bu.edu|john.doe@northeastern.edu|0', 256), 'john.doe@northeastern.edu', 'jane.smith@bu.edu', 'Yes, it is! When would you like to meet?'),
+(SHA2('jane.smith@bu.edu|mike.wilson@harvard.edu|0', 256), 'mike.wilson@harvard.edu', 'jane.smith@bu.edu', 'Can I pick up the desk lamp tomorrow?'),
+(SHA2('mike.wilson@harvard.edu|sarah.johnson@mit.edu|0', 256), 'sarah.johnson@mit.edu', 'mike.wilson@harvard.edu', 'Does the calculator come with batteries?'),
+(SHA2('alex.thompson@stanford.edu|sarah.johnson@mit.edu|0', 256), 'alex.thompson@stanford.edu', 'sarah.johnson@mit.edu', 'I\'m interested in the drawing set. Can you send more pictures?');
+
+-- Build the inbox rows for the messages above, counting received messages as unread
+INSERT INTO ConversationMembers (user_email, conversation_key, other_email, product_id, last_message_id, last_message_at, last_message_preview, unread_count)
+SELECT p.user_email, m.conversation_key, p.other_email, MAX(m.product_id), MAX(m.message_id), MAX(m.sent_at),
+       (SELECT LEFT(l.message_text, 200) FROM Messages l WHERE l.message_id = MAX(m.message_id)),
+       SUM(m.receiver_email = p.user_email)
+FROM Messages m
+JOIN (SELECT message_id, sender_email AS user_email, receiver_email AS other_email FROM Messages
+      UNION ALL
+      SELECT message_id, receiver_email, sender_email FROM Messages) p ON p.message_id = m.message_id
+GROUP BY p.user_email, m.conversation_key, p.other_email;
 
 -- Insert ReportedUsers
 INSERT INTO ReportedUsers (reporter_email, reported_email, reason, reviewed_status, action_taken) VALUES
@@ -105,12 +124,12 @@ INSERT INTO EmailsSent (recipient_email, type, subject, content) VALUES
 ('alex.thompson@stanford.edu', 'OrderUpdate', 'Order completed', 'Your order with John Doe has been marked as completed.');
 
 -- Insert Reviews
-INSERT INTO Reviews (seller_email, buyer_email, rating, comment) VALUES
-('john.doe@northeastern.edu', 'jane.smith@bu.edu', 5, 'Great seller, textbook was in perfect condition!'),
-('jane.smith@bu.edu', 'mike.wilson@harvard.edu', 4, 'Nice lamp, exactly as described.'),
-('mike.wilson@harvard.edu', 'sarah.johnson@mit.edu', 3, 'Calculator works but had some scratches not mentioned.'),
-('sarah.johnson@mit.edu', 'alex.thompson@stanford.edu', 5, 'Perfect transaction, highly recommend!'),
-('alex.thompson@stanford.edu', 'john.doe@northeastern.edu', 4, 'Monitor was in good condition as described.');
+INSERT INTO Reviews (order_id, seller_email, buyer_email, rating, comment) VALUES
+(1, 'john.doe@northeastern.edu', 'jane.smith@bu.edu', 5, 'Great seller, textbook was in perfect condition!'),
+(2, 'jane.smith@bu.edu', 'mike.wilson@harvard.edu', 4, 'Nice lamp, exactly as described.'),
+(3, 'mike.wilson@harvard.edu', 'sarah.johnson@mit.edu', 3, 'Calculator works but had some scratches not mentioned.'),
+(4, 'sarah.johnson@mit.edu', 'alex.thompson@stanford.edu', 5, 'Perfect transaction, highly recommend!'),
+(5, 'alex.thompson@stanford.edu', 'john.doe@northeastern.edu', 4, 'Monitor was in good condition as described.');
 
 -- Insert UserFavorites
 INSERT INTO UserFavorites (user_email, product_id) VALUES
@@ -120,6 +139,8 @@ INSERT INTO UserFavorites (user_email, product_id) VALUES
 ('alex.thompson@stanford.edu', 4),
 ('john.doe@northeastern.edu', 5);
 
+UPDATE Products p SET favorite_count = (SELECT COUNT(*) FROM UserFavorites f WHERE f.product_id = p.product_id);
+
 -- Insert ReviewReports
 INSERT INTO ReviewReports (review_id, reporter_email, reason, status) VALUES
 (1, 'mike.wilson@harvard.edu', 'Fake review - they never purchased this item', 'Pending'),
@@ -143,3 +164,17 @@ INSERT INTO ReportedListings (product_id, reporter_email, reason, status, handle
 (3, 'alex.thompson@stanford.edu', 'Prohibited item on campus', 'Resolved', 'mike.wilson@harvard.edu'),
 (4, 'john.doe@northeastern.edu', 'Misleading description', 'Pending', NULL),
 (5, 'jane.smith@bu.edu', 'Counterfeit product', 'Reviewed', 'john.doe@northeastern.edu');
+
+-- Build the seller aggregates from the rows above
+INSERT INTO SellerStats (seller_email, rating_sum, rating_count, listings, sold, orders_received)
+SELECT u.email,
+       COALESCE(r.rating_sum, 0), COALESCE(r.rating_count, 0),
+       COALESCE(p.listings, 0), COALESCE(p.sold, 0),
+       COALESCE(o.orders_received, 0)
+FROM Users u
+LEFT JOIN (SELECT seller_email, SUM(rating) AS rating_sum, COUNT(*) AS rating_count
+           FROM Reviews GROUP BY seller_email) r ON r.seller_email = u.email
+LEFT JOIN (SELECT seller_email, COUNT(*) AS listings, SUM(status = 'Sold') AS sold
+           FROM Products GROUP BY seller_email) p ON p.seller_email = u.email
+LEFT JOIN (SELECT seller_email, COUNT(*) AS orders_received
+           FROM Orders GROUP BY seller_email) o ON o.seller_email = u.email;
@@ -15,6 +15,8 @@ SELECT 'AdminUsers', COUNT(*) FROM AdminUsers
 UNION ALL
 SELECT 'UserProfiles', COUNT(*) FROM UserProfiles
 UNION ALL
+SELECT 'UserProfileDetails', COUNT(*) FROM UserProfileDetails
+UNION ALL
 SELECT 'VerificationCodes', COUNT(*) FROM VerificationCodes
 UNION ALL
 SELECT 'Products', COUNT(*) FROM Products
@@ -41,7 +43,9 @@ SELECT 'ReviewReports', COUNT(*) FROM ReviewReports
 UNION ALL
 SELECT 'ReviewResponses', COUNT(*) FROM ReviewResponses
 UNION ALL
-SELECT 'ReportedListings', COUNT(*) FROM ReportedListings;
+SELECT 'ReportedListings', COUNT(*) FROM ReportedListings
+UNION ALL
+SELECT 'SellerStats', COUNT(*) FROM SellerStats;
 
 -- =============================================
 -- Test Script 2: Test Users and Universities Relationship
@@ -165,6 +169,21 @@ LEFT JOIN Reviews r ON u.email = r.seller_email
 GROUP BY u.username, u.email, uni.name
 ORDER BY avg_rating DESC, products_sold DESC;
 
+-- The same report from the maintained aggregates: a primary key lookup per seller, no GROUP BY
+SELECT
+    u.username,
+    u.email,
+    uni.name AS university,
+    s.listings AS products_listed,
+    s.sold AS products_sold,
+    s.orders_received,
+    ROUND(s.rating_sum / NULLIF(s.rating_count, 0), 1) AS avg_rating,
+    s.rating_count AS review_count
+FROM Users u
+JOIN Universities uni ON u.university_id = uni.university_id
+JOIN SellerStats s ON s.seller_email = u.email
+ORDER BY avg_rating DESC, products_sold DESC;
+
 -- =============================================
 -- Test Script 8: Message History Between Users
 -- Purpose: Test self-join to display conversation thread
@@ -179,9 +198,9 @@ SELECT
 FROM Messages m
 JOIN Users sender ON m.sender_email = sender.email
 JOIN Users receiver ON m.receiver_email = receiver.email
-WHERE (m.sender_email = 'jane.smith@bu.edu' AND m.receiver_email = 'john.doe@northeastern.edu')
-   OR (m.sender_email = 'john.doe@northeastern.edu' AND m.receiver_email = 'jane.smith@bu.edu')
-ORDER BY m.sent_at;
+-- Single range scan of idx_messages_conversation instead of an OR across both participant indexes
+WHERE m.conversation_key = SHA2('jane.smith@bu.edu|john.doe@northeastern.edu|0', 256)
+ORDER BY m.sent_at, m.message_id;
 
 -- =============================================
 -- Test Script 9: Testing Foreign Key Constraints
@@ -294,7 +313,7 @@ JOIN Users seller ON p.seller_email = seller.email
 LEFT JOIN UserFavorites uf ON p.product_id = uf.product_id
 LEFT JOIN Order_Products op ON p.product_id = op.product_id
 LEFT JOIN Orders o ON op.order_id = o.order_id
-LEFT JOIN Reviews r ON p.seller_email = r.seller_email AND o.buyer_email = r.buyer_email
+LEFT JOIN Reviews r ON r.order_id = o.order_id
 GROUP BY p.product_id, p.title, seller.username
 HAVING COUNT(DISTINCT uf.user_email) > 0
    AND COUNT(DISTINCT op.order_id) > 0
@@ -415,6 +434,13 @@ WHERE u.email IS NULL
 
 UNION ALL
 
+SELECT 'UserProfiles without details', COUNT(*)
+FROM UserProfiles up
+LEFT JOIN UserProfileDetails d ON up.user_email = d.user_email
+WHERE d.user_email IS NULL
+
+UNION ALL
+
 SELECT 'Reviews without valid seller', COUNT(*)
 FROM Reviews r
 LEFT JOIN Users u ON r.seller_email = u.email
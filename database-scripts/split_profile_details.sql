@@ -0,0 +1,21 @@
+-- Script to move profile bios and pictures out of UserProfiles into UserProfileDetails
+
+CREATE TABLE IF NOT EXISTS UserProfileDetails (
+    user_email VARCHAR(255) PRIMARY KEY,
+    profile_image_url MEDIUMTEXT NULL,
+    bio TEXT NULL,
+    FOREIGN KEY (user_email) REFERENCES Users(email) ON DELETE CASCADE
+);
+
+-- Every profile needs its details row, even without a bio or picture
+INSERT INTO UserProfileDetails (user_email, profile_image_url, bio)
+SELECT user_email, profile_image_url, bio FROM UserProfiles
+WHERE NOT EXISTS (
+    SELECT 1 FROM UserProfileDetails WHERE UserProfileDetails.user_email = UserProfiles.user_email
+);
+
+ALTER TABLE UserProfiles DROP COLUMN profile_image_url, DROP COLUMN bio;
+
+-- Verify the data
+SELECT COUNT(*) AS profiles_without_details FROM UserProfiles
+WHERE user_email NOT IN (SELECT user_email FROM UserProfileDetails);